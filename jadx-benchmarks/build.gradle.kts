@@ -0,0 +1,88 @@
+import net.ltgt.gradle.errorprone.errorprone
+import net.ltgt.gradle.nullaway.nullaway
+
+plugins {
+	id("jadx-java")
+}
+
+val jmhVersion = "1.37"
+
+// fixed corpus for decompilation benchmarks, can be changed by 'jadx.bench.input' property.
+// Released artifact used instead of current project output, so results comparable between commits.
+val benchCorpusVersion = "1.5.0"
+val benchCorpus: Configuration by configurations.creating {
+	isTransitive = false
+}
+
+dependencies {
+	implementation(project(":jadx-core"))
+
+	runtimeOnly(project(":jadx-plugins:jadx-dex-input"))
+	runtimeOnly(project(":jadx-plugins:jadx-java-input"))
+
+	implementation("org.openjdk.jmh:jmh-core:$jmhVersion")
+	annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
+
+	implementation("org.apache.commons:commons-lang3:3.20.0")
+	runtimeOnly("ch.qos.logback:logback-classic:1.5.38")
+
+	benchCorpus("io.github.skylot:jadx-core:$benchCorpusVersion")
+}
+
+tasks.withType<JavaCompile>().configureEach {
+	options.errorprone {
+		// skip code generated by JMH
+		excludedPaths = ".*/(test|generated)/.*"
+		nullaway {
+			customInitializerAnnotations.add("org.openjdk.jmh.annotations.Setup")
+		}
+	}
+}
+
+/**
+ * Run benchmarks and save results in JSON format.
+ * Supported project properties:
+ *  - 'jmh.include' - regex to select benchmarks (all by default)
+ *  - 'jmh.args' - additional JMH options
+ *  - 'jadx.bench.input' - files for decompilation benchmarks (released jadx-core jar by default)
+ *  - 'jadx.bench.input.hash' - expected content hash of decompilation benchmarks input, checked if set
+ *  - 'jadx.bench.apk' - apk for dex parsing and resources decoding benchmarks
+ */
+val jmh by tasks.registering(JavaExec::class) {
+	group = "benchmark"
+	description = "Run JMH benchmarks"
+	dependsOn(benchCorpus)
+	classpath = sourceSets.main.get().runtimeClasspath
+	mainClass.set("org.openjdk.jmh.Main")
+
+	val resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+	val include = providers.gradleProperty("jmh.include").orElse(".*")
+	val extraArgs = providers.gradleProperty("jmh.args").orElse("")
+	val benchInput = providers.gradleProperty("jadx.bench.input")
+	val benchInputHash = providers.gradleProperty("jadx.bench.input.hash").orElse("")
+	val benchApk = providers.gradleProperty("jadx.bench.apk")
+		.orElse("$rootDir/jadx-cli/src/test/resources/samples/small.apk")
+
+	outputs.file(resultsFile)
+	outputs.upToDateWhen { false }
+
+	argumentProviders.add(
+		CommandLineArgumentProvider {
+			val file = resultsFile.get().asFile
+			file.parentFile.mkdirs()
+			listOf(include.get(), "-rf", "json", "-rff", file.absolutePath) +
+				extraArgs.get().split(' ').filter { it.isNotBlank() }
+		},
+	)
+	// forked JVMs inherit arguments of the host JVM
+	jvmArgumentProviders.add(
+		CommandLineArgumentProvider {
+			val input = benchInput.orNull ?: benchCorpus.files.joinToString(File.pathSeparator)
+			listOf(
+				"-Djadx.bench.input=$input",
+				"-Djadx.bench.input.hash=${benchInputHash.get()}",
+				"-Djadx.bench.apk=${benchApk.get()}",
+			)
+		},
+	)
+}
@@ -0,0 +1,125 @@
+package jadx.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.impl.NoOpCodeCache;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.utils.Utils;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Inputs for benchmarks, paths set by system properties (see 'jmh' task in build script).
+ */
+final class BenchInputs {
+	static final String INPUT_PROP = "jadx.bench.input";
+	static final String INPUT_HASH_PROP = "jadx.bench.input.hash";
+	static final String APK_PROP = "jadx.bench.apk";
+
+	private BenchInputs() {
+	}
+
+	/**
+	 * Fixed corpus for decompilation benchmarks.
+	 * If expected content hash is set, corpus is checked to not compare results for different inputs.
+	 */
+	static List<File> getInputFiles() {
+		String input = getRequiredProp(INPUT_PROP);
+		List<File> files = new ArrayList<>();
+		for (String path : input.split(File.pathSeparator)) {
+			if (!path.isEmpty()) {
+				files.add(checkFile(new File(path)));
+			}
+		}
+		String expectedHash = System.getProperty(INPUT_HASH_PROP);
+		if (expectedHash != null && !expectedHash.isEmpty()) {
+			String hash = FileUtils.buildInputsContentHash(Utils.collectionMap(files, File::toPath));
+			if (!hash.equalsIgnoreCase(expectedHash)) {
+				throw new JadxRuntimeException("Benchmark input content hash mismatch, expected: " + expectedHash
+						+ ", got: " + hash + ", input: " + input);
+			}
+		}
+		return files;
+	}
+
+	static File getApkFile() {
+		return checkFile(new File(getRequiredProp(APK_PROP)));
+	}
+
+	/**
+	 * Load corpus without resources and code caching, decompilation done in current thread
+	 */
+	static JadxDecompiler loadDecompiler() {
+		return loadDecompiler(getInputFiles(), true);
+	}
+
+	static JadxDecompiler loadDecompiler(List<File> inputFiles, boolean skipResources) {
+		JadxArgs args = new JadxArgs();
+		args.setInputFiles(inputFiles);
+		args.setSkipResources(skipResources);
+		args.setThreadsCount(1);
+		args.setCodeCache(new NoOpCodeCache());
+		JadxDecompiler jadx = new JadxDecompiler(args);
+		jadx.load();
+		return jadx;
+	}
+
+	/**
+	 * Reset classes to state right after loading, so next decompilation will start from scratch
+	 */
+	static void unloadAll(List<ClassNode> classes) {
+		for (ClassNode cls : classes) {
+			cls.unloadCode();
+		}
+	}
+
+	/**
+	 * Read content of apk entries accepted by filter, entries order is preserved
+	 */
+	static Map<String, byte[]> readApkEntries(Predicate<String> filter) {
+		File apkFile = getApkFile();
+		Map<String, byte[]> map = new LinkedHashMap<>();
+		try (ZipFile zip = new ZipFile(apkFile)) {
+			for (ZipEntry entry : zip.stream().toArray(ZipEntry[]::new)) {
+				String name = entry.getName();
+				if (!entry.isDirectory() && filter.test(name)) {
+					try (InputStream in = zip.getInputStream(entry)) {
+						map.put(name, in.readAllBytes());
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to read apk file: " + apkFile, e);
+		}
+		if (map.isEmpty()) {
+			throw new JadxRuntimeException("No required entries in apk file: " + apkFile);
+		}
+		return map;
+	}
+
+	private static String getRequiredProp(String name) {
+		String value = System.getProperty(name);
+		if (value == null || value.isEmpty()) {
+			throw new JadxRuntimeException("Benchmark input not set, use '-D" + name + "=<path>' JVM option");
+		}
+		return value;
+	}
+
+	private static File checkFile(File file) {
+		if (!file.exists()) {
+			throw new JadxRuntimeException("Benchmark input file not found: " + file.getAbsolutePath());
+		}
+		return file;
+	}
+}
@@ -0,0 +1,105 @@
+package jadx.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jadx.api.JadxDecompiler;
+import jadx.core.ProcessClass;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Search in code of all classes from corpus.
+ * Code decompiled once in setup, search done same way as in jadx-gui code search
+ * (all occurrences with plain, ignore case or regex search method).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CodeSearchBenchmark {
+
+	@Param({ "String", "getInstance", "NotFoundInCode" })
+	private String searchStr;
+
+	private List<String> codeList;
+	private Pattern pattern;
+
+	private interface SearchMethod {
+		int find(String input, String subStr, int start);
+	}
+
+	@Setup
+	public void setup() {
+		try (JadxDecompiler jadx = BenchInputs.loadDecompiler()) {
+			RootNode root = jadx.getRoot();
+			ProcessClass processClass = root.getProcessClasses();
+			List<String> list = new ArrayList<>();
+			for (ClassNode cls : root.getClassesWithoutInner()) {
+				try {
+					list.add(processClass.generateCode(cls).getCodeStr());
+				} catch (Exception e) {
+					// skip failed classes
+				}
+			}
+			codeList = list;
+		}
+		pattern = Pattern.compile(searchStr, Pattern.CASE_INSENSITIVE);
+	}
+
+	@Benchmark
+	public int plain() {
+		return countMatches(String::indexOf);
+	}
+
+	@Benchmark
+	public int ignoreCase() {
+		return countMatches(StringUtils::indexOfIgnoreCase);
+	}
+
+	@Benchmark
+	public int regex() {
+		return countMatches((input, subStr, start) -> {
+			Matcher matcher = pattern.matcher(input);
+			if (matcher.find(start)) {
+				return matcher.start();
+			}
+			return -1;
+		});
+	}
+
+	private int countMatches(SearchMethod searchMth) {
+		String str = searchStr;
+		int count = 0;
+		for (String code : codeList) {
+			int pos = 0;
+			while (true) {
+				int newPos = searchMth.find(code, str, pos);
+				if (newPos == -1) {
+					break;
+				}
+				count++;
+				pos = newPos + str.length();
+			}
+		}
+		return count;
+	}
+}
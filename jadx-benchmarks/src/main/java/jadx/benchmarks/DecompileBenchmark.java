@@ -0,0 +1,72 @@
+package jadx.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jadx.api.JadxDecompiler;
+import jadx.core.ProcessClass;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Full decompilation (all passes and code generation) of all classes from corpus set by 'jadx.bench.input' property.
+ * Each invocation starts from freshly loaded classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DecompileBenchmark {
+
+	private JadxDecompiler jadx;
+	private ProcessClass processClass;
+	private List<ClassNode> classes;
+	private List<ClassNode> topClasses;
+
+	@Setup
+	public void setup() {
+		jadx = BenchInputs.loadDecompiler();
+		RootNode root = jadx.getRoot();
+		processClass = root.getProcessClasses();
+		classes = root.getClasses();
+		topClasses = root.getClassesWithoutInner();
+	}
+
+	@Setup(Level.Invocation)
+	public void resetClasses() {
+		BenchInputs.unloadAll(classes);
+	}
+
+	@TearDown
+	public void close() {
+		jadx.close();
+	}
+
+	@Benchmark
+	public void generateCode(Blackhole bh) {
+		for (ClassNode cls : topClasses) {
+			try {
+				bh.consume(processClass.generateCode(cls));
+			} catch (Exception e) {
+				// decompilation errors are expected on big corpus, failed classes still counted in time
+				bh.consume(e);
+			}
+		}
+	}
+}
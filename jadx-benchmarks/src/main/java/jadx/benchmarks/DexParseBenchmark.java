@@ -0,0 +1,84 @@
+package jadx.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jadx.api.plugins.input.data.ICodeReader;
+import jadx.api.plugins.input.data.IMethodRef;
+import jadx.plugins.input.dex.DexReader;
+
+/**
+ * Parsing of dex files from apk set by 'jadx.bench.apk' property.
+ * Dex content loaded into memory before measurement, so file reading not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DexParseBenchmark {
+
+	private List<byte[]> dexFiles;
+
+	@Setup
+	public void setup() {
+		dexFiles = new ArrayList<>(BenchInputs.readApkEntries(name -> name.endsWith(".dex")).values());
+	}
+
+	/**
+	 * Read class headers only
+	 */
+	@Benchmark
+	public void visitClasses(Blackhole bh) {
+		int id = 0;
+		for (byte[] content : dexFiles) {
+			DexReader dexReader = new DexReader(id++, "bench.dex", content, 0);
+			dexReader.visitClasses(cls -> {
+				bh.consume(cls.getType());
+				bh.consume(cls.getSuperType());
+			});
+		}
+	}
+
+	/**
+	 * Read classes with all fields, methods and decode method instructions
+	 */
+	@Benchmark
+	public void visitClassesWithCode(Blackhole bh) {
+		int id = 0;
+		for (byte[] content : dexFiles) {
+			DexReader dexReader = new DexReader(id++, "bench.dex", content, 0);
+			dexReader.visitClasses(cls -> {
+				bh.consume(cls.getType());
+				cls.visitFieldsAndMethods(
+						field -> bh.consume(field.getName()),
+						mth -> {
+							IMethodRef mthRef = mth.getMethodRef();
+							mthRef.load();
+							bh.consume(mthRef.getName());
+							ICodeReader codeReader = mth.getCodeReader();
+							if (codeReader != null) {
+								codeReader.visitInstructions(insn -> {
+									insn.decode();
+									bh.consume(insn.getOpcode());
+								});
+							}
+						});
+			});
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package jadx.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import jadx.api.JadxArgs;
+import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.info.FieldInfo;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Contention on {@link jadx.core.dex.info.InfoStorage}:
+ * all threads intern same set of classes, methods and fields at the same time.
+ * Storage recreated for each iteration to mix first insertion and lookup.
+ * Use '-t' JMH option to change threads count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class InfoStorageBenchmark {
+	private static final int CLASSES_COUNT = 500;
+	private static final int METHODS_PER_CLASS = 20;
+	private static final List<ArgType> ARGS = Collections.singletonList(ArgType.INT);
+
+	private RootNode root;
+
+	@State(Scope.Thread)
+	public static class ThreadState {
+		private int next;
+
+		@Setup
+		public void setup(ThreadParams params) {
+			// start from different classes in each thread
+			next = params.getThreadIndex() * 31;
+		}
+	}
+
+	@SuppressWarnings("deprecation")
+	@Setup(Level.Iteration)
+	public void setup() {
+		root = new RootNode(new JadxArgs());
+	}
+
+	@Benchmark
+	public void intern(ThreadState state, Blackhole bh) {
+		int clsNum = state.next++ % CLASSES_COUNT;
+		ClassInfo cls = ClassInfo.fromName(root, "pkg" + clsNum % 10 + ".Cls" + clsNum);
+		bh.consume(cls);
+		for (int m = 0; m < METHODS_PER_CLASS; m++) {
+			bh.consume(MethodInfo.fromDetails(root, cls, "m" + m, ARGS, ArgType.VOID));
+			bh.consume(FieldInfo.from(root, cls, "f" + m, ArgType.INT));
+		}
+	}
+}
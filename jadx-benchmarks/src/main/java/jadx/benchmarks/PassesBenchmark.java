@@ -0,0 +1,103 @@
+package jadx.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jadx.api.JadxDecompiler;
+import jadx.core.ProcessClass;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.visitors.DepthTraversal;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Time of a single decompilation pass for all classes from corpus.
+ * Before each invocation classes reloaded and processed by all passes preceding the measured one.
+ * Pass selected by name (see {@link IDexTreeVisitor#getName()}) from default passes list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PassesBenchmark {
+
+	@Param({
+			"BlockSplitter",
+			"BlockProcessor",
+			"SSATransform",
+			"TypeInferenceVisitor",
+			"CodeShrinkVisitor",
+			"RegionMakerVisitor",
+			"ProcessVariables",
+			"PrepareForCodeGen",
+	})
+	private String pass;
+
+	private JadxDecompiler jadx;
+	private List<ClassNode> classes;
+	private List<ClassNode> topClasses;
+	private IDexTreeVisitor visitor;
+	private ProcessClass preparePasses;
+
+	@Setup
+	public void setup() {
+		jadx = BenchInputs.loadDecompiler();
+		RootNode root = jadx.getRoot();
+		classes = root.getClasses();
+		topClasses = root.getClassesWithoutInner();
+		List<IDexTreeVisitor> passes = root.getPasses();
+		int idx = indexOfPass(passes, pass);
+		visitor = passes.get(idx);
+		preparePasses = new ProcessClass(passes.subList(0, idx));
+	}
+
+	@Setup(Level.Invocation)
+	public void prepareClasses() {
+		BenchInputs.unloadAll(classes);
+		for (ClassNode cls : topClasses) {
+			try {
+				preparePasses.forceProcess(cls);
+			} catch (Exception e) {
+				// ignore, class will be skipped by failed pass
+			}
+		}
+	}
+
+	@TearDown
+	public void close() {
+		jadx.close();
+	}
+
+	@Benchmark
+	public void runPass() {
+		for (ClassNode cls : topClasses) {
+			DepthTraversal.visit(visitor, cls);
+		}
+	}
+
+	private static int indexOfPass(List<IDexTreeVisitor> passes, String name) {
+		for (int i = 0; i < passes.size(); i++) {
+			if (passes.get(i).getName().equals(name)) {
+				return i;
+			}
+		}
+		throw new JadxRuntimeException("Pass not found: " + name);
+	}
+}
@@ -0,0 +1,82 @@
+package jadx.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jadx.api.JadxDecompiler;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.xmlgen.BinaryXMLParser;
+import jadx.core.xmlgen.ResTableBinaryParser;
+
+/**
+ * Decoding of 'resources.arsc' and binary xml files from apk set by 'jadx.bench.apk' property.
+ * Files content loaded into memory before measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourcesBenchmark {
+
+	private JadxDecompiler jadx;
+	private RootNode root;
+	private byte[] resTable;
+	private Map<String, byte[]> xmlFiles;
+	private BinaryXMLParser xmlParser;
+
+	@Setup
+	public void setup() {
+		jadx = BenchInputs.loadDecompiler(Collections.singletonList(BenchInputs.getApkFile()), false);
+		root = jadx.getRoot();
+		resTable = BenchInputs.readApkEntries(name -> name.equals("resources.arsc")).values().iterator().next();
+		xmlFiles = BenchInputs.readApkEntries(name -> name.endsWith(".xml"));
+		xmlParser = new BinaryXMLParser(root);
+	}
+
+	@TearDown
+	public void close() {
+		jadx.close();
+	}
+
+	@Benchmark
+	public ResTableBinaryParser decodeResTable() throws IOException {
+		ResTableBinaryParser parser = new ResTableBinaryParser(root);
+		parser.decode(new ByteArrayInputStream(resTable));
+		return parser;
+	}
+
+	/**
+	 * Decode resources table and generate 'values' xml files
+	 */
+	@Benchmark
+	public void decodeResTableFiles(Blackhole bh) throws IOException {
+		ResTableBinaryParser parser = new ResTableBinaryParser(root);
+		parser.decode(new ByteArrayInputStream(resTable));
+		bh.consume(parser.decodeFiles());
+	}
+
+	@Benchmark
+	public void parseBinaryXml(Blackhole bh) throws IOException {
+		for (byte[] content : xmlFiles.values()) {
+			bh.consume(xmlParser.parse(new ByteArrayInputStream(content)));
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package jadx.cli;
 
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.function.Consumer;
 
 import org.jetbrains.annotations.Nullable;
@@ -14,8 +15,12 @@
 import jadx.api.impl.AnnotatedCodeWriter;
 import jadx.api.impl.NoOpCodeCache;
 import jadx.api.impl.SimpleCodeWriter;
+import jadx.api.metrics.PassMetrics;
+import jadx.api.plugins.pass.impl.SimpleAfterLoadPass;
 import jadx.api.usage.impl.EmptyUsageInfoCache;
+import jadx.api.usage.impl.FileUsageInfoCache;
 import jadx.cli.LogHelper.LogLevelEnum;
+import jadx.cli.cache.PersistentCodeCache;
 import jadx.cli.config.JadxConfigAdapter;
 import jadx.cli.plugins.JadxFilesGetter;
 import jadx.core.utils.exceptions.JadxArgsValidateException;
@@ -63,7 +68,12 @@ public static int execute(String[] args, @Nullable Consumer<JadxArgs> argsMod) {
 	private static JadxArgs buildArgs(JadxCLIArgs cliArgs) {
 		JadxArgs jadxArgs = cliArgs.toJadxArgs();
 		jadxArgs.setCodeCache(new NoOpCodeCache());
-		jadxArgs.setUsageInfoCache(new EmptyUsageInfoCache());
+		String usageCacheDir = cliArgs.getUsageCacheDir();
+		if (usageCacheDir != null) {
+			jadxArgs.setUsageInfoCache(new FileUsageInfoCache(Paths.get(usageCacheDir)));
+		} else {
+			jadxArgs.setUsageInfoCache(new EmptyUsageInfoCache());
+		}
 		jadxArgs.setPluginLoader(new JadxExternalPluginsLoader());
 		jadxArgs.setFilesGetter(JadxFilesGetter.INSTANCE);
 		initCodeWriterProvider(jadxArgs);
@@ -73,6 +83,7 @@ private static JadxArgs buildArgs(JadxCLIArgs cliArgs) {
 
 	private static int runSave(JadxArgs jadxArgs, JadxCLIArgs cliArgs) {
 		try (JadxDecompiler jadx = new JadxDecompiler(jadxArgs)) {
+			registerCodeCache(jadx, cliArgs);
 			jadx.load();
 			if (checkForErrors(jadx)) {
 				return 2;
@@ -81,6 +92,7 @@ private static int runSave(JadxArgs jadxArgs, JadxCLIArgs cliArgs) {
 			if (!SingleClassMode.process(jadx, cliArgs)) {
 				save(jadx);
 			}
+			printPassMetrics(jadx, cliArgs);
 			int errorsCount = jadx.getErrorsCount();
 			if (errorsCount != 0) {
 				jadx.printErrorsReport();
@@ -92,6 +104,37 @@ private static int runSave(JadxArgs jadxArgs, JadxCLIArgs cliArgs) {
 		}
 	}
 
+	private static void printPassMetrics(JadxDecompiler jadx, JadxCLIArgs cliArgs) {
+		if (!cliArgs.isPassMetrics()) {
+			return;
+		}
+		PassMetrics passMetrics = jadx.getPassMetrics();
+		if (passMetrics != null) {
+			LOG.info("Pass metrics report:\n{}", passMetrics.buildReport(cliArgs.getPassMetricsTop()));
+		}
+	}
+
+	/**
+	 * Persistent cache require loaded classes with applied renames and collected usage info,
+	 * so init it after load (all 'prepare' passes already finished)
+	 */
+	private static void registerCodeCache(JadxDecompiler jadx, JadxCLIArgs cliArgs) {
+		if (!cliArgs.isCodeCache()) {
+			return;
+		}
+		if (jadx.getArgs().getOutputFormat() != JadxArgs.OutputFormatEnum.JAVA) {
+			LOG.warn("Code cache supported only for 'java' output format, cache disabled");
+			return;
+		}
+		String cacheDirStr = cliArgs.getCodeCacheDir();
+		Path cacheDir = cacheDirStr != null
+				? Paths.get(cacheDirStr)
+				: jadx.getArgs().getFilesGetter().getCacheDir().resolve("code-cache");
+		long maxSize = cliArgs.getCodeCacheMaxSize() * 1024L * 1024L;
+		jadx.addCustomPass(new SimpleAfterLoadPass("CodeCacheInit",
+				d -> d.getArgs().setCodeCache(new PersistentCodeCache(d.getRoot(), cacheDir, maxSize))));
+	}
+
 	private static void initCodeWriterProvider(JadxArgs jadxArgs) {
 		switch (jadxArgs.getOutputFormat()) {
 			case JAVA:
@@ -72,6 +72,9 @@ public class JadxCLIArgs implements IJadxConfig {
 	@Parameter(names = { "-j", "--threads-count" }, description = "processing threads count")
 	protected int threadsCount = JadxArgs.DEFAULT_THREADS_COUNT;
 
+	@Parameter(names = { "--parallel-methods" }, description = "process methods of one class in parallel (useful for huge classes)")
+	protected boolean parallelMethodsProcessing = false;
+
 	@JadxConfigExclude
 	@Parameter(names = { "--single-class" }, description = "decompile a single class, full name, raw or alias")
 	protected String singleClass = null;
@@ -83,6 +86,50 @@ public class JadxCLIArgs implements IJadxConfig {
 	@Parameter(names = { "--output-format" }, description = "can be 'java' or 'json'")
 	protected String outputFormat = "java";
 
+	@Parameter(
+			names = { "--code-cache" },
+			description = "save generated code into persistent cache and reuse it for unchanged classes in next runs"
+	)
+	protected boolean codeCache = false;
+
+	@Parameter(names = { "--code-cache-dir" }, description = "persistent code cache directory, default: 'code-cache' in jadx cache directory")
+	protected String codeCacheDir = null;
+
+	@Parameter(
+			names = { "--code-cache-max-size" },
+			description = "max size of persistent code cache in megabytes, least recently used entries removed on exceed"
+	)
+	protected int codeCacheMaxSize = 1024;
+
+	@Parameter(
+			names = { "--usage-cache-dir" },
+			description = "save collected usage info into provided directory and reuse it in next runs for the same inputs"
+	)
+	protected String usageCacheDir = null;
+
+	@Parameter(
+			names = { "--pass-metrics" },
+			description = "collect time and memory usage of decompilation passes and print report with the slowest passes, classes and methods"
+	)
+	protected boolean passMetrics = false;
+
+	@Parameter(names = { "--pass-metrics-top" }, description = "max count of entries in each section of pass metrics report")
+	protected int passMetricsTop = 20;
+
+	@Parameter(
+			names = { "--method-time-limit" },
+			description = "max processing time for one method in milliseconds,"
+					+ " on exceed method decompiled in simpler mode, 0 to disable"
+	)
+	protected int methodTimeLimit = 0;
+
+	@Parameter(
+			names = { "--class-time-limit" },
+			description = "max processing time for top level class in milliseconds,"
+					+ " on exceed remaining methods decompiled in fallback mode, 0 to disable"
+	)
+	protected int classTimeLimit = 0;
+
 	@Parameter(names = { "-e", "--export-gradle" }, description = "save as gradle project (set '--export-gradle-type' to 'auto')")
 	protected boolean exportAsGradleProject = false;
 
@@ -449,6 +496,18 @@ public void verify() {
 		if (threadsCount <= 0) {
 			throw new JadxArgsValidateException("Threads count must be positive, got: " + threadsCount);
 		}
+		if (codeCacheMaxSize <= 0) {
+			throw new JadxArgsValidateException("Code cache max size must be positive, got: " + codeCacheMaxSize);
+		}
+		if (passMetricsTop <= 0) {
+			throw new JadxArgsValidateException("Pass metrics report entries count must be positive, got: " + passMetricsTop);
+		}
+		if (methodTimeLimit < 0) {
+			throw new JadxArgsValidateException("Method time limit must be non-negative, got: " + methodTimeLimit);
+		}
+		if (classTimeLimit < 0) {
+			throw new JadxArgsValidateException("Class time limit must be non-negative, got: " + classTimeLimit);
+		}
 	}
 
 	private static <T extends JadxCLIArgs> void saveConfig(T argsObj, @Nullable JadxConfigAdapter<T> configAdapter) {
@@ -468,6 +527,10 @@ public JadxArgs toJadxArgs() {
 		args.setOutDirRes(FileUtils.toFile(outDirRes));
 		args.setOutputFormat(JadxArgs.OutputFormatEnum.valueOf(outputFormat.toUpperCase()));
 		args.setThreadsCount(threadsCount);
+		args.setParallelMethodsProcessing(parallelMethodsProcessing);
+		args.setCollectPassMetrics(passMetrics);
+		args.setMethodTimeLimit(methodTimeLimit);
+		args.setClassTimeLimit(classTimeLimit);
 		args.setSkipSources(skipSources);
 		args.setSkipResources(skipResources);
 		if (fallbackMode) {
@@ -579,6 +642,50 @@ public void setThreadsCount(int threadsCount) {
 		this.threadsCount = threadsCount;
 	}
 
+	public boolean isCodeCache() {
+		return codeCache;
+	}
+
+	public void setCodeCache(boolean codeCache) {
+		this.codeCache = codeCache;
+	}
+
+	public String getCodeCacheDir() {
+		return codeCacheDir;
+	}
+
+	public int getCodeCacheMaxSize() {
+		return codeCacheMaxSize;
+	}
+
+	public String getUsageCacheDir() {
+		return usageCacheDir;
+	}
+
+	public boolean isPassMetrics() {
+		return passMetrics;
+	}
+
+	public int getPassMetricsTop() {
+		return passMetricsTop;
+	}
+
+	public int getMethodTimeLimit() {
+		return methodTimeLimit;
+	}
+
+	public int getClassTimeLimit() {
+		return classTimeLimit;
+	}
+
+	public boolean isParallelMethodsProcessing() {
+		return parallelMethodsProcessing;
+	}
+
+	public void setParallelMethodsProcessing(boolean parallelMethodsProcessing) {
+		this.parallelMethodsProcessing = parallelMethodsProcessing;
+	}
+
 	public boolean isFallbackMode() {
 		return fallbackMode;
 	}
@@ -0,0 +1,238 @@
+package jadx.cli.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.ICodeCache;
+import jadx.api.ICodeInfo;
+import jadx.api.impl.SimpleCodeInfo;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.nodes.utils.ClassHashes;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Code cache stored on disk and shared between runs and inputs.
+ * Code of each class saved in a file named by a hash of class content,
+ * class dependencies and decompiler options (see {@link ClassHashes#getCodeKey(ClassNode)}),
+ * so unchanged classes can be reused in a new version of the application.
+ * Only code string is stored (without metadata).
+ */
+public class PersistentCodeCache implements ICodeCache {
+	private static final Logger LOG = LoggerFactory.getLogger(PersistentCodeCache.class);
+
+	private static final String CODE_FILE_EXT = ".java";
+	private static final String TMP_FILE_EXT = ".tmp";
+
+	private final RootNode root;
+	private final Path cacheDir;
+	private final long maxSize;
+	private final ClassHashes classHashes;
+
+	private final AtomicInteger hits = new AtomicInteger();
+	private final AtomicInteger misses = new AtomicInteger();
+	private final AtomicInteger stored = new AtomicInteger();
+
+	/**
+	 * @param maxSize max cache size in bytes, checked and applied on close
+	 */
+	public PersistentCodeCache(RootNode root, Path cacheDir, long maxSize) {
+		this.root = root;
+		this.cacheDir = cacheDir;
+		this.maxSize = maxSize;
+		this.classHashes = new ClassHashes(root);
+		this.classHashes.saveNames();
+		FileUtils.makeDirs(cacheDir);
+	}
+
+	@Override
+	public void add(String clsFullName, ICodeInfo codeInfo) {
+		ClassNode cls = root.resolveRawClass(clsFullName);
+		if (cls == null || root.getErrorsCounter().hasErrorsInClass(cls)) {
+			// errors should be reported on every run
+			return;
+		}
+		if (cls.isTimeLimitExceeded()) {
+			// result depends on machine load, try full decompilation next time
+			return;
+		}
+		Path codeFile = getCodeFile(cls);
+		if (codeFile == null) {
+			return;
+		}
+		try {
+			FileUtils.makeDirs(codeFile.getParent());
+			Path tmpFile = Files.createTempFile(codeFile.getParent(), "code-", TMP_FILE_EXT);
+			try {
+				Files.write(tmpFile, codeInfo.getCodeStr().getBytes(StandardCharsets.UTF_8));
+				moveFile(tmpFile, codeFile);
+				stored.incrementAndGet();
+			} finally {
+				Files.deleteIfExists(tmpFile);
+			}
+		} catch (Exception e) {
+			LOG.warn("Failed to save code cache for class: {}", clsFullName, e);
+		}
+	}
+
+	@Override
+	public void remove(String clsFullName) {
+		Path codeFile = getCodeFile(clsFullName);
+		if (codeFile != null) {
+			try {
+				Files.deleteIfExists(codeFile);
+			} catch (IOException e) {
+				throw new JadxRuntimeException("Failed to remove code cache for " + clsFullName, e);
+			}
+		}
+	}
+
+	@Override
+	public @NotNull ICodeInfo get(String clsFullName) {
+		String code = getCode(clsFullName);
+		if (code == null) {
+			return ICodeInfo.EMPTY;
+		}
+		return new SimpleCodeInfo(code);
+	}
+
+	@Override
+	public @Nullable String getCode(String clsFullName) {
+		Path codeFile = getCodeFile(clsFullName);
+		if (codeFile == null || !Files.exists(codeFile)) {
+			misses.incrementAndGet();
+			return null;
+		}
+		try {
+			String code = FileUtils.readFile(codeFile);
+			// update access time for eviction
+			Files.setLastModifiedTime(codeFile, FileTime.fromMillis(System.currentTimeMillis()));
+			hits.incrementAndGet();
+			return code;
+		} catch (Exception e) {
+			// file can be removed by other jadx process sharing same cache dir
+			LOG.debug("Failed to read code cache for class: {}", clsFullName, e);
+			misses.incrementAndGet();
+			return null;
+		}
+	}
+
+	@Override
+	public boolean contains(String clsFullName) {
+		Path codeFile = getCodeFile(clsFullName);
+		return codeFile != null && Files.exists(codeFile);
+	}
+
+	private @Nullable Path getCodeFile(String clsFullName) {
+		ClassNode cls = root.resolveRawClass(clsFullName);
+		if (cls == null) {
+			return null;
+		}
+		return getCodeFile(cls);
+	}
+
+	private @Nullable Path getCodeFile(ClassNode cls) {
+		String key = classHashes.getCodeKey(cls);
+		if (key == null) {
+			return null;
+		}
+		// all files divided between 256 top level folders
+		return cacheDir.resolve(key.substring(0, 2)).resolve(key + CODE_FILE_EXT);
+	}
+
+	private static void moveFile(Path src, Path dst) throws IOException {
+		try {
+			Files.move(src, dst, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(src, dst, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Remove least recently used files until cache size fit into the limit
+	 */
+	private void evict() throws IOException {
+		List<CacheFile> files;
+		try (Stream<Path> stream = Files.walk(cacheDir)) {
+			files = stream
+					.filter(p -> p.getFileName().toString().endsWith(CODE_FILE_EXT))
+					.map(CacheFile::read)
+					.filter(Objects::nonNull)
+					.collect(Collectors.toCollection(ArrayList::new));
+		}
+		long totalSize = 0;
+		for (CacheFile file : files) {
+			totalSize += file.size;
+		}
+		if (totalSize <= maxSize) {
+			return;
+		}
+		files.sort(Comparator.comparingLong(f -> f.lastModified));
+		long removedSize = 0;
+		int removedCount = 0;
+		for (CacheFile file : files) {
+			if (totalSize - removedSize <= maxSize) {
+				break;
+			}
+			Files.deleteIfExists(file.path);
+			removedSize += file.size;
+			removedCount++;
+		}
+		LOG.info("Code cache size limit exceeded, removed {} entries ({} bytes)", removedCount, removedSize);
+	}
+
+	@Override
+	public void close() throws IOException {
+		LOG.info("Code cache: hits: {}, misses: {}, stored: {}, dir: {}",
+				hits.get(), misses.get(), stored.get(), cacheDir.toAbsolutePath());
+		try {
+			evict();
+		} catch (Exception e) {
+			LOG.warn("Failed to apply code cache size limit", e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "PersistentCodeCache: dir=" + cacheDir;
+	}
+
+	private static final class CacheFile {
+		private final Path path;
+		private final long size;
+		private final long lastModified;
+
+		static @Nullable CacheFile read(Path path) {
+			try {
+				return new CacheFile(path, Files.size(path), Files.getLastModifiedTime(path).toMillis());
+			} catch (IOException e) {
+				// removed concurrently
+				return null;
+			}
+		}
+
+		private CacheFile(Path path, long size, long lastModified) {
+			this.path = path;
+			this.size = size;
+			this.lastModified = lastModified;
+		}
+	}
+}
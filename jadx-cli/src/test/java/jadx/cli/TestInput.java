@@ -1,11 +1,19 @@
 package jadx.cli;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.assertj.core.api.Condition;
 import org.junit.jupiter.api.Test;
 
+import jadx.core.utils.files.FileUtils;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class TestInput extends BaseCliIntegrationTest {
@@ -65,6 +73,92 @@ public void testSimpleMode() throws Exception {
 		assertThat(files).hasSize(1);
 	}
 
+	@Test
+	public void testCodeCache() throws Exception {
+		Path cacheDir = testDir.resolve("code-cache");
+		List<String> options = List.of("--code-cache", "--code-cache-dir", cacheDir.toAbsolutePath().toString());
+		int result = execJadxCli(buildArgs(options, "samples/hello.dex"));
+		assertThat(result).isEqualTo(0);
+		List<Path> files = collectJavaFilesInDir(outputDir);
+		assertThat(files).hasSize(1);
+		String code = Files.readString(files.get(0));
+		assertThat(collectJavaFilesInDir(cacheDir)).hasSize(1);
+
+		// second run should use code from cache
+		Files.delete(files.get(0));
+		int secondResult = execJadxCli(buildArgs(options, "samples/hello.dex"));
+		assertThat(secondResult).isEqualTo(0);
+		assertThat(Files.readString(files.get(0))).isEqualTo(code);
+		assertThat(collectJavaFilesInDir(cacheDir)).hasSize(1);
+	}
+
+	@Test
+	public void testCodeCacheSameCode() throws Exception {
+		String[] inputs = { "samples/small.apk", "samples/hello.dex", "samples/HelloWorld.smali" };
+		int result = execJadxCli(buildArgs(List.of("-r"), inputs));
+		assertThat(result).isEqualTo(0);
+		Map<Path, String> expected = readJavaFiles(outputDir);
+		assertThat(expected).isNotEmpty();
+
+		Path cacheDir = testDir.resolve("code-cache");
+		List<String> options = List.of("-r", "--code-cache", "--code-cache-dir", cacheDir.toAbsolutePath().toString());
+		// cold run: fill cache
+		FileUtils.deleteDir(outputDir);
+		assertThat(execJadxCli(buildArgs(options, inputs))).isEqualTo(0);
+		assertThat(readJavaFiles(outputDir)).isEqualTo(expected);
+		List<Path> cacheFiles = collectJavaFilesInDir(cacheDir);
+		assertThat(cacheFiles).hasSize(expected.size());
+
+		// warm run: all code from cache
+		FileUtils.deleteDir(outputDir);
+		assertThat(execJadxCli(buildArgs(options, inputs))).isEqualTo(0);
+		assertThat(readJavaFiles(outputDir)).isEqualTo(expected);
+		assertThat(collectJavaFilesInDir(cacheDir)).containsExactlyInAnyOrderElementsOf(cacheFiles);
+	}
+
+	private static Map<Path, String> readJavaFiles(Path dir) throws IOException {
+		Map<Path, String> map = new HashMap<>();
+		for (Path file : collectJavaFilesInDir(dir)) {
+			map.put(dir.relativize(file), Files.readString(file));
+		}
+		return map;
+	}
+
+	@Test
+	public void testUsageCache() throws Exception {
+		Path cacheDir = testDir.resolve("usage-cache");
+		List<String> options = List.of("--usage-cache-dir", cacheDir.toAbsolutePath().toString());
+		int result = execJadxCli(buildArgs(options, "samples/small.apk"));
+		assertThat(result).isEqualTo(0);
+		List<Path> files = collectJavaFilesInDir(outputDir);
+		assertThat(files).isNotEmpty();
+		Path codeFile = files.get(0);
+		String code = Files.readString(codeFile);
+		List<Path> usageFiles = collectFilesInDir(cacheDir, path -> path.getFileName().toString().endsWith(".usage"));
+		assertThat(usageFiles).hasSize(1);
+
+		// second run should use usage data from cache: file loaded and not saved again
+		Path usageFile = usageFiles.get(0);
+		FileTime savedTime = FileTime.fromMillis(1_000_000_000L);
+		Files.setLastModifiedTime(usageFile, savedTime);
+		byte[] usageData = Files.readAllBytes(usageFile);
+		Files.delete(codeFile);
+		int secondResult = execJadxCli(buildArgs(options, "samples/small.apk"));
+		assertThat(secondResult).isEqualTo(0);
+		assertThat(Files.readString(codeFile)).isEqualTo(code);
+		assertThat(collectFilesInDir(cacheDir, path -> path.getFileName().toString().endsWith(".usage")))
+				.isEqualTo(usageFiles);
+		assertThat(Files.getLastModifiedTime(usageFile)).isEqualTo(savedTime);
+		assertThat(Files.readAllBytes(usageFile)).isEqualTo(usageData);
+
+		// truncated file ignored and saved again
+		Files.write(usageFile, Arrays.copyOf(usageData, usageData.length / 2));
+		Files.delete(codeFile);
+		assertThat(execJadxCli(buildArgs(options, "samples/small.apk"))).isEqualTo(0);
+		assertThat(Files.readString(codeFile)).isEqualTo(code);
+		assertThat(Files.readAllBytes(usageFile)).isEqualTo(usageData);
+	}
+
 	@Test
 	public void testResourceOnly() throws Exception {
 		int result = execJadxCli(buildArgs(List.of(), "samples/resources-only.apk"));
@@ -1,7 +1,13 @@
 package jadx.zip;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import org.jetbrains.annotations.Nullable;
 
 public interface IZipEntry {
 
@@ -33,4 +39,34 @@ public interface IZipEntry {
 	 * {@link #getInputStream()}
 	 */
 	boolean preferBytes();
+
+	/**
+	 * Read-only view of uncompressed bytes without copying.
+	 * Available only for stored (not compressed) entries in memory mapped zip files, otherwise return null.
+	 */
+	default @Nullable ByteBuffer getByteBuffer() {
+		return null;
+	}
+
+	/**
+	 * Uncompressed bytes, provided array used as output if it is big enough.
+	 * Returned buffer can wrap provided array or be a read-only view of memory mapped file,
+	 * so it is valid only until next call with the same array.
+	 */
+	default ByteBuffer readBytes(byte[] reuseArray) {
+		return ByteBuffer.wrap(getBytes());
+	}
+
+	/**
+	 * Write uncompressed data into provided channel without loading whole entry into memory.
+	 * Stored entries can be copied directly from zip file.
+	 * Target channel not closed.
+	 *
+	 * @return written bytes count
+	 */
+	default long transferTo(WritableByteChannel target) throws IOException {
+		try (InputStream in = getInputStream()) {
+			return in.transferTo(Channels.newOutputStream(target));
+		}
+	}
 }
@@ -31,6 +31,15 @@ public int read(byte[] bytes, int off, int len) throws IOException {
 		return readLen;
 	}
 
+	/**
+	 * Return remaining data as a view without copy and move stream to the end
+	 */
+	public ByteBuffer readRemainingBuffer() {
+		ByteBuffer remaining = buf.slice();
+		buf.position(buf.limit());
+		return remaining;
+	}
+
 	@Override
 	public boolean markSupported() {
 		return true;
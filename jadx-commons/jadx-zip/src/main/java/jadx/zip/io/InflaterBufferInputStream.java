@@ -0,0 +1,70 @@
+package jadx.zip.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompress raw deflate data from buffer without intermediate input copy.
+ * Inflater taken from {@link InflaterPool} and returned on {@link #close()}.
+ */
+public class InflaterBufferInputStream extends InputStream {
+
+	private final Inflater inflater;
+	private final byte[] singleByte = new byte[1];
+	private boolean closed;
+
+	public InflaterBufferInputStream(ByteBuffer compressedData) {
+		this.inflater = InflaterPool.acquire();
+		this.inflater.setInput(compressedData);
+	}
+
+	@Override
+	public int read() throws IOException {
+		return read(singleByte, 0, 1) == -1 ? -1 : singleByte[0] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (closed) {
+			throw new IOException("Stream closed");
+		}
+		if (len == 0) {
+			return 0;
+		}
+		try {
+			while (true) {
+				int count = inflater.inflate(b, off, len);
+				if (count > 0) {
+					return count;
+				}
+				if (inflater.finished() || inflater.needsDictionary()) {
+					return -1;
+				}
+				if (inflater.needsInput()) {
+					throw new EOFException("Unexpected end of compressed data");
+				}
+			}
+		} catch (DataFormatException e) {
+			String msg = e.getMessage();
+			throw new ZipException(msg != null ? msg : "Invalid compressed data format");
+		}
+	}
+
+	@Override
+	public int available() {
+		return closed || inflater.finished() ? 0 : 1;
+	}
+
+	@Override
+	public void close() {
+		if (!closed) {
+			closed = true;
+			InflaterPool.release(inflater);
+		}
+	}
+}
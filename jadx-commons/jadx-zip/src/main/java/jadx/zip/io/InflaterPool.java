@@ -0,0 +1,48 @@
+package jadx.zip.io;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Inflater;
+
+/**
+ * Pool of {@link Inflater} instances for raw deflate data ('nowrap' mode, as used in zip files).
+ * <br>
+ * Inflater allocates native memory released only on {@link Inflater#end()} or by GC,
+ * so reuse helps to avoid memory churn on many small entries.
+ */
+public final class InflaterPool {
+
+	static final int MAX_POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+	private static final Queue<Inflater> POOL = new ConcurrentLinkedQueue<>();
+	private static final AtomicInteger POOL_SIZE = new AtomicInteger();
+
+	/**
+	 * Get inflater in initial state, should be returned by {@link #release(Inflater)}
+	 */
+	public static Inflater acquire() {
+		Inflater inflater = POOL.poll();
+		if (inflater != null) {
+			POOL_SIZE.decrementAndGet();
+			return inflater;
+		}
+		return new Inflater(true);
+	}
+
+	/**
+	 * Return inflater into pool, it must not be used after this call
+	 */
+	public static void release(Inflater inflater) {
+		inflater.reset();
+		if (POOL_SIZE.incrementAndGet() <= MAX_POOL_SIZE) {
+			POOL.offer(inflater);
+		} else {
+			POOL_SIZE.decrementAndGet();
+			inflater.end();
+		}
+	}
+
+	private InflaterPool() {
+	}
+}
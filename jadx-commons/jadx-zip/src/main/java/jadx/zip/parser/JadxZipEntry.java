@@ -1,7 +1,12 @@
 package jadx.zip.parser;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import org.jetbrains.annotations.Nullable;
 
 import jadx.zip.IZipEntry;
 
@@ -9,12 +14,12 @@ public final class JadxZipEntry implements IZipEntry {
 	private final JadxZipParser parser;
 	private final String fileName;
 	private final int compressMethod;
-	private final int entryStart;
-	private final int dataStart;
+	private final long entryStart;
+	private final long dataStart;
 	private final long compressedSize;
 	private final long uncompressedSize;
 
-	JadxZipEntry(JadxZipParser parser, String fileName, int entryStart, int dataStart,
+	JadxZipEntry(JadxZipParser parser, String fileName, long entryStart, long dataStart,
 			int compressMethod, long compressedSize, long uncompressedSize) {
 		this.parser = parser;
 		this.fileName = fileName;
@@ -70,11 +75,26 @@ public InputStream getInputStream() {
 		return parser.getInputStream(this);
 	}
 
-	public int getEntryStart() {
+	@Override
+	public @Nullable ByteBuffer getByteBuffer() {
+		return parser.getByteBuffer(this);
+	}
+
+	@Override
+	public ByteBuffer readBytes(byte[] reuseArray) {
+		return parser.readBytes(this, reuseArray);
+	}
+
+	@Override
+	public long transferTo(WritableByteChannel target) throws IOException {
+		return parser.transferTo(this, target);
+	}
+
+	public long getEntryStart() {
 		return entryStart;
 	}
 
-	public int getDataStart() {
+	public long getDataStart() {
 		return dataStart;
 	}
 
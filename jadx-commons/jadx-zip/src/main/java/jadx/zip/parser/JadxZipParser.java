@@ -5,8 +5,8 @@
 import java.io.InputStream;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.channels.FileChannel;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -22,7 +22,6 @@
 import jadx.zip.ZipReaderFlags;
 import jadx.zip.ZipReaderOptions;
 import jadx.zip.fallback.FallbackZipParser;
-import jadx.zip.io.ByteBufferBackedInputStream;
 import jadx.zip.io.LimitedInputStream;
 import jadx.zip.security.IJadxZipSecurity;
 
@@ -30,7 +29,6 @@
  * Custom and simple zip parser to fight tampering.
  * Many zip features aren't supported:
  * - Compression methods other than STORE or DEFLATE
- * - Zip64
  * - Checksum verification
  * - Multi file archives
  */
@@ -41,6 +39,16 @@ public final class JadxZipParser implements IZipParser {
 	private static final int LOCAL_FILE_HEADER_SIGN = 0x04034b50;
 	private static final int CD_SIGN = 0x02014b50;
 	private static final int END_OF_CD_SIGN = 0x06054b50;
+	private static final int ZIP64_END_OF_CD_SIGN = 0x06064b50;
+	private static final int ZIP64_END_OF_CD_LOCATOR_SIGN = 0x07064b50;
+	private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+	private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+	private static final int CD_ENTRY_MIN_SIZE = 46;
+
+	/**
+	 * Load files smaller than 100MB directly into memory, bigger files are memory mapped
+	 */
+	private static final long MMAP_THRESHOLD = 100 * 1024 * 1024;
 
 	private final File zipFile;
 	private final ZipReaderOptions options;
@@ -48,22 +56,31 @@ public final class JadxZipParser implements IZipParser {
 	private final Set<ZipReaderFlags> flags;
 	private final boolean verify;
 	private final boolean useLimitedDataStream;
+	private final long mmapThreshold;
+	private final int segmentShift;
 
-	private @Nullable RandomAccessFile file;
-	private @Nullable FileChannel fileChannel;
-	private @Nullable ByteBuffer byteBuffer;
+	private volatile @Nullable ZipBuffer zipBuffer;
 
-	private int endOfCDStart = -2;
+	private long endOfCDStart = -2;
 
 	private @Nullable ZipContent fallbackZipContent;
 
 	public JadxZipParser(File zipFile, ZipReaderOptions options) {
+		this(zipFile, options, MMAP_THRESHOLD, ZipBuffer.DEFAULT_SEGMENT_SHIFT);
+	}
+
+	/**
+	 * Allow to change memory mapping parameters for tests
+	 */
+	JadxZipParser(File zipFile, ZipReaderOptions options, long mmapThreshold, int segmentShift) {
 		this.zipFile = zipFile;
 		this.options = options;
 		this.zipSecurity = options.getZipSecurity();
 		this.flags = options.getFlags();
 		this.verify = options.getFlags().contains(ZipReaderFlags.REPORT_TAMPERING);
 		this.useLimitedDataStream = zipSecurity.useLimitedDataStream();
+		this.mmapThreshold = mmapThreshold;
+		this.segmentShift = segmentShift;
 	}
 
 	@Override
@@ -93,11 +110,9 @@ public ZipContent open() throws IOException {
 	public boolean canOpen() {
 		try {
 			load();
-			int eocdStart = searchEndOfCDStart();
-			ByteBuffer buf = getBuffer();
-			buf.position(eocdStart + 4);
-			int diskNum = readU2(buf);
-			if (diskNum != 0xFFFF) { // Zip64 not supported
+			long eocdStart = searchEndOfCDStart();
+			int diskNum = getBuffer().getU2(eocdStart + 4);
+			if (diskNum != 0xFFFF || searchZip64EndOfCD(eocdStart) != -1) {
 				return true;
 			}
 		} catch (Exception e) {
@@ -119,8 +134,8 @@ private boolean isValidEntry(JadxZipEntry zipEntry) {
 		return validEntry;
 	}
 
-	private ByteBuffer getBuffer() {
-		ByteBuffer buf = byteBuffer;
+	private ZipBuffer getBuffer() {
+		ZipBuffer buf = zipBuffer;
 		if (buf == null) {
 			throw new RuntimeException("File not opened: " + zipFile);
 		}
@@ -128,39 +143,36 @@ private ByteBuffer getBuffer() {
 	}
 
 	private void load() throws IOException {
-		if (byteBuffer != null) {
+		if (zipBuffer != null) {
 			// already loaded
 			return;
 		}
 		RandomAccessFile raFile = new RandomAccessFile(zipFile, "r");
 		long size = raFile.length();
-		if (size >= Integer.MAX_VALUE) {
-			throw new IOException("Zip file is too big");
-		}
-		int fileLen = (int) size;
-		if (fileLen < 100 * 1024 * 1024) {
-			// load files smaller than 100MB directly into memory
-			byte[] bytes = new byte[fileLen];
-			raFile.readFully(bytes);
-			byteBuffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
-			raFile.close();
+		if (size < mmapThreshold) {
+			try {
+				byte[] bytes = new byte[(int) size];
+				raFile.readFully(bytes);
+				zipBuffer = ZipBuffer.wrap(bytes);
+			} finally {
+				raFile.close();
+			}
 		} else {
-			// for big files - use a memory mapped file
-			file = raFile;
-			fileChannel = raFile.getChannel();
-			byteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
-			byteBuffer.order(ByteOrder.LITTLE_ENDIAN);
+			// for big files - use a memory mapped file, split into segments if bigger than 2GB
+			zipBuffer = ZipBuffer.map(raFile, segmentShift);
 		}
 	}
 
 	private List<IZipEntry> searchLocalFileHeaders(int maxEntriesCount) {
 		List<IZipEntry> entries = new ArrayList<>();
+		long pos = 0;
 		while (true) {
-			int start = searchEntryStart();
+			long start = searchEntryStart(pos);
 			if (start == -1) {
 				return entries;
 			}
 			JadxZipEntry zipEntry = loadFileEntry(start);
+			pos = zipEntry.getDataStart() + zipEntry.getCompressedSize();
 			if (isValidEntry(zipEntry)) {
 				entries.add(zipEntry);
 				if (entries.size() > maxEntriesCount) {
@@ -171,71 +183,98 @@ private List<IZipEntry> searchLocalFileHeaders(int maxEntriesCount) {
 	}
 
 	private List<IZipEntry> loadFromCentralDirs(int maxEntriesCount) throws IOException {
-		int eocdStart = searchEndOfCDStart();
+		long eocdStart = searchEndOfCDStart();
 		if (eocdStart < 0) {
 			throw new RuntimeException("End of central directory not found");
 		}
-		ByteBuffer buf = getBuffer();
-		buf.position(eocdStart + 10);
-		int entriesCount = readU2(buf);
-		buf.position(eocdStart + 16);
-		int cdOffset = buf.getInt();
-
+		ZipBuffer buf = getBuffer();
+		long entriesCount = buf.getU2(eocdStart + 10);
+		long cdOffset = buf.getU4(eocdStart + 16);
+		if (entriesCount == 0xFFFF || cdOffset == ZIP64_MAGIC) {
+			long zip64EocdStart = searchZip64EndOfCD(eocdStart);
+			if (zip64EocdStart != -1) {
+				entriesCount = buf.getLong(zip64EocdStart + 32);
+				cdOffset = buf.getLong(zip64EocdStart + 48);
+			}
+		}
 		if (entriesCount > maxEntriesCount) {
 			throw new IllegalStateException("Max entries count limit exceeded: " + entriesCount);
 		}
-		List<IZipEntry> entries = new ArrayList<>(entriesCount);
-		buf.position(cdOffset);
-		for (int i = 0; i < entriesCount; i++) {
-			JadxZipEntry zipEntry = loadCDEntry();
+		if (entriesCount < 0 || entriesCount * CD_ENTRY_MIN_SIZE > buf.size()) {
+			throw new IllegalStateException("Invalid entries count: " + entriesCount);
+		}
+		List<IZipEntry> entries = new ArrayList<>((int) entriesCount);
+		long pos = cdOffset;
+		for (long i = 0; i < entriesCount; i++) {
+			JadxZipEntry zipEntry = loadCDEntry(pos);
 			if (isValidEntry(zipEntry)) {
 				entries.add(zipEntry);
 			}
+			pos = getCDEntryEnd(pos);
 		}
 		return entries;
 	}
 
-	private JadxZipEntry loadCDEntry() {
-		ByteBuffer buf = getBuffer();
-		int start = buf.position();
-		buf.position(start + 28);
-		int fileNameLen = readU2(buf);
-		int extraFieldLen = readU2(buf);
-		int commentLen = readU2(buf);
-		buf.position(start + 42);
-		int fileEntryStart = buf.getInt();
-		int entryEnd = start + 46 + fileNameLen + extraFieldLen + commentLen;
-		JadxZipEntry entry = loadFileEntry(fileEntryStart);
+	private long getCDEntryEnd(long start) {
+		ZipBuffer buf = getBuffer();
+		int fileNameLen = buf.getU2(start + 28);
+		int extraFieldLen = buf.getU2(start + 30);
+		int commentLen = buf.getU2(start + 32);
+		return start + CD_ENTRY_MIN_SIZE + fileNameLen + extraFieldLen + commentLen;
+	}
+
+	private JadxZipEntry loadCDEntry(long start) {
+		CDEntryValues values = readCDEntryValues(start);
+		JadxZipEntry entry = loadFileEntry(values.fileEntryStart);
 		if (verify) {
-			compareCDAndLFH(buf, start, entry);
+			compareCDAndLFH(values, entry);
 		}
 		if (!entry.isSizesValid()) {
-			entry = fixEntryFromCD(entry, start);
+			entry = new JadxZipEntry(this, entry.getName(), start, entry.getDataStart(),
+					values.comprMethod, values.comprSize, values.unComprSize);
 		}
-		buf.position(entryEnd);
 		return entry;
 	}
 
-	private JadxZipEntry fixEntryFromCD(JadxZipEntry entry, int start) {
-		ByteBuffer buf = getBuffer();
-		buf.position(start + 10);
-		int comprMethod = readU2(buf);
-		buf.position(start + 20);
-		int comprSize = buf.getInt();
-		int unComprSize = buf.getInt();
-		return new JadxZipEntry(this, entry.getName(), start, entry.getDataStart(), comprMethod, comprSize, unComprSize);
+	private CDEntryValues readCDEntryValues(long start) {
+		ZipBuffer buf = getBuffer();
+		CDEntryValues values = new CDEntryValues();
+		values.comprMethod = buf.getU2(start + 10);
+		values.comprSize = buf.getU4(start + 20);
+		values.unComprSize = buf.getU4(start + 24);
+		values.fileEntryStart = buf.getU4(start + 42);
+		if (values.comprSize == ZIP64_MAGIC || values.unComprSize == ZIP64_MAGIC || values.fileEntryStart == ZIP64_MAGIC) {
+			int fileNameLen = buf.getU2(start + 28);
+			int extraFieldLen = buf.getU2(start + 30);
+			long extraStart = start + CD_ENTRY_MIN_SIZE + fileNameLen;
+			long zip64Start = searchZip64ExtraField(extraStart, extraFieldLen);
+			if (zip64Start != -1) {
+				// zip64 field contains only values overflowed in the record, always in this order
+				long pos = zip64Start;
+				if (values.unComprSize == ZIP64_MAGIC) {
+					values.unComprSize = buf.getLong(pos);
+					pos += 8;
+				}
+				if (values.comprSize == ZIP64_MAGIC) {
+					values.comprSize = buf.getLong(pos);
+					pos += 8;
+				}
+				if (values.fileEntryStart == ZIP64_MAGIC) {
+					values.fileEntryStart = buf.getLong(pos);
+				}
+			}
+		}
+		return values;
 	}
 
-	private static void compareCDAndLFH(ByteBuffer buf, int start, JadxZipEntry entry) {
-		buf.position(start + 10);
-		int comprMethod = readU2(buf);
+	private static void compareCDAndLFH(CDEntryValues values, JadxZipEntry entry) {
+		int comprMethod = values.comprMethod;
 		if (comprMethod != entry.getCompressMethod()) {
 			LOG.warn("Compression method differ in CD {} and LFH {} for {}",
 					comprMethod, entry.getCompressMethod(), entry);
 		}
-		buf.position(start + 20);
-		int comprSize = buf.getInt();
-		int unComprSize = buf.getInt();
+		long comprSize = values.comprSize;
+		long unComprSize = values.unComprSize;
 		if (comprSize != entry.getCompressedSize()) {
 			LOG.warn("Compressed size differ in CD {} and LFH {} for {}",
 					comprSize, entry.getCompressedSize(), entry);
@@ -246,31 +285,57 @@ private static void compareCDAndLFH(ByteBuffer buf, int start, JadxZipEntry entr
 		}
 	}
 
-	private JadxZipEntry loadFileEntry(int start) {
-		ByteBuffer buf = getBuffer();
-		buf.position(start + 8);
-		int comprMethod = readU2(buf);
-		buf.position(start + 18);
-		int comprSize = buf.getInt();
-		int unComprSize = buf.getInt();
-		int fileNameLen = readU2(buf);
-		int extraFieldLen = readU2(buf);
-		String fileName = readString(buf, fileNameLen);
-		int dataStart = start + 30 + fileNameLen + extraFieldLen;
-		buf.position(dataStart + comprSize);
+	private JadxZipEntry loadFileEntry(long start) {
+		ZipBuffer buf = getBuffer();
+		int comprMethod = buf.getU2(start + 8);
+		long comprSize = buf.getU4(start + 18);
+		long unComprSize = buf.getU4(start + 22);
+		int fileNameLen = buf.getU2(start + 26);
+		int extraFieldLen = buf.getU2(start + 28);
+		String fileName = readString(buf, start + 30, fileNameLen);
+		long extraStart = start + 30 + fileNameLen;
+		if (comprSize == ZIP64_MAGIC || unComprSize == ZIP64_MAGIC) {
+			// zip64 field in local header contains both sizes
+			long zip64Start = searchZip64ExtraField(extraStart, extraFieldLen);
+			if (zip64Start != -1) {
+				unComprSize = buf.getLong(zip64Start);
+				comprSize = buf.getLong(zip64Start + 8);
+			}
+		}
+		long dataStart = extraStart + extraFieldLen;
 		return new JadxZipEntry(this, fileName, start, dataStart, comprMethod, comprSize, unComprSize);
 	}
 
-	private int searchEndOfCDStart() throws IOException {
+	/**
+	 * @return start of zip64 extended information data or -1 if not found
+	 */
+	private long searchZip64ExtraField(long extraStart, int extraLen) {
+		ZipBuffer buf = getBuffer();
+		long end = extraStart + extraLen;
+		long pos = extraStart;
+		while (pos + 4 <= end) {
+			int headerId = buf.getU2(pos);
+			int dataSize = buf.getU2(pos + 2);
+			if (headerId == ZIP64_EXTRA_FIELD_ID) {
+				return pos + 4;
+			}
+			pos += 4 + dataSize;
+		}
+		return -1;
+	}
+
+	private long searchEndOfCDStart() throws IOException {
 		if (endOfCDStart != -2) {
 			return endOfCDStart;
 		}
-		ByteBuffer buf = getBuffer();
-		int pos = buf.limit() - 22;
-		int minPos = Math.max(0, pos - 0xffff);
+		ZipBuffer buf = getBuffer();
+		long pos = buf.size() - 22;
+		if (pos < 0) {
+			throw new IOException("Zip file is too small");
+		}
+		long minPos = Math.max(0, pos - 0xffff);
 		while (true) {
-			buf.position(pos);
-			int sign = buf.getInt();
+			int sign = buf.getInt(pos);
 			if (sign == END_OF_CD_SIGN) {
 				endOfCDStart = pos;
 				return pos;
@@ -282,25 +347,37 @@ private int searchEndOfCDStart() throws IOException {
 		}
 	}
 
-	private int searchEntryStart() {
-		ByteBuffer buf = getBuffer();
-		while (true) {
-			int start = buf.position();
-			if (start + 4 > buf.limit()) {
-				return -1;
-			}
-			byte b = buf.get();
-			if (b == LOCAL_FILE_HEADER_START) {
-				buf.position(start);
-				int sign = buf.getInt();
-				if (sign == LOCAL_FILE_HEADER_SIGN) {
-					return start;
-				}
+	/**
+	 * Zip64 end of central directory record referenced by locator placed right before end of central directory.
+	 *
+	 * @return start of zip64 end of central directory record or -1 if not found
+	 */
+	private long searchZip64EndOfCD(long eocdStart) {
+		ZipBuffer buf = getBuffer();
+		long locatorStart = eocdStart - 20;
+		if (locatorStart < 0 || buf.getInt(locatorStart) != ZIP64_END_OF_CD_LOCATOR_SIGN) {
+			return -1;
+		}
+		long zip64EocdStart = buf.getLong(locatorStart + 8);
+		if (zip64EocdStart < 0 || zip64EocdStart + 56 > locatorStart
+				|| buf.getInt(zip64EocdStart) != ZIP64_END_OF_CD_SIGN) {
+			return -1;
+		}
+		return zip64EocdStart;
+	}
+
+	private long searchEntryStart(long startPos) {
+		ZipBuffer buf = getBuffer();
+		long end = buf.size() - 4;
+		for (long pos = startPos; pos <= end; pos++) {
+			if (buf.get(pos) == LOCAL_FILE_HEADER_START && buf.getInt(pos) == LOCAL_FILE_HEADER_SIGN) {
+				return pos;
 			}
 		}
+		return -1;
 	}
 
-	synchronized InputStream getInputStream(JadxZipEntry entry) {
+	InputStream getInputStream(JadxZipEntry entry) {
 		if (verify) {
 			verifyEntry(entry);
 		}
@@ -314,7 +391,7 @@ synchronized InputStream getInputStream(JadxZipEntry entry) {
 			}
 		} else {
 			// treat any other compression methods values as UNCOMPRESSED
-			stream = bufferToStream(getBuffer(), entry.getDataStart(), (int) entry.getUncompressedSize());
+			stream = bufferToStream(getBuffer(), entry.getDataStart(), entry.getUncompressedSize());
 		}
 		if (useLimitedDataStream) {
 			return new LimitedInputStream(stream, entry.getUncompressedSize());
@@ -322,7 +399,7 @@ synchronized InputStream getInputStream(JadxZipEntry entry) {
 		return stream;
 	}
 
-	synchronized byte[] getBytes(JadxZipEntry entry) {
+	byte[] getBytes(JadxZipEntry entry) {
 		if (verify) {
 			verifyEntry(entry);
 		}
@@ -335,7 +412,72 @@ synchronized byte[] getBytes(JadxZipEntry entry) {
 			}
 		}
 		// treat any other compression methods values as UNCOMPRESSED
-		return bufferToBytes(getBuffer(), entry.getDataStart(), (int) entry.getUncompressedSize());
+		return bufferToBytes(getBuffer(), entry.getDataStart(), entry.getUncompressedSize());
+	}
+
+	ByteBuffer readBytes(JadxZipEntry entry, byte[] reuseArray) {
+		if (verify) {
+			verifyEntry(entry);
+		}
+		if (entry.getCompressMethod() == 8) {
+			try {
+				return ZipDeflate.decompressEntryToBuffer(getBuffer(), entry, reuseArray);
+			} catch (Exception e) {
+				entryParseFailed(entry, e);
+				return ByteBuffer.wrap(useFallbackParser(entry).getBytes());
+			}
+		}
+		ByteBuffer mappedData = getByteBuffer(entry);
+		if (mappedData != null) {
+			return mappedData;
+		}
+		long size = entry.getUncompressedSize();
+		if (size > reuseArray.length) {
+			return ByteBuffer.wrap(bufferToBytes(getBuffer(), entry.getDataStart(), size));
+		}
+		getBuffer().get(entry.getDataStart(), reuseArray, 0, (int) size);
+		return ByteBuffer.wrap(reuseArray, 0, (int) size);
+	}
+
+	/**
+	 * Stored entries copied from zip file by {@link java.nio.channels.FileChannel#transferTo},
+	 * deflated entries inflated into channel by small chunks.
+	 * Errors are not redirected to the fallback parser, because some data can be already written.
+	 */
+	long transferTo(JadxZipEntry entry, WritableByteChannel target) throws IOException {
+		if (verify) {
+			verifyEntry(entry);
+		}
+		if (entry.getCompressMethod() == 8) {
+			if (entry.getCompressedSize() > Integer.MAX_VALUE) {
+				try (InputStream in = getInputStream(entry)) {
+					return in.transferTo(Channels.newOutputStream(target));
+				}
+			}
+			long limit = useLimitedDataStream ? entry.getUncompressedSize() : -1;
+			return ZipDeflate.decompressEntryToChannel(getBuffer(), entry, target, limit);
+		}
+		// treat any other compression methods values as UNCOMPRESSED
+		return getBuffer().transferTo(entry.getDataStart(), entry.getUncompressedSize(), target);
+	}
+
+	/**
+	 * Share data of stored entries only for memory mapped files,
+	 * heap buffer slice will retain whole zip file in memory.
+	 */
+	@Nullable ByteBuffer getByteBuffer(JadxZipEntry entry) {
+		if (entry.getCompressMethod() != 0 || entry.getCompressedSize() != entry.getUncompressedSize()) {
+			return null;
+		}
+		ZipBuffer buf = getBuffer();
+		if (!buf.isMapped()) {
+			return null;
+		}
+		long dataEnd = entry.getDataStart() + entry.getUncompressedSize();
+		if (entry.getDataStart() < 0 || dataEnd > buf.size() || entry.getUncompressedSize() > Integer.MAX_VALUE) {
+			return null;
+		}
+		return buf.slice(entry.getDataStart(), (int) entry.getUncompressedSize());
 	}
 
 	private static void verifyEntry(JadxZipEntry entry) {
@@ -388,32 +530,25 @@ private boolean isEncrypted(JadxZipEntry entry) {
 	}
 
 	private int readFlags(JadxZipEntry entry) {
-		ByteBuffer buf = getBuffer();
-		buf.position(entry.getEntryStart() + 6);
-		return readU2(buf);
+		return getBuffer().getU2(entry.getEntryStart() + 6);
 	}
 
-	static byte[] bufferToBytes(ByteBuffer buf, int start, int size) {
-		byte[] data = new byte[size];
-		buf.position(start);
-		buf.get(data);
+	static byte[] bufferToBytes(ZipBuffer buf, long start, long size) {
+		if (size > Integer.MAX_VALUE) {
+			throw new RuntimeException("Zip entry is too big: " + size);
+		}
+		byte[] data = new byte[(int) size];
+		buf.get(start, data, 0, data.length);
 		return data;
 	}
 
-	static InputStream bufferToStream(ByteBuffer buf, int start, int size) {
-		buf.position(start);
-		ByteBuffer streamBuf = buf.slice();
-		streamBuf.limit(size);
-		return new ByteBufferBackedInputStream(streamBuf);
-	}
-
-	private static int readU2(ByteBuffer buf) {
-		return buf.getShort() & 0xFFFF;
+	static InputStream bufferToStream(ZipBuffer buf, long start, long size) {
+		return new ZipBufferInputStream(buf, start, size);
 	}
 
-	private static String readString(ByteBuffer buf, int fileNameLen) {
-		byte[] bytes = new byte[fileNameLen];
-		buf.get(bytes);
+	private static String readString(ZipBuffer buf, long start, int len) {
+		byte[] bytes = new byte[len];
+		buf.get(start, bytes, 0, len);
 		return new String(bytes, StandardCharsets.UTF_8);
 	}
 
@@ -421,19 +556,14 @@ private static String readString(ByteBuffer buf, int fileNameLen) {
 	@Override
 	public void close() throws IOException {
 		try {
-			if (fileChannel != null) {
-				fileChannel.close();
-			}
-			if (file != null) {
-				file.close();
+			if (zipBuffer != null) {
+				zipBuffer.close();
 			}
 			if (fallbackZipContent != null) {
 				fallbackZipContent.close();
 			}
 		} finally {
-			fileChannel = null;
-			file = null;
-			byteBuffer = null;
+			zipBuffer = null;
 			endOfCDStart = -2;
 			fallbackZipContent = null;
 		}
@@ -447,4 +577,11 @@ public File getZipFile() {
 	public String toString() {
 		return "JadxZipParser{" + zipFile + '}';
 	}
+
+	private static final class CDEntryValues {
+		private int comprMethod;
+		private long comprSize;
+		private long unComprSize;
+		private long fileEntryStart;
+	}
 }
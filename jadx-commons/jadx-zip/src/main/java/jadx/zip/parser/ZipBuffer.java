@@ -0,0 +1,218 @@
+package jadx.zip.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Read only zip file data addressed by long offsets.
+ * Small files loaded into memory, big files mapped as several segments,
+ * because one mapped buffer is limited to 2GB.
+ * Only absolute reads are used, so buffer state is never changed.
+ */
+final class ZipBuffer implements Closeable {
+	static final int DEFAULT_SEGMENT_SHIFT = 30; // 1GB
+
+	private final ByteBuffer[] segments;
+	private final long size;
+	private final int segmentShift;
+	private final long segmentMask;
+	private final @Nullable RandomAccessFile file;
+	private final @Nullable FileChannel channel;
+
+	static ZipBuffer wrap(byte[] bytes) {
+		ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+		return new ZipBuffer(new ByteBuffer[] { buf }, bytes.length, 31, null, null);
+	}
+
+	/**
+	 * Map whole file. File will be closed on {@link #close()} or on error.
+	 */
+	static ZipBuffer map(RandomAccessFile file, int segmentShift) throws IOException {
+		try {
+			FileChannel channel = file.getChannel();
+			long size = channel.size();
+			long segmentSize = 1L << segmentShift;
+			int count = (int) ((size + segmentSize - 1) >>> segmentShift);
+			ByteBuffer[] segments = new ByteBuffer[Math.max(count, 1)];
+			if (count == 0) {
+				segments[0] = ByteBuffer.allocate(0);
+			}
+			for (int i = 0; i < count; i++) {
+				long start = (long) i << segmentShift;
+				long len = Math.min(segmentSize, size - start);
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, len).order(ByteOrder.LITTLE_ENDIAN);
+			}
+			return new ZipBuffer(segments, size, segmentShift, file, channel);
+		} catch (IOException | RuntimeException e) {
+			file.close();
+			throw e;
+		}
+	}
+
+	private ZipBuffer(ByteBuffer[] segments, long size, int segmentShift,
+			@Nullable RandomAccessFile file, @Nullable FileChannel channel) {
+		this.segments = segments;
+		this.size = size;
+		this.segmentShift = segmentShift;
+		this.segmentMask = (1L << segmentShift) - 1;
+		this.file = file;
+		this.channel = channel;
+	}
+
+	long size() {
+		return size;
+	}
+
+	boolean isMapped() {
+		return channel != null;
+	}
+
+	byte get(long pos) {
+		return segment(pos).get(offset(pos));
+	}
+
+	int getU1(long pos) {
+		return get(pos) & 0xFF;
+	}
+
+	int getU2(long pos) {
+		ByteBuffer seg = segment(pos);
+		int off = offset(pos);
+		if (off + 2 <= seg.limit()) {
+			return seg.getShort(off) & 0xFFFF;
+		}
+		return getU1(pos) | getU1(pos + 1) << 8;
+	}
+
+	int getInt(long pos) {
+		ByteBuffer seg = segment(pos);
+		int off = offset(pos);
+		if (off + 4 <= seg.limit()) {
+			return seg.getInt(off);
+		}
+		return getU2(pos) | getU2(pos + 2) << 16;
+	}
+
+	long getU4(long pos) {
+		return getInt(pos) & 0xFFFFFFFFL;
+	}
+
+	long getLong(long pos) {
+		ByteBuffer seg = segment(pos);
+		int off = offset(pos);
+		if (off + 8 <= seg.limit()) {
+			return seg.getLong(off);
+		}
+		return getU4(pos) | getU4(pos + 4) << 32;
+	}
+
+	void get(long pos, byte[] dst, int off, int len) {
+		long curPos = pos;
+		int curOff = off;
+		int remaining = len;
+		while (remaining > 0) {
+			ByteBuffer seg = segment(curPos);
+			int segOff = offset(curPos);
+			int count = Math.min(remaining, seg.limit() - segOff);
+			if (count <= 0) {
+				throw new BufferUnderflowException();
+			}
+			ByteBuffer dup = seg.duplicate();
+			dup.position(segOff);
+			dup.get(dst, curOff, count);
+			curPos += count;
+			curOff += count;
+			remaining -= count;
+		}
+	}
+
+	/**
+	 * Write data at provided range into channel.
+	 * For memory mapped file data copied by {@link FileChannel#transferTo}, so it can be done by OS without user space copy.
+	 */
+	long transferTo(long pos, long len, WritableByteChannel target) throws IOException {
+		if (pos < 0 || len < 0 || pos + len > size) {
+			throw new BufferUnderflowException();
+		}
+		if (channel != null) {
+			long done = 0;
+			while (done < len) {
+				long count = channel.transferTo(pos + done, len - done, target);
+				if (count <= 0) {
+					throw new IOException("Failed to copy zip data at " + (pos + done));
+				}
+				done += count;
+			}
+			return len;
+		}
+		long curPos = pos;
+		long remaining = len;
+		while (remaining > 0) {
+			ByteBuffer seg = segment(curPos);
+			int segOff = offset(curPos);
+			int count = (int) Math.min(remaining, seg.limit() - segOff);
+			ByteBuffer dup = seg.duplicate();
+			dup.position(segOff);
+			dup.limit(segOff + count);
+			while (dup.hasRemaining()) {
+				target.write(dup);
+			}
+			curPos += count;
+			remaining -= count;
+		}
+		return len;
+	}
+
+	/**
+	 * Buffer with data at provided range.
+	 * Data split between segments will be mapped again as a separate buffer.
+	 */
+	ByteBuffer slice(long pos, int len) {
+		ByteBuffer seg = segment(pos);
+		int segOff = offset(pos);
+		if (segOff + len <= seg.limit()) {
+			ByteBuffer dup = seg.duplicate();
+			dup.position(segOff);
+			dup.limit(segOff + len);
+			return dup.slice();
+		}
+		if (channel == null || pos + len > size) {
+			throw new BufferUnderflowException();
+		}
+		try {
+			return channel.map(FileChannel.MapMode.READ_ONLY, pos, len);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to map zip data at " + pos + ", size: " + len, e);
+		}
+	}
+
+	private ByteBuffer segment(long pos) {
+		if (pos < 0 || pos >= size) {
+			throw new IndexOutOfBoundsException("Position " + pos + " out of bounds, size: " + size);
+		}
+		return segments[(int) (pos >>> segmentShift)];
+	}
+
+	private int offset(long pos) {
+		return (int) (pos & segmentMask);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (channel != null) {
+			channel.close();
+		}
+		if (file != null) {
+			file.close();
+		}
+	}
+}
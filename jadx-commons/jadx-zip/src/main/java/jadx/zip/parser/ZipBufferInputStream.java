@@ -0,0 +1,70 @@
+package jadx.zip.parser;
+
+import java.io.InputStream;
+
+/**
+ * Stream for zip data range, can be bigger than 2GB
+ */
+final class ZipBufferInputStream extends InputStream {
+	private final ZipBuffer buf;
+	private final long end;
+	private long pos;
+	private long markedPos;
+
+	ZipBufferInputStream(ZipBuffer buf, long start, long size) {
+		this.buf = buf;
+		this.pos = start;
+		this.markedPos = start;
+		this.end = start + size;
+	}
+
+	@Override
+	public int read() {
+		if (pos >= end) {
+			return -1;
+		}
+		return buf.getU1(pos++);
+	}
+
+	@Override
+	@SuppressWarnings("NullableProblems")
+	public int read(byte[] bytes, int off, int len) {
+		if (len == 0) {
+			return 0;
+		}
+		if (pos >= end) {
+			return -1;
+		}
+		int readLen = (int) Math.min(len, end - pos);
+		buf.get(pos, bytes, off, readLen);
+		pos += readLen;
+		return readLen;
+	}
+
+	@Override
+	public long skip(long n) {
+		long skipLen = Math.max(0, Math.min(n, end - pos));
+		pos += skipLen;
+		return skipLen;
+	}
+
+	@Override
+	public int available() {
+		return (int) Math.min(Math.max(0, end - pos), Integer.MAX_VALUE);
+	}
+
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+
+	@Override
+	public synchronized void mark(int unused) {
+		markedPos = pos;
+	}
+
+	@Override
+	public synchronized void reset() {
+		pos = markedPos;
+	}
+}
@@ -1,38 +1,106 @@
 package jadx.zip.parser;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.zip.DataFormatException;
 import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import jadx.zip.io.InflaterBufferInputStream;
+import jadx.zip.io.InflaterPool;
 
 import static jadx.zip.parser.JadxZipParser.bufferToStream;
 
 final class ZipDeflate {
 	private static final int BUFFER_SIZE = 4096;
+	private static final int CHANNEL_BUFFER_SIZE = 64 * 1024;
 
-	static byte[] decompressEntryToBytes(ByteBuffer buf, JadxZipEntry entry) throws DataFormatException {
-		buf.position(entry.getDataStart());
-		ByteBuffer entryBuf = buf.slice();
-		entryBuf.limit((int) entry.getCompressedSize());
-		if (entry.getUncompressedSize() > Integer.MAX_VALUE) {
-			throw new DataFormatException("Entry too large: " + entry.getUncompressedSize());
-		}
+	static byte[] decompressEntryToBytes(ZipBuffer buf, JadxZipEntry entry) throws DataFormatException {
+		checkSize(entry);
 		byte[] out = new byte[(int) entry.getUncompressedSize()];
-		Inflater inflater = new Inflater(true);
-		inflater.setInput(entryBuf);
-		int written = inflater.inflate(out);
-		inflater.end();
-		if (written != out.length) {
+		decompressEntry(buf, entry, out);
+		return out;
+	}
+
+	/**
+	 * Decompress entry into provided array, new array allocated if provided is too small.
+	 */
+	static ByteBuffer decompressEntryToBuffer(ZipBuffer buf, JadxZipEntry entry, byte[] reuseArray) throws DataFormatException {
+		checkSize(entry);
+		int size = (int) entry.getUncompressedSize();
+		byte[] out = reuseArray.length >= size ? reuseArray : new byte[size];
+		decompressEntry(buf, entry, out);
+		return ByteBuffer.wrap(out, 0, size);
+	}
+
+	private static void decompressEntry(ZipBuffer buf, JadxZipEntry entry, byte[] out) throws DataFormatException {
+		ByteBuffer entryBuf = buf.slice(entry.getDataStart(), (int) entry.getCompressedSize());
+		int size = (int) entry.getUncompressedSize();
+		int written;
+		Inflater inflater = InflaterPool.acquire();
+		try {
+			inflater.setInput(entryBuf);
+			written = inflater.inflate(out, 0, size);
+		} finally {
+			InflaterPool.release(inflater);
+		}
+		if (written != size) {
 			throw new DataFormatException("Unexpected size of decompressed entry: " + entry
-					+ ", got: " + written + ", expected: " + out.length);
+					+ ", got: " + written + ", expected: " + size);
 		}
-		return out;
 	}
 
-	static InputStream decompressEntryToStream(ByteBuffer buf, JadxZipEntry entry) {
-		InputStream stream = bufferToStream(buf, entry.getDataStart(), (int) entry.getCompressedSize());
+	static InputStream decompressEntryToStream(ZipBuffer buf, JadxZipEntry entry) {
+		if (entry.getCompressedSize() <= Integer.MAX_VALUE) {
+			return new InflaterBufferInputStream(buf.slice(entry.getDataStart(), (int) entry.getCompressedSize()));
+		}
+		InputStream stream = bufferToStream(buf, entry.getDataStart(), entry.getCompressedSize());
 		Inflater inflater = new Inflater(true);
 		return new InflaterInputStream(stream, inflater, BUFFER_SIZE);
 	}
+
+	/**
+	 * @param limit max allowed uncompressed size, -1 to disable check
+	 */
+	static long decompressEntryToChannel(ZipBuffer buf, JadxZipEntry entry, WritableByteChannel target, long limit) throws IOException {
+		ByteBuffer input = buf.slice(entry.getDataStart(), (int) entry.getCompressedSize());
+		ByteBuffer out = ByteBuffer.allocate((int) Math.min(CHANNEL_BUFFER_SIZE, Math.max(entry.getUncompressedSize(), BUFFER_SIZE)));
+		long written = 0;
+		Inflater inflater = InflaterPool.acquire();
+		try {
+			inflater.setInput(input);
+			while (!inflater.finished()) {
+				out.clear();
+				int count = inflater.inflate(out);
+				if (count == 0) {
+					if (inflater.needsInput() || inflater.needsDictionary()) {
+						throw new ZipException("Unexpected end of compressed data in entry: " + entry);
+					}
+					continue;
+				}
+				written += count;
+				if (limit != -1 && written > limit) {
+					throw new ZipException("Uncompressed size limit exceeded for entry: " + entry);
+				}
+				out.flip();
+				while (out.hasRemaining()) {
+					target.write(out);
+				}
+			}
+		} catch (DataFormatException e) {
+			throw new ZipException("Failed to decompress entry: " + entry + ", error: " + e.getMessage());
+		} finally {
+			InflaterPool.release(inflater);
+		}
+		return written;
+	}
+
+	private static void checkSize(JadxZipEntry entry) throws DataFormatException {
+		if (entry.getUncompressedSize() > Integer.MAX_VALUE || entry.getCompressedSize() > Integer.MAX_VALUE) {
+			throw new DataFormatException("Entry too large: " + entry.getUncompressedSize());
+		}
+	}
 }
@@ -0,0 +1,89 @@
+package jadx.zip.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import org.junit.jupiter.api.Test;
+
+import static jadx.zip.io.InflaterPoolTest.DATA;
+import static jadx.zip.io.InflaterPoolTest.deflate;
+import static jadx.zip.io.InflaterPoolTest.drainPool;
+import static jadx.zip.io.InflaterPoolTest.releaseAll;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InflaterBufferInputStreamTest {
+
+	@Test
+	void readAll() throws IOException {
+		try (InputStream in = new InflaterBufferInputStream(ByteBuffer.wrap(deflate(DATA)))) {
+			assertThat(in.readAllBytes()).isEqualTo(DATA);
+			assertThat(in.read()).isEqualTo(-1);
+			assertThat(in.available()).isZero();
+		}
+	}
+
+	@Test
+	void readFromDirectBufferBySingleBytes() throws IOException {
+		byte[] compressed = deflate(DATA);
+		ByteBuffer direct = ByteBuffer.allocateDirect(compressed.length + 8);
+		direct.position(4);
+		direct.put(compressed);
+		direct.position(4).limit(4 + compressed.length);
+		try (InputStream in = new InflaterBufferInputStream(direct.slice())) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			int b;
+			while ((b = in.read()) != -1) {
+				out.write(b);
+			}
+			assertThat(out.toByteArray()).isEqualTo(DATA);
+		}
+	}
+
+	@Test
+	void truncatedData() {
+		byte[] compressed = deflate(DATA);
+		byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+		assertThatThrownBy(() -> {
+			try (InputStream in = new InflaterBufferInputStream(ByteBuffer.wrap(truncated))) {
+				in.readAllBytes();
+			}
+		}).isInstanceOf(EOFException.class);
+	}
+
+	@Test
+	void invalidData() {
+		byte[] invalid = new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF };
+		assertThatThrownBy(() -> {
+			try (InputStream in = new InflaterBufferInputStream(ByteBuffer.wrap(invalid))) {
+				in.readAllBytes();
+			}
+		}).isInstanceOf(ZipException.class);
+	}
+
+	@Test
+	void closeReturnsInflaterOnce() throws IOException {
+		List<Inflater> drained = drainPool();
+		try {
+			InputStream in = new InflaterBufferInputStream(ByteBuffer.wrap(deflate(DATA)));
+			in.close();
+			in.close();
+			assertThatThrownBy(in::read).isInstanceOf(IOException.class);
+
+			Inflater first = InflaterPool.acquire();
+			Inflater second = InflaterPool.acquire();
+			assertThat(second).isNotSameAs(first);
+			InflaterPool.release(first);
+			InflaterPool.release(second);
+		} finally {
+			releaseAll(drained);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package jadx.zip.io;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InflaterPoolTest {
+	static final byte[] DATA = "Data for deflate, data for deflate, data for deflate"
+			.getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	void reuseInResetState() throws DataFormatException {
+		List<Inflater> drained = drainPool();
+		try {
+			Inflater inflater = InflaterPool.acquire();
+			// leave inflater in the middle of data
+			inflater.setInput(deflate(DATA));
+			assertThat(inflater.inflate(new byte[10])).isEqualTo(10);
+			InflaterPool.release(inflater);
+
+			Inflater reused = InflaterPool.acquire();
+			assertThat(reused).isSameAs(inflater);
+			assertThat(reused.getRemaining()).isZero();
+			assertThat(reused.getBytesRead()).isZero();
+			assertThat(reused.getBytesWritten()).isZero();
+			assertThat(reused.finished()).isFalse();
+			assertThat(reused.needsInput()).isTrue();
+
+			reused.setInput(deflate(DATA));
+			byte[] out = new byte[DATA.length];
+			assertThat(reused.inflate(out)).isEqualTo(DATA.length);
+			assertThat(reused.finished()).isTrue();
+			assertThat(out).isEqualTo(DATA);
+			InflaterPool.release(reused);
+		} finally {
+			releaseAll(drained);
+		}
+	}
+
+	@Test
+	void poolSizeLimited() {
+		List<Inflater> drained = drainPool();
+		List<Inflater> released = new ArrayList<>();
+		for (int i = 0; i < InflaterPool.MAX_POOL_SIZE + 5; i++) {
+			released.add(new Inflater(true));
+		}
+		releaseAll(released);
+		List<Inflater> acquired = new ArrayList<>();
+		for (int i = 0; i < released.size(); i++) {
+			acquired.add(InflaterPool.acquire());
+		}
+		assertThat(acquired.subList(0, InflaterPool.MAX_POOL_SIZE))
+				.isEqualTo(released.subList(0, InflaterPool.MAX_POOL_SIZE));
+		for (Inflater inflater : acquired.subList(InflaterPool.MAX_POOL_SIZE, acquired.size())) {
+			assertThat(released).doesNotContain(inflater);
+		}
+		releaseAll(acquired);
+		releaseAll(drained);
+	}
+
+	/**
+	 * Take all pooled inflaters, so next released inflater will be acquired first
+	 */
+	static List<Inflater> drainPool() {
+		List<Inflater> list = new ArrayList<>();
+		for (int i = 0; i < InflaterPool.MAX_POOL_SIZE; i++) {
+			list.add(InflaterPool.acquire());
+		}
+		return list;
+	}
+
+	static void releaseAll(List<Inflater> list) {
+		for (Inflater inflater : list) {
+			InflaterPool.release(inflater);
+		}
+	}
+
+	static byte[] deflate(byte[] data) {
+		Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+		try {
+			deflater.setInput(data);
+			deflater.finish();
+			byte[] buf = new byte[data.length * 2 + 64];
+			int len = deflater.deflate(buf);
+			byte[] result = new byte[len];
+			System.arraycopy(buf, 0, result, 0, len);
+			return result;
+		} finally {
+			deflater.end();
+		}
+	}
+}
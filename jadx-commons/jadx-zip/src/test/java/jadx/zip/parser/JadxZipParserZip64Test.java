@@ -0,0 +1,210 @@
+package jadx.zip.parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import jadx.zip.IZipEntry;
+import jadx.zip.ZipContent;
+import jadx.zip.ZipReaderFlags;
+import jadx.zip.ZipReaderOptions;
+import jadx.zip.security.JadxZipSecurity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Small zip with all sizes, offsets and entries count moved into zip64 records
+ */
+class JadxZipParserZip64Test {
+	private static final byte[] STORED_DATA = "Stored entry data split between mapped segments"
+			.getBytes(StandardCharsets.UTF_8);
+	private static final byte[] DEFLATED_DATA = "Deflated entry data, deflated entry data, deflated entry data"
+			.getBytes(StandardCharsets.UTF_8);
+
+	@TempDir
+	Path tempDir;
+
+	@ParameterizedTest
+	@CsvSource({
+			"9223372036854775807, 30", // loaded into memory
+			"0, 4",
+			"0, 6",
+	})
+	void readZip64(long mmapThreshold, int segmentShift) throws IOException {
+		File zipFile = tempDir.resolve("zip64.zip").toFile();
+		Files.write(zipFile.toPath(), buildZip64());
+
+		ZipReaderOptions options = new ZipReaderOptions(new JadxZipSecurity(),
+				EnumSet.of(ZipReaderFlags.DONT_USE_FALLBACK, ZipReaderFlags.REPORT_TAMPERING));
+		JadxZipParser parser = new JadxZipParser(zipFile, options, mmapThreshold, segmentShift);
+		assertThat(parser.canOpen()).isTrue();
+		try (ZipContent content = parser.open()) {
+			List<IZipEntry> entries = content.getEntries();
+			assertThat(entries).extracting(IZipEntry::getName).containsExactly("stored.txt", "dir/deflated.txt");
+
+			IZipEntry stored = entries.get(0);
+			assertThat(stored).isInstanceOf(JadxZipEntry.class);
+			assertThat(stored.getUncompressedSize()).isEqualTo(STORED_DATA.length);
+			assertThat(stored.getCompressedSize()).isEqualTo(STORED_DATA.length);
+			checkEntryData(stored, STORED_DATA);
+			ByteBuffer storedBuffer = stored.getByteBuffer();
+			if (mmapThreshold == 0) {
+				assertThat(storedBuffer).isEqualTo(ByteBuffer.wrap(STORED_DATA));
+			} else {
+				assertThat(storedBuffer).isNull();
+			}
+
+			IZipEntry deflated = entries.get(1);
+			assertThat(deflated.getUncompressedSize()).isEqualTo(DEFLATED_DATA.length);
+			assertThat(deflated.getCompressedSize()).isLessThan(DEFLATED_DATA.length);
+			checkEntryData(deflated, DEFLATED_DATA);
+			assertThat(deflated.getByteBuffer()).isNull();
+		}
+	}
+
+	private static void checkEntryData(IZipEntry entry, byte[] expected) throws IOException {
+		assertThat(entry.getBytes()).isEqualTo(expected);
+		try (InputStream in = entry.getInputStream()) {
+			assertThat(in.readAllBytes()).isEqualTo(expected);
+		}
+		assertThat(entry.readBytes(new byte[4])).isEqualTo(ByteBuffer.wrap(expected));
+		assertThat(entry.readBytes(new byte[1024])).isEqualTo(ByteBuffer.wrap(expected));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertThat(entry.transferTo(Channels.newChannel(out))).isEqualTo(expected.length);
+		assertThat(out.toByteArray()).isEqualTo(expected);
+	}
+
+	private static byte[] buildZip64() {
+		ByteBuffer buf = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+		List<EntryInfo> entries = new ArrayList<>();
+		entries.add(writeLocalEntry(buf, "stored.txt", 0, STORED_DATA, STORED_DATA));
+		entries.add(writeLocalEntry(buf, "dir/deflated.txt", 8, DEFLATED_DATA, deflate(DEFLATED_DATA)));
+
+		long cdStart = buf.position();
+		for (EntryInfo entry : entries) {
+			buf.putInt(0x02014b50);
+			buf.putShort((short) 45); // version made by
+			buf.putShort((short) 45); // version needed
+			buf.putShort((short) 0); // flags
+			buf.putShort((short) entry.method);
+			buf.putInt(0); // time and date
+			buf.putInt(0); // crc (not checked)
+			buf.putInt(0xFFFFFFFF); // compressed size
+			buf.putInt(0xFFFFFFFF); // uncompressed size
+			buf.putShort((short) entry.name.length);
+			buf.putShort((short) 28); // extra field length
+			buf.putShort((short) 0); // comment length
+			buf.putShort((short) 0); // disk number
+			buf.putShort((short) 0); // internal attributes
+			buf.putInt(0); // external attributes
+			buf.putInt(0xFFFFFFFF); // local header offset
+			buf.put(entry.name);
+			// zip64 extra field: uncompressed size, compressed size, local header offset
+			buf.putShort((short) 0x0001);
+			buf.putShort((short) 24);
+			buf.putLong(entry.size);
+			buf.putLong(entry.comprSize);
+			buf.putLong(entry.offset);
+		}
+		long cdSize = buf.position() - cdStart;
+
+		long zip64EocdStart = buf.position();
+		buf.putInt(0x06064b50);
+		buf.putLong(44); // size of remaining record
+		buf.putShort((short) 45);
+		buf.putShort((short) 45);
+		buf.putInt(0); // disk number
+		buf.putInt(0); // disk with central directory
+		buf.putLong(entries.size()); // entries on this disk
+		buf.putLong(entries.size()); // total entries
+		buf.putLong(cdSize);
+		buf.putLong(cdStart);
+
+		// zip64 end of central directory locator
+		buf.putInt(0x07064b50);
+		buf.putInt(0);
+		buf.putLong(zip64EocdStart);
+		buf.putInt(1); // total disks
+
+		// end of central directory
+		buf.putInt(0x06054b50);
+		buf.putShort((short) 0);
+		buf.putShort((short) 0);
+		buf.putShort((short) 0xFFFF); // entries on this disk
+		buf.putShort((short) 0xFFFF); // total entries
+		buf.putInt(0xFFFFFFFF); // central directory size
+		buf.putInt(0xFFFFFFFF); // central directory offset
+		buf.putShort((short) 0); // comment length
+
+		byte[] result = new byte[buf.position()];
+		buf.flip();
+		buf.get(result);
+		return result;
+	}
+
+	private static EntryInfo writeLocalEntry(ByteBuffer buf, String name, int method, byte[] data, byte[] comprData) {
+		EntryInfo entry = new EntryInfo();
+		entry.name = name.getBytes(StandardCharsets.UTF_8);
+		entry.method = method;
+		entry.offset = buf.position();
+		entry.size = data.length;
+		entry.comprSize = comprData.length;
+
+		buf.putInt(0x04034b50);
+		buf.putShort((short) 45); // version needed
+		buf.putShort((short) 0); // flags
+		buf.putShort((short) method);
+		buf.putInt(0); // time and date
+		buf.putInt(0); // crc (not checked)
+		buf.putInt(0xFFFFFFFF); // compressed size
+		buf.putInt(0xFFFFFFFF); // uncompressed size
+		buf.putShort((short) entry.name.length);
+		buf.putShort((short) 20); // extra field length
+		buf.put(entry.name);
+		// zip64 extra field in local header: uncompressed and compressed sizes
+		buf.putShort((short) 0x0001);
+		buf.putShort((short) 16);
+		buf.putLong(entry.size);
+		buf.putLong(entry.comprSize);
+		buf.put(comprData);
+		return entry;
+	}
+
+	private static byte[] deflate(byte[] data) {
+		Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+		try {
+			deflater.setInput(data);
+			deflater.finish();
+			byte[] buf = new byte[data.length * 2 + 64];
+			int len = deflater.deflate(buf);
+			byte[] result = new byte[len];
+			System.arraycopy(buf, 0, result, 0, len);
+			return result;
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private static final class EntryInfo {
+		byte[] name;
+		int method;
+		long offset;
+		long size;
+		long comprSize;
+	}
+}
@@ -0,0 +1,117 @@
+package jadx.zip.parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ZipBufferTest {
+	private static final int DATA_SIZE = 200;
+
+	@TempDir
+	Path tempDir;
+
+	@ParameterizedTest
+	@ValueSource(ints = { 4, 6 })
+	void readsAcrossSegments(int segmentShift) throws IOException {
+		byte[] data = buildData();
+		ByteBuffer expected = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+		try (ZipBuffer buf = map(data, segmentShift)) {
+			assertThat(buf.isMapped()).isTrue();
+			assertThat(buf.size()).isEqualTo(DATA_SIZE);
+			for (int pos = 0; pos < DATA_SIZE; pos++) {
+				assertThat(buf.getU1(pos)).isEqualTo(data[pos] & 0xFF);
+				if (pos + 2 <= DATA_SIZE) {
+					assertThat(buf.getU2(pos)).as("getU2 at %d", pos).isEqualTo(expected.getShort(pos) & 0xFFFF);
+				}
+				if (pos + 4 <= DATA_SIZE) {
+					assertThat(buf.getInt(pos)).as("getInt at %d", pos).isEqualTo(expected.getInt(pos));
+					assertThat(buf.getU4(pos)).as("getU4 at %d", pos).isEqualTo(expected.getInt(pos) & 0xFFFFFFFFL);
+				}
+				if (pos + 8 <= DATA_SIZE) {
+					assertThat(buf.getLong(pos)).as("getLong at %d", pos).isEqualTo(expected.getLong(pos));
+				}
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 4, 6 })
+	void copyAcrossSegments(int segmentShift) throws IOException {
+		byte[] data = buildData();
+		try (ZipBuffer buf = map(data, segmentShift)) {
+			int segmentSize = 1 << segmentShift;
+			int start = segmentSize - 3;
+			int len = 2 * segmentSize + 5;
+			byte[] dst = new byte[len + 2];
+			buf.get(start, dst, 1, len);
+			assertThat(ByteBuffer.wrap(dst, 1, len)).isEqualTo(ByteBuffer.wrap(data, start, len));
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			assertThat(buf.transferTo(start, len, Channels.newChannel(out))).isEqualTo(len);
+			assertThat(out.toByteArray()).isEqualTo(Arrays.copyOfRange(data, start, start + len));
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 4, 6 })
+	void sliceInsideAndAcrossSegments(int segmentShift) throws IOException {
+		byte[] data = buildData();
+		try (ZipBuffer buf = map(data, segmentShift)) {
+			int segmentSize = 1 << segmentShift;
+			// inside one segment
+			ByteBuffer inside = buf.slice(segmentSize + 1, segmentSize - 2);
+			assertThat(inside.remaining()).isEqualTo(segmentSize - 2);
+			assertThat(inside).isEqualTo(ByteBuffer.wrap(data, segmentSize + 1, segmentSize - 2));
+
+			// split between segments, mapped again
+			int start = segmentSize - 5;
+			int len = segmentSize + 10;
+			ByteBuffer across = buf.slice(start, len);
+			assertThat(across.remaining()).isEqualTo(len);
+			assertThat(across).isEqualTo(ByteBuffer.wrap(data, start, len));
+
+			// till the end of file
+			ByteBuffer tail = buf.slice(DATA_SIZE - len, len);
+			assertThat(tail).isEqualTo(ByteBuffer.wrap(data, DATA_SIZE - len, len));
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 4, 31 })
+	void outOfBounds(int segmentShift) throws IOException {
+		byte[] data = buildData();
+		try (ZipBuffer buf = segmentShift == 31 ? ZipBuffer.wrap(data) : map(data, segmentShift)) {
+			assertThatThrownBy(() -> buf.get(DATA_SIZE)).isInstanceOf(IndexOutOfBoundsException.class);
+			assertThatThrownBy(() -> buf.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+			assertThatThrownBy(() -> buf.getInt(DATA_SIZE - 2)).isInstanceOf(IndexOutOfBoundsException.class);
+			assertThatThrownBy(() -> buf.slice(DATA_SIZE - 4, 8)).isInstanceOf(RuntimeException.class);
+			assertThatThrownBy(() -> buf.get(DATA_SIZE - 4, new byte[8], 0, 8)).isInstanceOf(RuntimeException.class);
+		}
+	}
+
+	private ZipBuffer map(byte[] data, int segmentShift) throws IOException {
+		Path file = tempDir.resolve("data-" + segmentShift + ".bin");
+		Files.write(file, data);
+		return ZipBuffer.map(new RandomAccessFile(file.toFile(), "r"), segmentShift);
+	}
+
+	private static byte[] buildData() {
+		byte[] data = new byte[DATA_SIZE];
+		new Random(42).nextBytes(data);
+		return data;
+	}
+}
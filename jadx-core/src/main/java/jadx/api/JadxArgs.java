@@ -74,6 +74,32 @@ public class JadxArgs implements Closeable {
 
 	private int threadsCount = DEFAULT_THREADS_COUNT;
 
+	/**
+	 * Process methods of one class in parallel (only for method-local passes).
+	 * Can reduce decompilation time for huge classes.
+	 */
+	private boolean parallelMethodsProcessing = false;
+
+	/**
+	 * Collect time and memory usage of decompilation passes, see {@link JadxDecompiler#getPassMetrics()}.
+	 * Adds overhead for every pass execution, so disabled by default.
+	 */
+	private boolean collectPassMetrics = false;
+
+	/**
+	 * Max wall clock time (in milliseconds) for processing of one method.
+	 * On exceed, method will be decompiled again in simpler mode ('simple' or 'fallback').
+	 * Zero or negative value disables the limit.
+	 */
+	private int methodTimeLimit = 0;
+
+	/**
+	 * Max wall clock time (in milliseconds) for processing of top level class (including inner classes).
+	 * On exceed, remaining methods will be decompiled in 'fallback' mode.
+	 * Zero or negative value disables the limit.
+	 */
+	private int classTimeLimit = 0;
+
 	private boolean cfgOutput = false;
 	private boolean rawCFGOutput = false;
 
@@ -289,6 +315,38 @@ public void setThreadsCount(int threadsCount) {
 		this.threadsCount = Math.max(1, threadsCount); // make sure threadsCount >= 1
 	}
 
+	public boolean isParallelMethodsProcessing() {
+		return parallelMethodsProcessing;
+	}
+
+	public void setParallelMethodsProcessing(boolean parallelMethodsProcessing) {
+		this.parallelMethodsProcessing = parallelMethodsProcessing;
+	}
+
+	public boolean isCollectPassMetrics() {
+		return collectPassMetrics;
+	}
+
+	public void setCollectPassMetrics(boolean collectPassMetrics) {
+		this.collectPassMetrics = collectPassMetrics;
+	}
+
+	public int getMethodTimeLimit() {
+		return methodTimeLimit;
+	}
+
+	public void setMethodTimeLimit(int methodTimeLimit) {
+		this.methodTimeLimit = methodTimeLimit;
+	}
+
+	public int getClassTimeLimit() {
+		return classTimeLimit;
+	}
+
+	public void setClassTimeLimit(int classTimeLimit) {
+		this.classTimeLimit = classTimeLimit;
+	}
+
 	public boolean isCfgOutput() {
 		return cfgOutput;
 	}
@@ -862,6 +920,7 @@ public String makeCodeArgsHash(@Nullable JadxDecompiler decompiler) {
 				+ debugInfo + escapeUnicode + replaceConsts + restoreSwitchOverString
 				+ respectBytecodeAccModifiers + fsCaseSensitive + renameFlags
 				+ commentsLevel + useDxInput + integerFormat + typeUpdatesLimitCount
+				+ methodTimeLimit + ':' + classTimeLimit
 				+ "|" + buildPluginsHash(decompiler);
 		return FileUtils.md5Sum(argStr);
 	}
@@ -883,6 +942,10 @@ public String toString() {
 				+ ", outDirSrc=" + outDirSrc
 				+ ", outDirRes=" + outDirRes
 				+ ", threadsCount=" + threadsCount
+				+ ", parallelMethodsProcessing=" + parallelMethodsProcessing
+				+ ", collectPassMetrics=" + collectPassMetrics
+				+ ", methodTimeLimit=" + methodTimeLimit
+				+ ", classTimeLimit=" + classTimeLimit
 				+ ", decompilationMode=" + decompilationMode
 				+ ", showInconsistentCode=" + showInconsistentCode
 				+ ", useImports=" + useImports
@@ -26,6 +26,7 @@
 import jadx.api.metadata.annotations.NodeDeclareRef;
 import jadx.api.metadata.annotations.VarNode;
 import jadx.api.metadata.annotations.VarRef;
+import jadx.api.metrics.PassMetrics;
 import jadx.api.plugins.CustomResourcesLoader;
 import jadx.api.plugins.JadxPlugin;
 import jadx.api.plugins.events.IJadxEvents;
@@ -48,10 +49,12 @@
 import jadx.core.plugins.JadxPluginManager;
 import jadx.core.plugins.PluginContext;
 import jadx.core.plugins.events.JadxEventsImpl;
-import jadx.core.utils.DecompilerScheduler;
+import jadx.core.utils.CostDecompilerScheduler;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
+import jadx.core.utils.metrics.PassMetricsCollector;
+import jadx.core.utils.tasks.DecompileThreads;
 import jadx.core.utils.tasks.TaskExecutor;
 import jadx.core.xmlgen.ResourcesSaver;
 import jadx.zip.ZipReader;
@@ -95,13 +98,14 @@ public final class JadxDecompiler implements Closeable {
 	private List<JavaClass> classes;
 	private List<ResourceFile> resources;
 
-	private final IDecompileScheduler decompileScheduler = new DecompilerScheduler();
+	private IDecompileScheduler decompileScheduler = new CostDecompilerScheduler();
 	private final ResourcesLoader resourcesLoader;
 
 	private final List<ICodeLoader> customCodeLoaders = new ArrayList<>();
 	private final List<CustomResourcesLoader> customResourcesLoaders = new ArrayList<>();
 	private final Map<JadxPassType, List<JadxPass>> customPasses = new HashMap<>();
 	private final List<Closeable> closeableList = new ArrayList<>();
+	private @Nullable DecompileThreads decompileThreads;
 
 	private IJadxEvents events = new JadxEventsImpl();
 
@@ -193,11 +197,33 @@ public void close() {
 		closeAll(customCodeLoaders);
 		closeAll(customResourcesLoaders);
 		closeAll(closeableList);
+		closeDecompileThreads();
 		FileUtils.deleteDirIfExists(args.getFilesGetter().getTempDir());
 		args.close();
 		FileUtils.clearTempRootDir();
 	}
 
+	/**
+	 * Threads budget and helper threads pool shared by all classes of this decompiler,
+	 * created on first use and closed with decompiler.
+	 */
+	public synchronized DecompileThreads getDecompileThreads() {
+		DecompileThreads threads = decompileThreads;
+		if (threads == null) {
+			threads = new DecompileThreads(args.getThreadsCount());
+			decompileThreads = threads;
+		}
+		return threads;
+	}
+
+	private synchronized void closeDecompileThreads() {
+		DecompileThreads threads = decompileThreads;
+		if (threads != null) {
+			threads.close();
+			decompileThreads = null;
+		}
+	}
+
 	private void closeAll(List<? extends Closeable> list) {
 		try {
 			for (Closeable closeable : list) {
@@ -489,6 +515,23 @@ public int getWarnsCount() {
 		return root.getErrorsCounter().getWarnsCount();
 	}
 
+	/**
+	 * Collected metrics of decompilation passes.
+	 * Collection should be enabled by {@link JadxArgs#setCollectPassMetrics(boolean)}.
+	 *
+	 * @return null if metrics collection disabled or decompiler not loaded
+	 */
+	public @Nullable PassMetrics getPassMetrics() {
+		if (root == null) {
+			return null;
+		}
+		PassMetricsCollector passMetrics = root.getPassMetrics();
+		if (passMetrics == null) {
+			return null;
+		}
+		return passMetrics.getMetrics();
+	}
+
 	public void printErrorsReport() {
 		if (root == null) {
 			return;
@@ -702,6 +745,10 @@ public IDecompileScheduler getDecompileScheduler() {
 		return decompileScheduler;
 	}
 
+	public void setDecompileScheduler(IDecompileScheduler decompileScheduler) {
+		this.decompileScheduler = Objects.requireNonNull(decompileScheduler);
+	}
+
 	public IJadxEvents events() {
 		return events;
 	}
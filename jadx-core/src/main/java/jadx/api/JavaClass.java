@@ -207,21 +207,21 @@ JadxDecompiler getRootDecompiler() {
 	}
 
 	public Map<Integer, JavaNode> getUsageMap() {
-		Map<Integer, ICodeAnnotation> map = getCodeInfo().getCodeMetadata().getAsMap();
-		if (map.isEmpty() || decompiler == null) {
+		ICodeInfo codeInfo = getCodeInfo();
+		if (!codeInfo.hasMetadata() || decompiler == null) {
 			return Collections.emptyMap();
 		}
-		Map<Integer, JavaNode> resultMap = new HashMap<>(map.size());
-		for (Map.Entry<Integer, ICodeAnnotation> entry : map.entrySet()) {
-			int codePosition = entry.getKey();
-			ICodeAnnotation obj = entry.getValue();
+		JadxDecompiler rootDecompiler = getRootDecompiler();
+		Map<Integer, JavaNode> resultMap = new HashMap<>();
+		codeInfo.getCodeMetadata().searchDown(0, (codePosition, obj) -> {
 			if (obj instanceof ICodeNodeRef) {
-				JavaNode node = getRootDecompiler().getJavaNodeByRef((ICodeNodeRef) obj);
+				JavaNode node = rootDecompiler.getJavaNodeByRef((ICodeNodeRef) obj);
 				if (node != null) {
 					resultMap.put(codePosition, node);
 				}
 			}
-		}
+			return null;
+		});
 		return resultMap;
 	}
 
@@ -6,6 +6,7 @@
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -31,6 +32,7 @@
 import jadx.core.xmlgen.ResTableBinaryParserProvider;
 import jadx.zip.IZipEntry;
 import jadx.zip.ZipContent;
+import jadx.zip.io.ByteBufferBackedInputStream;
 
 import static jadx.core.utils.files.FileUtils.READ_BUFFER_SIZE;
 import static jadx.core.utils.files.FileUtils.copyStream;
@@ -96,7 +98,7 @@ public static <T> T decodeStream(ResourceFile rf, ResourceDecoder<T> decoder) th
 		try {
 			IZipEntry zipEntry = rf.getZipEntry();
 			if (zipEntry != null) {
-				try (InputStream inputStream = zipEntry.getInputStream()) {
+				try (InputStream inputStream = openZipEntry(zipEntry)) {
 					return decoder.decode(zipEntry.getUncompressedSize(), inputStream);
 				}
 			} else {
@@ -110,6 +112,17 @@ public static <T> T decodeStream(ResourceFile rf, ResourceDecoder<T> decoder) th
 		}
 	}
 
+	/**
+	 * Use view of memory mapped data if available, so binary resources parser can skip data copy
+	 */
+	private static InputStream openZipEntry(IZipEntry zipEntry) {
+		ByteBuffer buffer = zipEntry.getByteBuffer();
+		if (buffer != null) {
+			return new ByteBufferBackedInputStream(buffer);
+		}
+		return zipEntry.getInputStream();
+	}
+
 	static ResContainer loadContent(JadxDecompiler jadxRef, ResourceFile rf) {
 		try {
 			ResourcesLoader resLoader = jadxRef.getResourcesLoader();
@@ -125,9 +138,11 @@ static ResContainer loadContent(JadxDecompiler jadxRef, ResourceFile rf) {
 
 	private ResContainer loadContent(ResourceFile resFile, InputStream inputStream) throws IOException {
 		for (IResContainerFactory customFactory : resContainerFactories) {
-			ResContainer resContainer = customFactory.create(resFile, inputStream);
-			if (resContainer != null) {
-				return resContainer;
+			if (customFactory.canHandle(resFile)) {
+				ResContainer resContainer = customFactory.create(resFile, inputStream);
+				if (resContainer != null) {
+					return resContainer;
+				}
 			}
 		}
 		switch (resFile.getType()) {
@@ -147,7 +162,38 @@ private ResContainer loadContent(ResourceFile resFile, InputStream inputStream)
 		}
 	}
 
+	/**
+	 * Check if resource will be saved without changes, so it can be copied without decoding.
+	 * Should be in sync with {@link #loadContent(ResourceFile, InputStream)}.
+	 */
+	public boolean isRawResource(ResourceFile resFile) {
+		for (IResContainerFactory customFactory : resContainerFactories) {
+			if (customFactory.canHandle(resFile)) {
+				return false;
+			}
+		}
+		switch (resFile.getType()) {
+			case MANIFEST:
+			case XML:
+			case ARSC:
+				return false;
+
+			case IMG:
+				return !resFile.getDeobfName().endsWith(".9.png");
+
+			default:
+				return true;
+		}
+	}
+
 	public IResTableParser decodeTable(ResourceFile resFile, InputStream is) throws IOException {
+		return decodeTable(resFile, is, false);
+	}
+
+	/**
+	 * @param lazy decode only data required for code processing, see {@link IResTableParser#setLazyMode(boolean)}
+	 */
+	public IResTableParser decodeTable(ResourceFile resFile, InputStream is, boolean lazy) throws IOException {
 		if (resFile.getType() != ResourceType.ARSC) {
 			throw new IllegalArgumentException("Unexpected resource type for decode: " + resFile.getType() + ", expect '.pb'/'.arsc'");
 		}
@@ -162,6 +208,7 @@ public IResTableParser decodeTable(ResourceFile resFile, InputStream is) throws
 			throw new JadxRuntimeException("Unknown type of resource file: " + resFile.getOriginalName());
 		}
 		parser.setBaseFileName(resFile.getDeobfName());
+		parser.setLazyMode(lazy);
 		parser.decode(is);
 		return parser;
 	}
@@ -17,6 +17,11 @@ public AnnotatedCodeInfo(String code, Map<Integer, Integer> lineMapping, Map<Int
 		this.metadata = CodeMetadataStorage.build(lineMapping, annotations);
 	}
 
+	public AnnotatedCodeInfo(String code, ICodeMetadata metadata) {
+		this.code = code;
+		this.metadata = metadata;
+	}
+
 	@Override
 	public String getCodeStr() {
 		return code;
@@ -1,9 +1,6 @@
 package jadx.api.impl;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.TreeMap;
 
 import jadx.api.ICodeInfo;
 import jadx.api.ICodeWriter;
@@ -11,14 +8,14 @@
 import jadx.api.metadata.ICodeAnnotation;
 import jadx.api.metadata.ICodeNodeRef;
 import jadx.api.metadata.annotations.NodeDeclareRef;
+import jadx.api.metadata.impl.CodeMetadataBuilder;
 import jadx.core.utils.StringUtils;
 
 public class AnnotatedCodeWriter extends SimpleCodeWriter implements ICodeWriter {
 
 	private int line = 1;
 	private int offset;
-	private Map<Integer, ICodeAnnotation> annotations = Collections.emptyMap();
-	private Map<Integer, Integer> lineMap = Collections.emptyMap();
+	private final CodeMetadataBuilder metadata = new CodeMetadataBuilder();
 
 	public AnnotatedCodeWriter(JadxArgs args) {
 		super(args);
@@ -64,14 +61,7 @@ public ICodeWriter add(ICodeWriter cw) {
 		AnnotatedCodeWriter code = (AnnotatedCodeWriter) cw;
 		line--;
 		int startPos = getLength();
-		for (Map.Entry<Integer, ICodeAnnotation> entry : code.annotations.entrySet()) {
-			int pos = entry.getKey();
-			int newPos = startPos + pos;
-			attachAnnotation(entry.getValue(), newPos);
-		}
-		for (Map.Entry<Integer, Integer> entry : code.lineMap.entrySet()) {
-			attachSourceLine(line + entry.getKey(), entry.getValue());
-		}
+		metadata.addAll(code.metadata, startPos, line);
 		line += code.line;
 		offset = code.offset;
 		buf.append(code.buf);
@@ -127,10 +117,7 @@ public void attachLineAnnotation(ICodeAnnotation obj) {
 	}
 
 	private void attachAnnotation(ICodeAnnotation obj, int pos) {
-		if (annotations.isEmpty()) {
-			annotations = new HashMap<>();
-		}
-		annotations.put(pos, obj);
+		metadata.addAnnotation(pos, obj);
 	}
 
 	@Override
@@ -142,21 +129,18 @@ public void attachSourceLine(int sourceLine) {
 	}
 
 	private void attachSourceLine(int decompiledLine, int sourceLine) {
-		if (lineMap.isEmpty()) {
-			lineMap = new TreeMap<>();
-		}
-		lineMap.put(decompiledLine, sourceLine);
+		metadata.addSourceLine(decompiledLine, sourceLine);
 	}
 
 	@Override
 	public ICodeInfo finish() {
 		String code = buf.toString();
 		buf = null;
-		return new AnnotatedCodeInfo(code, lineMap, annotations);
+		return new AnnotatedCodeInfo(code, metadata.build());
 	}
 
 	@Override
 	public Map<Integer, ICodeAnnotation> getRawAnnotations() {
-		return annotations;
+		return metadata.getAnnotationsMap();
 	}
 }
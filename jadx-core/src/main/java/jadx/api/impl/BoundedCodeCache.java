@@ -0,0 +1,360 @@
+package jadx.api.impl;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.ICodeCache;
+import jadx.api.ICodeInfo;
+import jadx.api.metadata.ICodeMetadata;
+import jadx.api.metadata.impl.CodeMetadataStorage;
+
+/**
+ * In memory code cache limited by estimated size of stored code and metadata.
+ * <br>
+ * Eviction use segmented LRU: new entries placed into 'probation' segment
+ * and moved into 'protected' segment on next access,
+ * so single pass over all classes (like export) will not evict frequently used entries.
+ * <br>
+ * Reads are lock-free: accesses recorded into lossy ring buffer and applied to segments
+ * in batches under eviction lock.
+ */
+public class BoundedCodeCache implements ICodeCache {
+
+	private static final int READ_BUFFER_SIZE = 128;
+	private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+	private static final int DRAIN_THRESHOLD = 32;
+	private static final int PROTECTED_PERCENT = 80;
+
+	private static final int ENTRY_OVERHEAD = 96;
+	private static final int ANNOTATION_SIZE = 40;
+	private static final int LINE_SIZE = 8;
+
+	private static final byte NOT_LINKED = 0;
+	private static final byte PROBATION = 1;
+	private static final byte PROTECTED = 2;
+
+	private final long maxWeight;
+	private final long maxProtectedWeight;
+
+	private final Map<String, Entry> storage = new ConcurrentHashMap<>();
+	private final AtomicReferenceArray<Entry> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+	private final AtomicLong readCounter = new AtomicLong();
+
+	// fields below guarded by evictionLock
+	private final ReentrantLock evictionLock = new ReentrantLock();
+	private final Entry probation = new Entry();
+	private final Entry protectedSegment = new Entry();
+	private volatile long weight;
+	private long protectedWeight;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * @param maxWeight max estimated size (in bytes) of all cached entries
+	 */
+	public BoundedCodeCache(long maxWeight) {
+		if (maxWeight <= 0) {
+			throw new IllegalArgumentException("Max weight should be positive: " + maxWeight);
+		}
+		this.maxWeight = maxWeight;
+		this.maxProtectedWeight = maxWeight / 100 * PROTECTED_PERCENT;
+	}
+
+	@Override
+	public void add(String clsFullName, ICodeInfo codeInfo) {
+		long entryWeight = weigh(codeInfo);
+		if (entryWeight > maxWeight) {
+			// too big, not cached at all
+			remove(clsFullName);
+			return;
+		}
+		Entry entry = new Entry(clsFullName, codeInfo, entryWeight);
+		Entry prev = storage.put(clsFullName, entry);
+		evictionLock.lock();
+		try {
+			drainReadBuffer();
+			if (prev != null) {
+				unlink(prev);
+			}
+			// skip if already replaced or removed by concurrent call
+			if (storage.get(clsFullName) == entry) {
+				linkLast(probation, entry, PROBATION);
+				weight += entryWeight;
+				evict();
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	@Override
+	public void remove(String clsFullName) {
+		Entry entry = storage.remove(clsFullName);
+		if (entry != null) {
+			evictionLock.lock();
+			try {
+				unlink(entry);
+			} finally {
+				evictionLock.unlock();
+			}
+		}
+	}
+
+	@Override
+	public @NotNull ICodeInfo get(String clsFullName) {
+		Entry entry = getEntry(clsFullName);
+		if (entry == null) {
+			return ICodeInfo.EMPTY;
+		}
+		return entry.codeInfo;
+	}
+
+	@Override
+	public @Nullable String getCode(String clsFullName) {
+		Entry entry = getEntry(clsFullName);
+		if (entry == null) {
+			return null;
+		}
+		return entry.codeInfo.getCodeStr();
+	}
+
+	@Override
+	public boolean contains(String clsFullName) {
+		return storage.containsKey(clsFullName);
+	}
+
+	@Override
+	public void close() throws IOException {
+		evictionLock.lock();
+		try {
+			storage.clear();
+			for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+				readBuffer.set(i, null);
+			}
+			clearSegment(probation);
+			clearSegment(protectedSegment);
+			weight = 0;
+			protectedWeight = 0;
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Estimate memory used by code info in bytes.
+	 * Can be overridden to change used weight.
+	 */
+	protected long weigh(ICodeInfo codeInfo) {
+		long size = ENTRY_OVERHEAD + codeInfo.getCodeStr().length() * 2L;
+		if (codeInfo.hasMetadata()) {
+			ICodeMetadata metadata = codeInfo.getCodeMetadata();
+			if (metadata instanceof CodeMetadataStorage) {
+				CodeMetadataStorage metadataStorage = (CodeMetadataStorage) metadata;
+				size += (long) metadataStorage.getAnnotationsCount() * ANNOTATION_SIZE;
+				size += (long) metadataStorage.getLinesCount() * LINE_SIZE;
+			} else {
+				size += (long) metadata.getAsMap().size() * ANNOTATION_SIZE;
+				size += (long) metadata.getLineMapping().size() * LINE_SIZE;
+			}
+		}
+		return size;
+	}
+
+	private @Nullable Entry getEntry(String clsFullName) {
+		Entry entry = storage.get(clsFullName);
+		if (entry == null) {
+			missCount.increment();
+			return null;
+		}
+		hitCount.increment();
+		recordAccess(entry);
+		return entry;
+	}
+
+	private void recordAccess(Entry entry) {
+		long count = readCounter.getAndIncrement();
+		readBuffer.lazySet((int) (count & READ_BUFFER_MASK), entry);
+		if ((count % DRAIN_THRESHOLD) == DRAIN_THRESHOLD - 1 && evictionLock.tryLock()) {
+			try {
+				drainReadBuffer();
+			} finally {
+				evictionLock.unlock();
+			}
+		}
+	}
+
+	private void drainReadBuffer() {
+		for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+			Entry entry = readBuffer.getAndSet(i, null);
+			if (entry != null) {
+				onAccess(entry);
+			}
+		}
+	}
+
+	private void onAccess(Entry entry) {
+		switch (entry.segment) {
+			case PROBATION:
+				unlinkFromList(entry);
+				linkLast(protectedSegment, entry, PROTECTED);
+				protectedWeight += entry.weight;
+				demoteProtected();
+				break;
+
+			case PROTECTED:
+				unlinkFromList(entry);
+				linkLast(protectedSegment, entry, PROTECTED);
+				break;
+
+			default:
+				// already removed
+				break;
+		}
+	}
+
+	private void demoteProtected() {
+		while (protectedWeight > maxProtectedWeight) {
+			Entry lru = protectedSegment.next;
+			if (lru == protectedSegment) {
+				return;
+			}
+			unlinkFromList(lru);
+			protectedWeight -= lru.weight;
+			linkLast(probation, lru, PROBATION);
+		}
+	}
+
+	private void evict() {
+		while (weight > maxWeight) {
+			Entry victim = probation.next;
+			if (victim == probation) {
+				victim = protectedSegment.next;
+				if (victim == protectedSegment) {
+					return;
+				}
+			}
+			storage.remove(victim.key, victim);
+			unlink(victim);
+			evictionCount.increment();
+		}
+	}
+
+	private void unlink(Entry entry) {
+		switch (entry.segment) {
+			case PROTECTED:
+				protectedWeight -= entry.weight;
+				// fall through
+			case PROBATION:
+				unlinkFromList(entry);
+				entry.segment = NOT_LINKED;
+				weight -= entry.weight;
+				break;
+
+			default:
+				break;
+		}
+	}
+
+	private static void unlinkFromList(Entry entry) {
+		entry.prev.next = entry.next;
+		entry.next.prev = entry.prev;
+		entry.prev = null;
+		entry.next = null;
+	}
+
+	private static void linkLast(Entry head, Entry entry, byte segment) {
+		Entry last = head.prev;
+		entry.prev = last;
+		entry.next = head;
+		last.next = entry;
+		head.prev = entry;
+		entry.segment = segment;
+	}
+
+	private static void clearSegment(Entry head) {
+		Entry entry = head.next;
+		while (entry != head) {
+			Entry next = entry.next;
+			entry.prev = null;
+			entry.next = null;
+			entry.segment = NOT_LINKED;
+			entry = next;
+		}
+		head.prev = head;
+		head.next = head;
+	}
+
+	public long getMaxWeight() {
+		return maxWeight;
+	}
+
+	/**
+	 * Current estimated size of cached entries
+	 */
+	public long getWeight() {
+		return weight;
+	}
+
+	public int getSize() {
+		return storage.size();
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "BoundedCodeCache: size=" + storage.size()
+				+ ", weight=" + weight + '/' + maxWeight
+				+ ", hits=" + getHitCount()
+				+ ", misses=" + getMissCount()
+				+ ", evictions=" + getEvictionCount();
+	}
+
+	private static final class Entry {
+		private final String key;
+		private final ICodeInfo codeInfo;
+		private final long weight;
+
+		// guarded by evictionLock
+		private Entry prev;
+		private Entry next;
+		private byte segment;
+
+		/**
+		 * Segment list head
+		 */
+		private Entry() {
+			this.key = null;
+			this.codeInfo = null;
+			this.weight = 0;
+			this.prev = this;
+			this.next = this;
+		}
+
+		private Entry(String key, ICodeInfo codeInfo, long weight) {
+			this.key = key;
+			this.codeInfo = codeInfo;
+			this.weight = weight;
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package jadx.api.impl;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.ICodeCache;
+import jadx.api.ICodeInfo;
+import jadx.api.metadata.ICodeMetadata;
+import jadx.core.utils.CodeCompressor;
+
+/**
+ * In memory code cache with compressed code strings.
+ * Metadata stored as is (already compact and references loaded nodes).
+ * <br>
+ * Shared dictionary trained on first added classes to improve compression of small classes.
+ */
+public class CompressedCodeCache implements ICodeCache {
+
+	private static final int DEFAULT_TRAIN_SAMPLES = 64;
+
+	private final Map<String, Entry> storage = new ConcurrentHashMap<>();
+	private final CodeCompressor compressor;
+
+	public CompressedCodeCache() {
+		this(DEFAULT_TRAIN_SAMPLES);
+	}
+
+	/**
+	 * @param trainSamplesCount classes count used for dictionary training, zero to disable dictionary
+	 */
+	public CompressedCodeCache(int trainSamplesCount) {
+		this.compressor = new CodeCompressor(trainSamplesCount);
+	}
+
+	@Override
+	public void add(String clsFullName, ICodeInfo codeInfo) {
+		byte[] code = compressor.compress(codeInfo.getCodeStr());
+		ICodeMetadata metadata = codeInfo.hasMetadata() ? codeInfo.getCodeMetadata() : null;
+		storage.put(clsFullName, new Entry(code, metadata));
+	}
+
+	@Override
+	public void remove(String clsFullName) {
+		storage.remove(clsFullName);
+	}
+
+	@Override
+	public @NotNull ICodeInfo get(String clsFullName) {
+		Entry entry = storage.get(clsFullName);
+		if (entry == null) {
+			return ICodeInfo.EMPTY;
+		}
+		String code = compressor.decompress(entry.getCode());
+		ICodeMetadata metadata = entry.getMetadata();
+		if (metadata == null) {
+			return new SimpleCodeInfo(code);
+		}
+		return new AnnotatedCodeInfo(code, metadata);
+	}
+
+	@Override
+	public @Nullable String getCode(String clsFullName) {
+		Entry entry = storage.get(clsFullName);
+		if (entry == null) {
+			return null;
+		}
+		return compressor.decompress(entry.getCode());
+	}
+
+	@Override
+	public boolean contains(String clsFullName) {
+		return storage.containsKey(clsFullName);
+	}
+
+	@Override
+	public void close() throws IOException {
+		storage.clear();
+	}
+
+	/**
+	 * Total size of compressed code
+	 */
+	public long getCompressedSize() {
+		long size = 0;
+		for (Entry entry : storage.values()) {
+			size += entry.getCode().length;
+		}
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		return "CompressedCodeCache: size=" + storage.size();
+	}
+
+	private static final class Entry {
+		private final byte[] code;
+		private final @Nullable ICodeMetadata metadata;
+
+		private Entry(byte[] code, @Nullable ICodeMetadata metadata) {
+			this.code = code;
+			this.metadata = metadata;
+		}
+
+		public byte[] getCode() {
+			return code;
+		}
+
+		public @Nullable ICodeMetadata getMetadata() {
+			return metadata;
+		}
+	}
+}
@@ -10,6 +10,7 @@
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.visitors.AbstractVisitor;
 import jadx.core.utils.exceptions.JadxException;
+import jadx.core.utils.exceptions.JadxTimeLimitException;
 
 public class DecompilePassWrapper extends AbstractVisitor implements IPassWrapperVisitor {
 	private static final Logger LOG = LoggerFactory.getLogger(DecompilePassWrapper.class);
@@ -48,6 +49,8 @@ public boolean visit(ClassNode cls) throws JadxException {
 	public void visit(MethodNode mth) throws JadxException {
 		try {
 			decompilePass.visit(mth);
+		} catch (JadxTimeLimitException e) {
+			throw e;
 		} catch (StackOverflowError | Exception e) {
 			mth.addError("Error in decompile pass: " + this, e);
 		}
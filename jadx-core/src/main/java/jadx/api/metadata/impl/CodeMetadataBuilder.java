@@ -0,0 +1,148 @@
+package jadx.api.metadata.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import jadx.api.metadata.ICodeAnnotation;
+import jadx.api.metadata.ICodeMetadata;
+
+/**
+ * Collect code annotations and lines mapping into growing arrays.
+ * Values added mostly in increasing position order, so sorting on build is usually not needed.
+ * For same position (or line) last added value is used.
+ */
+public class CodeMetadataBuilder {
+	private static final int[] EMPTY_INTS = new int[0];
+	private static final ICodeAnnotation[] EMPTY_ANNOTATIONS = new ICodeAnnotation[0];
+
+	private int[] annPositions = EMPTY_INTS;
+	private ICodeAnnotation[] annotations = EMPTY_ANNOTATIONS;
+	private int annCount;
+	private boolean annSorted = true;
+
+	private int[] lines = EMPTY_INTS;
+	private int[] sourceLines = EMPTY_INTS;
+	private int linesCount;
+	private boolean linesSorted = true;
+
+	public void addAnnotation(int pos, ICodeAnnotation ann) {
+		if (annCount == annPositions.length) {
+			int newLen = Math.max(16, annCount * 2);
+			annPositions = Arrays.copyOf(annPositions, newLen);
+			annotations = Arrays.copyOf(annotations, newLen);
+		}
+		if (annCount != 0 && annPositions[annCount - 1] >= pos) {
+			annSorted = false;
+		}
+		annPositions[annCount] = pos;
+		annotations[annCount] = ann;
+		annCount++;
+	}
+
+	public void addSourceLine(int decompiledLine, int sourceLine) {
+		if (linesCount == lines.length) {
+			int newLen = Math.max(16, linesCount * 2);
+			lines = Arrays.copyOf(lines, newLen);
+			sourceLines = Arrays.copyOf(sourceLines, newLen);
+		}
+		if (linesCount != 0 && lines[linesCount - 1] >= decompiledLine) {
+			linesSorted = false;
+		}
+		lines[linesCount] = decompiledLine;
+		sourceLines[linesCount] = sourceLine;
+		linesCount++;
+	}
+
+	/**
+	 * Append data from other builder with shifted positions and lines
+	 */
+	public void addAll(CodeMetadataBuilder other, int posShift, int lineShift) {
+		for (int i = 0; i < other.annCount; i++) {
+			addAnnotation(other.annPositions[i] + posShift, other.annotations[i]);
+		}
+		for (int i = 0; i < other.linesCount; i++) {
+			addSourceLine(other.lines[i] + lineShift, other.sourceLines[i]);
+		}
+	}
+
+	public void addAll(Map<Integer, Integer> lineMapping, Map<Integer, ICodeAnnotation> annotationsMap) {
+		for (Map.Entry<Integer, Integer> entry : lineMapping.entrySet()) {
+			addSourceLine(entry.getKey(), entry.getValue());
+		}
+		for (Map.Entry<Integer, ICodeAnnotation> entry : annotationsMap.entrySet()) {
+			addAnnotation(entry.getKey(), entry.getValue());
+		}
+	}
+
+	public boolean isEmpty() {
+		return annCount == 0 && linesCount == 0;
+	}
+
+	/**
+	 * Copy of collected annotations
+	 */
+	public Map<Integer, ICodeAnnotation> getAnnotationsMap() {
+		if (annCount == 0) {
+			return Collections.emptyMap();
+		}
+		Map<Integer, ICodeAnnotation> map = new HashMap<>(annCount * 2);
+		for (int i = 0; i < annCount; i++) {
+			map.put(annPositions[i], annotations[i]);
+		}
+		return map;
+	}
+
+	public ICodeMetadata build() {
+		if (isEmpty()) {
+			return ICodeMetadata.EMPTY;
+		}
+		int[] sortedAnnIdx = sortedUniqueIndexes(annPositions, annCount, annSorted);
+		int annLen = sortedAnnIdx == null ? annCount : sortedAnnIdx.length;
+		int[] positions = new int[annLen];
+		ICodeAnnotation[] anns = new ICodeAnnotation[annLen];
+		for (int i = 0; i < annLen; i++) {
+			int idx = sortedAnnIdx == null ? i : sortedAnnIdx[i];
+			positions[i] = annPositions[idx];
+			anns[i] = annotations[idx];
+		}
+		int[] sortedLinesIdx = sortedUniqueIndexes(lines, linesCount, linesSorted);
+		int linesLen = sortedLinesIdx == null ? linesCount : sortedLinesIdx.length;
+		int[] decompiledLines = new int[linesLen];
+		int[] srcLines = new int[linesLen];
+		for (int i = 0; i < linesLen; i++) {
+			int idx = sortedLinesIdx == null ? i : sortedLinesIdx[i];
+			decompiledLines[i] = lines[idx];
+			srcLines[i] = sourceLines[idx];
+		}
+		return new CodeMetadataStorage(decompiledLines, srcLines, positions, anns);
+	}
+
+	/**
+	 * Stable sort of keys, only last index for equal keys is kept
+	 *
+	 * @return null if keys already sorted and unique
+	 */
+	private static int[] sortedUniqueIndexes(int[] keys, int count, boolean sorted) {
+		if (sorted) {
+			return null;
+		}
+		long[] packed = new long[count];
+		for (int i = 0; i < count; i++) {
+			packed[i] = (long) keys[i] << 32 | i;
+		}
+		Arrays.sort(packed);
+		int[] result = new int[count];
+		int len = 0;
+		for (int i = 0; i < count; i++) {
+			long cur = packed[i];
+			if (i + 1 < count && (int) (packed[i + 1] >> 32) == (int) (cur >> 32)) {
+				// same key, use next (added later)
+				continue;
+			}
+			result[len++] = (int) cur;
+		}
+		return len == count ? result : Arrays.copyOf(result, len);
+	}
+}
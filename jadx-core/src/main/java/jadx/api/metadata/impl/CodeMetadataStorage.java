@@ -1,9 +1,15 @@
 package jadx.api.metadata.impl;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.function.BiFunction;
 
@@ -14,52 +20,57 @@
 import jadx.api.metadata.ICodeMetadata;
 import jadx.api.metadata.ICodeNodeRef;
 import jadx.api.metadata.annotations.NodeDeclareRef;
-import jadx.core.utils.Utils;
 
+/**
+ * Code metadata stored in sorted arrays, lookups done by binary search.
+ * Use {@link CodeMetadataBuilder} to create.
+ */
 public class CodeMetadataStorage implements ICodeMetadata {
 
 	public static ICodeMetadata build(Map<Integer, Integer> lines, Map<Integer, ICodeAnnotation> map) {
-		if (map.isEmpty() && lines.isEmpty()) {
-			return ICodeMetadata.EMPTY;
-		}
-		Comparator<Integer> reverseCmp = Comparator.comparingInt(Integer::intValue).reversed();
-		NavigableMap<Integer, ICodeAnnotation> navMap = new TreeMap<>(reverseCmp);
-		navMap.putAll(map);
-		return new CodeMetadataStorage(lines, navMap);
+		CodeMetadataBuilder builder = new CodeMetadataBuilder();
+		builder.addAll(lines, map);
+		return builder.build();
 	}
 
 	public static ICodeMetadata empty() {
-		return new CodeMetadataStorage(Collections.emptyMap(), Collections.emptyNavigableMap());
+		return new CodeMetadataStorage(new int[0], new int[0], new int[0], new ICodeAnnotation[0]);
 	}
 
-	// <decomp file line number> -> <dex debug line number>
-	private final Map<Integer, Integer> lines;
+	// <decomp file line number> -> <dex debug line number>, sorted by decompiled line
+	private final int[] lines;
+	private final int[] sourceLines;
 
-	// <character index into the file> -> <code annotation>
+	// <character index into the file> -> <code annotation>, sorted by position
 	// the key is what is returned by AbstractCodeArea#getCaretPos() when clicking in a code panel.
-	private final NavigableMap<Integer, ICodeAnnotation> navMap;
+	private final int[] positions;
+	private final ICodeAnnotation[] annotations;
 
-	private CodeMetadataStorage(Map<Integer, Integer> lines, NavigableMap<Integer, ICodeAnnotation> navMap) {
+	CodeMetadataStorage(int[] lines, int[] sourceLines, int[] positions, ICodeAnnotation[] annotations) {
 		this.lines = lines;
-		this.navMap = navMap;
+		this.sourceLines = sourceLines;
+		this.positions = positions;
+		this.annotations = annotations;
 	}
 
 	@Override
 	public ICodeAnnotation getAt(int position) {
-		return navMap.get(position);
+		int idx = Arrays.binarySearch(positions, position);
+		return idx >= 0 ? annotations[idx] : null;
 	}
 
 	@Override
 	public @Nullable ICodeAnnotation getClosestUp(int position) {
-		Map.Entry<Integer, ICodeAnnotation> entryBefore = navMap.higherEntry(position);
-		return entryBefore != null ? entryBefore.getValue() : null;
+		int idx = lastIndexBefore(position, false);
+		return idx >= 0 ? annotations[idx] : null;
 	}
 
 	@Override
 	public @Nullable ICodeAnnotation searchUp(int position, AnnType annType) {
-		for (ICodeAnnotation v : navMap.tailMap(position, true).values()) {
-			if (v.getAnnType() == annType) {
-				return v;
+		for (int i = lastIndexBefore(position, true); i >= 0; i--) {
+			ICodeAnnotation ann = annotations[i];
+			if (ann.getAnnType() == annType) {
+				return ann;
 			}
 		}
 		return null;
@@ -67,9 +78,10 @@ public ICodeAnnotation getAt(int position) {
 
 	@Override
 	public @Nullable ICodeAnnotation searchUp(int position, int limitPos, AnnType annType) {
-		for (ICodeAnnotation v : navMap.subMap(position, true, limitPos, true).values()) {
-			if (v.getAnnType() == annType) {
-				return v;
+		for (int i = lastIndexBefore(position, true); i >= 0 && positions[i] >= limitPos; i--) {
+			ICodeAnnotation ann = annotations[i];
+			if (ann.getAnnType() == annType) {
+				return ann;
 			}
 		}
 		return null;
@@ -77,8 +89,8 @@ public ICodeAnnotation getAt(int position) {
 
 	@Override
 	public <T> @Nullable T searchUp(int startPos, BiFunction<Integer, ICodeAnnotation, T> visitor) {
-		for (Map.Entry<Integer, ICodeAnnotation> entry : navMap.tailMap(startPos, true).entrySet()) {
-			T value = visitor.apply(entry.getKey(), entry.getValue());
+		for (int i = lastIndexBefore(startPos, true); i >= 0; i--) {
+			T value = visitor.apply(positions[i], annotations[i]);
 			if (value != null) {
 				return value;
 			}
@@ -88,9 +100,9 @@ public ICodeAnnotation getAt(int position) {
 
 	@Override
 	public <T> @Nullable T searchDown(int startPos, BiFunction<Integer, ICodeAnnotation, T> visitor) {
-		NavigableMap<Integer, ICodeAnnotation> map = navMap.headMap(startPos, true).descendingMap();
-		for (Map.Entry<Integer, ICodeAnnotation> entry : map.entrySet()) {
-			T value = visitor.apply(entry.getKey(), entry.getValue());
+		int len = positions.length;
+		for (int i = lastIndexBefore(startPos, false) + 1; i < len; i++) {
+			T value = visitor.apply(positions[i], annotations[i]);
 			if (value != null) {
 				return value;
 			}
@@ -101,7 +113,8 @@ public ICodeAnnotation getAt(int position) {
 	@Override
 	public ICodeNodeRef getNodeAt(int position) {
 		int nesting = 0;
-		for (ICodeAnnotation ann : navMap.tailMap(position, true).values()) {
+		for (int i = lastIndexBefore(position, true); i >= 0; i--) {
+			ICodeAnnotation ann = annotations[i];
 			switch (ann.getAnnType()) {
 				case END:
 					nesting++;
@@ -124,7 +137,9 @@ public ICodeNodeRef getNodeAt(int position) {
 
 	@Override
 	public ICodeNodeRef getNodeBelow(int position) {
-		for (ICodeAnnotation ann : navMap.headMap(position, true).descendingMap().values()) {
+		int len = positions.length;
+		for (int i = lastIndexBefore(position, false) + 1; i < len; i++) {
+			ICodeAnnotation ann = annotations[i];
 			if (ann.getAnnType() == AnnType.DECLARATION) {
 				ICodeNodeRef node = ((NodeDeclareRef) ann).getNode();
 				AnnType nodeType = node.getAnnType();
@@ -136,19 +151,127 @@ public ICodeNodeRef getNodeBelow(int position) {
 		return null;
 	}
 
+	/**
+	 * Copy of annotations in reversed positions order.
+	 * Prefer search methods to avoid copying.
+	 */
 	@Override
 	public NavigableMap<Integer, ICodeAnnotation> getAsMap() {
-		return navMap;
+		NavigableMap<Integer, ICodeAnnotation> map = new TreeMap<>(Comparator.reverseOrder());
+		int len = positions.length;
+		for (int i = 0; i < len; i++) {
+			map.put(positions[i], annotations[i]);
+		}
+		return Collections.unmodifiableNavigableMap(map);
 	}
 
+	/**
+	 * Read only view of line mapping
+	 */
 	@Override
 	public Map<Integer, Integer> getLineMapping() {
-		return lines;
+		return new LinesMap(lines, sourceLines);
+	}
+
+	public int getAnnotationsCount() {
+		return positions.length;
+	}
+
+	public int getLinesCount() {
+		return lines.length;
+	}
+
+	/**
+	 * Index of last annotation with position less (or equal if {@code inclusive} is true)
+	 * than provided position.
+	 *
+	 * @return -1 if not found
+	 */
+	private int lastIndexBefore(int position, boolean inclusive) {
+		int idx = Arrays.binarySearch(positions, position);
+		if (idx >= 0) {
+			return inclusive ? idx : idx - 1;
+		}
+		int insertPoint = -idx - 1;
+		return insertPoint - 1;
 	}
 
 	@Override
 	public String toString() {
-		return "CodeMetadata{\nlines=" + lines
-				+ "\nannotations=\n " + Utils.listToString(navMap.descendingMap().entrySet(), "\n ") + "\n}";
+		StringBuilder sb = new StringBuilder();
+		sb.append("CodeMetadata{\nlines=").append(getLineMapping());
+		sb.append("\nannotations=\n ");
+		int len = positions.length;
+		for (int i = 0; i < len; i++) {
+			if (i != 0) {
+				sb.append("\n ");
+			}
+			sb.append(positions[i]).append('=').append(annotations[i]);
+		}
+		sb.append("\n}");
+		return sb.toString();
+	}
+
+	private static final class LinesMap extends AbstractMap<Integer, Integer> {
+		private final int[] keys;
+		private final int[] values;
+
+		private LinesMap(int[] keys, int[] values) {
+			this.keys = keys;
+			this.values = values;
+		}
+
+		@Override
+		public Integer get(Object key) {
+			if (key instanceof Integer) {
+				int idx = Arrays.binarySearch(keys, (Integer) key);
+				if (idx >= 0) {
+					return values[idx];
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return key instanceof Integer && Arrays.binarySearch(keys, (Integer) key) >= 0;
+		}
+
+		@Override
+		public int size() {
+			return keys.length;
+		}
+
+		@Override
+		public Set<Entry<Integer, Integer>> entrySet() {
+			return new AbstractSet<>() {
+				@Override
+				public Iterator<Entry<Integer, Integer>> iterator() {
+					return new Iterator<>() {
+						private int idx = 0;
+
+						@Override
+						public boolean hasNext() {
+							return idx < keys.length;
+						}
+
+						@Override
+						public Entry<Integer, Integer> next() {
+							if (idx >= keys.length) {
+								throw new NoSuchElementException();
+							}
+							Entry<Integer, Integer> entry = new SimpleImmutableEntry<>(keys[idx], values[idx]);
+							idx++;
+							return entry;
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return keys.length;
+				}
+			};
+		}
 	}
 }
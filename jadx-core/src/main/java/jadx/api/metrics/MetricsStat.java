@@ -0,0 +1,52 @@
+package jadx.api.metrics;
+
+/**
+ * Accumulated execution metrics of decompilation passes for one pass, class or method.
+ * Time values in nanoseconds, unsupported values set to -1.
+ */
+public final class MetricsStat {
+	private final String name;
+	private final long count;
+	private final long wallTime;
+	private final long cpuTime;
+	private final long allocatedBytes;
+
+	public MetricsStat(String name, long count, long wallTime, long cpuTime, long allocatedBytes) {
+		this.name = name;
+		this.count = count;
+		this.wallTime = wallTime;
+		this.cpuTime = cpuTime;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Count of pass executions
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	public long getWallTime() {
+		return wallTime;
+	}
+
+	public long getCpuTime() {
+		return cpuTime;
+	}
+
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	@Override
+	public String toString() {
+		return name + ": count=" + count
+				+ ", wall=" + wallTime
+				+ ", cpu=" + cpuTime
+				+ ", alloc=" + allocatedBytes;
+	}
+}
@@ -0,0 +1,94 @@
+package jadx.api.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of collected decompilation passes metrics.
+ * Enabled by {@link jadx.api.JadxArgs#setCollectPassMetrics(boolean)}.
+ * All lists sorted by wall time, the slowest first.
+ */
+public final class PassMetrics {
+	public static final Comparator<MetricsStat> BY_WALL_TIME =
+			Comparator.comparingLong(MetricsStat::getWallTime).reversed().thenComparing(MetricsStat::getName);
+
+	private final List<MetricsStat> passes;
+	private final List<MetricsStat> classes;
+	private final List<MetricsStat> methods;
+	private final boolean cpuTimeSupported;
+	private final boolean allocationsSupported;
+
+	public PassMetrics(List<MetricsStat> passes, List<MetricsStat> classes, List<MetricsStat> methods,
+			boolean cpuTimeSupported, boolean allocationsSupported) {
+		this.passes = sorted(passes);
+		this.classes = sorted(classes);
+		this.methods = sorted(methods);
+		this.cpuTimeSupported = cpuTimeSupported;
+		this.allocationsSupported = allocationsSupported;
+	}
+
+	public List<MetricsStat> getPasses() {
+		return passes;
+	}
+
+	/**
+	 * Stats for top level classes, include passes executions for inner classes and all methods
+	 */
+	public List<MetricsStat> getClasses() {
+		return classes;
+	}
+
+	public List<MetricsStat> getMethods() {
+		return methods;
+	}
+
+	public boolean isCpuTimeSupported() {
+		return cpuTimeSupported;
+	}
+
+	public boolean isAllocationsSupported() {
+		return allocationsSupported;
+	}
+
+	/**
+	 * Text report with the slowest passes, classes and methods
+	 *
+	 * @param topCount max count of entries in each section
+	 */
+	public String buildReport(int topCount) {
+		StringBuilder sb = new StringBuilder();
+		appendSection(sb, "passes", passes, topCount);
+		appendSection(sb, "classes", classes, topCount);
+		appendSection(sb, "methods", methods, topCount);
+		return sb.toString();
+	}
+
+	private void appendSection(StringBuilder sb, String title, List<MetricsStat> list, int topCount) {
+		int count = Math.min(topCount, list.size());
+		sb.append("Top ").append(count).append(" slowest ").append(title)
+				.append(" (of ").append(list.size()).append("):\n");
+		sb.append(String.format("  %10s %10s %12s %8s  %s%n", "wall, ms", "cpu, ms", "alloc, KB", "count", "name"));
+		for (int i = 0; i < count; i++) {
+			MetricsStat stat = list.get(i);
+			sb.append(String.format("  %10s %10s %12s %8d  %s%n",
+					formatTime(stat.getWallTime()),
+					cpuTimeSupported ? formatTime(stat.getCpuTime()) : "-",
+					allocationsSupported ? Long.toString(stat.getAllocatedBytes() / 1024) : "-",
+					stat.getCount(),
+					stat.getName()));
+		}
+	}
+
+	private static String formatTime(long nanos) {
+		return Long.toString(TimeUnit.NANOSECONDS.toMillis(nanos));
+	}
+
+	private static List<MetricsStat> sorted(List<MetricsStat> list) {
+		List<MetricsStat> sortedList = new ArrayList<>(list);
+		sortedList.sort(BY_WALL_TIME);
+		return Collections.unmodifiableList(sortedList);
+	}
+}
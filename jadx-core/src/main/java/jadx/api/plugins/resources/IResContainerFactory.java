@@ -23,6 +23,16 @@ public interface IResContainerFactory {
 	default void init(RootNode root) {
 	}
 
+	/**
+	 * Fast check (without content reading) if resource file can be processed by this factory.
+	 * Resources not accepted by any factory and not decoded by jadx are copied without changes.
+	 * Default implementation accepts all files, so content of every resource will be passed into
+	 * {@link #create(ResourceFile, InputStream)}.
+	 */
+	default boolean canHandle(ResourceFile resFile) {
+		return true;
+	}
+
 	/**
 	 * Checks if resource file is of expected format and tries to parse its content.
 	 *
@@ -0,0 +1,145 @@
+package jadx.api.usage.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.usage.IUsageInfoCache;
+import jadx.api.usage.IUsageInfoData;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.visitors.usage.UsageInfo;
+import jadx.core.dex.visitors.usage.UsageInfoFile;
+import jadx.core.utils.JadxBuildInfo;
+import jadx.core.utils.Utils;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Usage info cache stored in files in provided directory.
+ * File name is a hash of input files content, jadx version and options,
+ * so saved data reused for the same inputs even if files moved or touched.
+ * Loaded file is memory mapped and data for each class applied without full file decoding.
+ */
+public class FileUsageInfoCache implements IUsageInfoCache {
+	private static final Logger LOG = LoggerFactory.getLogger(FileUsageInfoCache.class);
+
+	private static final String USAGE_FILE_EXT = ".usage";
+
+	private final Path cacheDir;
+	private final InMemoryUsageInfoCache memCache = new InMemoryUsageInfoCache();
+
+	/**
+	 * Usage file for root node with provided hash, inputs hash calculated once for each root
+	 */
+	private int rootNodeHash;
+	private @Nullable Path usageFile;
+
+	public FileUsageInfoCache(Path cacheDir) {
+		this.cacheDir = cacheDir;
+	}
+
+	@Override
+	public synchronized @Nullable IUsageInfoData get(RootNode root) {
+		IUsageInfoData memData = memCache.get(root);
+		if (memData != null) {
+			return memData;
+		}
+		Path usageFile = getUsageFile(root);
+		if (usageFile == null || !Files.isRegularFile(usageFile)) {
+			return null;
+		}
+		long start = System.currentTimeMillis();
+		try {
+			UsageInfo data = UsageInfoFile.load(root, usageFile);
+			if (data == null) {
+				FileUtils.deleteFileIfExists(usageFile);
+				return null;
+			}
+			memCache.set(root, data);
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Usage data loaded from cache in {}ms, file: {}", System.currentTimeMillis() - start, usageFile);
+			}
+			return data;
+		} catch (Exception e) {
+			LOG.warn("Failed to load usage data from cache file: {}", usageFile, e);
+			return null;
+		}
+	}
+
+	@Override
+	public synchronized void set(RootNode root, IUsageInfoData data) {
+		memCache.set(root, data);
+		if (!(data instanceof UsageInfo)) {
+			LOG.debug("Unsupported usage data for file cache: {}", data.getClass().getName());
+			return;
+		}
+		Path usageFile = getUsageFile(root);
+		if (usageFile == null) {
+			return;
+		}
+		try {
+			FileUtils.makeDirs(cacheDir);
+			Path tmpFile = Files.createTempFile(cacheDir, "usage-", ".tmp");
+			try {
+				UsageInfoFile.save(root, (UsageInfo) data, tmpFile);
+				moveFile(tmpFile, usageFile);
+			} finally {
+				Files.deleteIfExists(tmpFile);
+			}
+		} catch (Exception e) {
+			LOG.warn("Failed to save usage data into cache file: {}", usageFile, e);
+		}
+	}
+
+	private @Nullable Path getUsageFile(RootNode root) {
+		if (rootNodeHash != root.hashCode()) {
+			rootNodeHash = root.hashCode();
+			usageFile = buildUsageFile(root);
+		}
+		return usageFile;
+	}
+
+	/**
+	 * Cache can't be used if inputs not loaded from files
+	 */
+	private @Nullable Path buildUsageFile(RootNode root) {
+		JadxArgs args = root.getArgs();
+		List<File> inputFiles = args.getInputFiles();
+		JadxDecompiler decompiler = root.getDecompiler();
+		if (inputFiles.isEmpty() || (decompiler != null && !decompiler.getCustomCodeLoaders().isEmpty())) {
+			return null;
+		}
+		String inputsHash = FileUtils.buildInputsContentHash(Utils.collectionMap(inputFiles, File::toPath));
+		String key = FileUtils.md5Sum(JadxBuildInfo.getJadxVersion()
+				+ ':' + args.makeCodeArgsHash(decompiler)
+				+ ':' + inputsHash);
+		return cacheDir.resolve(key + USAGE_FILE_EXT);
+	}
+
+	private static void moveFile(Path src, Path dst) throws IOException {
+		try {
+			Files.move(src, dst, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(src, dst, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		memCache.close();
+	}
+
+	@Override
+	public String toString() {
+		return "FileUsageInfoCache: dir=" + cacheDir;
+	}
+}
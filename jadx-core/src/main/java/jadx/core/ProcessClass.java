@@ -1,7 +1,10 @@
 package jadx.core;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import org.jetbrains.annotations.NotNull;
@@ -12,6 +15,7 @@
 import jadx.api.DecompilationMode;
 import jadx.api.ICodeInfo;
 import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
 import jadx.api.impl.SimpleCodeInfo;
 import jadx.core.codegen.CodeGen;
 import jadx.core.dex.attributes.AFlag;
@@ -23,8 +27,11 @@
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.visitors.DepthTraversal;
 import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.dex.visitors.ParallelMethodsTraversal;
+import jadx.core.utils.DecompileTimeLimit;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.tasks.DecompileThreads;
 
 import static jadx.core.dex.nodes.ProcessState.GENERATED_AND_UNLOADED;
 import static jadx.core.dex.nodes.ProcessState.LOADED;
@@ -39,6 +46,15 @@ public class ProcessClass {
 
 	private final List<IDexTreeVisitor> passes;
 
+	/**
+	 * Passes grouped into stages for parallel methods processing, null if disabled
+	 */
+	private @Nullable List<PassesStage> stages;
+	/**
+	 * Threads owned by decompiler, shared with other classes
+	 */
+	private @Nullable DecompileThreads threads;
+
 	public ProcessClass(List<IDexTreeVisitor> passesList) {
 		this.passes = passesList;
 	}
@@ -50,6 +66,21 @@ private ICodeInfo process(ClassNode cls, boolean codegen) {
 			return null;
 		}
 		Utils.checkThreadInterrupt();
+		DecompileThreads threadsBudget = threads;
+		if (threadsBudget == null) {
+			return processLocked(cls, codegen);
+		}
+		// count class processing thread (including codegen) in threads budget shared with methods helpers
+		threadsBudget.enterClass();
+		try {
+			return processLocked(cls, codegen);
+		} finally {
+			threadsBudget.exitClass();
+		}
+	}
+
+	@Nullable
+	private ICodeInfo processLocked(ClassNode cls, boolean codegen) {
 		synchronized (cls.getClassInfo()) {
 			try {
 				if (cls.contains(AFlag.CLASS_DEEP_RELOAD)) {
@@ -79,9 +110,8 @@ private ICodeInfo process(ClassNode cls, boolean codegen) {
 				}
 				if (cls.getState() == LOADED) {
 					cls.setState(PROCESS_STARTED);
-					for (IDexTreeVisitor visitor : passes) {
-						DepthTraversal.visit(visitor, cls);
-					}
+					cls.setTimeLimitExceeded(false);
+					runPasses(cls);
 					cls.setState(PROCESS_COMPLETE);
 				}
 				if (codegen) {
@@ -104,6 +134,57 @@ private ICodeInfo process(ClassNode cls, boolean codegen) {
 		}
 	}
 
+	private void runPasses(ClassNode cls) {
+		DecompileTimeLimit timeLimit = cls.root().getTimeLimit();
+		List<PassesStage> stagesList = stages;
+		DecompileThreads threadsBudget = threads;
+		if (stagesList == null || threadsBudget == null) {
+			for (IDexTreeVisitor visitor : passes) {
+				DepthTraversal.visit(visitor, cls, timeLimit);
+			}
+			return;
+		}
+		for (PassesStage stage : stagesList) {
+			if (stage.isMethodLocal()) {
+				ParallelMethodsTraversal.visit(stage.getPasses(), cls, threadsBudget, timeLimit);
+			} else {
+				for (IDexTreeVisitor visitor : stage.getPasses()) {
+					DepthTraversal.visit(visitor, cls, timeLimit);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Process method again using simpler decompilation mode after time limit exceeded.
+	 * Method stays marked, so remaining passes for current mode will skip it.
+	 */
+	public void processTimedOutMethod(MethodNode mth, DecompileTimeLimit timeLimit) {
+		DecompilationMode mode;
+		do {
+			mode = timeLimit.getFallbackMode(mth);
+			processMethodForMode(mth, mode, timeLimit);
+			// fallback mode not limited, so loop will stop at most after two iterations
+		} while (mth.isTimeLimitExceeded() && mode != DecompilationMode.FALLBACK);
+		mth.setTimeLimitExceeded(true);
+		mth.addWarnComment("Processing time limit exceeded, method decompiled in "
+				+ mode.name().toLowerCase(Locale.ROOT) + " mode");
+	}
+
+	private void processMethodForMode(MethodNode mth, DecompilationMode mode, DecompileTimeLimit timeLimit) {
+		ProcessClass prCls = getProcessClassForMode(mth.root(), mode);
+		try {
+			mth.unload();
+			mth.load();
+			mth.addAttr(new DecompileModeOverrideAttr(mode));
+			for (IDexTreeVisitor pass : prCls.getPasses()) {
+				DepthTraversal.visit(pass, mth, timeLimit);
+			}
+		} catch (Exception e) {
+			mth.addError("Method processing in " + mode + " mode failed", e);
+		}
+	}
+
 	@NotNull
 	public ICodeInfo generateCode(ClassNode cls) {
 		ClassNode topParentClass = cls.getTopParentClass();
@@ -165,12 +246,7 @@ public void forceProcess(ClassNode cls) {
 
 	public @Nullable ICodeInfo forceGenerateCodeForMode(ClassNode cls, DecompilationMode mode) {
 		synchronized (modesMap) {
-			ProcessClass prCls = modesMap.computeIfAbsent(mode, m -> {
-				RootNode root = cls.root();
-				ProcessClass newPrCls = new ProcessClass(getPassesForMode(root.getArgs(), m));
-				newPrCls.initPasses(root);
-				return newPrCls;
-			});
+			ProcessClass prCls = getProcessClassForMode(cls.root(), mode);
 			try {
 				cls.addAttr(new DecompileModeOverrideAttr(mode));
 				return prCls.forceGenerateCode(cls);
@@ -180,6 +256,16 @@ public void forceProcess(ClassNode cls) {
 		}
 	}
 
+	private ProcessClass getProcessClassForMode(RootNode root, DecompilationMode mode) {
+		synchronized (modesMap) {
+			return modesMap.computeIfAbsent(mode, m -> {
+				ProcessClass newPrCls = new ProcessClass(getPassesForMode(root.getArgs(), m));
+				newPrCls.initPasses(root);
+				return newPrCls;
+			});
+		}
+	}
+
 	private static List<IDexTreeVisitor> getPassesForMode(JadxArgs baseArgs, DecompilationMode mode) {
 		switch (mode) {
 			case FALLBACK:
@@ -206,6 +292,54 @@ public void initPasses(RootNode root) {
 				LOG.error("Visitor init failed: {}", pass.getClass().getSimpleName(), e);
 			}
 		}
+		initStages(root);
+	}
+
+	private void initStages(RootNode root) {
+		JadxArgs args = root.getArgs();
+		JadxDecompiler decompiler = root.getDecompiler();
+		if (!args.isParallelMethodsProcessing() || args.getThreadsCount() <= 1 || decompiler == null) {
+			stages = null;
+			threads = null;
+			return;
+		}
+		threads = decompiler.getDecompileThreads();
+		stages = buildStages(passes);
+	}
+
+	/**
+	 * Merge sequential method-local passes into one stage,
+	 * other passes processed as usual (whole class per pass)
+	 */
+	private static List<PassesStage> buildStages(List<IDexTreeVisitor> passes) {
+		List<PassesStage> list = new ArrayList<>();
+		PassesStage current = null;
+		for (IDexTreeVisitor pass : passes) {
+			boolean methodLocal = ParallelMethodsTraversal.isMethodLocal(pass);
+			if (current == null || current.isMethodLocal() != methodLocal) {
+				current = new PassesStage(methodLocal);
+				list.add(current);
+			}
+			current.getPasses().add(pass);
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+	private static final class PassesStage {
+		private final boolean methodLocal;
+		private final List<IDexTreeVisitor> passes = new ArrayList<>();
+
+		private PassesStage(boolean methodLocal) {
+			this.methodLocal = methodLocal;
+		}
+
+		public boolean isMethodLocal() {
+			return methodLocal;
+		}
+
+		public List<IDexTreeVisitor> getPasses() {
+			return passes;
+		}
 	}
 
 	public boolean processMethodUntilVisitor(MethodNode mth, String visitorName, boolean includeVisitor) {
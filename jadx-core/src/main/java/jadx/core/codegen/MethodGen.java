@@ -254,7 +254,10 @@ private void addMethodArguments(ICodeWriter code) {
 
 	public void addInstructions(ICodeWriter code) throws CodegenException {
 		JadxArgs args = mth.root().getArgs();
-		DecompileModeOverrideAttr modeOverrideAttr = mth.getTopParentClass().get(AType.DECOMPILE_MODE_OVERRIDE);
+		DecompileModeOverrideAttr modeOverrideAttr = mth.get(AType.DECOMPILE_MODE_OVERRIDE);
+		if (modeOverrideAttr == null) {
+			modeOverrideAttr = mth.getTopParentClass().get(AType.DECOMPILE_MODE_OVERRIDE);
+		}
 		DecompilationMode mode;
 		if (modeOverrideAttr != null) {
 			mode = modeOverrideAttr.getMode();
@@ -0,0 +1,47 @@
+package jadx.core.dex.attributes.nodes;
+
+import java.util.BitSet;
+
+import jadx.api.plugins.input.data.attributes.IJadxAttribute;
+import jadx.core.dex.attributes.AType;
+
+/**
+ * Called constructor info saved in constructor call by class-level passes
+ * (see {@link jadx.core.dex.visitors.ConstructorVisitor#markConstructorCalls}),
+ * so method-local passes don't read attributes of other methods processed in parallel
+ */
+public class ConstructorCallAttr implements IJadxAttribute {
+
+	private final boolean anonymous;
+	private final boolean inlineCandidate;
+	private final BitSet removedArgs;
+
+	public ConstructorCallAttr(boolean anonymous, boolean inlineCandidate, BitSet removedArgs) {
+		this.anonymous = anonymous;
+		this.inlineCandidate = inlineCandidate;
+		this.removedArgs = removedArgs;
+	}
+
+	public boolean isAnonymous() {
+		return anonymous;
+	}
+
+	public boolean isInlineCandidate() {
+		return inlineCandidate;
+	}
+
+	public boolean isRemovedArg(int argNum) {
+		return argNum >= 0 && removedArgs.get(argNum);
+	}
+
+	@Override
+	public AType<ConstructorCallAttr> getAttrType() {
+		return AType.CONSTRUCTOR_CALL;
+	}
+
+	@Override
+	public String toString() {
+		return "CONSTRUCTOR_CALL: anonymous=" + anonymous + ", inlineCandidate=" + inlineCandidate
+				+ ", removedArgs=" + removedArgs;
+	}
+}
@@ -1,7 +1,6 @@
 package jadx.core.dex.info;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,7 +19,7 @@ public class ConstStorage {
 
 	private static final class ValueStorage {
 		private final Map<Object, IFieldInfoRef> values = new ConcurrentHashMap<>();
-		private final Set<Object> duplicates = new HashSet<>();
+		private final Set<Object> duplicates = ConcurrentHashMap.newKeySet();
 
 		Map<Object, IFieldInfoRef> getValues() {
 			return values;
@@ -31,9 +30,11 @@ IFieldInfoRef get(Object key) {
 		}
 
 		/**
+		 * Result not depends on fields order, so values can be added concurrently
+		 *
 		 * @return true if this value is duplicated
 		 */
-		boolean put(Object value, IFieldInfoRef fld) {
+		synchronized boolean put(Object value, IFieldInfoRef fld) {
 			if (duplicates.contains(value)) {
 				values.remove(value);
 				return true;
@@ -64,7 +65,7 @@ void removeForCls(ClassNode cls) {
 
 	private final boolean replaceEnabled;
 	private final ValueStorage globalValues = new ValueStorage();
-	private final Map<ClassNode, ValueStorage> classes = new HashMap<>();
+	private final Map<ClassNode, ValueStorage> classes = new ConcurrentHashMap<>();
 
 	private Map<Integer, String> resourcesNames = new HashMap<>();
 
@@ -1,73 +1,64 @@
 package jadx.core.dex.info;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.Nullable;
 
 import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.utils.StripedIntMap;
 
+/**
+ * Storage for unique instances of class, method, field and package info.
+ * Accessed from all loading and processing threads, so avoid global locks here.
+ */
 public class InfoStorage {
 
-	private final Map<ArgType, ClassInfo> classes = new HashMap<>();
-	private final Map<FieldInfo, FieldInfo> fields = new HashMap<>();
+	private final Map<ArgType, ClassInfo> classes = new ConcurrentHashMap<>();
+	private final Map<FieldInfo, FieldInfo> fields = new ConcurrentHashMap<>();
 	// use only one MethodInfo instance
-	private final Map<MethodInfo, MethodInfo> uniqueMethods = new HashMap<>();
+	private final Map<MethodInfo, MethodInfo> uniqueMethods = new ConcurrentHashMap<>();
 	// can contain same method with different ids (from different files)
-	private final Map<Integer, MethodInfo> methods = new HashMap<>();
+	private final StripedIntMap<MethodInfo> methods = new StripedIntMap<>();
 
-	private final Map<String, PackageInfo> packages = new HashMap<>();
+	private final Map<String, PackageInfo> packages = new ConcurrentHashMap<>();
 
 	public ClassInfo getCls(ArgType type) {
 		return classes.get(type);
 	}
 
 	public ClassInfo putCls(ClassInfo cls) {
-		synchronized (classes) {
-			ClassInfo prev = classes.put(cls.getType(), cls);
-			return prev == null ? cls : prev;
-		}
+		ClassInfo prev = classes.putIfAbsent(cls.getType(), cls);
+		return prev == null ? cls : prev;
 	}
 
-	public MethodInfo getByUniqId(int id) {
-		synchronized (methods) {
-			return methods.get(id);
-		}
+	public @Nullable MethodInfo getByUniqId(int id) {
+		return methods.get(id);
 	}
 
 	public void putByUniqId(int id, MethodInfo mth) {
-		synchronized (methods) {
-			methods.put(id, mth);
-		}
+		methods.put(id, mth);
 	}
 
 	public MethodInfo putMethod(MethodInfo newMth) {
-		synchronized (uniqueMethods) {
-			MethodInfo prev = uniqueMethods.get(newMth);
-			if (prev != null) {
-				return prev;
-			}
-			uniqueMethods.put(newMth, newMth);
-			return newMth;
-		}
+		MethodInfo prev = uniqueMethods.putIfAbsent(newMth, newMth);
+		return prev == null ? newMth : prev;
 	}
 
 	public FieldInfo getField(FieldInfo field) {
-		synchronized (fields) {
-			FieldInfo f = fields.get(field);
-			if (f != null) {
-				return f;
-			}
-			fields.put(field, field);
-			return field;
-		}
+		FieldInfo prev = fields.putIfAbsent(field, field);
+		return prev == null ? field : prev;
 	}
 
 	public @Nullable PackageInfo getPkg(String fullName) {
 		return packages.get(fullName);
 	}
 
-	public void putPkg(PackageInfo pkg) {
-		packages.put(pkg.getFullName(), pkg);
+	/**
+	 * Return previously stored package with same name if exists
+	 */
+	public PackageInfo putPkg(PackageInfo pkg) {
+		PackageInfo prev = packages.putIfAbsent(pkg.getFullName(), pkg);
+		return prev == null ? pkg : prev;
 	}
 }
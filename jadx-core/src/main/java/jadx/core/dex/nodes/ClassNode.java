@@ -7,6 +7,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -19,9 +20,11 @@
 import jadx.api.ICodeCache;
 import jadx.api.ICodeInfo;
 import jadx.api.JavaClass;
+import jadx.api.impl.AnnotatedCodeInfo;
 import jadx.api.impl.SimpleCodeInfo;
 import jadx.api.impl.SimpleCodeWriter;
 import jadx.api.metadata.ICodeAnnotation;
+import jadx.api.metadata.ICodeMetadata;
 import jadx.api.metadata.annotations.NodeDeclareRef;
 import jadx.api.metadata.annotations.VarRef;
 import jadx.api.plugins.input.data.IClassData;
@@ -49,6 +52,7 @@
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.LiteralArg;
 import jadx.core.dex.nodes.utils.TypeUtils;
+import jadx.core.dex.visitors.usage.UsageGraph;
 import jadx.core.utils.ListUtils;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
@@ -86,9 +90,17 @@ public class ClassNode extends NotificationAttrNode
 	private LoadStage loadStage = LoadStage.NONE;
 
 	/**
-	 * Top level classes used in this class (only for top level classes, empty for inners)
+	 * Passes execution time (in nanoseconds) for this class and all its methods,
+	 * collected only if time limits enabled (see {@link jadx.core.utils.DecompileTimeLimit})
 	 */
-	private List<ClassNode> dependencies = Collections.emptyList();
+	private final AtomicLong processTime = new AtomicLong();
+	private volatile boolean timeLimitExceeded;
+
+	/**
+	 * Top level classes used in this class (only for top level classes, empty for inners).
+	 * Usage lists are null until changed, in this case views over {@link RootNode#getUsageGraph()} returned.
+	 */
+	private @Nullable List<ClassNode> dependencies;
 	/**
 	 * Top level classes needed for code generation stage
 	 */
@@ -96,11 +108,15 @@ public class ClassNode extends NotificationAttrNode
 	/**
 	 * Classes which uses this class
 	 */
-	private List<ClassNode> useIn = Collections.emptyList();
+	private @Nullable List<ClassNode> useIn;
 	/**
 	 * Methods which uses this class (by instructions only, definition is excluded)
 	 */
-	private List<MethodNode> useInMth = Collections.emptyList();
+	private @Nullable List<MethodNode> useInMth;
+	/**
+	 * Dense class id in usage data, see {@link jadx.core.dex.visitors.usage.UsageNodesIndex}
+	 */
+	private int usageId = -1;
 
 	// cache maps
 	private Map<MethodInfo, MethodNode> mthInfoMap = Collections.emptyMap();
@@ -108,13 +124,30 @@ public class ClassNode extends NotificationAttrNode
 	private JavaClass javaNode;
 
 	public ClassNode(RootNode root, IClassData cls) {
+		this(root, cls, true);
+	}
+
+	/**
+	 * @param attachToPackage false to skip adding class into package node,
+	 *                        used for parallel loading, see {@link #attachToPackage()}
+	 */
+	ClassNode(RootNode root, IClassData cls, boolean attachToPackage) {
 		this.root = root;
 		this.clsInfo = ClassInfo.fromType(root, ArgType.object(cls.getType()));
-		this.packageNode = PackageNode.getForClass(root, clsInfo.getPackage(), this);
+		if (attachToPackage) {
+			attachToPackage();
+		}
 		this.clsData = cls.copy();
 		load(clsData, false);
 	}
 
+	/**
+	 * Packages tree is not thread safe, so this should be done from one thread in classes load order
+	 */
+	void attachToPackage() {
+		this.packageNode = PackageNode.getForClass(root, clsInfo.getPackage(), this);
+	}
+
 	private void load(IClassData cls, boolean reloading) {
 		try {
 			addAttrs(cls.getAttributes());
@@ -403,8 +436,7 @@ private ICodeInfo generateClassCode() {
 				LOG.debug("Decompiling class: {}", this);
 			}
 			ICodeInfo codeInfo = root.getProcessClasses().generateCode(this);
-			processDefinitionAnnotations(codeInfo);
-			return codeInfo;
+			return processDefinitionAnnotations(codeInfo);
 		} catch (StackOverflowError | Exception e) {
 			addError("Code generation failed", e);
 			return new SimpleCodeInfo(Utils.getStackTrace(e));
@@ -413,35 +445,43 @@ private ICodeInfo generateClassCode() {
 
 	/**
 	 * Save node definition positions found in code
+	 *
+	 * @return code info without incorrect variable references
 	 */
-	private static void processDefinitionAnnotations(ICodeInfo codeInfo) {
-		Map<Integer, ICodeAnnotation> annotations = codeInfo.getCodeMetadata().getAsMap();
-		if (annotations.isEmpty()) {
-			return;
+	private static ICodeInfo processDefinitionAnnotations(ICodeInfo codeInfo) {
+		if (!codeInfo.hasMetadata()) {
+			return codeInfo;
 		}
-		for (Map.Entry<Integer, ICodeAnnotation> entry : annotations.entrySet()) {
-			ICodeAnnotation ann = entry.getValue();
+		ICodeMetadata metadata = codeInfo.getCodeMetadata();
+		metadata.searchDown(0, (pos, ann) -> {
 			if (ann.getAnnType() == AnnType.DECLARATION) {
 				NodeDeclareRef declareRef = (NodeDeclareRef) ann;
-				int pos = entry.getKey();
 				declareRef.setDefPos(pos);
 				declareRef.getNode().setDefPosition(pos);
 			}
-		}
+			return null;
+		});
 		// validate var refs
-		annotations.values().removeIf(v -> {
-			if (v.getAnnType() == ICodeAnnotation.AnnType.VAR_REF) {
-				VarRef varRef = (VarRef) v;
-				if (varRef.getRefPos() == 0) {
-					if (LOG.isDebugEnabled()) {
-						LOG.debug("Var reference '{}' incorrect (ref pos is zero) and was removed from metadata", varRef);
-					}
-					return true;
+		Boolean incorrectRefFound = metadata.searchDown(0, (pos, ann) -> isIncorrectVarRef(ann) ? Boolean.TRUE : null);
+		if (incorrectRefFound == null) {
+			return codeInfo;
+		}
+		Map<Integer, ICodeAnnotation> annotations = new HashMap<>();
+		metadata.searchDown(0, (pos, ann) -> {
+			if (isIncorrectVarRef(ann)) {
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Var reference '{}' incorrect (ref pos is zero) and was removed from metadata", ann);
 				}
-				return false;
+			} else {
+				annotations.put(pos, ann);
 			}
-			return false;
+			return null;
 		});
+		return new AnnotatedCodeInfo(codeInfo.getCodeStr(), metadata.getLineMapping(), annotations);
+	}
+
+	private static boolean isIncorrectVarRef(ICodeAnnotation ann) {
+		return ann.getAnnType() == AnnType.VAR_REF && ((VarRef) ann).getRefPos() == 0;
 	}
 
 	@Nullable
@@ -483,9 +523,39 @@ public void unload() {
 			setState(NOT_LOADED);
 			this.loadStage = LoadStage.NONE;
 			this.smali = null;
+			this.processTime.set(0);
 		}
 	}
 
+	public long getProcessTime() {
+		return processTime.get();
+	}
+
+	public void addProcessTime(long time) {
+		processTime.addAndGet(time);
+	}
+
+	/**
+	 * Some methods of this class (or inner classes) exceeded processing time limit
+	 * and decompiled in simpler mode.
+	 * Flag kept after unload, so code saved to caches can be checked.
+	 */
+	public boolean isTimeLimitExceeded() {
+		return timeLimitExceeded;
+	}
+
+	public void setTimeLimitExceeded(boolean timeLimitExceeded) {
+		this.timeLimitExceeded = timeLimitExceeded;
+	}
+
+	public int getUsageId() {
+		return usageId;
+	}
+
+	public void setUsageId(int usageId) {
+		this.usageId = usageId;
+	}
+
 	private void buildCache() {
 		mthInfoMap = new HashMap<>(methods.size());
 		for (MethodNode mth : methods) {
@@ -924,7 +994,12 @@ public void reloadAtCodegenStage() {
 	}
 
 	public List<ClassNode> getDependencies() {
-		return dependencies;
+		List<ClassNode> deps = dependencies;
+		if (deps != null) {
+			return deps;
+		}
+		UsageGraph graph = root.getUsageGraph();
+		return graph != null ? graph.getDependencies(this) : Collections.emptyList();
 	}
 
 	public void setDependencies(List<ClassNode> dependencies) {
@@ -932,7 +1007,10 @@ public void setDependencies(List<ClassNode> dependencies) {
 	}
 
 	public void removeDependency(ClassNode dep) {
-		this.dependencies = ListUtils.safeRemoveAndTrim(this.dependencies, dep);
+		List<ClassNode> deps = getDependencies();
+		if (deps.contains(dep)) {
+			this.dependencies = ListUtils.safeRemoveAndTrim(new ArrayList<>(deps), dep);
+		}
 	}
 
 	public List<ClassNode> getCodegenDeps() {
@@ -950,19 +1028,42 @@ public void addCodegenDep(ClassNode dep) {
 	}
 
 	public int getTotalDepsCount() {
-		return dependencies.size() + codegenDeps.size();
+		List<ClassNode> deps = dependencies;
+		if (deps != null) {
+			return deps.size() + codegenDeps.size();
+		}
+		UsageGraph graph = root.getUsageGraph();
+		int depsCount = graph != null ? graph.getDependenciesCount(this) : 0;
+		return depsCount + codegenDeps.size();
 	}
 
 	public List<ClassNode> getUseIn() {
-		return useIn;
+		List<ClassNode> list = useIn;
+		if (list != null) {
+			return list;
+		}
+		UsageGraph graph = root.getUsageGraph();
+		return graph != null ? graph.getUseIn(this) : Collections.emptyList();
 	}
 
 	public void setUseIn(List<ClassNode> useIn) {
 		this.useIn = useIn;
 	}
 
+	public void removeUseIn(ClassNode cls) {
+		List<ClassNode> list = getUseIn();
+		if (list.contains(cls)) {
+			this.useIn = ListUtils.safeRemoveAndTrim(new ArrayList<>(list), cls);
+		}
+	}
+
 	public List<MethodNode> getUseInMth() {
-		return useInMth;
+		List<MethodNode> list = useInMth;
+		if (list != null) {
+			return list;
+		}
+		UsageGraph graph = root.getUsageGraph();
+		return graph != null ? graph.getUseInMth(this) : Collections.emptyList();
 	}
 
 	public void setUseInMth(List<MethodNode> useInMth) {
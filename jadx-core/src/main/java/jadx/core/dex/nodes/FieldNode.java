@@ -21,6 +21,8 @@ public class FieldNode extends NotificationAttrNode implements ICodeNode, IField
 	private ArgType type;
 
 	private List<MethodNode> useIn = Collections.emptyList();
+	// dense field id in usage data, see UsageNodesIndex
+	private int usageId = -1;
 
 	private JavaField javaNode;
 
@@ -111,6 +113,14 @@ public synchronized void addUseIn(MethodNode mth) {
 		useIn = ListUtils.safeAdd(useIn, mth);
 	}
 
+	public int getUsageId() {
+		return usageId;
+	}
+
+	public void setUsageId(int usageId) {
+		this.usageId = usageId;
+	}
+
 	@Override
 	public String typeName() {
 		return "field";
@@ -42,6 +42,7 @@
 import jadx.core.dex.regions.Region;
 import jadx.core.dex.trycatch.ExceptionHandler;
 import jadx.core.dex.visitors.InitCodeVariables;
+import jadx.core.dex.visitors.usage.UsageGraph;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.DecodeException;
 import jadx.core.utils.exceptions.JadxRuntimeException;
@@ -82,15 +83,20 @@ public class MethodNode extends NotificationAttrNode implements IMethodDetails,
 	private List<ExceptionHandler> exceptionHandlers;
 	private List<LoopInfo> loops;
 	private Region region;
+	// passes execution time in nanoseconds, collected only if time limits enabled
+	private long processTime;
+	private boolean timeLimitExceeded;
 
-	// Methods that use this method
-	private List<MethodNode> useIn = Collections.emptyList();
+	// Methods that use this method, null if not changed (view over usage graph returned)
+	private @Nullable List<MethodNode> useIn;
 	// Unresolved methods that use this method
 	private List<MethodInfo> unresolvedUsed = Collections.emptyList();
-	// Methods that this method uses
-	private Set<MethodNode> methodsUsed = new HashSet<>();
+	// Methods that this method uses, null if not changed (usage graph used)
+	private @Nullable Set<MethodNode> methodsUsed;
 	// True if this method contains a self call
 	private boolean callsSelf = false;
+	// dense method id in usage data, see UsageNodesIndex
+	private int usageId = -1;
 
 	private JavaMethod javaNode;
 
@@ -136,9 +142,30 @@ public void unload() {
 		region = null;
 		exceptionHandlers = Collections.emptyList();
 		loops = Collections.emptyList();
+		processTime = 0;
+		timeLimitExceeded = false;
 		unloadAttributes();
 	}
 
+	public long getProcessTime() {
+		return processTime;
+	}
+
+	public void addProcessTime(long time) {
+		processTime += time;
+	}
+
+	/**
+	 * Processing time limit exceeded, remaining passes will be skipped
+	 */
+	public boolean isTimeLimitExceeded() {
+		return timeLimitExceeded;
+	}
+
+	public void setTimeLimitExceeded(boolean timeLimitExceeded) {
+		this.timeLimitExceeded = timeLimitExceeded;
+	}
+
 	public void updateTypes(List<ArgType> argTypes, ArgType retType) {
 		this.argTypes = argTypes;
 		this.retType = retType;
@@ -715,7 +742,12 @@ public boolean isLoaded() {
 
 	@Override
 	public List<MethodNode> getUseIn() {
-		return useIn;
+		List<MethodNode> list = useIn;
+		if (list != null) {
+			return list;
+		}
+		UsageGraph graph = root().getUsageGraph();
+		return graph != null ? graph.getUseIn(this) : Collections.emptyList();
 	}
 
 	// Do not modify passed list after setting
@@ -729,9 +761,19 @@ public void setUseIn(List<MethodNode> useIn) {
 	}
 
 	public void addUsed(MethodNode used) {
-		if (used != null) {
-			this.methodsUsed.add(used);
+		if (used == null) {
+			return;
+		}
+		Set<MethodNode> set = methodsUsed;
+		if (set == null) {
+			List<MethodNode> graphUsed = getGraphUsed();
+			if (graphUsed.contains(used)) {
+				return;
+			}
+			set = new HashSet<>(graphUsed);
+			this.methodsUsed = set;
 		}
+		set.add(used);
 	}
 
 	public void setUsed(List<MethodNode> methodsUsed) {
@@ -739,8 +781,17 @@ public void setUsed(List<MethodNode> methodsUsed) {
 	}
 
 	public Set<MethodNode> getUsed() {
-		this.removeInvalidMethodsUsed();
-		return methodsUsed;
+		Set<MethodNode> set = methodsUsed;
+		if (set == null) {
+			set = new HashSet<>(getGraphUsed());
+		}
+		removeInvalidMethodsUsed(set);
+		return set;
+	}
+
+	private List<MethodNode> getGraphUsed() {
+		UsageGraph graph = root().getUsageGraph();
+		return graph != null ? graph.getUsed(this) : Collections.emptyList();
 	}
 
 	public List<MethodInfo> getUnresolvedUsed() {
@@ -755,13 +806,21 @@ public void setCallsSelf(boolean callsSelf) {
 		this.callsSelf = callsSelf;
 	}
 
+	public int getUsageId() {
+		return usageId;
+	}
+
+	public void setUsageId(int usageId) {
+		this.usageId = usageId;
+	}
+
 	public boolean callsSelf() {
 		return this.callsSelf;
 	}
 
 	// Remove any methods from the list of used methods (calees) if this method (caller) has been
 	// removed from the calee's list of callers
-	private void removeInvalidMethodsUsed() {
+	private void removeInvalidMethodsUsed(Set<MethodNode> methodsUsed) {
 		methodsUsed.removeIf(methodUsed -> !methodUsed.getUseIn().contains(this));
 	}
 
@@ -7,6 +7,7 @@
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -49,17 +50,22 @@
 import jadx.core.dex.nodes.utils.TypeUtils;
 import jadx.core.dex.visitors.DepthTraversal;
 import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.dex.visitors.ParallelClassesTraversal;
 import jadx.core.dex.visitors.typeinference.TypeCompare;
 import jadx.core.dex.visitors.typeinference.TypeUpdate;
+import jadx.core.dex.visitors.usage.UsageGraph;
 import jadx.core.export.GradleInfoStorage;
 import jadx.core.utils.CacheStorage;
 import jadx.core.utils.DebugChecks;
+import jadx.core.utils.DecompileTimeLimit;
 import jadx.core.utils.ErrorsCounter;
 import jadx.core.utils.PassMerge;
 import jadx.core.utils.StringUtils;
 import jadx.core.utils.Utils;
 import jadx.core.utils.android.AndroidResourcesUtils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.metrics.PassMetricsCollector;
+import jadx.core.utils.tasks.DecompileThreads;
 import jadx.core.xmlgen.IResTableParser;
 import jadx.core.xmlgen.ManifestAttributes;
 import jadx.core.xmlgen.ResourceStorage;
@@ -69,6 +75,11 @@
 public class RootNode {
 	private static final Logger LOG = LoggerFactory.getLogger(RootNode.class);
 
+	/**
+	 * Max classes count in one part for parallel loading
+	 */
+	private static final int LOAD_PART_SIZE = 1000;
+
 	private final JadxArgs args;
 	private final ErrorsCounter errorsCounter = new ErrorsCounter();
 	private final StringUtils stringUtils;
@@ -104,6 +115,14 @@ public class RootNode {
 
 	private @Nullable ManifestAttributes manifestAttributes;
 
+	/**
+	 * Class and method usage, null until usage data applied
+	 */
+	private @Nullable UsageGraph usageGraph;
+
+	private final @Nullable PassMetricsCollector passMetrics;
+	private final @Nullable DecompileTimeLimit timeLimit;
+
 	public RootNode(JadxDecompiler decompiler) {
 		this(decompiler, decompiler.getArgs());
 	}
@@ -126,6 +145,8 @@ private RootNode(@Nullable JadxDecompiler decompiler, JadxArgs args) {
 		this.typeUpdate = new TypeUpdate(this);
 		this.methodUtils = new MethodUtils(this);
 		this.typeUtils = new TypeUtils(this);
+		this.passMetrics = args.isCollectPassMetrics() ? new PassMetricsCollector() : null;
+		this.timeLimit = DecompileTimeLimit.build(args);
 	}
 
 	public void init() {
@@ -137,16 +158,66 @@ public void init() {
 		}
 	}
 
+	/**
+	 * Inputs split into parts loaded in parallel, results merged in inputs order,
+	 * so classes list and duplicates resolution are same as for sequential loading.
+	 */
 	public void loadClasses(List<ICodeLoader> loadedInputs) {
+		List<ICodeLoader> parts = new ArrayList<>();
 		for (ICodeLoader codeLoader : loadedInputs) {
-			codeLoader.visitClasses(cls -> {
+			parts.addAll(codeLoader.split(LOAD_PART_SIZE));
+		}
+		DecompileThreads threads = getDecompileThreads();
+		if (threads == null || parts.size() <= 1) {
+			for (ICodeLoader part : parts) {
+				addLoadedClasses(loadClassesPart(part));
+			}
+		} else {
+			for (List<LoadedClass> loadedClasses : loadPartsInParallel(parts, threads)) {
+				addLoadedClasses(loadedClasses);
+			}
+		}
+	}
+
+	private List<List<LoadedClass>> loadPartsInParallel(List<ICodeLoader> parts, DecompileThreads threads) {
+		List<List<LoadedClass>> results = new ArrayList<>(Collections.nCopies(parts.size(), null));
+		try {
+			threads.runParallel(parts.size(), () -> idx -> results.set(idx, loadClassesPart(parts.get(idx))));
+		} catch (RuntimeException e) {
+			throw new JadxRuntimeException("Classes loading failed", e);
+		}
+		return results;
+	}
+
+	/**
+	 * Build class nodes without touching shared root state (classes maps and packages tree)
+	 */
+	private List<LoadedClass> loadClassesPart(ICodeLoader codeLoader) {
+		List<LoadedClass> list = new ArrayList<>();
+		codeLoader.visitClasses(cls -> {
+			try {
+				list.add(new LoadedClass(new ClassNode(RootNode.this, cls, false), null, null));
+			} catch (Exception e) {
 				try {
-					addClassNode(new ClassNode(RootNode.this, cls));
-				} catch (Exception e) {
-					addDummyClass(cls, e);
+					list.add(new LoadedClass(null, cls.copy(), e));
+				} catch (Exception copyExc) {
+					LOG.error("Failed to load class from file: {}", cls.getInputFileName(), e);
 				}
-				Utils.checkThreadInterrupt();
-			});
+			}
+			Utils.checkThreadInterrupt();
+		});
+		return list;
+	}
+
+	private void addLoadedClasses(List<LoadedClass> loadedClasses) {
+		for (LoadedClass loadedCls : loadedClasses) {
+			ClassNode cls = loadedCls.cls;
+			if (cls != null) {
+				cls.attachToPackage();
+				addClassNode(cls);
+			} else {
+				addDummyClass(Objects.requireNonNull(loadedCls.clsData), Objects.requireNonNull(loadedCls.error));
+			}
 		}
 	}
 
@@ -235,7 +306,8 @@ public void loadResources(ResourcesLoader resLoader, List<ResourceFile> resource
 			return;
 		}
 		try {
-			IResTableParser parser = ResourcesLoader.decodeStream(arsc, (size, is) -> resLoader.decodeTable(arsc, is));
+			// lazy parser not kept after load, values files decoded again on content request
+			IResTableParser parser = ResourcesLoader.decodeStream(arsc, (size, is) -> resLoader.decodeTable(arsc, is, true));
 			if (parser != null) {
 				processResources(parser.getResStorage());
 				updateObfuscatedFiles(parser, resources);
@@ -367,8 +439,14 @@ public void mergePasses(Map<JadxPassType, List<JadxPass>> customPasses) {
 		}
 	}
 
+	/**
+	 * Passes applied one by one to all classes.
+	 * Class-local passes (see {@link ParallelClassesTraversal#isClassLocal(IDexTreeVisitor)})
+	 * process classes in parallel, others process classes sequentially in sorted order.
+	 */
 	public void runPreDecompileStage() {
 		boolean debugEnabled = LOG.isDebugEnabled();
+		DecompileThreads threads = getDecompileThreads();
 		for (IDexTreeVisitor pass : preDecompilePasses) {
 			Utils.checkThreadInterrupt();
 			long start = debugEnabled ? System.currentTimeMillis() : 0;
@@ -377,12 +455,17 @@ public void runPreDecompileStage() {
 			} catch (Exception e) {
 				LOG.error("Visitor init failed: {}", pass.getClass().getSimpleName(), e);
 			}
-			for (ClassNode cls : classes) {
-				if (cls.isInner()) {
-					continue;
+			if (threads != null && ParallelClassesTraversal.isClassLocal(pass)) {
+				ParallelClassesTraversal.visit(pass, getClassesWithoutInner(), threads);
+			} else {
+				for (ClassNode cls : classes) {
+					if (cls.isInner()) {
+						continue;
+					}
+					DepthTraversal.visit(pass, cls);
 				}
-				DepthTraversal.visit(pass, cls);
 			}
+			finishPass(pass);
 			if (debugEnabled) {
 				LOG.debug("Prepare pass: '{}' - {}ms", pass, System.currentTimeMillis() - start);
 			}
@@ -392,6 +475,15 @@ public void runPreDecompileStage() {
 	public void runPreDecompileStageForClass(ClassNode cls) {
 		for (IDexTreeVisitor pass : preDecompilePasses) {
 			DepthTraversal.visit(pass, cls);
+			finishPass(pass);
+		}
+	}
+
+	private void finishPass(IDexTreeVisitor pass) {
+		try {
+			pass.finish(this);
+		} catch (Exception e) {
+			LOG.error("Visitor finish failed: {}", pass.getClass().getSimpleName(), e);
 		}
 	}
 
@@ -722,6 +814,20 @@ public ErrorsCounter getErrorsCounter() {
 		return errorsCounter;
 	}
 
+	/**
+	 * @return null if passes metrics collection disabled
+	 */
+	public @Nullable PassMetricsCollector getPassMetrics() {
+		return passMetrics;
+	}
+
+	/**
+	 * @return null if processing time limits disabled
+	 */
+	public @Nullable DecompileTimeLimit getTimeLimit() {
+		return timeLimit;
+	}
+
 	@Nullable
 	public String getAppPackage() {
 		return appPackage;
@@ -752,6 +858,17 @@ public JadxArgs getArgs() {
 		return args;
 	}
 
+	/**
+	 * Threads shared by decompiler, null if root created without decompiler (only sequential processing)
+	 */
+	public @Nullable DecompileThreads getDecompileThreads() {
+		JadxDecompiler jadxDecompiler = decompiler;
+		if (jadxDecompiler == null || args.getThreadsCount() <= 1) {
+			return null;
+		}
+		return jadxDecompiler.getDecompileThreads();
+	}
+
 	public @Nullable JadxDecompiler getDecompiler() {
 		return decompiler;
 	}
@@ -784,6 +901,14 @@ public GradleInfoStorage getGradleInfoStorage() {
 		return gradleInfoStorage;
 	}
 
+	public @Nullable UsageGraph getUsageGraph() {
+		return usageGraph;
+	}
+
+	public void setUsageGraph(@Nullable UsageGraph usageGraph) {
+		this.usageGraph = usageGraph;
+	}
+
 	public synchronized ManifestAttributes initManifestAttributes() {
 		ManifestAttributes attrs = manifestAttributes;
 		if (attrs == null) {
@@ -792,4 +917,16 @@ public synchronized ManifestAttributes initManifestAttributes() {
 		}
 		return attrs;
 	}
+
+	private static final class LoadedClass {
+		private final @Nullable ClassNode cls;
+		private final @Nullable IClassData clsData;
+		private final @Nullable Exception error;
+
+		private LoadedClass(@Nullable ClassNode cls, @Nullable IClassData clsData, @Nullable Exception error) {
+			this.cls = cls;
+			this.clsData = clsData;
+			this.error = error;
+		}
+	}
 }
@@ -0,0 +1,429 @@
+package jadx.core.dex.nodes.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.plugins.input.data.IClassData;
+import jadx.api.plugins.input.data.annotations.EncodedValue;
+import jadx.api.plugins.input.data.attributes.JadxAttrType;
+import jadx.core.Jadx;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.IFieldInfoRef;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Content based hashes for classes, used as keys in persistent caches.
+ * Hashes don't depend on input file names or class position inside input file,
+ * so same class from different builds of the application will get the same hash.
+ */
+public class ClassHashes {
+	private static final String NO_HASH = "";
+
+	private final RootNode root;
+	private final Map<ClassNode, String> contentHashes = new ConcurrentHashMap<>();
+	private final Map<ClassNode, String> codeKeys = new ConcurrentHashMap<>();
+	private final Map<ClassNode, String> namesHashes = new ConcurrentHashMap<>();
+	private volatile @Nullable String envHash;
+	private volatile @Nullable DepsTree depsTree;
+
+	public ClassHashes(RootNode root) {
+		this.root = root;
+	}
+
+	/**
+	 * Hash of class raw data including inner classes.
+	 *
+	 * @return null if input plugin doesn't support content hashes
+	 */
+	public @Nullable String getContentHash(ClassNode cls) {
+		String hash = getOrCalcContentHash(cls);
+		return hash.equals(NO_HASH) ? null : hash;
+	}
+
+	/**
+	 * Save current names and signatures of all classes for use in code keys.
+	 * Some names can be changed during class processing (for example, by rename of colliding methods),
+	 * so this method should be called before decompilation to get same keys for same inputs.
+	 * Names of classes not saved here will be taken on first request.
+	 */
+	public void saveNames() {
+		for (ClassNode cls : root.getClasses()) {
+			namesHashes.put(cls, buildNamesHash(cls));
+		}
+	}
+
+	/**
+	 * Key for generated code of top level class.
+	 * Calculated once on first request, so key stay the same after class processing.
+	 * Names used in key taken before processing (see {@link #saveNames()}),
+	 * so generated code should be the same for the same key.
+	 * Include class content, content of all classes reachable by dependencies (direct and codegen),
+	 * names and signatures of these classes (to catch renames and deobfuscation changes),
+	 * names of classes from same package (used for imports) and code affecting options.
+	 *
+	 * @return null if key can't be calculated
+	 */
+	public @Nullable String getCodeKey(ClassNode cls) {
+		String key = codeKeys.get(cls);
+		if (key == null) {
+			key = buildCodeKey(cls);
+			String prev = codeKeys.putIfAbsent(cls, key);
+			if (prev != null) {
+				key = prev;
+			}
+		}
+		return key.equals(NO_HASH) ? null : key;
+	}
+
+	private String getOrCalcContentHash(ClassNode cls) {
+		String hash = contentHashes.get(cls);
+		if (hash == null) {
+			// not using 'computeIfAbsent' because of recursive calls for inner classes
+			hash = calcContentHash(cls);
+			contentHashes.put(cls, hash);
+		}
+		return hash;
+	}
+
+	private String calcContentHash(ClassNode cls) {
+		IClassData clsData = cls.getClsData();
+		String hash = clsData == null ? calcSyntheticClassHash(cls) : clsData.getContentHash();
+		if (hash == null) {
+			return NO_HASH;
+		}
+		List<ClassNode> innerClasses = cls.getInnerClasses();
+		if (innerClasses.isEmpty()) {
+			return hash;
+		}
+		StringBuilder sb = new StringBuilder(hash);
+		for (ClassNode innerCls : innerClasses) {
+			String innerHash = getOrCalcContentHash(innerCls);
+			if (innerHash.equals(NO_HASH)) {
+				return NO_HASH;
+			}
+			sb.append(':').append(innerHash);
+		}
+		return FileUtils.md5Sum(sb.toString());
+	}
+
+	/**
+	 * Classes added by jadx (like 'R' class and its inner classes) don't have raw data,
+	 * so use class name and fields with constant values
+	 */
+	private static String calcSyntheticClassHash(ClassNode cls) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(cls.getRawName()).append(':').append(cls.getAccessFlags().rawValue());
+		for (FieldNode field : cls.getFields()) {
+			sb.append(',').append(field.getFieldInfo().getRawFullId());
+			EncodedValue value = field.get(JadxAttrType.CONSTANT_VALUE);
+			if (value != null) {
+				sb.append('=').append(value);
+			}
+		}
+		return FileUtils.md5Sum(sb.toString());
+	}
+
+	private String buildCodeKey(ClassNode cls) {
+		DepsTree tree = getDepsTree();
+		String treeHash = tree.getHash(cls);
+		if (treeHash == null || treeHash.equals(NO_HASH)) {
+			return NO_HASH;
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append(getEnvHash());
+		if (!appendClass(sb, cls)) {
+			return NO_HASH;
+		}
+		sb.append("|deps-tree:").append(treeHash);
+		sb.append("|pkg:").append(tree.getPackageHash(cls));
+		return FileUtils.md5Sum(sb.toString());
+	}
+
+	private DepsTree getDepsTree() {
+		DepsTree tree = depsTree;
+		if (tree == null) {
+			synchronized (this) {
+				tree = depsTree;
+				if (tree == null) {
+					tree = new DepsTree();
+					tree.build();
+					depsTree = tree;
+				}
+			}
+		}
+		return tree;
+	}
+
+	/**
+	 * Hashes of dependencies trees for all top level classes.
+	 * Each class in dependencies graph cycle (strongly connected component) get same hash
+	 * built from all classes in the cycle and hashes of dependencies of the cycle,
+	 * so hash of class changed on any change in any reachable class.
+	 */
+	private final class DepsTree {
+		private final Map<ClassNode, String> hashes = new HashMap<>();
+		private final Map<String, String> pkgHashes = new HashMap<>();
+
+		void build() {
+			List<ClassNode> classes = root.getClassesWithoutInner();
+			Map<String, List<String>> pkgClasses = new HashMap<>();
+			for (ClassNode cls : classes) {
+				pkgClasses.computeIfAbsent(cls.getClassInfo().getAliasPkg(), p -> new ArrayList<>())
+						.add(cls.getClassInfo().getAliasShortName());
+			}
+			for (Map.Entry<String, List<String>> entry : pkgClasses.entrySet()) {
+				List<String> names = entry.getValue();
+				Collections.sort(names);
+				pkgHashes.put(entry.getKey(), FileUtils.md5Sum(String.join(",", names)));
+			}
+			new SccCollector(this, classes).collect();
+		}
+
+		@Nullable
+		String getHash(ClassNode cls) {
+			return hashes.get(cls);
+		}
+
+		String getPackageHash(ClassNode cls) {
+			return pkgHashes.getOrDefault(cls.getClassInfo().getAliasPkg(), NO_HASH);
+		}
+
+		void addComponent(List<ClassNode> component) {
+			List<String> entries = new ArrayList<>();
+			for (ClassNode cls : component) {
+				StringBuilder sb = new StringBuilder();
+				if (!appendClass(sb, cls)) {
+					setHash(component, NO_HASH);
+					return;
+				}
+				entries.add(sb.toString());
+			}
+			List<String> depsHashes = new ArrayList<>();
+			for (ClassNode cls : component) {
+				for (ClassNode dep : getEdges(cls)) {
+					String depHash = hashes.get(dep);
+					if (depHash == null) {
+						// same component
+						continue;
+					}
+					if (depHash.equals(NO_HASH)) {
+						setHash(component, NO_HASH);
+						return;
+					}
+					depsHashes.add(depHash);
+				}
+			}
+			Collections.sort(entries);
+			Collections.sort(depsHashes);
+			StringBuilder sb = new StringBuilder();
+			for (String entry : entries) {
+				sb.append(entry);
+			}
+			sb.append("|deps");
+			String prev = null;
+			for (String depHash : depsHashes) {
+				if (!depHash.equals(prev)) {
+					sb.append('|').append(depHash);
+					prev = depHash;
+				}
+			}
+			setHash(component, FileUtils.md5Sum(sb.toString()));
+		}
+
+		private void setHash(List<ClassNode> component, String hash) {
+			for (ClassNode cls : component) {
+				hashes.put(cls, hash);
+			}
+		}
+	}
+
+	private static List<ClassNode> getEdges(ClassNode cls) {
+		List<ClassNode> deps = cls.getDependencies();
+		List<ClassNode> codegenDeps = cls.getCodegenDeps();
+		if (codegenDeps.isEmpty()) {
+			return deps;
+		}
+		List<ClassNode> list = new ArrayList<>(deps.size() + codegenDeps.size());
+		list.addAll(deps);
+		for (ClassNode codegenDep : codegenDeps) {
+			list.add(codegenDep.getTopParentClass());
+		}
+		return list;
+	}
+
+	/**
+	 * Iterative Tarjan's algorithm, components reported in reverse topological order
+	 * (dependencies before dependents)
+	 */
+	private static final class SccCollector {
+		private final DepsTree tree;
+		private final List<ClassNode> classes;
+		private final Map<ClassNode, Integer> indexes = new HashMap<>();
+		private final Map<ClassNode, Integer> lowLinks = new HashMap<>();
+		private final Set<ClassNode> onStack = new HashSet<>();
+		private final Deque<ClassNode> stack = new ArrayDeque<>();
+		private int index;
+
+		SccCollector(DepsTree tree, List<ClassNode> classes) {
+			this.tree = tree;
+			this.classes = classes;
+		}
+
+		void collect() {
+			for (ClassNode cls : classes) {
+				if (!indexes.containsKey(cls)) {
+					visit(cls);
+				}
+			}
+		}
+
+		private void visit(ClassNode start) {
+			Deque<Frame> callStack = new ArrayDeque<>();
+			callStack.push(enter(start));
+			while (!callStack.isEmpty()) {
+				Frame frame = callStack.peek();
+				if (frame.next < frame.edges.size()) {
+					ClassNode dep = frame.edges.get(frame.next++);
+					if (!indexes.containsKey(dep)) {
+						callStack.push(enter(dep));
+					} else if (onStack.contains(dep)) {
+						lowLinks.put(frame.cls, Math.min(lowLinks.get(frame.cls), indexes.get(dep)));
+					}
+					continue;
+				}
+				callStack.pop();
+				ClassNode cls = frame.cls;
+				Frame parent = callStack.peek();
+				if (parent != null) {
+					lowLinks.put(parent.cls, Math.min(lowLinks.get(parent.cls), lowLinks.get(cls)));
+				}
+				if (lowLinks.get(cls).equals(indexes.get(cls))) {
+					List<ClassNode> component = new ArrayList<>();
+					ClassNode member;
+					do {
+						member = stack.pop();
+						onStack.remove(member);
+						component.add(member);
+					} while (member != cls);
+					tree.addComponent(component);
+				}
+			}
+		}
+
+		private Frame enter(ClassNode cls) {
+			indexes.put(cls, index);
+			lowLinks.put(cls, index);
+			index++;
+			stack.push(cls);
+			onStack.add(cls);
+			return new Frame(cls, getEdges(cls));
+		}
+
+		private static final class Frame {
+			private final ClassNode cls;
+			private final List<ClassNode> edges;
+			private int next;
+
+			Frame(ClassNode cls, List<ClassNode> edges) {
+				this.cls = cls;
+				this.edges = edges;
+			}
+		}
+	}
+
+	private boolean appendClass(StringBuilder sb, ClassNode cls) {
+		String hash = getOrCalcContentHash(cls);
+		if (hash.equals(NO_HASH)) {
+			return false;
+		}
+		String namesHash = namesHashes.computeIfAbsent(cls, ClassHashes::buildNamesHash);
+		sb.append('|').append(hash).append(';').append(namesHash);
+		return true;
+	}
+
+	private static String buildNamesHash(ClassNode cls) {
+		StringBuilder sb = new StringBuilder();
+		appendNames(sb, cls);
+		return FileUtils.md5Sum(sb.toString());
+	}
+
+	private static void appendNames(StringBuilder sb, ClassNode cls) {
+		sb.append(';').append(cls.getClassInfo().getAliasFullName());
+		// fields and methods can be reordered during class processing
+		List<String> names = new ArrayList<>(cls.getFields().size() + cls.getMethods().size());
+		for (FieldNode field : cls.getFields()) {
+			names.add(field.getFieldInfo().getShortId() + '=' + field.getAlias() + ':' + field.getType());
+		}
+		for (MethodNode mth : cls.getMethods()) {
+			names.add(mth.getMethodInfo().getShortId() + '=' + mth.getAlias()
+					+ ':' + mth.getArgTypes() + mth.getReturnType() + mth.getTypeParameters());
+		}
+		Collections.sort(names);
+		for (String name : names) {
+			sb.append(',').append(name);
+		}
+		for (ClassNode innerCls : sortedByRawName(cls.getInnerClasses())) {
+			appendNames(sb, innerCls);
+		}
+	}
+
+	private static List<ClassNode> sortedByRawName(List<ClassNode> list) {
+		if (list.size() <= 1) {
+			return list;
+		}
+		List<ClassNode> sorted = new ArrayList<>(list);
+		sorted.sort(Comparator.comparing(ClassNode::getRawName));
+		return sorted;
+	}
+
+	/**
+	 * Hash for global state which can affect code of any class
+	 */
+	private String getEnvHash() {
+		String hash = envHash;
+		if (hash == null) {
+			hash = calcEnvHash();
+			envHash = hash;
+		}
+		return hash;
+	}
+
+	private String calcEnvHash() {
+		long constsHash = 0;
+		for (Map.Entry<Object, IFieldInfoRef> entry : root.getConstValues().getGlobalConstFields().entrySet()) {
+			String fieldId = entry.getValue().getFieldInfo().getRawFullId();
+			// order independent sum
+			constsHash += mix(entry.getKey().hashCode() * 31L + fieldId.hashCode());
+		}
+		long resHash = 0;
+		for (Map.Entry<Integer, String> entry : root.getConstValues().getResourcesNames().entrySet()) {
+			resHash += mix(entry.getKey() * 31L + entry.getValue().hashCode());
+		}
+		ClassNode appResClass = root.getAppResClass();
+		String envStr = Jadx.getVersion()
+				+ ':' + root.getArgs().makeCodeArgsHash(root.getDecompiler())
+				+ ':' + Long.toHexString(constsHash)
+				+ ':' + Long.toHexString(resHash)
+				+ ':' + (appResClass == null ? "" : appResClass.getRawName());
+		return FileUtils.md5Sum(envStr);
+	}
+
+	private static long mix(long value) {
+		long h = value * 0x9E3779B97F4A7C15L;
+		return h ^ (h >>> 32);
+	}
+}
@@ -21,7 +21,8 @@
 		name = "AdjustForIfMergeVisitor",
 		desc = "Move instructions between if blocks that can't be inlined but are safe to push through the if to allow the ifs to merge",
 		runBefore = { RegionMakerVisitor.class },
-		runAfter = { FinishTypeInference.class }
+		runAfter = { FinishTypeInference.class },
+		methodLocal = true
 )
 public class AdjustForIfMergeVisitor extends AbstractVisitor {
 
@@ -39,6 +39,11 @@ public class AnonymousClassVisitor extends AbstractVisitor {
 	public boolean visit(ClassNode cls) throws JadxException {
 		if (cls.contains(AType.ANONYMOUS_CLASS)) {
 			for (MethodNode mth : cls.getMethods()) {
+				if (mth.isConstructor() && mth.isTimeLimitExceeded()) {
+					// constructor processed in simpler mode (flags from pre-decompile stage lost), can't inline
+					undoAnonymousMark(cls, mth);
+					break;
+				}
 				if (mth.contains(AFlag.ANONYMOUS_CONSTRUCTOR)) {
 					processAnonymousConstructor(mth);
 					break;
@@ -48,6 +53,13 @@ public boolean visit(ClassNode cls) throws JadxException {
 		return true;
 	}
 
+	private static void undoAnonymousMark(ClassNode cls, MethodNode mth) {
+		cls.remove(AType.ANONYMOUS_CLASS);
+		cls.remove(AFlag.DONT_GENERATE);
+		mth.remove(AFlag.ANONYMOUS_CONSTRUCTOR);
+		cls.addDebugComment("Anonymous mark cleared: constructor processing time limit exceeded");
+	}
+
 	private static void processAnonymousConstructor(MethodNode mth) {
 		List<InsnNode> usedInsns = new ArrayList<>();
 		Map<InsnArg, FieldNode> argsMap = getArgsToFieldsMapping(mth, usedInsns);
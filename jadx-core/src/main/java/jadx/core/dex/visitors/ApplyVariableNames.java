@@ -9,6 +9,8 @@
 import jadx.core.Consts;
 import jadx.core.deobf.NameMapper;
 import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.attributes.nodes.ConstructorCallAttr;
 import jadx.core.dex.info.ClassInfo;
 import jadx.core.dex.info.MethodInfo;
 import jadx.core.dex.instructions.InvokeNode;
@@ -32,7 +34,8 @@
 		desc = "Try to guess variable name from usage",
 		runAfter = {
 				ProcessVariables.class
-		}
+		},
+		methodLocal = true
 )
 public class ApplyVariableNames extends AbstractVisitor {
 
@@ -128,8 +131,8 @@ private String makeNameFromInsn(SSAVar ssaVar, InsnNode insn) {
 
 			case CONSTRUCTOR:
 				ConstructorInsn co = (ConstructorInsn) insn;
-				MethodNode callMth = root.getMethodUtils().resolveMethod(co);
-				if (callMth != null && callMth.contains(AFlag.ANONYMOUS_CONSTRUCTOR)) {
+				ConstructorCallAttr callAttr = co.get(AType.CONSTRUCTOR_CALL);
+				if (callAttr != null && callAttr.isAnonymous()) {
 					// don't use name of anonymous class
 					return null;
 				}
@@ -36,6 +36,7 @@
 import jadx.core.dex.visitors.usage.UsageInfoVisitor;
 import jadx.core.utils.BlockUtils;
 import jadx.core.utils.InsnRemover;
+import jadx.core.utils.ListUtils;
 import jadx.core.utils.exceptions.JadxException;
 
 @JadxVisitor(
@@ -55,17 +56,32 @@ public boolean visit(ClassNode cls) throws JadxException {
 		if (cls.contains(AFlag.PACKAGE_INFO)) {
 			return false;
 		}
+		modifyClass(cls);
+		markConstructorCalls(cls);
+		return false;
+	}
+
+	private static void modifyClass(ClassNode cls) {
 		for (ClassNode inner : cls.getInnerClasses()) {
-			visit(inner);
+			modifyClass(inner);
 		}
 		if (isEmptySyntheticClass(cls)) {
 			cls.add(AFlag.DONT_GENERATE);
-			return false;
+			return;
 		}
 		removeSyntheticFields(cls);
 		cls.getMethods().forEach(ClassModifier::removeSyntheticMethods);
 		cls.getMethods().forEach(ClassModifier::removeEmptyMethods);
-		return false;
+	}
+
+	/**
+	 * Constructors args removed above, update constructor calls for next method-local passes
+	 */
+	private static void markConstructorCalls(ClassNode cls) {
+		for (ClassNode inner : cls.getInnerClasses()) {
+			markConstructorCalls(inner);
+		}
+		cls.getMethods().forEach(ConstructorVisitor::markConstructorCalls);
 	}
 
 	private static boolean isEmptySyntheticClass(ClassNode cls) {
@@ -79,6 +95,10 @@ private static boolean isEmptySyntheticClass(ClassNode cls) {
 	 * Remove synthetic fields if type is outer class or class will be inlined (anonymous)
 	 */
 	private static void removeSyntheticFields(ClassNode cls) {
+		if (ListUtils.anyMatch(cls.getMethods(), m -> m.isConstructor() && m.isTimeLimitExceeded())) {
+			// field still used in not processed constructor code
+			return;
+		}
 		boolean inline = cls.isAnonymous();
 		if (inline || cls.getClassInfo().isInner()) {
 			for (FieldNode field : cls.getFields()) {
@@ -150,7 +170,7 @@ private static boolean removeFieldUsageFromConstructor(MethodNode mth, FieldNode
 	}
 
 	private static void removeSyntheticMethods(MethodNode mth) {
-		if (mth.isNoCode() || mth.contains(AFlag.DONT_GENERATE)) {
+		if (mth.isNoCode() || mth.contains(AFlag.DONT_GENERATE) || mth.isTimeLimitExceeded()) {
 			return;
 		}
 		AccessInfo af = mth.getAccessFlags();
@@ -322,7 +342,7 @@ private static boolean registersAndCastsOnly(InsnArg arg) {
 	 * Remove public empty constructors (static or default)
 	 */
 	private static void removeEmptyMethods(MethodNode mth) {
-		if (!mth.getArgRegs().isEmpty()) {
+		if (!mth.getArgRegs().isEmpty() || mth.isTimeLimitExceeded()) {
 			return;
 		}
 		AccessInfo af = mth.getAccessFlags();
@@ -4,6 +4,8 @@
 import java.util.List;
 
 import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.attributes.nodes.ConstructorCallAttr;
 import jadx.core.dex.info.MethodInfo;
 import jadx.core.dex.instructions.BaseInvokeNode;
 import jadx.core.dex.instructions.ConstStringNode;
@@ -16,7 +18,6 @@
 import jadx.core.dex.instructions.args.PrimitiveType;
 import jadx.core.dex.instructions.args.RegisterArg;
 import jadx.core.dex.instructions.args.SSAVar;
-import jadx.core.dex.instructions.mods.ConstructorInsn;
 import jadx.core.dex.nodes.BlockNode;
 import jadx.core.dex.nodes.IFieldInfoRef;
 import jadx.core.dex.nodes.InsnNode;
@@ -35,7 +36,8 @@
 				SSATransform.class,
 				MarkFinallyVisitor.class
 		},
-		runBefore = TypeInferenceVisitor.class
+		runBefore = TypeInferenceVisitor.class,
+		methodLocal = true
 )
 public class ConstInlineVisitor extends AbstractVisitor {
 
@@ -174,7 +176,7 @@ private static boolean replaceConst(MethodNode mth, InsnNode constInsn, InsnArg
 		List<RegisterArg> useList = new ArrayList<>(ssaVar.getUseList());
 		int replaceCount = 0;
 		for (RegisterArg arg : useList) {
-			if (canInline(mth, arg) && replaceArg(mth, arg, constArg, constInsn)) {
+			if (canInline(arg) && replaceArg(mth, arg, constArg, constInsn)) {
 				replaceCount++;
 			}
 		}
@@ -200,7 +202,7 @@ private static boolean canIgnoreInsn(RegisterArg reg) {
 	}
 
 	@SuppressWarnings("RedundantIfStatement")
-	private static boolean canInline(MethodNode mth, RegisterArg arg) {
+	private static boolean canInline(RegisterArg arg) {
 		if (arg.contains(AFlag.DONT_INLINE_CONST) || arg.contains(AFlag.DONT_INLINE)) {
 			return false;
 		}
@@ -217,9 +219,8 @@ private static boolean canInline(MethodNode mth, RegisterArg arg) {
 		}
 		if (parentInsn.getType() == InsnType.CONSTRUCTOR) {
 			// don't inline into anonymous call if it can be inlined later
-			MethodNode ctrMth = mth.root().getMethodUtils().resolveMethod((ConstructorInsn) parentInsn);
-			if (ctrMth != null
-					&& (ctrMth.contains(AFlag.METHOD_CANDIDATE_FOR_INLINE) || ctrMth.contains(AFlag.ANONYMOUS_CONSTRUCTOR))) {
+			ConstructorCallAttr callAttr = parentInsn.get(AType.CONSTRUCTOR_CALL);
+			if (callAttr != null && (callAttr.isInlineCandidate() || callAttr.isAnonymous())) {
 				return false;
 			}
 		}
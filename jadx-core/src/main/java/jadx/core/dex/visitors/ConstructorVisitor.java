@@ -1,11 +1,14 @@
 package jadx.core.dex.visitors;
 
+import java.util.BitSet;
 import java.util.List;
 
 import org.jetbrains.annotations.Nullable;
 
 import jadx.core.codegen.TypeGen;
 import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.attributes.nodes.ConstructorCallAttr;
 import jadx.core.dex.info.ClassInfo;
 import jadx.core.dex.info.MethodInfo;
 import jadx.core.dex.instructions.IndexInsnNode;
@@ -21,6 +24,7 @@
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.InsnNode;
 import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.utils.MethodUtils;
 import jadx.core.dex.visitors.ssa.SSATransform;
 import jadx.core.dex.visitors.typeinference.TypeInferenceVisitor;
 import jadx.core.utils.BlockUtils;
@@ -42,6 +46,52 @@ public void visit(MethodNode mth) {
 		if (replaceInvoke(mth)) {
 			MoveInlineVisitor.moveInline(mth);
 		}
+		markConstructorCalls(mth);
+	}
+
+	/**
+	 * Save called constructors info into constructor calls of this method.
+	 * Should be called only from class-level passes, method-local passes use saved flags.
+	 */
+	public static void markConstructorCalls(MethodNode mth) {
+		List<BlockNode> blocks = mth.getBasicBlocks();
+		if (blocks == null) {
+			return;
+		}
+		MethodUtils methodUtils = mth.root().getMethodUtils();
+		for (BlockNode block : blocks) {
+			for (InsnNode insn : block.getInstructions()) {
+				insn.visitInsns(innerInsn -> {
+					if (innerInsn.getType() == InsnType.CONSTRUCTOR) {
+						markConstructorCall(methodUtils, (ConstructorInsn) innerInsn);
+					}
+				});
+			}
+		}
+	}
+
+	private static void markConstructorCall(MethodUtils methodUtils, ConstructorInsn co) {
+		MethodNode callMth = methodUtils.resolveMethod(co);
+		if (callMth == null) {
+			co.remove(AType.CONSTRUCTOR_CALL);
+			return;
+		}
+		BitSet removedArgs = new BitSet();
+		if (callMth.isLoaded()
+				&& co.contains(AType.METHOD_DETAILS)
+				&& callMth.contains(AType.SKIP_MTH_ARGS)) {
+			List<RegisterArg> mthArgs = callMth.getArgRegs();
+			int count = Math.min(co.getArgsCount(), mthArgs.size());
+			for (int i = 0; i < count; i++) {
+				InsnArg arg = co.getArg(i);
+				RegisterArg mthArg = mthArgs.get(i);
+				if (arg.isRegister() && mthArg.contains(AFlag.REMOVE) && ((RegisterArg) arg).sameType(mthArg)) {
+					removedArgs.set(i);
+				}
+			}
+		}
+		co.addAttr(new ConstructorCallAttr(callMth.contains(AFlag.ANONYMOUS_CONSTRUCTOR),
+				callMth.contains(AFlag.METHOD_CANDIDATE_FOR_INLINE), removedArgs));
 	}
 
 	private static boolean replaceInvoke(MethodNode mth) {
@@ -34,7 +34,8 @@
 		runBefore = {
 				CodeShrinkVisitor.class,
 				ProcessVariables.class
-		}
+		},
+		methodLocal = true
 )
 public class DeboxingVisitor extends AbstractVisitor {
 
@@ -1,33 +1,116 @@
 package jadx.core.dex.visitors;
 
+import org.jetbrains.annotations.Nullable;
+
 import jadx.core.dex.attributes.AType;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.MethodNode;
+import jadx.core.utils.DecompileTimeLimit;
+import jadx.core.utils.exceptions.JadxException;
+import jadx.core.utils.metrics.PassMetricsCollector;
 
 public class DepthTraversal {
 
 	public static void visit(IDexTreeVisitor visitor, ClassNode cls) {
+		visit(visitor, cls, null);
+	}
+
+	public static void visit(IDexTreeVisitor visitor, MethodNode mth) {
+		visit(visitor, mth, null);
+	}
+
+	/**
+	 * Visit class with applied processing time limits
+	 */
+	public static void visit(IDexTreeVisitor visitor, ClassNode cls, @Nullable DecompileTimeLimit timeLimit) {
 		try {
-			if (visitor.visit(cls)) {
-				cls.getInnerClasses().forEach(inCls -> visit(visitor, inCls));
-				cls.getMethods().forEach(mth -> visit(visitor, mth));
+			boolean visitChildren;
+			if (timeLimit == null) {
+				visitChildren = visitClass(visitor, cls);
+			} else {
+				long start = System.nanoTime();
+				try {
+					visitChildren = visitClass(visitor, cls);
+				} finally {
+					timeLimit.addClassTime(cls, System.nanoTime() - start);
+				}
+			}
+			if (visitChildren) {
+				cls.getInnerClasses().forEach(inCls -> visit(visitor, inCls, timeLimit));
+				cls.getMethods().forEach(mth -> visit(visitor, mth, timeLimit));
 			}
 		} catch (StackOverflowError | BootstrapMethodError | Exception e) {
 			cls.addError(e.getClass().getSimpleName() + " in pass: " + visitor.getClass().getSimpleName(), e);
 		}
 	}
 
-	public static void visit(IDexTreeVisitor visitor, MethodNode mth) {
+	/**
+	 * Visit method with applied processing time limits
+	 */
+	public static void visit(IDexTreeVisitor visitor, MethodNode mth, @Nullable DecompileTimeLimit timeLimit) {
 		try {
-			if (mth.contains(AType.JADX_ERROR)) {
+			if (mth.contains(AType.JADX_ERROR) || mth.isTimeLimitExceeded()) {
 				return;
 			}
-			visitor.visit(mth);
+			if (timeLimit == null) {
+				visitMethod(visitor, mth);
+			} else {
+				visitMethodWithTimeLimit(visitor, mth, timeLimit);
+			}
 		} catch (StackOverflowError | BootstrapMethodError | Exception e) {
 			mth.addError(e.getClass().getSimpleName() + " in pass: " + visitor.getClass().getSimpleName(), e);
 		}
 	}
 
+	private static void visitMethodWithTimeLimit(IDexTreeVisitor visitor, MethodNode mth, DecompileTimeLimit timeLimit)
+			throws Exception {
+		if (timeLimit.isExceeded(mth)) {
+			onTimeLimitExceeded(visitor, mth, timeLimit);
+			return;
+		}
+		long start = System.nanoTime();
+		long prevDeadline = timeLimit.startMethodVisit(mth, start);
+		Exception error = null;
+		try {
+			visitMethod(visitor, mth);
+		} catch (Exception e) {
+			// time limit exception can be wrapped or replaced by pass, so check time instead of exception type
+			error = e;
+		} finally {
+			timeLimit.restoreDeadline(prevDeadline);
+			timeLimit.addMethodTime(mth, System.nanoTime() - start);
+		}
+		if (timeLimit.isExceeded(mth)) {
+			onTimeLimitExceeded(visitor, mth, timeLimit);
+			return;
+		}
+		if (error != null) {
+			throw error;
+		}
+	}
+
+	private static void onTimeLimitExceeded(IDexTreeVisitor visitor, MethodNode mth, DecompileTimeLimit timeLimit) {
+		timeLimit.markExceeded(mth, visitor);
+		if (!mth.contains(AType.DECOMPILE_MODE_OVERRIDE)) {
+			// process now (not already in simpler mode) to keep method in consistent state for next class passes
+			mth.root().getProcessClasses().processTimedOutMethod(mth, timeLimit);
+		}
+	}
+
+	private static boolean visitClass(IDexTreeVisitor visitor, ClassNode cls) throws JadxException {
+		PassMetricsCollector metrics = cls.root().getPassMetrics();
+		return metrics == null ? visitor.visit(cls) : metrics.visit(visitor, cls);
+	}
+
+	private static void visitMethod(IDexTreeVisitor visitor, MethodNode mth) throws JadxException {
+		PassMetricsCollector metrics = mth.root().getPassMetrics();
+		if (metrics == null) {
+			visitor.visit(mth);
+		} else {
+			metrics.visit(visitor, mth);
+		}
+	}
+
 	private DepthTraversal() {
 	}
 }
@@ -125,6 +125,10 @@ private boolean convertToEnum(ClassNode cls) {
 			cls.addWarnComment("Enum class init method not found");
 			return false;
 		}
+		if (classInitMth.isTimeLimitExceeded() || hasTimeLimitExceededConstructor(cls)) {
+			// code of these methods not fully processed and can't be transformed
+			return false;
+		}
 		Region staticRegion = classInitMth.getRegion();
 		if (staticRegion == null || classInitMth.getBasicBlocks().isEmpty()) {
 			return false;
@@ -196,6 +200,15 @@ private boolean convertToEnum(ClassNode cls) {
 		return true;
 	}
 
+	private static boolean hasTimeLimitExceededConstructor(ClassNode cls) {
+		for (MethodNode mth : cls.getMethods()) {
+			if (mth.isConstructor() && mth.isTimeLimitExceeded()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private static void fixAccessFlags(ClassNode cls) {
 		// remove invalid access flags
 		cls.setAccessFlags(cls.getAccessFlags()
@@ -606,7 +619,7 @@ private void removeEnumMethods(ClassNode cls, FieldNode valuesField) {
 		// remove compiler generated methods
 		for (MethodNode mth : cls.getMethods()) {
 			MethodInfo mi = mth.getMethodInfo();
-			if (mi.isClassInit() || mth.isNoCode()) {
+			if (mi.isClassInit() || mth.isNoCode() || mth.isTimeLimitExceeded()) {
 				continue;
 			}
 			String shortId = mi.getShortId();
@@ -703,7 +716,7 @@ private boolean simpleValueOfMth(MethodNode mth, ArgType clsType) {
 
 	private void fixValuesAccess(MethodNode mth, FieldInfo valuesFieldInfo, ArgType clsType, @Nullable MethodNode valuesMethod) {
 		MethodInfo mi = mth.getMethodInfo();
-		if (mi.isConstructor() || mi.isClassInit() || mth.isNoCode() || mth == valuesMethod) {
+		if (mi.isConstructor() || mi.isClassInit() || mth.isNoCode() || mth.isTimeLimitExceeded() || mth == valuesMethod) {
 			return;
 		}
 		// search value field usage
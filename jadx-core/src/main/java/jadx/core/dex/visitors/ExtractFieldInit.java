@@ -80,6 +80,7 @@ private static void moveStaticFieldsInit(ClassNode cls) {
 		if (classInitMth == null
 				|| !classInitMth.getAccessFlags().isStatic()
 				|| classInitMth.isNoCode()
+				|| classInitMth.isTimeLimitExceeded()
 				|| classInitMth.getBasicBlocks() == null) {
 			return;
 		}
@@ -376,7 +377,7 @@ private static List<MethodNode> getConstructorsList(ClassNode cls) {
 			AccessInfo accFlags = mth.getAccessFlags();
 			if (!accFlags.isStatic() && accFlags.isConstructor()) {
 				list.add(mth);
-				if (mth.isNoCode() || BlockUtils.isAllBlocksEmpty(mth.getBasicBlocks())) {
+				if (mth.isNoCode() || mth.isTimeLimitExceeded() || BlockUtils.isAllBlocksEmpty(mth.getBasicBlocks())) {
 					return Collections.emptyList();
 				}
 			}
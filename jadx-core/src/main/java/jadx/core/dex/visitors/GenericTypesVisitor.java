@@ -20,7 +20,8 @@
 		name = "GenericTypesVisitor",
 		desc = "Fix and apply generic type info",
 		runAfter = TypeInferenceVisitor.class,
-		runBefore = { CodeShrinkVisitor.class, MethodInvokeVisitor.class }
+		runBefore = { CodeShrinkVisitor.class, MethodInvokeVisitor.class },
+		methodLocal = true
 )
 public class GenericTypesVisitor extends AbstractVisitor {
 	private static final Logger LOG = LoggerFactory.getLogger(GenericTypesVisitor.class);
@@ -31,4 +31,12 @@ public interface IDexTreeVisitor {
 	 * Visit method
 	 */
 	void visit(MethodNode mth) throws JadxException;
+
+	/**
+	 * Called in pre-decompile stage after all classes visited.
+	 * Class-local visitors (see {@link JadxVisitor#classLocal()}) can apply here changes of other classes.
+	 */
+	default void finish(RootNode root) throws JadxException {
+		// no op implementation
+	}
 }
@@ -20,7 +20,8 @@
 @JadxVisitor(
 		name = "InitCodeVariables",
 		desc = "Initialize code variables",
-		runAfter = SSATransform.class
+		runAfter = SSATransform.class,
+		methodLocal = true
 )
 public class InitCodeVariables extends AbstractVisitor {
 
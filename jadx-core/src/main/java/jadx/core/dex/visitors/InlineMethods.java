@@ -190,7 +190,7 @@ private void updateUsageInfo(MethodNode mth, MethodNode inlinedMth, InsnNode ins
 	}
 
 	private void replaceClsUsage(MethodNode mth, MethodNode inlinedMth, ClassNode parentClass) {
-		parentClass.setUseInMth(ListUtils.safeReplace(parentClass.getUseInMth(), inlinedMth, mth));
-		parentClass.setUseIn(ListUtils.safeReplace(parentClass.getUseIn(), inlinedMth.getParentClass(), mth.getParentClass()));
+		parentClass.setUseInMth(ListUtils.safeReplace(new ArrayList<>(parentClass.getUseInMth()), inlinedMth, mth));
+		parentClass.setUseIn(ListUtils.safeReplace(new ArrayList<>(parentClass.getUseIn()), inlinedMth.getParentClass(), mth.getParentClass()));
 	}
 }
@@ -30,4 +30,19 @@
 	 * This visitor must be run <b>before</b> listed visitors
 	 */
 	Class<? extends IDexTreeVisitor>[] runBefore() default {};
+
+	/**
+	 * Visitor changes only visited method and don't use {@link IDexTreeVisitor#visit(jadx.core.dex.nodes.ClassNode)}.
+	 * Such visitors can process methods of the same class in parallel
+	 * (see {@link jadx.api.JadxArgs#setParallelMethodsProcessing(boolean)}).
+	 */
+	boolean methodLocal() default false;
+
+	/**
+	 * Visitor changes only visited top level class (including inner classes and methods)
+	 * and shared storages safe for concurrent updates.
+	 * Changes of other classes should be collected and applied in {@link IDexTreeVisitor#finish(jadx.core.dex.nodes.RootNode)}.
+	 * Such visitors can process classes in parallel in pre-decompile stage.
+	 */
+	boolean classLocal() default false;
 }
@@ -19,7 +19,8 @@
 		name = "MoveInlineVisitor",
 		desc = "Inline redundant move instructions",
 		runAfter = SSATransform.class,
-		runBefore = CodeShrinkVisitor.class
+		runBefore = CodeShrinkVisitor.class,
+		methodLocal = true
 )
 public class MoveInlineVisitor extends AbstractVisitor {
 	@Override
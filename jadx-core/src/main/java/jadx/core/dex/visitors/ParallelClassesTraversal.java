@@ -0,0 +1,33 @@
+package jadx.core.dex.visitors;
+
+import java.util.List;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.tasks.DecompileThreads;
+
+/**
+ * Run class-local pass (see {@link JadxVisitor#classLocal()}) for provided top level classes in parallel.
+ * Classes processed in calling thread and free helpers of shared {@link DecompileThreads}.
+ * Method returns only after all classes processed, so it acts as a barrier between passes.
+ */
+public class ParallelClassesTraversal {
+
+	public static boolean isClassLocal(IDexTreeVisitor visitor) {
+		JadxVisitor info = visitor.getClass().getAnnotation(JadxVisitor.class);
+		return info != null && info.classLocal();
+	}
+
+	public static void visit(IDexTreeVisitor pass, List<ClassNode> classes, DecompileThreads threads) {
+		try {
+			threads.runParallel(classes.size(), () -> idx -> DepthTraversal.visit(pass, classes.get(idx)));
+		} catch (JadxRuntimeException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			throw new JadxRuntimeException("Pass failed: " + pass.getName(), e);
+		}
+	}
+
+	private ParallelClassesTraversal() {
+	}
+}
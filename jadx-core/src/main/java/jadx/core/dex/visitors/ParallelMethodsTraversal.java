@@ -0,0 +1,107 @@
+package jadx.core.dex.visitors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.utils.DecompileTimeLimit;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.tasks.DecompileThreads;
+
+/**
+ * Run method-local passes (see {@link JadxVisitor#methodLocal()}) for all methods of class in parallel.
+ * Each method goes through all provided passes in order.
+ * <br>
+ * Calling thread also process methods, so it never waits for not yet started tasks
+ * and can't be blocked by a busy executor.
+ * Helper threads started only if decompiler threads budget has free threads (see {@link DecompileThreads}).
+ */
+public class ParallelMethodsTraversal {
+
+	public static boolean isMethodLocal(IDexTreeVisitor visitor) {
+		JadxVisitor info = visitor.getClass().getAnnotation(JadxVisitor.class);
+		return info != null && info.methodLocal();
+	}
+
+	public static void visit(List<IDexTreeVisitor> passes, ClassNode cls, DecompileThreads threads,
+			@Nullable DecompileTimeLimit timeLimit) {
+		List<MethodNode> methods = new ArrayList<>();
+		collectMethods(cls, methods);
+		int count = methods.size();
+		int workers = Math.min(threads.getThreadsCount(), count);
+		if (workers <= 1) {
+			for (MethodNode mth : methods) {
+				visitMethod(passes, mth, timeLimit);
+			}
+			return;
+		}
+		AtomicInteger next = new AtomicInteger(0);
+		CountDownLatch done = new CountDownLatch(count);
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Runnable worker = () -> {
+			while (true) {
+				int idx = next.getAndIncrement();
+				if (idx >= count) {
+					return;
+				}
+				try {
+					visitMethod(passes, methods.get(idx), timeLimit);
+				} catch (Throwable e) {
+					error.compareAndSet(null, e);
+				} finally {
+					done.countDown();
+				}
+			}
+		};
+		threads.startHelpers(workers - 1, worker);
+		worker.run();
+		awaitUninterruptibly(done);
+		Throwable e = error.get();
+		if (e != null) {
+			throw new JadxRuntimeException("Methods processing failed in class: " + cls, e);
+		}
+	}
+
+	private static void visitMethod(List<IDexTreeVisitor> passes, MethodNode mth, @Nullable DecompileTimeLimit timeLimit) {
+		for (IDexTreeVisitor pass : passes) {
+			DepthTraversal.visit(pass, mth, timeLimit);
+		}
+	}
+
+	/**
+	 * Keep same order as in {@link DepthTraversal#visit(IDexTreeVisitor, ClassNode)}
+	 */
+	private static void collectMethods(ClassNode cls, List<MethodNode> methods) {
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			collectMethods(innerCls, methods);
+		}
+		methods.addAll(cls.getMethods());
+	}
+
+	/**
+	 * Caller holds class lock and workers rely on it, so wait for all started tasks even on interrupt
+	 */
+	private static void awaitUninterruptibly(CountDownLatch latch) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				latch.await();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private ParallelMethodsTraversal() {
+	}
+}
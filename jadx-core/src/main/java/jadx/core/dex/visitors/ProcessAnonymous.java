@@ -101,7 +101,7 @@ private static void markAnonymousClass(ClassNode cls) {
 		// see ModVisitor.processAnonymousConstructor method
 		ClassNode topOuterCls = outerCls.getTopParentClass();
 		cls.removeDependency(topOuterCls);
-		ListUtils.safeRemove(outerCls.getUseIn(), cls);
+		outerCls.removeUseIn(cls);
 
 		// move dependency to codegen stage
 		if (cls.isTopClass()) {
@@ -113,8 +113,8 @@ private static void markAnonymousClass(ClassNode cls) {
 	private static void undoAnonymousMark(ClassNode cls) {
 		AnonymousClassAttr attr = cls.get(AType.ANONYMOUS_CLASS);
 		ClassNode outerCls = attr.getOuterCls();
-		cls.setDependencies(ListUtils.safeAdd(cls.getDependencies(), outerCls.getTopParentClass()));
-		outerCls.setUseIn(ListUtils.safeAdd(outerCls.getUseIn(), cls));
+		cls.setDependencies(ListUtils.safeAdd(new ArrayList<>(cls.getDependencies()), outerCls.getTopParentClass()));
+		outerCls.setUseIn(ListUtils.safeAdd(new ArrayList<>(outerCls.getUseIn()), cls));
 
 		cls.remove(AType.ANONYMOUS_CLASS);
 		cls.remove(AFlag.DONT_GENERATE);
@@ -33,7 +33,8 @@
 @JadxVisitor(
 		name = "ReplaceNewArray",
 		desc = "Replace new-array and sequence of array-put to new filled-array instruction",
-		runAfter = CodeShrinkVisitor.class
+		runAfter = CodeShrinkVisitor.class,
+		methodLocal = true
 )
 public class ReplaceNewArray extends AbstractVisitor {
 
@@ -4,8 +4,10 @@
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -22,9 +24,20 @@
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxException;
 
+@JadxVisitor(
+		name = "SignatureProcessor",
+		desc = "Parse and apply generic signatures of classes, fields and methods",
+		classLocal = true
+)
 public class SignatureProcessor extends AbstractVisitor {
 	private RootNode root;
 
+	/**
+	 * Inner class to outer class mapping for classes found in signatures but not declared as inner.
+	 * Applied after all classes processed, so inner classes lists not changed during parallel traversal.
+	 */
+	private final Map<ClassNode, ClassNode> innerClsFixes = new TreeMap<>();
+
 	@Override
 	public void init(RootNode root) {
 		this.root = root;
@@ -324,12 +337,29 @@ private boolean validateInnerType(ArgType type) {
 		}
 		if (!innerCls.getParentClass().equals(outerCls)) {
 			// not inner => fixing
-			outerCls.addInnerClass(innerCls);
-			innerCls.getClassInfo().convertToInner(outerCls);
+			addInnerClsFix(innerCls, outerCls);
 		}
 		return validateInnerType(innerType);
 	}
 
+	private synchronized void addInnerClsFix(ClassNode innerCls, ClassNode outerCls) {
+		// select same outer class for any classes processing order
+		innerClsFixes.merge(innerCls, outerCls, (prev, cur) -> prev.compareTo(cur) <= 0 ? prev : cur);
+	}
+
+	@Override
+	public synchronized void finish(RootNode root) {
+		for (Map.Entry<ClassNode, ClassNode> entry : innerClsFixes.entrySet()) {
+			ClassNode innerCls = entry.getKey();
+			ClassNode outerCls = entry.getValue();
+			if (!innerCls.getParentClass().equals(outerCls)) {
+				outerCls.addInnerClass(innerCls);
+				innerCls.getClassInfo().convertToInner(outerCls);
+			}
+		}
+		innerClsFixes.clear();
+	}
+
 	@Override
 	public String getName() {
 		return "SignatureProcessor";
@@ -40,6 +40,7 @@
 import jadx.core.dex.trycatch.TryCatchBlockAttr;
 import jadx.core.dex.visitors.typeinference.TypeCompare;
 import jadx.core.utils.BlockUtils;
+import jadx.core.utils.DecompileTimeLimit;
 import jadx.core.utils.InsnRemover;
 import jadx.core.utils.ListUtils;
 import jadx.core.utils.blocks.BlockSet;
@@ -87,6 +88,7 @@ private static void connectExcHandlers(MethodNode mth, List<TryCatchBlockAttr> t
 		int count = 0;
 		Deque<TryCatchBlockAttr> queue = new ArrayDeque<>(tryBlocks);
 		while (!queue.isEmpty()) {
+			DecompileTimeLimit.check();
 			TryCatchBlockAttr tryBlock = queue.removeFirst();
 			boolean complete = wrapBlocksWithTryCatch(mth, tryBlock);
 			if (!complete) {
@@ -234,6 +236,7 @@ private static List<TryCatchBlockAttr> prepareTryBlocks(MethodNode mth) {
 		if (tryBlocks.size() > 1) {
 			// merge or mark as outer/inner
 			while (true) {
+				DecompileTimeLimit.check();
 				boolean restart = combineTryCatchBlocks(tryBlocks);
 				if (!restart) {
 					break;
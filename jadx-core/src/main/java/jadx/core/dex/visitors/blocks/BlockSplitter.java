@@ -23,9 +23,15 @@
 import jadx.core.dex.trycatch.CatchAttr;
 import jadx.core.dex.trycatch.ExceptionHandler;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.utils.BlockUtils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
+@JadxVisitor(
+		name = "BlockSplitter",
+		desc = "Split instructions into basic blocks",
+		methodLocal = true
+)
 public class BlockSplitter extends AbstractVisitor {
 
 	/**
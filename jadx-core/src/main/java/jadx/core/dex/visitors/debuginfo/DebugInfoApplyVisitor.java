@@ -43,7 +43,8 @@
 		runAfter = {
 				SSATransform.class,
 				TypeInferenceVisitor.class
-		}
+		},
+		methodLocal = true
 )
 public class DebugInfoApplyVisitor extends AbstractVisitor {
 	private static final Logger LOG = LoggerFactory.getLogger(DebugInfoApplyVisitor.class);
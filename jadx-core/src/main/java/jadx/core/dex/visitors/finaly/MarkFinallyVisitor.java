@@ -36,6 +36,7 @@
 import jadx.core.utils.ListUtils;
 import jadx.core.utils.Pair;
 import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.exceptions.JadxTimeLimitException;
 
 /**
  * This visitor is responsible for extracting finally blocks from duplicated instructions located
@@ -138,6 +139,8 @@ public void visit(MethodNode mth) {
 			if (finallyExtracted) {
 				resetTryBlocks(mth, tryBlocks);
 			}
+		} catch (JadxTimeLimitException e) {
+			throw e;
 		} catch (Exception e) {
 			LOG.error("MarkFinallyVisitor error", e);
 			undoFinallyVisitor(mth);
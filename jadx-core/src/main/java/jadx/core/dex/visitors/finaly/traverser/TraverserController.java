@@ -18,6 +18,7 @@
 import jadx.core.dex.visitors.finaly.traverser.state.TraverserBlockInfo;
 import jadx.core.dex.visitors.finaly.traverser.state.TraverserGlobalCommonState;
 import jadx.core.dex.visitors.finaly.traverser.state.TraverserState;
+import jadx.core.utils.DecompileTimeLimit;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
 /**
@@ -76,6 +77,7 @@ public List<TraverserActivePathState> process(TraverserActivePathState state) th
 		AtomicReference<TraverserState> previousFinallyState = new AtomicReference<>(null);
 		AtomicReference<TraverserState> previousCandidateState = new AtomicReference<>(null);
 		while (true) {
+			DecompileTimeLimit.check();
 			List<TraverserActivePathState> advancedStates = advance(nextState, previousFinallyState, previousCandidateState);
 			if (advancedStates == null || advancedStates.isEmpty()) {
 				break;
@@ -19,7 +19,8 @@
 		desc = "Collect and store values from static final fields",
 		runAfter = {
 				UsageInfoVisitor.class // check field usage (do not restore if used somewhere)
-		}
+		},
+		classLocal = true
 )
 public class CollectConstValues extends AbstractVisitor {
 
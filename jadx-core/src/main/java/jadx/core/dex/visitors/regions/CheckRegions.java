@@ -20,9 +20,15 @@
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.regions.loops.LoopRegion;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.utils.exceptions.CodegenException;
 import jadx.core.utils.exceptions.JadxException;
 
+@JadxVisitor(
+		name = "CheckRegions",
+		desc = "Check that all blocks are included in regions",
+		methodLocal = true
+)
 public class CheckRegions extends AbstractVisitor {
 	private static final Logger LOG = LoggerFactory.getLogger(CheckRegions.class);
 
@@ -10,7 +10,13 @@
 import jadx.core.dex.regions.Region;
 import jadx.core.dex.regions.loops.LoopRegion;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.JadxVisitor;
 
+@JadxVisitor(
+		name = "CleanRegions",
+		desc = "Remove empty regions",
+		methodLocal = true
+)
 public class CleanRegions extends AbstractVisitor {
 	private static final IRegionVisitor REMOVE_REGION_VISITOR = new RemoveRegionVisitor();
 
@@ -13,11 +13,17 @@
 import jadx.core.dex.regions.conditions.IfCondition.Mode;
 import jadx.core.dex.regions.conditions.IfRegion;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.utils.InsnUtils;
 import jadx.core.utils.RegionUtils;
 
 import static jadx.core.utils.RegionUtils.insnsCount;
 
+@JadxVisitor(
+		name = "IfRegionVisitor",
+		desc = "Simplify and invert if regions",
+		methodLocal = true
+)
 public class IfRegionVisitor extends AbstractVisitor {
 	private static final ProcessIfRegionVisitor PROCESS_IF_REGION_VISITOR = new ProcessIfRegionVisitor();
 	private static final RemoveRedundantElseVisitor REMOVE_REDUNDANT_ELSE_VISITOR = new RemoveRedundantElseVisitor();
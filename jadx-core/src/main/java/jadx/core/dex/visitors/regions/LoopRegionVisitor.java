@@ -45,7 +45,8 @@
 @JadxVisitor(
 		name = "LoopRegionVisitor",
 		desc = "Convert 'while' loops to 'for' loops (indexed or for-each)",
-		runBefore = ProcessVariables.class
+		runBefore = ProcessVariables.class,
+		methodLocal = true
 )
 public class LoopRegionVisitor extends AbstractVisitor implements IRegionVisitor {
 	private static final Logger LOG = LoggerFactory.getLogger(LoopRegionVisitor.class);
@@ -12,7 +12,8 @@
 
 @JadxVisitor(
 		name = "RegionMakerVisitor",
-		desc = "Pack blocks into regions for code generation"
+		desc = "Pack blocks into regions for code generation",
+		methodLocal = true
 )
 public class RegionMakerVisitor extends AbstractVisitor {
 
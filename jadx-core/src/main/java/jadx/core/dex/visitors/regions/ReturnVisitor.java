@@ -14,12 +14,18 @@
 import jadx.core.dex.regions.SwitchRegion;
 import jadx.core.dex.regions.loops.LoopRegion;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.utils.exceptions.JadxException;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
 /**
  * Remove unnecessary return instructions for void methods
  */
+@JadxVisitor(
+		name = "ReturnVisitor",
+		desc = "Remove unnecessary return instructions for void methods",
+		methodLocal = true
+)
 public class ReturnVisitor extends AbstractVisitor {
 
 	@Override
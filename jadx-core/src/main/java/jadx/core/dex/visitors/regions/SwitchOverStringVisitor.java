@@ -53,7 +53,8 @@
 		name = "SwitchOverStringVisitor",
 		desc = "Restore switch over string",
 		runAfter = IfRegionVisitor.class,
-		runBefore = ReturnVisitor.class
+		runBefore = ReturnVisitor.class,
+		methodLocal = true
 )
 public class SwitchOverStringVisitor extends AbstractVisitor implements IRegionIterativeVisitor {
 	private static final Integer DEFAULT_NUM_VALUE = -1;
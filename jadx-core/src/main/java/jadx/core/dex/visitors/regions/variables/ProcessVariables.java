@@ -14,13 +14,13 @@
 
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.attributes.AType;
+import jadx.core.dex.attributes.nodes.ConstructorCallAttr;
 import jadx.core.dex.attributes.nodes.DeclareVariablesAttr;
 import jadx.core.dex.instructions.InsnType;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.CodeVar;
 import jadx.core.dex.instructions.args.RegisterArg;
 import jadx.core.dex.instructions.args.SSAVar;
-import jadx.core.dex.instructions.mods.ConstructorInsn;
 import jadx.core.dex.nodes.IBlock;
 import jadx.core.dex.nodes.IContainer;
 import jadx.core.dex.nodes.IRegion;
@@ -28,6 +28,7 @@
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.regions.loops.LoopRegion;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.dex.visitors.regions.AbstractRegionVisitor;
 import jadx.core.dex.visitors.regions.DepthRegionTraversal;
 import jadx.core.dex.visitors.typeinference.TypeCompare;
@@ -37,6 +38,11 @@
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxException;
 
+@JadxVisitor(
+		name = "ProcessVariables",
+		desc = "Find variables declaration places",
+		methodLocal = true
+)
 public class ProcessVariables extends AbstractVisitor {
 	private static final Logger LOG = LoggerFactory.getLogger(ProcessVariables.class);
 
@@ -137,20 +143,11 @@ private boolean isArgUnused(MethodNode mth, RegisterArg arg) {
 				}
 				// check constructors for removed args
 				InsnNode parentInsn = arg.getParentInsn();
-				if (parentInsn != null
-						&& parentInsn.getType() == InsnType.CONSTRUCTOR
-						&& parentInsn.contains(AType.METHOD_DETAILS)) {
-					MethodNode resolveMth = mth.root().getMethodUtils().resolveMethod(((ConstructorInsn) parentInsn));
-					if (resolveMth != null && resolveMth.contains(AType.SKIP_MTH_ARGS)) {
-						int insnPos = parentInsn.getArgIndex(arg);
-						List<RegisterArg> mthArgs = resolveMth.getArgRegs();
-						if (0 <= insnPos && insnPos < mthArgs.size()) {
-							RegisterArg mthArg = mthArgs.get(insnPos);
-							if (mthArg.contains(AFlag.REMOVE) && arg.sameType(mthArg)) {
-								arg.add(AFlag.DONT_GENERATE);
-								return true;
-							}
-						}
+				if (parentInsn != null && parentInsn.getType() == InsnType.CONSTRUCTOR) {
+					ConstructorCallAttr callAttr = parentInsn.get(AType.CONSTRUCTOR_CALL);
+					if (callAttr != null && callAttr.isRemovedArg(parentInsn.getArgIndex(arg))) {
+						arg.add(AFlag.DONT_GENERATE);
+						return true;
 					}
 				}
 				return false;
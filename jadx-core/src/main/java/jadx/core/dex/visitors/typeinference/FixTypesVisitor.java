@@ -48,6 +48,7 @@
 import jadx.core.utils.ListUtils;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxOverflowException;
+import jadx.core.utils.exceptions.JadxTimeLimitException;
 
 @JadxVisitor(
 		name = "Fix Types Visitor",
@@ -57,7 +58,8 @@
 		},
 		runBefore = {
 				FinishTypeInference.class
-		}
+		},
+		methodLocal = true
 )
 public final class FixTypesVisitor extends AbstractVisitor {
 	private static final Logger LOG = LoggerFactory.getLogger(FixTypesVisitor.class);
@@ -95,6 +97,8 @@ public void visit(MethodNode mth) {
 					break;
 				}
 			}
+		} catch (JadxTimeLimitException e) {
+			throw e;
 		} catch (Exception e) {
 			mth.addError("Types fix failed", e);
 		}
@@ -125,6 +129,8 @@ private boolean runMultiVariableSearch(MethodNode mth) {
 				}
 			}
 			return true;
+		} catch (JadxTimeLimitException e) {
+			throw e;
 		} catch (Exception e) {
 			mth.addWarnComment("Multi-variable type inference failed. Error: " + Utils.getStackTrace(e));
 			return false;
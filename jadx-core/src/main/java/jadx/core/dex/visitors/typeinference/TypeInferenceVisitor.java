@@ -39,6 +39,7 @@
 import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.dex.visitors.ssa.SSATransform;
 import jadx.core.utils.exceptions.JadxOverflowException;
+import jadx.core.utils.exceptions.JadxTimeLimitException;
 
 @JadxVisitor(
 		name = "Type Inference",
@@ -47,7 +48,8 @@
 				SSATransform.class,
 				ConstInlineVisitor.class,
 				AttachMethodDetails.class
-		}
+		},
+		methodLocal = true
 )
 public final class TypeInferenceVisitor extends AbstractVisitor {
 	private static final Logger LOG = LoggerFactory.getLogger(TypeInferenceVisitor.class);
@@ -75,6 +77,8 @@ public void visit(MethodNode mth) {
 			runTypePropagation(mth);
 		} catch (StackOverflowError | BootstrapMethodError e) {
 			mth.addError("Type inference failed with stack overflow", new JadxOverflowException(e.getMessage()));
+		} catch (JadxTimeLimitException e) {
+			throw e;
 		} catch (Exception e) {
 			mth.addError("Type inference failed", e);
 		}
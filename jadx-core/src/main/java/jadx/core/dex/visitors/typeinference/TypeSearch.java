@@ -21,6 +21,7 @@
 import jadx.core.dex.instructions.args.SSAVar;
 import jadx.core.dex.nodes.InsnNode;
 import jadx.core.dex.nodes.MethodNode;
+import jadx.core.utils.DecompileTimeLimit;
 
 /**
  * Slow and memory consuming multi-variable type search algorithm.
@@ -37,6 +38,7 @@ public class TypeSearch {
 	private static final int VARS_PROCESS_LIMIT = 5_000;
 	private static final int CANDIDATES_COUNT_LIMIT = 10;
 	private static final int SEARCH_ITERATION_LIMIT = 1_000_000;
+	private static final int TIME_LIMIT_CHECK_MASK = 0x3FF;
 
 	private final MethodNode mth;
 	private final TypeSearchState state;
@@ -150,6 +152,9 @@ private boolean search(List<TypeSearchVarInfo> vars) {
 				}
 			}
 			n++;
+			if ((n & TIME_LIMIT_CHECK_MASK) == 0) {
+				DecompileTimeLimit.check();
+			}
 			if (n > SEARCH_ITERATION_LIMIT) {
 				if (Consts.DEBUG_TYPE_INFERENCE) {
 					LOG.debug(" > iterations limit reached: {}", SEARCH_ITERATION_LIMIT);
@@ -0,0 +1,45 @@
+package jadx.core.dex.visitors.usage;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of (key id, value id) pairs packed into longs.
+ * Natural order of packed values is the order by key and then by value.
+ */
+final class IdPairs {
+	private long[] data = new long[64];
+	private int size;
+
+	/**
+	 * Add pair, ignore not indexed ids (negative)
+	 */
+	void add(int key, int value) {
+		if (key < 0 || value < 0) {
+			return;
+		}
+		if (size == data.length) {
+			data = Arrays.copyOf(data, size * 2);
+		}
+		data[size++] = pack(key, value);
+	}
+
+	int size() {
+		return size;
+	}
+
+	long get(int i) {
+		return data[i];
+	}
+
+	static long pack(int key, int value) {
+		return (long) key << 32 | value;
+	}
+
+	static int key(long pair) {
+		return (int) (pair >>> 32);
+	}
+
+	static int value(long pair) {
+		return (int) pair;
+	}
+}
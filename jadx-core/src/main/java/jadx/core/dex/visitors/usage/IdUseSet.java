@@ -0,0 +1,230 @@
+package jadx.core.dex.visitors.usage;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable map from dense key id to set of used ids.
+ * Stored as offsets and values arrays (CSR), values for each key sorted and unique.
+ * Arrays can be on heap or mapped from file (see {@link UsageInfoFile}).
+ */
+final class IdUseSet {
+	/**
+	 * Key id -> start of key values, last element is values count
+	 */
+	private final IntBuffer offsets;
+	private final IntBuffer values;
+
+	/**
+	 * Merge pairs collected in several threads.
+	 * Result not depend on pairs order and distribution between lists.
+	 */
+	static IdUseSet build(int keysCount, List<IdPairs> pairsList) {
+		int total = 0;
+		for (IdPairs pairs : pairsList) {
+			total += pairs.size();
+		}
+		long[] all = new long[total];
+		int pos = 0;
+		for (IdPairs pairs : pairsList) {
+			for (int i = 0, size = pairs.size(); i < size; i++) {
+				all[pos++] = pairs.get(i);
+			}
+		}
+		Arrays.parallelSort(all);
+
+		int[] offsets = new int[keysCount + 1];
+		int[] values = new int[total];
+		int count = 0;
+		long prev = -1;
+		for (long pair : all) {
+			if (pair == prev) {
+				continue;
+			}
+			prev = pair;
+			offsets[IdPairs.key(pair) + 1]++;
+			values[count++] = IdPairs.value(pair);
+		}
+		for (int i = 0; i < keysCount; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+		return new IdUseSet(IntBuffer.wrap(offsets), IntBuffer.wrap(values, 0, count).slice());
+	}
+
+	/**
+	 * Read arrays written by {@link #write(DataOutput)}, arrays not copied.
+	 * Buffer position moved to the end of use set data.
+	 */
+	static IdUseSet read(ByteBuffer buf) {
+		int keysCount = buf.getInt();
+		int valuesCount = buf.getInt();
+		if (keysCount < 0 || valuesCount < 0) {
+			throw new IllegalArgumentException("Negative use set size: " + keysCount + ", " + valuesCount);
+		}
+		IntBuffer offsets = readInts(buf, keysCount + 1);
+		IntBuffer values = readInts(buf, valuesCount);
+		return new IdUseSet(offsets, values);
+	}
+
+	/**
+	 * Build use set with swapped keys and values, values for each key are also sorted and unique
+	 */
+	IdUseSet reverse(int reverseKeysCount) {
+		int valuesCount = values.limit();
+		int[] revOffsets = new int[reverseKeysCount + 1];
+		for (int i = 0; i < valuesCount; i++) {
+			revOffsets[values.get(i) + 1]++;
+		}
+		for (int i = 0; i < reverseKeysCount; i++) {
+			revOffsets[i + 1] += revOffsets[i];
+		}
+		int[] pos = Arrays.copyOf(revOffsets, reverseKeysCount);
+		int[] revValues = new int[valuesCount];
+		for (int key = 0, count = getKeysCount(); key < count; key++) {
+			for (int i = offsets.get(key), end = offsets.get(key + 1); i < end; i++) {
+				revValues[pos[values.get(i)]++] = key;
+			}
+		}
+		return new IdUseSet(IntBuffer.wrap(revOffsets), IntBuffer.wrap(revValues));
+	}
+
+	/**
+	 * Check data loaded from file: keys count and all values should be in range {@code [0, valuesBound)}
+	 */
+	boolean isValid(int expectedKeysCount, int valuesBound) {
+		int keysCount = getKeysCount();
+		int valuesCount = values.limit();
+		if (keysCount != expectedKeysCount || offsets.get(0) != 0 || offsets.get(keysCount) != valuesCount) {
+			return false;
+		}
+		for (int key = 0; key < keysCount; key++) {
+			if (offsets.get(key) > offsets.get(key + 1)) {
+				return false;
+			}
+		}
+		for (int i = 0; i < valuesCount; i++) {
+			int value = values.get(i);
+			if (value < 0 || value >= valuesBound) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static IntBuffer readInts(ByteBuffer buf, int count) {
+		ByteBuffer bytes = buf.slice().order(buf.order());
+		bytes.limit(count * Integer.BYTES);
+		buf.position(buf.position() + count * Integer.BYTES);
+		return bytes.asIntBuffer();
+	}
+
+	void write(DataOutput out) throws IOException {
+		int keysCount = getKeysCount();
+		int valuesCount = values.limit();
+		out.writeInt(keysCount);
+		out.writeInt(valuesCount);
+		for (int i = 0; i <= keysCount; i++) {
+			out.writeInt(offsets.get(i));
+		}
+		for (int i = 0; i < valuesCount; i++) {
+			out.writeInt(values.get(i));
+		}
+	}
+
+	private IdUseSet(IntBuffer offsets, IntBuffer values) {
+		this.offsets = offsets;
+		this.values = values;
+	}
+
+	int getKeysCount() {
+		return offsets.limit() - 1;
+	}
+
+	boolean isEmpty(int key) {
+		return key < 0 || key >= getKeysCount() || offsets.get(key) == offsets.get(key + 1);
+	}
+
+	int size(int key) {
+		if (key < 0 || key >= getKeysCount()) {
+			return 0;
+		}
+		return offsets.get(key + 1) - offsets.get(key);
+	}
+
+	/**
+	 * Position of first key value, use with {@link #end(int)} and {@link #value(int)} to iterate without allocations
+	 */
+	int start(int key) {
+		return offsets.get(key);
+	}
+
+	int end(int key) {
+		return offsets.get(key + 1);
+	}
+
+	int value(int pos) {
+		return values.get(pos);
+	}
+
+	/**
+	 * Immutable list view over key values, ids mapped on each access
+	 */
+	<T> List<T> getView(int key, IntFunction<T> mapper) {
+		if (isEmpty(key)) {
+			return Collections.emptyList();
+		}
+		return new IdsView<>(values, offsets.get(key), offsets.get(key + 1), mapper);
+	}
+
+	/**
+	 * Map used ids to list, list order is the same as ids order
+	 */
+	<T> List<T> getList(int key, IntFunction<T> mapper) {
+		if (isEmpty(key)) {
+			return Collections.emptyList();
+		}
+		int start = offsets.get(key);
+		int end = offsets.get(key + 1);
+		List<T> list = new ArrayList<>(end - start);
+		for (int i = start; i < end; i++) {
+			list.add(mapper.apply(values.get(i)));
+		}
+		return list;
+	}
+
+	private static final class IdsView<T> extends AbstractList<T> implements RandomAccess {
+		private final IntBuffer values;
+		private final int start;
+		private final int size;
+		private final IntFunction<T> mapper;
+
+		private IdsView(IntBuffer values, int start, int end, IntFunction<T> mapper) {
+			this.values = values;
+			this.start = start;
+			this.size = end - start;
+			this.mapper = mapper;
+		}
+
+		@Override
+		public T get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+			}
+			return mapper.apply(values.get(start + index));
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -0,0 +1,203 @@
+package jadx.core.dex.visitors.usage;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+import jadx.core.clsp.ClspClass;
+import jadx.core.clsp.ClspClassSource;
+import jadx.core.dex.info.FieldInfo;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.ICodeNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+import static jadx.core.utils.Utils.notEmpty;
+
+/**
+ * Collect usage info as pairs of node ids (see {@link UsageNodesIndex}).
+ * Not thread safe, use separate collector for each thread and merge results
+ * with {@link UsageInfo#build(RootNode, UsageNodesIndex, List)}.
+ */
+public class UsageCollector {
+	private final RootNode root;
+	private final UsageNodesIndex index;
+
+	final IdPairs clsDeps = new IdPairs();
+	final IdPairs clsUsage = new IdPairs();
+	final IdPairs clsUseInMth = new IdPairs();
+	final IdPairs fieldUsage = new IdPairs();
+	// MethodNodeA -> MethodNodes that MethodNodeA is called from
+	final IdPairs mthUsage = new IdPairs();
+	// MethodNodeA -> MethodNodes that MethodNodeA calls
+	final IdPairs mthUses = new IdPairs();
+	// method id -> index in unresolvedMethods list
+	final IdPairs unresolvedMthUsage = new IdPairs();
+	final List<MethodInfo> unresolvedMethods = new ArrayList<>();
+	final BitSet selfCalls = new BitSet();
+
+	public UsageCollector(RootNode root, UsageNodesIndex index) {
+		this.root = root;
+		this.index = index;
+	}
+
+	public void clsUse(ClassNode cls, ArgType useType) {
+		processType(useType, depCls -> clsUse(cls, depCls));
+	}
+
+	public void clsUse(MethodNode mth, ArgType useType) {
+		processType(useType, depCls -> clsUse(mth, depCls));
+	}
+
+	public void clsUse(ICodeNode node, ArgType useType) {
+		Consumer<ClassNode> consumer;
+		switch (node.getAnnType()) {
+			case CLASS:
+				ClassNode cls = (ClassNode) node;
+				consumer = depCls -> clsUse(cls, depCls);
+				break;
+			case METHOD:
+				MethodNode mth = (MethodNode) node;
+				consumer = depCls -> clsUse(mth, depCls);
+				break;
+			case FIELD:
+				FieldNode fld = (FieldNode) node;
+				ClassNode fldCls = fld.getParentClass();
+				consumer = depCls -> clsUse(fldCls, depCls);
+				break;
+			default:
+				throw new JadxRuntimeException("Unexpected use type: " + node.getAnnType());
+		}
+		processType(useType, consumer);
+	}
+
+	public void clsUse(MethodNode mth, ClassNode useCls) {
+		ClassNode parentClass = mth.getParentClass();
+		clsUse(parentClass, useCls);
+		if (parentClass != useCls) {
+			// exclude class usage in self methods
+			clsUseInMth.add(index.getId(useCls), index.getId(mth));
+		}
+	}
+
+	public void clsUse(ClassNode cls, ClassNode depCls) {
+		int clsId = index.getId(cls);
+		int topClsId = index.getId(cls.getTopParentClass());
+		int depClsId = index.getId(depCls);
+		addNotSelf(clsDeps, topClsId, index.getId(depCls.getTopParentClass()));
+
+		addNotSelf(clsUsage, depClsId, clsId);
+		addNotSelf(clsUsage, depClsId, topClsId);
+	}
+
+	/**
+	 * Add method usage: {@code useMth} occurrence found in {@code mth} code
+	 */
+	public void methodUse(MethodNode mth, MethodNode useMth) {
+		clsUse(mth, useMth.getParentClass());
+		int mthId = index.getId(mth);
+		int useMthId = index.getId(useMth);
+		addNotSelf(mthUsage, useMthId, mthId); // useMth is used in mth
+		addNotSelf(mthUses, mthId, useMthId); // mth uses useMth
+		if (mth == useMth && mthId != -1) {
+			selfCalls.set(mthId);
+		}
+		// implicit usage
+		clsUse(mth, useMth.getReturnType());
+		useMth.getMethodInfo().getArgumentsTypes().forEach(argType -> clsUse(mth, argType));
+	}
+
+	/**
+	 * Add method usage: {@code useMth} occurrence found in {@code mth} code
+	 */
+	public void unresolvedMethodUse(MethodNode mth, MethodInfo useMth) {
+		if (useMth.getRawFullId().equals("java.lang.Object.<init>()V")) {
+			// ignore default object constructor (called in every constructor)
+			return;
+		}
+		int mthId = index.getId(mth);
+		if (mthId != -1) {
+			unresolvedMthUsage.add(mthId, unresolvedMethods.size());
+			unresolvedMethods.add(useMth);
+		}
+	}
+
+	public void fieldUse(MethodNode mth, FieldNode useFld) {
+		clsUse(mth, useFld.getParentClass());
+		fieldUsage.add(index.getId(useFld), index.getId(mth));
+		// implicit usage
+		clsUse(mth, useFld.getType());
+	}
+
+	public void fieldUse(ICodeNode node, FieldInfo useFld) {
+		FieldNode fld = root.resolveField(useFld);
+		if (fld == null) {
+			return;
+		}
+		switch (node.getAnnType()) {
+			case CLASS:
+				// TODO: support "field in class" usage?
+				// now use field parent class for "class in class" usage
+				clsUse((ClassNode) node, fld.getParentClass());
+				break;
+			case METHOD:
+				fieldUse((MethodNode) node, fld);
+				break;
+		}
+	}
+
+	/**
+	 * Same node type pairs, self usage excluded
+	 */
+	private static void addNotSelf(IdPairs pairs, int id, int useId) {
+		if (id != useId) {
+			pairs.add(id, useId);
+		}
+	}
+
+	/**
+	 * Visit all class nodes found in subtypes of the provided type.
+	 */
+	private void processType(ArgType type, Consumer<ClassNode> consumer) {
+		if (type == null || type == ArgType.OBJECT) {
+			return;
+		}
+		if (type.isArray()) {
+			processType(type.getArrayRootElement(), consumer);
+			return;
+		}
+		if (type.isObject()) {
+			// TODO: support custom handlers via API
+			ClspClass clsDetails = root.getClsp().getClsDetails(type);
+			if (clsDetails != null && clsDetails.getSource() == ClspClassSource.APACHE_HTTP_LEGACY_CLIENT) {
+				root.getGradleInfoStorage().setUseApacheHttpLegacy(true);
+			}
+			ClassNode clsNode = root.resolveClass(type);
+			if (clsNode != null) {
+				consumer.accept(clsNode);
+			}
+			List<ArgType> genericTypes = type.getGenericTypes();
+			if (notEmpty(genericTypes)) {
+				for (ArgType argType : genericTypes) {
+					processType(argType, consumer);
+				}
+			}
+			List<ArgType> extendTypes = type.getExtendTypes();
+			if (notEmpty(extendTypes)) {
+				for (ArgType extendType : extendTypes) {
+					processType(extendType, consumer);
+				}
+			}
+			ArgType wildcardType = type.getWildcardType();
+			if (wildcardType != null) {
+				processType(wildcardType, consumer);
+			}
+			// TODO: process 'outer' types (check TestOuterGeneric test)
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package jadx.core.dex.visitors.usage;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+
+/**
+ * Class and method usage edges stored as ids arrays (see {@link IdUseSet}).
+ * <br>
+ * Built once from usage data and shared by all nodes,
+ * so usage getters in {@link ClassNode} and {@link MethodNode} return lightweight views
+ * instead of storing own lists (nodes keep own list only after usage change).
+ */
+public final class UsageGraph {
+	private final UsageNodesIndex index;
+	/**
+	 * Top class -> top classes used in it
+	 */
+	private final IdUseSet clsDeps;
+	/**
+	 * Top class -> top classes depends on it (reverse of {@link #clsDeps})
+	 */
+	private final IdUseSet clsDependents;
+	private final IdUseSet clsUsage;
+	private final IdUseSet clsUseInMth;
+	private final IdUseSet mthUsage;
+	private final IdUseSet mthUses;
+
+	private final IntFunction<ClassNode> clsMapper;
+	private final IntFunction<MethodNode> mthMapper;
+
+	UsageGraph(UsageNodesIndex index, IdUseSet clsDeps, IdUseSet clsUsage, IdUseSet clsUseInMth,
+			IdUseSet mthUsage, IdUseSet mthUses) {
+		this.index = index;
+		this.clsDeps = clsDeps;
+		this.clsDependents = clsDeps.reverse(index.getClassesCount());
+		this.clsUsage = clsUsage;
+		this.clsUseInMth = clsUseInMth;
+		this.mthUsage = mthUsage;
+		this.mthUses = mthUses;
+		this.clsMapper = index::getClassNode;
+		this.mthMapper = index::getMethodNode;
+	}
+
+	public List<ClassNode> getDependencies(ClassNode cls) {
+		return clsDeps.getView(index.getId(cls), clsMapper);
+	}
+
+	public int getDependenciesCount(ClassNode cls) {
+		return clsDeps.size(index.getId(cls));
+	}
+
+	public List<ClassNode> getDependents(ClassNode cls) {
+		return clsDependents.getView(index.getId(cls), clsMapper);
+	}
+
+	public List<ClassNode> getUseIn(ClassNode cls) {
+		return clsUsage.getView(index.getId(cls), clsMapper);
+	}
+
+	public List<MethodNode> getUseInMth(ClassNode cls) {
+		return clsUseInMth.getView(index.getId(cls), mthMapper);
+	}
+
+	/**
+	 * Methods which call provided method
+	 */
+	public List<MethodNode> getUseIn(MethodNode mth) {
+		return mthUsage.getView(index.getId(mth), mthMapper);
+	}
+
+	/**
+	 * Methods called from provided method
+	 */
+	public List<MethodNode> getUsed(MethodNode mth) {
+		return mthUses.getView(index.getId(mth), mthMapper);
+	}
+
+	/**
+	 * All top classes reachable by dependencies edges, class itself excluded.
+	 * Result sorted in classes natural order.
+	 */
+	public List<ClassNode> getTransitiveDependencies(ClassNode cls) {
+		BitSet reached = collectTransitive(clsDeps, index.getId(cls));
+		if (reached.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<ClassNode> list = new ArrayList<>(reached.cardinality());
+		for (int id = reached.nextSetBit(0); id >= 0; id = reached.nextSetBit(id + 1)) {
+			list.add(index.getClassNode(id));
+		}
+		return list;
+	}
+
+	public int getTransitiveDependenciesCount(ClassNode cls) {
+		return collectTransitive(clsDeps, index.getId(cls)).cardinality();
+	}
+
+	private static BitSet collectTransitive(IdUseSet useSet, int startId) {
+		if (useSet.isEmpty(startId)) {
+			return new BitSet();
+		}
+		BitSet reached = new BitSet(useSet.getKeysCount());
+		reached.set(startId);
+		int[] queue = new int[16];
+		queue[0] = startId;
+		int head = 0;
+		int tail = 1;
+		while (head < tail) {
+			int id = queue[head++];
+			for (int i = useSet.start(id), end = useSet.end(id); i < end; i++) {
+				int useId = useSet.value(i);
+				if (!reached.get(useId)) {
+					reached.set(useId);
+					if (tail == queue.length) {
+						int[] newQueue = new int[tail * 2];
+						System.arraycopy(queue, 0, newQueue, 0, tail);
+						queue = newQueue;
+					}
+					queue[tail++] = useId;
+				}
+			}
+		}
+		reached.clear(startId);
+		return reached;
+	}
+}
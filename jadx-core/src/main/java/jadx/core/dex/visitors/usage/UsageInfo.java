@@ -1,244 +1,182 @@
 package jadx.core.dex.visitors.usage;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
-import java.util.function.Consumer;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
 
 import jadx.api.usage.IUsageInfoData;
 import jadx.api.usage.IUsageInfoVisitor;
-import jadx.core.clsp.ClspClass;
-import jadx.core.clsp.ClspClassSource;
-import jadx.core.dex.info.FieldInfo;
 import jadx.core.dex.info.MethodInfo;
-import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.FieldNode;
-import jadx.core.dex.nodes.ICodeNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.utils.Utils;
-import jadx.core.utils.exceptions.JadxRuntimeException;
-
-import static jadx.core.utils.Utils.notEmpty;
 
+/**
+ * Usage data merged from one or several {@link UsageCollector} or loaded from file (see {@link UsageInfoFile}).
+ * All relations stored as sorted unique ids lists (see {@link UsageNodesIndex}),
+ * so result not depend on collectors count and classes distribution between them.
+ */
 public class UsageInfo implements IUsageInfoData {
 	private final RootNode root;
+	private final UsageNodesIndex index;
 
-	private final UseSet<ClassNode, ClassNode> clsDeps = new UseSet<>();
-	private final UseSet<ClassNode, ClassNode> clsUsage = new UseSet<>();
-	private final UseSet<ClassNode, MethodNode> clsUseInMth = new UseSet<>();
-	private final UseSet<FieldNode, MethodNode> fieldUsage = new UseSet<>();
+	private final IdUseSet clsDeps;
+	private final IdUseSet clsUsage;
+	private final IdUseSet clsUseInMth;
+	private final IdUseSet fieldUsage;
 	// MethodNodeA -> Set of MethodNodes that MethodNodeA is called from
-	private final UseSet<MethodNode, MethodNode> mthUsage = new UseSet<>();
+	private final IdUseSet mthUsage;
 	// MethodNodeA -> Set of MethodNodes that MethodNodeA calls
-	private final UseSet<MethodNode, MethodNode> mthUses = new UseSet<>();
+	private final IdUseSet mthUses;
 	// MethodNodeA -> Set of MethodInfos for methods that MethodNodeA calls that cannot be resolved
-	private final UseSet<MethodNode, MethodInfo> unresolvedMthUsage = new UseSet<>();
-	private final Map<MethodNode, Boolean> selfCalls = new HashMap<>();
+	// values are indexes in sorted unresolvedMethods array
+	private final IdUseSet unresolvedMthUsage;
+	private final MethodInfo[] unresolvedMethods;
+	private final BitSet selfCalls;
+
+	private UsageGraph graph;
+
+	public static UsageInfo build(RootNode root, UsageNodesIndex index, List<UsageCollector> collectors) {
+		int clsCount = index.getClassesCount();
+		int mthCount = index.getMethodsCount();
+		IdUseSet clsDeps = IdUseSet.build(clsCount, Utils.collectionMap(collectors, c -> c.clsDeps));
+		IdUseSet clsUsage = IdUseSet.build(clsCount, Utils.collectionMap(collectors, c -> c.clsUsage));
+		IdUseSet clsUseInMth = IdUseSet.build(clsCount, Utils.collectionMap(collectors, c -> c.clsUseInMth));
+		IdUseSet fieldUsage = IdUseSet.build(index.getFieldsCount(), Utils.collectionMap(collectors, c -> c.fieldUsage));
+		IdUseSet mthUsage = IdUseSet.build(mthCount, Utils.collectionMap(collectors, c -> c.mthUsage));
+		IdUseSet mthUses = IdUseSet.build(mthCount, Utils.collectionMap(collectors, c -> c.mthUses));
+		BitSet selfCalls = new BitSet(mthCount);
+		for (UsageCollector collector : collectors) {
+			selfCalls.or(collector.selfCalls);
+		}
+		// replace collector local indexes of unresolved methods with indexes in sorted array of all methods
+		Set<MethodInfo> unresolvedSet = new HashSet<>();
+		for (UsageCollector collector : collectors) {
+			unresolvedSet.addAll(collector.unresolvedMethods);
+		}
+		MethodInfo[] unresolvedMethods = unresolvedSet.toArray(new MethodInfo[0]);
+		Arrays.sort(unresolvedMethods);
+		List<IdPairs> unresolvedPairs = new ArrayList<>(collectors.size());
+		for (UsageCollector collector : collectors) {
+			IdPairs pairs = collector.unresolvedMthUsage;
+			IdPairs globalPairs = new IdPairs();
+			for (int i = 0, size = pairs.size(); i < size; i++) {
+				long pair = pairs.get(i);
+				MethodInfo mthInfo = collector.unresolvedMethods.get(IdPairs.value(pair));
+				globalPairs.add(IdPairs.key(pair), Arrays.binarySearch(unresolvedMethods, mthInfo));
+			}
+			unresolvedPairs.add(globalPairs);
+		}
+		IdUseSet unresolvedMthUsage = IdUseSet.build(mthCount, unresolvedPairs);
+		return new UsageInfo(root, index, clsDeps, clsUsage, clsUseInMth, fieldUsage, mthUsage, mthUses,
+				unresolvedMthUsage, unresolvedMethods, selfCalls);
+	}
 
-	public UsageInfo(RootNode root) {
+	UsageInfo(RootNode root, UsageNodesIndex index,
+			IdUseSet clsDeps, IdUseSet clsUsage, IdUseSet clsUseInMth, IdUseSet fieldUsage,
+			IdUseSet mthUsage, IdUseSet mthUses,
+			IdUseSet unresolvedMthUsage, MethodInfo[] unresolvedMethods, BitSet selfCalls) {
 		this.root = root;
+		this.index = index;
+		this.clsDeps = clsDeps;
+		this.clsUsage = clsUsage;
+		this.clsUseInMth = clsUseInMth;
+		this.fieldUsage = fieldUsage;
+		this.mthUsage = mthUsage;
+		this.mthUses = mthUses;
+		this.unresolvedMthUsage = unresolvedMthUsage;
+		this.unresolvedMethods = unresolvedMethods;
+		this.selfCalls = selfCalls;
 	}
 
 	@Override
 	public void apply() {
-		clsDeps.visit((cls, deps) -> cls.setDependencies(sortedList(deps)));
-		clsUsage.visit((cls, deps) -> cls.setUseIn(sortedList(deps)));
-		clsUseInMth.visit((cls, methods) -> cls.setUseInMth(resolveMthList(sortedList(methods))));
-		fieldUsage.visit((field, methods) -> field.setUseIn(resolveMthList(sortedList(methods))));
-		mthUsage.visit((mth, methods) -> mth.setUseIn(resolveMthList(sortedList(methods))));
-		mthUses.visit((mth, methods) -> mth.setUsed(resolveMthList(sortedList(methods))));
-		unresolvedMthUsage.visit((mth, unresolvedMethods) -> mth.setUnresolvedUsed(sortedList(unresolvedMethods)));
-		selfCalls.forEach(MethodNode::setCallsSelf);
+		// class and method usage available from graph, only data not included in graph set into nodes
+		root.setUsageGraph(getGraph());
+		visitRows(fieldUsage, index::getFieldNode, index::getMethodNode, FieldNode::setUseIn);
+		visitRows(unresolvedMthUsage, index::getMethodNode, this::getUnresolvedMth, MethodNode::setUnresolvedUsed);
+		for (int mthId = selfCalls.nextSetBit(0); mthId >= 0; mthId = selfCalls.nextSetBit(mthId + 1)) {
+			index.getMethodNode(mthId).setCallsSelf(true);
+		}
 	}
 
 	@Override
 	public void applyForClass(ClassNode cls) {
-		cls.setDependencies(sortedList(clsDeps.getOrDefault(cls, Collections.emptySet())));
-		cls.setUseIn(sortedList(clsUsage.getOrDefault(cls, Collections.emptySet())));
-		cls.setUseInMth(resolveMthList(sortedList(clsUseInMth.getOrDefault(cls, Collections.emptySet()))));
+		index.updateNodes(cls);
+		UsageGraph graph = getGraph();
+		// reset usage changed at previous class processing
+		cls.setDependencies(graph.getDependencies(cls));
+		cls.setUseIn(graph.getUseIn(cls));
+		cls.setUseInMth(graph.getUseInMth(cls));
 		for (FieldNode fld : cls.getFields()) {
-			fld.setUseIn(resolveMthList(sortedList(fieldUsage.getOrDefault(fld, Collections.emptySet()))));
+			fld.setUseIn(fieldUsage.getList(index.getId(fld), index::getMethodNode));
 		}
+		// methods recreated on class reload, so method usage taken from graph without own lists
 		for (MethodNode mth : cls.getMethods()) {
-			mth.setUseIn(resolveMthList(sortedList(mthUsage.getOrDefault(mth, Collections.emptySet()))));
-			mth.setUsed(resolveMthList(sortedList(mthUses.getOrDefault(mth, Collections.emptySet()))));
-			mth.setUnresolvedUsed(sortedList(unresolvedMthUsage.getOrDefault(mth, Collections.emptySet())));
-			mth.setCallsSelf(selfCalls.getOrDefault(mth, false));
+			int mthId = index.getId(mth);
+			mth.setUnresolvedUsed(unresolvedMthUsage.getList(mthId, this::getUnresolvedMth));
+			mth.setCallsSelf(mthId != -1 && selfCalls.get(mthId));
 		}
 	}
 
 	@Override
 	public void visitUsageData(IUsageInfoVisitor visitor) {
-		clsDeps.visit((cls, deps) -> visitor.visitClassDeps(cls, sortedList(deps)));
-		clsUsage.visit((cls, deps) -> visitor.visitClassUsage(cls, sortedList(deps)));
-		clsUseInMth.visit((cls, methods) -> visitor.visitClassUseInMethods(cls, resolveMthList(sortedList(methods))));
-		fieldUsage.visit((field, methods) -> visitor.visitFieldsUsage(field, resolveMthList(sortedList(methods))));
-		mthUsage.visit((mth, methods) -> visitor.visitMethodsUsage(mth, resolveMthList(sortedList(methods))));
-		mthUses.visit((mth, methods) -> visitor.visitMethodsUses(mth, resolveMthList(sortedList(methods))));
-		unresolvedMthUsage.visit((mth, unresolvedMethods) -> visitor.visitUnresolvedMethodsUsage(mth, sortedList(unresolvedMethods)));
-		for (Entry<MethodNode, Boolean> entry : selfCalls.entrySet()) {
-			MethodNode mth = entry.getKey();
-			Boolean selfCall = entry.getValue();
-			visitor.visitIsSelfCall(mth, selfCall);
+		visitRows(clsDeps, index::getClassNode, index::getClassNode, visitor::visitClassDeps);
+		visitRows(clsUsage, index::getClassNode, index::getClassNode, visitor::visitClassUsage);
+		visitRows(clsUseInMth, index::getClassNode, index::getMethodNode, visitor::visitClassUseInMethods);
+		visitRows(fieldUsage, index::getFieldNode, index::getMethodNode, visitor::visitFieldsUsage);
+		visitRows(mthUsage, index::getMethodNode, index::getMethodNode, visitor::visitMethodsUsage);
+		visitRows(mthUses, index::getMethodNode, index::getMethodNode, visitor::visitMethodsUses);
+		visitRows(unresolvedMthUsage, index::getMethodNode, this::getUnresolvedMth, visitor::visitUnresolvedMethodsUsage);
+		for (int mthId = selfCalls.nextSetBit(0); mthId >= 0; mthId = selfCalls.nextSetBit(mthId + 1)) {
+			visitor.visitIsSelfCall(index.getMethodNode(mthId), true);
 		}
 		visitor.visitComplete();
 	}
 
-	public void clsUse(ClassNode cls, ArgType useType) {
-		processType(useType, depCls -> clsUse(cls, depCls));
-	}
-
-	public void clsUse(MethodNode mth, ArgType useType) {
-		processType(useType, depCls -> clsUse(mth, depCls));
-	}
-
-	public void clsUse(ICodeNode node, ArgType useType) {
-		Consumer<ClassNode> consumer;
-		switch (node.getAnnType()) {
-			case CLASS:
-				ClassNode cls = (ClassNode) node;
-				consumer = depCls -> clsUse(cls, depCls);
-				break;
-			case METHOD:
-				MethodNode mth = (MethodNode) node;
-				consumer = depCls -> clsUse(mth, depCls);
-				break;
-			case FIELD:
-				FieldNode fld = (FieldNode) node;
-				ClassNode fldCls = fld.getParentClass();
-				consumer = depCls -> clsUse(fldCls, depCls);
-				break;
-			default:
-				throw new JadxRuntimeException("Unexpected use type: " + node.getAnnType());
-		}
-		processType(useType, consumer);
-	}
-
-	public void clsUse(MethodNode mth, ClassNode useCls) {
-		ClassNode parentClass = mth.getParentClass();
-		clsUse(parentClass, useCls);
-		if (parentClass != useCls) {
-			// exclude class usage in self methods
-			clsUseInMth.add(useCls, mth);
-		}
-	}
-
-	public void clsUse(ClassNode cls, ClassNode depCls) {
-		ClassNode topParentClass = cls.getTopParentClass();
-		clsDeps.add(topParentClass, depCls.getTopParentClass());
-
-		clsUsage.add(depCls, cls);
-		clsUsage.add(depCls, topParentClass);
-	}
-
 	/**
-	 * Add method usage: {@code useMth} occurrence found in {@code mth} code
+	 * Visit only keys with not empty uses set
 	 */
-	public void methodUse(MethodNode mth, MethodNode useMth) {
-		clsUse(mth, useMth.getParentClass());
-		mthUsage.add(useMth, mth); // useMth is used in mth
-		mthUses.add(mth, useMth); // mth uses useMth
-		if (mth == useMth) {
-			selfCalls.put(mth, true);
+	private static <K, V> void visitRows(IdUseSet useSet, IntFunction<K> keyMapper, IntFunction<V> valueMapper,
+			BiConsumer<K, List<V>> consumer) {
+		for (int id = 0, count = useSet.getKeysCount(); id < count; id++) {
+			if (!useSet.isEmpty(id)) {
+				consumer.accept(keyMapper.apply(id), useSet.getList(id, valueMapper));
+			}
 		}
-		// implicit usage
-		clsUse(mth, useMth.getReturnType());
-		useMth.getMethodInfo().getArgumentsTypes().forEach(argType -> clsUse(mth, argType));
 	}
 
-	/**
-	 * Add method usage: {@code useMth} occurrence found in {@code mth} code
-	 */
-	public void unresolvedMethodUse(MethodNode mth, MethodInfo useMth) {
-		if (useMth.getRawFullId().equals("java.lang.Object.<init>()V")) {
-			// ignore default object constructor (called in every constructor)
-			return;
-		}
-		unresolvedMthUsage.add(mth, useMth);
+	private MethodInfo getUnresolvedMth(int idx) {
+		return unresolvedMethods[idx];
 	}
 
-	public void fieldUse(MethodNode mth, FieldNode useFld) {
-		clsUse(mth, useFld.getParentClass());
-		fieldUsage.add(useFld, mth);
-		// implicit usage
-		clsUse(mth, useFld.getType());
+	private synchronized UsageGraph getGraph() {
+		if (graph == null) {
+			graph = new UsageGraph(index, clsDeps, clsUsage, clsUseInMth, mthUsage, mthUses);
+		}
+		return graph;
 	}
 
-	public void fieldUse(ICodeNode node, FieldInfo useFld) {
-		FieldNode fld = root.resolveField(useFld);
-		if (fld == null) {
-			return;
-		}
-		switch (node.getAnnType()) {
-			case CLASS:
-				// TODO: support "field in class" usage?
-				// now use field parent class for "class in class" usage
-				clsUse((ClassNode) node, fld.getParentClass());
-				break;
-			case METHOD:
-				fieldUse((MethodNode) node, fld);
-				break;
-		}
+	UsageNodesIndex getIndex() {
+		return index;
 	}
 
-	/**
-	 * Visit all class nodes found in subtypes of the provided type.
-	 */
-	private void processType(ArgType type, Consumer<ClassNode> consumer) {
-		if (type == null || type == ArgType.OBJECT) {
-			return;
-		}
-		if (type.isArray()) {
-			processType(type.getArrayRootElement(), consumer);
-			return;
-		}
-		if (type.isObject()) {
-			// TODO: support custom handlers via API
-			ClspClass clsDetails = root.getClsp().getClsDetails(type);
-			if (clsDetails != null && clsDetails.getSource() == ClspClassSource.APACHE_HTTP_LEGACY_CLIENT) {
-				root.getGradleInfoStorage().setUseApacheHttpLegacy(true);
-			}
-			ClassNode clsNode = root.resolveClass(type);
-			if (clsNode != null) {
-				consumer.accept(clsNode);
-			}
-			List<ArgType> genericTypes = type.getGenericTypes();
-			if (notEmpty(genericTypes)) {
-				for (ArgType argType : genericTypes) {
-					processType(argType, consumer);
-				}
-			}
-			List<ArgType> extendTypes = type.getExtendTypes();
-			if (notEmpty(extendTypes)) {
-				for (ArgType extendType : extendTypes) {
-					processType(extendType, consumer);
-				}
-			}
-			ArgType wildcardType = type.getWildcardType();
-			if (wildcardType != null) {
-				processType(wildcardType, consumer);
-			}
-			// TODO: process 'outer' types (check TestOuterGeneric test)
-		}
+	IdUseSet[] getUseSets() {
+		return new IdUseSet[] { clsDeps, clsUsage, clsUseInMth, fieldUsage, mthUsage, mthUses, unresolvedMthUsage };
 	}
 
-	private static <T extends Comparable<T>> List<T> sortedList(Set<T> nodes) {
-		if (nodes == null || nodes.isEmpty()) {
-			return Collections.emptyList();
-		}
-		List<T> list = new ArrayList<>(nodes);
-		Collections.sort(list);
-		return list;
+	MethodInfo[] getUnresolvedMethods() {
+		return unresolvedMethods;
 	}
 
-	private List<MethodNode> resolveMthList(List<MethodNode> mthNodeList) {
-		return Utils.collectionMap(mthNodeList,
-				m -> root.resolveDirectMethod(m.getParentClass().getRawName(), m.getMethodInfo().getShortId()));
+	BitSet getSelfCalls() {
+		return selfCalls;
 	}
 }
@@ -0,0 +1,287 @@
+package jadx.core.dex.visitors.usage;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.codegen.TypeGen;
+import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Binary file format for {@link UsageInfo}.
+ * <br>
+ * All nodes referenced by ids from {@link UsageNodesIndex}, names saved only to check
+ * that ids are the same for current nodes. Use sets saved as int arrays and used directly
+ * from memory mapped file, so data for any class can be applied without full file decoding.
+ * <br>
+ * Layout (big endian):
+ * <pre>
+ * header: magic, version, flags, classes/methods/fields/unresolved methods count
+ * strings pool: count, (bytes length, utf-8 bytes)*
+ * classes: (name string id, methods count, fields count)*
+ * methods: (short id string id)* in ids order
+ * fields: (short id string id)* in ids order
+ * unresolved methods: (class type, name, return type, args count, arg types*)* as string ids
+ * use sets: 7 x (keys count, values count, offsets, values)
+ * self calls: longs count, bit set longs
+ * </pre>
+ */
+public final class UsageInfoFile {
+	private static final Logger LOG = LoggerFactory.getLogger(UsageInfoFile.class);
+
+	private static final int MAGIC = 0x4A555347; // "JUSG"
+	private static final int VERSION = 1;
+
+	private static final int HEADER_SIZE = 7 * Integer.BYTES;
+
+	private static final int FLAG_APACHE_HTTP_LEGACY = 1;
+
+	public static void save(RootNode root, UsageInfo usageInfo, Path file) throws IOException {
+		UsageNodesIndex index = usageInfo.getIndex();
+		MethodInfo[] unresolvedMethods = usageInfo.getUnresolvedMethods();
+		StringsPool pool = new StringsPool();
+		int clsCount = index.getClassesCount();
+		int mthCount = index.getMethodsCount();
+		int fldCount = index.getFieldsCount();
+		for (int i = 0; i < clsCount; i++) {
+			pool.add(index.getClassNode(i).getRawName());
+		}
+		for (int i = 0; i < mthCount; i++) {
+			pool.add(index.getMethodNode(i).getMethodInfo().getShortId());
+		}
+		for (int i = 0; i < fldCount; i++) {
+			pool.add(index.getFieldNode(i).getFieldInfo().getShortId());
+		}
+		for (MethodInfo mthInfo : unresolvedMethods) {
+			pool.add(TypeGen.signature(mthInfo.getDeclClass().getType()));
+			pool.add(mthInfo.getName());
+			pool.add(TypeGen.signature(mthInfo.getReturnType()));
+			for (ArgType argType : mthInfo.getArgumentsTypes()) {
+				pool.add(TypeGen.signature(argType));
+			}
+		}
+		int flags = 0;
+		if (root.getGradleInfoStorage().isUseApacheHttpLegacy()) {
+			flags |= FLAG_APACHE_HTTP_LEGACY;
+		}
+		try (OutputStream fileOut = Files.newOutputStream(file);
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(flags);
+			out.writeInt(clsCount);
+			out.writeInt(mthCount);
+			out.writeInt(fldCount);
+			out.writeInt(unresolvedMethods.length);
+			pool.write(out);
+			for (int i = 0; i < clsCount; i++) {
+				ClassNode cls = index.getClassNode(i);
+				out.writeInt(pool.get(cls.getRawName()));
+				out.writeInt(cls.getMethods().size());
+				out.writeInt(cls.getFields().size());
+			}
+			for (int i = 0; i < mthCount; i++) {
+				out.writeInt(pool.get(index.getMethodNode(i).getMethodInfo().getShortId()));
+			}
+			for (int i = 0; i < fldCount; i++) {
+				out.writeInt(pool.get(index.getFieldNode(i).getFieldInfo().getShortId()));
+			}
+			for (MethodInfo mthInfo : unresolvedMethods) {
+				out.writeInt(pool.get(TypeGen.signature(mthInfo.getDeclClass().getType())));
+				out.writeInt(pool.get(mthInfo.getName()));
+				out.writeInt(pool.get(TypeGen.signature(mthInfo.getReturnType())));
+				List<ArgType> argTypes = mthInfo.getArgumentsTypes();
+				out.writeInt(argTypes.size());
+				for (ArgType argType : argTypes) {
+					out.writeInt(pool.get(TypeGen.signature(argType)));
+				}
+			}
+			for (IdUseSet useSet : usageInfo.getUseSets()) {
+				useSet.write(out);
+			}
+			long[] selfCalls = usageInfo.getSelfCalls().toLongArray();
+			out.writeInt(selfCalls.length);
+			for (long value : selfCalls) {
+				out.writeLong(value);
+			}
+		}
+	}
+
+	/**
+	 * Map file and check that saved nodes are the same as current nodes
+	 * and all ids in use sets are in range of current nodes counts.
+	 *
+	 * @return null if file saved by other format version, for other nodes or corrupted
+	 */
+	public static @Nullable UsageInfo load(RootNode root, Path file) throws IOException {
+		MappedByteBuffer buf;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		try {
+			return read(root, file, buf);
+		} catch (RuntimeException e) {
+			// truncated file or wrong sizes and string ids
+			LOG.debug("Usage data file corrupted: {}", file, e);
+			return null;
+		}
+	}
+
+	private static @Nullable UsageInfo read(RootNode root, Path file, ByteBuffer buf) {
+		if (buf.remaining() < HEADER_SIZE || buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+			LOG.debug("Unknown usage data format in file: {}", file);
+			return null;
+		}
+		int flags = buf.getInt();
+		int clsCount = buf.getInt();
+		int mthCount = buf.getInt();
+		int fldCount = buf.getInt();
+		int unresolvedCount = buf.getInt();
+		if (unresolvedCount < 0) {
+			LOG.debug("Usage data header corrupted, file: {}", file);
+			return null;
+		}
+		UsageNodesIndex index = new UsageNodesIndex(root);
+		if (index.getClassesCount() != clsCount
+				|| index.getMethodsCount() != mthCount
+				|| index.getFieldsCount() != fldCount) {
+			LOG.debug("Usage data nodes count not match, file: {}", file);
+			return null;
+		}
+		String[] strings = readStrings(buf);
+		for (int i = 0; i < clsCount; i++) {
+			ClassNode cls = index.getClassNode(i);
+			if (!strings[buf.getInt()].equals(cls.getRawName())
+					|| buf.getInt() != cls.getMethods().size()
+					|| buf.getInt() != cls.getFields().size()) {
+				LOG.debug("Usage data classes not match, file: {}", file);
+				return null;
+			}
+		}
+		for (int i = 0; i < mthCount; i++) {
+			if (!strings[buf.getInt()].equals(index.getMethodNode(i).getMethodInfo().getShortId())) {
+				LOG.debug("Usage data methods not match, file: {}", file);
+				return null;
+			}
+		}
+		for (int i = 0; i < fldCount; i++) {
+			if (!strings[buf.getInt()].equals(index.getFieldNode(i).getFieldInfo().getShortId())) {
+				LOG.debug("Usage data fields not match, file: {}", file);
+				return null;
+			}
+		}
+		MethodInfo[] unresolvedMethods = new MethodInfo[unresolvedCount];
+		for (int i = 0; i < unresolvedCount; i++) {
+			ClassInfo declCls = ClassInfo.fromType(root, ArgType.parse(strings[buf.getInt()]));
+			String name = strings[buf.getInt()];
+			ArgType retType = ArgType.parse(strings[buf.getInt()]);
+			int argsCount = buf.getInt();
+			List<ArgType> argTypes = new ArrayList<>(argsCount);
+			for (int j = 0; j < argsCount; j++) {
+				argTypes.add(ArgType.parse(strings[buf.getInt()]));
+			}
+			unresolvedMethods[i] = MethodInfo.fromDetails(root, declCls, name, argTypes, retType);
+		}
+		IdUseSet clsDeps = IdUseSet.read(buf);
+		IdUseSet clsUsage = IdUseSet.read(buf);
+		IdUseSet clsUseInMth = IdUseSet.read(buf);
+		IdUseSet fieldUsage = IdUseSet.read(buf);
+		IdUseSet mthUsage = IdUseSet.read(buf);
+		IdUseSet mthUses = IdUseSet.read(buf);
+		IdUseSet unresolvedMthUsage = IdUseSet.read(buf);
+		if (!clsDeps.isValid(clsCount, clsCount)
+				|| !clsUsage.isValid(clsCount, clsCount)
+				|| !clsUseInMth.isValid(clsCount, mthCount)
+				|| !fieldUsage.isValid(fldCount, mthCount)
+				|| !mthUsage.isValid(mthCount, mthCount)
+				|| !mthUses.isValid(mthCount, mthCount)
+				|| !unresolvedMthUsage.isValid(mthCount, unresolvedCount)) {
+			LOG.debug("Usage data ids out of nodes range, file: {}", file);
+			return null;
+		}
+		long[] selfCallsLongs = new long[buf.getInt()];
+		buf.asLongBuffer().get(selfCallsLongs);
+		buf.position(buf.position() + selfCallsLongs.length * Long.BYTES);
+		BitSet selfCalls = BitSet.valueOf(selfCallsLongs);
+		if (selfCalls.length() > mthCount || buf.hasRemaining()) {
+			LOG.debug("Usage data self calls not match, file: {}", file);
+			return null;
+		}
+
+		if ((flags & FLAG_APACHE_HTTP_LEGACY) != 0) {
+			root.getGradleInfoStorage().setUseApacheHttpLegacy(true);
+		}
+		return new UsageInfo(root, index, clsDeps, clsUsage, clsUseInMth, fieldUsage, mthUsage, mthUses,
+				unresolvedMthUsage, unresolvedMethods, selfCalls);
+	}
+
+	private static String[] readStrings(ByteBuffer buf) {
+		int count = buf.getInt();
+		if (count < 0 || count > buf.remaining() / Integer.BYTES) {
+			throw new IllegalArgumentException("Wrong strings count: " + count);
+		}
+		String[] strings = new String[count];
+		byte[] bytes = new byte[256];
+		for (int i = 0; i < count; i++) {
+			int len = buf.getInt();
+			if (len < 0 || len > buf.remaining()) {
+				throw new IllegalArgumentException("Wrong string length: " + len);
+			}
+			if (len > bytes.length) {
+				bytes = new byte[Math.max(len, bytes.length * 2)];
+			}
+			buf.get(bytes, 0, len);
+			strings[i] = new String(bytes, 0, len, StandardCharsets.UTF_8);
+		}
+		return strings;
+	}
+
+	private static final class StringsPool {
+		private final Map<String, Integer> map = new HashMap<>();
+		private final List<String> list = new ArrayList<>();
+
+		void add(String str) {
+			if (!map.containsKey(str)) {
+				map.put(str, list.size());
+				list.add(str);
+			}
+		}
+
+		int get(String str) {
+			return map.get(str);
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			out.writeInt(list.size());
+			for (String str : list) {
+				byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+		}
+	}
+
+	private UsageInfoFile() {
+	}
+}
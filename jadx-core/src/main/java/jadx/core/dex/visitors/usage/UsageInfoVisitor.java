@@ -1,5 +1,6 @@
 package jadx.core.dex.visitors.usage;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -37,6 +38,7 @@
 import jadx.core.utils.ListUtils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.input.InsnDataUtils;
+import jadx.core.utils.tasks.DecompileThreads;
 
 @JadxVisitor(
 		name = "UsageInfoVisitor",
@@ -75,48 +77,80 @@ private static void apply(IUsageInfoData usageInfoData) {
 		}
 	}
 
+	/**
+	 * Collect usage in parallel: each thread fills own collector, collected ids merged into one sorted data.
+	 */
 	private static IUsageInfoData buildUsageData(RootNode root) {
-		UsageInfo usageInfo = new UsageInfo(root);
-		for (ClassNode cls : root.getClasses()) {
-			processClass(cls, usageInfo);
+		long start = System.currentTimeMillis();
+		UsageNodesIndex index = new UsageNodesIndex(root);
+		List<ClassNode> classes = root.getClasses();
+		DecompileThreads threads = root.getDecompileThreads();
+		List<UsageCollector> collectors;
+		if (threads == null || classes.size() <= 1) {
+			UsageCollector collector = new UsageCollector(root, index);
+			for (ClassNode cls : classes) {
+				processClass(cls, collector);
+			}
+			collectors = Collections.singletonList(collector);
+		} else {
+			collectors = collectInParallel(root, index, classes, threads);
+		}
+		UsageInfo usageInfo = UsageInfo.build(root, index, collectors);
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Usage data collected in {}ms, collectors: {}", System.currentTimeMillis() - start, collectors.size());
 		}
 		return usageInfo;
 	}
 
-	private static void processClass(ClassNode cls, UsageInfo usageInfo) {
-		usageInfo.clsUse(cls, cls.getSuperClass());
+	private static List<UsageCollector> collectInParallel(RootNode root, UsageNodesIndex index,
+			List<ClassNode> classes, DecompileThreads threads) {
+		List<UsageCollector> collectors = Collections.synchronizedList(new ArrayList<>());
+		try {
+			threads.runParallel(classes.size(), () -> {
+				UsageCollector collector = new UsageCollector(root, index);
+				collectors.add(collector);
+				return idx -> processClass(classes.get(idx), collector);
+			});
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Usage info collection failed", e);
+		}
+		return new ArrayList<>(collectors);
+	}
+
+	public static void processClass(ClassNode cls, UsageCollector collector) {
+		collector.clsUse(cls, cls.getSuperClass());
 		for (ArgType interfaceType : cls.getInterfaces()) {
-			usageInfo.clsUse(cls, interfaceType);
+			collector.clsUse(cls, interfaceType);
 		}
 		for (ArgType genericTypeParameter : cls.getGenericTypeParameters()) {
-			usageInfo.clsUse(cls, genericTypeParameter);
+			collector.clsUse(cls, genericTypeParameter);
 		}
 		for (FieldNode fieldNode : cls.getFields()) {
-			usageInfo.clsUse(cls, fieldNode.getType());
-			processAnnotations(fieldNode, usageInfo);
+			collector.clsUse(cls, fieldNode.getType());
+			processAnnotations(fieldNode, collector);
 			// TODO: process types from field 'constant value'
 		}
-		processAnnotations(cls, usageInfo);
+		processAnnotations(cls, collector);
 		for (MethodNode methodNode : cls.getMethods()) {
-			processMethod(methodNode, usageInfo);
+			processMethod(methodNode, collector);
 		}
 	}
 
-	private static void processMethod(MethodNode mth, UsageInfo usageInfo) {
-		processMethodAnnotations(mth, usageInfo);
-		usageInfo.clsUse(mth, mth.getReturnType());
+	private static void processMethod(MethodNode mth, UsageCollector collector) {
+		processMethodAnnotations(mth, collector);
+		collector.clsUse(mth, mth.getReturnType());
 		for (ArgType argType : mth.getArgTypes()) {
-			usageInfo.clsUse(mth, argType);
+			collector.clsUse(mth, argType);
 		}
 		// TODO: process exception classes from 'throws'
 		try {
-			processInstructions(mth, usageInfo);
+			processInstructions(mth, collector);
 		} catch (Exception e) {
 			mth.addError("Dependency scan failed", e);
 		}
 	}
 
-	private static void processInstructions(MethodNode mth, UsageInfo usageInfo) {
+	private static void processInstructions(MethodNode mth, UsageCollector collector) {
 		if (mth.isNoCode()) {
 			return;
 		}
@@ -127,7 +161,7 @@ private static void processInstructions(MethodNode mth, UsageInfo usageInfo) {
 		RootNode root = mth.root();
 		codeReader.visitInstructions(insnData -> {
 			try {
-				processInsn(root, mth, insnData, usageInfo);
+				processInsn(root, mth, insnData, collector);
 			} catch (Exception e) {
 				throw new JadxRuntimeException(
 						"Usage info collection failed with error: " + e.getMessage() + " at insn: " + insnData, e);
@@ -135,7 +169,7 @@ private static void processInstructions(MethodNode mth, UsageInfo usageInfo) {
 		});
 	}
 
-	private static void processInsn(RootNode root, MethodNode mth, InsnData insnData, UsageInfo usageInfo) {
+	private static void processInsn(RootNode root, MethodNode mth, InsnData insnData, UsageCollector collector) {
 		if (insnData.getOpcode() == Opcode.UNKNOWN) {
 			return;
 		}
@@ -143,14 +177,14 @@ private static void processInsn(RootNode root, MethodNode mth, InsnData insnData
 			case TYPE_REF:
 				insnData.decode();
 				ArgType usedType = ArgType.parse(insnData.getIndexAsType());
-				usageInfo.clsUse(mth, usedType);
+				collector.clsUse(mth, usedType);
 				break;
 
 			case FIELD_REF:
 				insnData.decode();
 				FieldNode fieldNode = root.resolveField(FieldInfo.fromRef(root, insnData.getIndexAsField()));
 				if (fieldNode != null) {
-					usageInfo.fieldUse(mth, fieldNode);
+					collector.fieldUse(mth, fieldNode);
 				}
 				break;
 
@@ -166,9 +200,9 @@ private static void processInsn(RootNode root, MethodNode mth, InsnData insnData
 				MethodInfo mthInfo = MethodInfo.fromRef(root, mthRef);
 				MethodNode methodNode = root.resolveMethod(mthInfo);
 				if (methodNode != null) {
-					usageInfo.methodUse(mth, methodNode);
+					collector.methodUse(mth, methodNode);
 				} else {
-					usageInfo.unresolvedMethodUse(mth, mthInfo);
+					collector.unresolvedMethodUse(mth, mthInfo);
 				}
 				break;
 			}
@@ -183,9 +217,9 @@ private static void processInsn(RootNode root, MethodNode mth, InsnData insnData
 						MethodInfo mthInfo = MethodInfo.fromRef(root, mthRef);
 						MethodNode mthNode = root.resolveMethod(mthInfo);
 						if (mthNode != null) {
-							usageInfo.methodUse(mth, mthNode);
+							collector.methodUse(mth, mthNode);
 						} else {
-							usageInfo.unresolvedMethodUse(mth, mthInfo);
+							collector.unresolvedMethodUse(mth, mthInfo);
 						}
 					}
 				}
@@ -194,61 +228,61 @@ private static void processInsn(RootNode root, MethodNode mth, InsnData insnData
 		}
 	}
 
-	private static void processAnnotations(ICodeNode node, UsageInfo usageInfo) {
+	private static void processAnnotations(ICodeNode node, UsageCollector collector) {
 		AnnotationsAttr annAttr = node.get(JadxAttrType.ANNOTATION_LIST);
-		processAnnotationAttr(node, annAttr, usageInfo);
+		processAnnotationAttr(node, annAttr, collector);
 	}
 
-	private static void processMethodAnnotations(MethodNode mth, UsageInfo usageInfo) {
-		processAnnotations(mth, usageInfo);
+	private static void processMethodAnnotations(MethodNode mth, UsageCollector collector) {
+		processAnnotations(mth, collector);
 		AnnotationMethodParamsAttr paramsAttr = mth.get(JadxAttrType.ANNOTATION_MTH_PARAMETERS);
 		if (paramsAttr != null) {
 			for (AnnotationsAttr annAttr : paramsAttr.getParamList()) {
-				processAnnotationAttr(mth, annAttr, usageInfo);
+				processAnnotationAttr(mth, annAttr, collector);
 			}
 		}
 	}
 
-	private static void processAnnotationAttr(ICodeNode node, AnnotationsAttr annAttr, UsageInfo usageInfo) {
+	private static void processAnnotationAttr(ICodeNode node, AnnotationsAttr annAttr, UsageCollector collector) {
 		if (annAttr == null || annAttr.isEmpty()) {
 			return;
 		}
 		for (IAnnotation ann : annAttr.getList()) {
-			processAnnotation(node, ann, usageInfo);
+			processAnnotation(node, ann, collector);
 		}
 	}
 
-	private static void processAnnotation(ICodeNode node, IAnnotation ann, UsageInfo usageInfo) {
-		usageInfo.clsUse(node, ArgType.parse(ann.getAnnotationClass()));
+	private static void processAnnotation(ICodeNode node, IAnnotation ann, UsageCollector collector) {
+		collector.clsUse(node, ArgType.parse(ann.getAnnotationClass()));
 		for (EncodedValue value : ann.getValues().values()) {
-			processAnnotationValue(node, value, usageInfo);
+			processAnnotationValue(node, value, collector);
 		}
 	}
 
 	@SuppressWarnings("unchecked")
-	private static void processAnnotationValue(ICodeNode node, EncodedValue value, UsageInfo usageInfo) {
+	private static void processAnnotationValue(ICodeNode node, EncodedValue value, UsageCollector collector) {
 		Object obj = value.getValue();
 		switch (value.getType()) {
 			case ENCODED_TYPE:
-				usageInfo.clsUse(node, ArgType.parse((String) obj));
+				collector.clsUse(node, ArgType.parse((String) obj));
 				break;
 			case ENCODED_ENUM:
 			case ENCODED_FIELD:
 				if (obj instanceof IFieldRef) {
-					usageInfo.fieldUse(node, FieldInfo.fromRef(node.root(), (IFieldRef) obj));
+					collector.fieldUse(node, FieldInfo.fromRef(node.root(), (IFieldRef) obj));
 				} else if (obj instanceof FieldInfo) {
-					usageInfo.fieldUse(node, (FieldInfo) obj);
+					collector.fieldUse(node, (FieldInfo) obj);
 				} else {
 					throw new JadxRuntimeException("Unexpected field type class: " + value.getClass());
 				}
 				break;
 			case ENCODED_ARRAY:
 				for (EncodedValue encodedValue : (List<EncodedValue>) obj) {
-					processAnnotationValue(node, encodedValue, usageInfo);
+					processAnnotationValue(node, encodedValue, collector);
 				}
 				break;
 			case ENCODED_ANNOTATION:
-				processAnnotation(node, (IAnnotation) obj, usageInfo);
+				processAnnotation(node, (IAnnotation) obj, collector);
 				break;
 		}
 	}
@@ -0,0 +1,179 @@
+package jadx.core.dex.visitors.usage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Dense int ids for classes, methods and fields used in usage data.
+ * <br>
+ * Ids assigned in natural nodes order: classes sorted by raw name,
+ * methods grouped by class and sorted by short id inside class.
+ * So list of nodes restored from sorted ids is also sorted.
+ * <br>
+ * Assigned id also saved in node for fast lookup,
+ * nodes recreated on class reload found by short id.
+ */
+public final class UsageNodesIndex {
+	private final ClassNode[] classes;
+	private final MethodNode[] methods;
+	private final FieldNode[] fields;
+	/**
+	 * Class id -> first method id, last element is methods count
+	 */
+	private final int[] clsMthStart;
+	/**
+	 * Class id -> first field id, last element is fields count
+	 */
+	private final int[] clsFldStart;
+
+	public UsageNodesIndex(RootNode root) {
+		List<ClassNode> clsList = new ArrayList<>(root.getClasses());
+		Collections.sort(clsList);
+		int clsCount = clsList.size();
+		this.classes = clsList.toArray(new ClassNode[0]);
+		this.clsMthStart = new int[clsCount + 1];
+		this.clsFldStart = new int[clsCount + 1];
+		int mthCount = 0;
+		int fldCount = 0;
+		for (int i = 0; i < clsCount; i++) {
+			ClassNode cls = classes[i];
+			cls.setUsageId(i);
+			clsMthStart[i] = mthCount;
+			clsFldStart[i] = fldCount;
+			mthCount += cls.getMethods().size();
+			fldCount += cls.getFields().size();
+		}
+		clsMthStart[clsCount] = mthCount;
+		clsFldStart[clsCount] = fldCount;
+
+		this.methods = new MethodNode[mthCount];
+		this.fields = new FieldNode[fldCount];
+		for (int i = 0; i < clsCount; i++) {
+			ClassNode cls = classes[i];
+			List<MethodNode> clsMethods = new ArrayList<>(cls.getMethods());
+			Collections.sort(clsMethods);
+			int mthId = clsMthStart[i];
+			for (MethodNode mth : clsMethods) {
+				mth.setUsageId(mthId);
+				methods[mthId++] = mth;
+			}
+			int fldId = clsFldStart[i];
+			for (FieldNode fld : cls.getFields()) {
+				fld.setUsageId(fldId);
+				fields[fldId++] = fld;
+			}
+		}
+	}
+
+	public int getClassesCount() {
+		return classes.length;
+	}
+
+	public int getMethodsCount() {
+		return methods.length;
+	}
+
+	public int getFieldsCount() {
+		return fields.length;
+	}
+
+	public ClassNode getClassNode(int id) {
+		return classes[id];
+	}
+
+	public MethodNode getMethodNode(int id) {
+		return methods[id];
+	}
+
+	public FieldNode getFieldNode(int id) {
+		return fields[id];
+	}
+
+	/**
+	 * Replace methods and fields recreated on class reload,
+	 * so usage views from {@link UsageGraph} return actual nodes
+	 */
+	void updateNodes(ClassNode cls) {
+		if (getId(cls) == -1) {
+			return;
+		}
+		for (MethodNode mth : cls.getMethods()) {
+			int id = getId(mth);
+			if (id != -1) {
+				mth.setUsageId(id);
+				methods[id] = mth;
+			}
+		}
+		for (FieldNode fld : cls.getFields()) {
+			int id = getId(fld);
+			if (id != -1) {
+				fld.setUsageId(id);
+				fields[id] = fld;
+			}
+		}
+	}
+
+	/**
+	 * Return class id or -1 if class not indexed
+	 */
+	public int getId(@Nullable ClassNode cls) {
+		if (cls == null) {
+			return -1;
+		}
+		int id = cls.getUsageId();
+		if (id >= 0 && id < classes.length && classes[id] == cls) {
+			return id;
+		}
+		return -1;
+	}
+
+	/**
+	 * Return method id or -1 if method not indexed
+	 */
+	public int getId(MethodNode mth) {
+		int id = mth.getUsageId();
+		if (id >= 0 && id < methods.length && methods[id] == mth) {
+			return id;
+		}
+		int clsId = getId(mth.getParentClass());
+		if (clsId == -1) {
+			return -1;
+		}
+		String shortId = mth.getMethodInfo().getShortId();
+		for (int i = clsMthStart[clsId], end = clsMthStart[clsId + 1]; i < end; i++) {
+			if (methods[i].getMethodInfo().getShortId().equals(shortId)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Return field id or -1 if field not indexed
+	 */
+	public int getId(FieldNode fld) {
+		int id = fld.getUsageId();
+		if (id >= 0 && id < fields.length && fields[id] == fld) {
+			return id;
+		}
+		int clsId = getId(fld.getParentClass());
+		if (clsId == -1) {
+			return -1;
+		}
+		String shortId = fld.getFieldInfo().getShortId();
+		for (int i = clsFldStart[clsId], end = clsFldStart[clsId + 1]; i < end; i++) {
+			if (fields[i].getFieldInfo().getShortId().equals(shortId)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -2,9 +2,10 @@
 
 public class GradleInfoStorage {
 
-	private boolean vectorPathData;
+	// set during concurrent XML decoding
+	private volatile boolean vectorPathData;
 
-	private boolean vectorFillType;
+	private volatile boolean vectorFillType;
 
 	private boolean useApacheHttpLegacy;
 
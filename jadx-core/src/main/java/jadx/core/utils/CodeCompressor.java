@@ -0,0 +1,200 @@
+package jadx.core.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.zip.io.InflaterPool;
+
+/**
+ * Compress code strings using deflate with optional shared dictionary.
+ * <br>
+ * Dictionary can be provided or trained on first added strings (see {@link #CodeCompressor(int)}).
+ * Strings compressed before dictionary creation still can be decompressed,
+ * but dictionary should be saved to decompress data after restart.
+ * <br>
+ * Data format: 1 byte flags, 4 bytes decompressed size, raw deflate stream.
+ */
+public class CodeCompressor {
+
+	/**
+	 * Deflate can't reference data beyond 32KB window
+	 */
+	public static final int MAX_DICT_SIZE = 32 * 1024;
+
+	private static final byte FLAG_NO_DICT = 0;
+	private static final byte FLAG_DICT = 1;
+	private static final int HEADER_SIZE = 5;
+
+	private final int trainSamplesCount;
+	private final List<String> samples;
+	private volatile @Nullable byte[] dictionary;
+
+	/**
+	 * Train dictionary on first {@code trainSamplesCount} compressed strings.
+	 * Use zero to disable dictionary.
+	 */
+	public CodeCompressor(int trainSamplesCount) {
+		this.trainSamplesCount = trainSamplesCount;
+		this.samples = trainSamplesCount > 0 ? new ArrayList<>(trainSamplesCount) : null;
+	}
+
+	/**
+	 * Use already trained dictionary
+	 */
+	public CodeCompressor(byte[] dictionary) {
+		this.trainSamplesCount = 0;
+		this.samples = null;
+		this.dictionary = dictionary;
+	}
+
+	public byte[] compress(String str) {
+		byte[] dict = dictionary;
+		if (dict == null && samples != null) {
+			dict = addSample(str);
+		}
+		boolean useDict = dict != null && dict.length != 0;
+		byte[] input = str.getBytes(StandardCharsets.UTF_8);
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		try {
+			if (useDict) {
+				deflater.setDictionary(dict);
+			}
+			deflater.setInput(input);
+			deflater.finish();
+			byte[] out = new byte[HEADER_SIZE + input.length / 4 + 64];
+			int len = HEADER_SIZE;
+			while (!deflater.finished()) {
+				if (len == out.length) {
+					out = Arrays.copyOf(out, out.length * 2);
+				}
+				len += deflater.deflate(out, len, out.length - len);
+			}
+			out[0] = useDict ? FLAG_DICT : FLAG_NO_DICT;
+			writeInt(out, 1, input.length);
+			return len == out.length ? out : Arrays.copyOf(out, len);
+		} finally {
+			deflater.end();
+		}
+	}
+
+	public String decompress(byte[] data) {
+		return decompress(ByteBuffer.wrap(data));
+	}
+
+	/**
+	 * Decompress data from current position to limit of provided buffer.
+	 * Buffer position not changed.
+	 */
+	public String decompress(ByteBuffer data) {
+		ByteBuffer buf = data.duplicate().order(ByteOrder.BIG_ENDIAN);
+		byte flags = buf.get();
+		int size = buf.getInt();
+		byte[] out = new byte[size];
+		Inflater inflater = InflaterPool.acquire();
+		try {
+			if (flags == FLAG_DICT) {
+				byte[] dict = dictionary;
+				if (dict == null) {
+					throw new JadxRuntimeException("Dictionary required to decompress code");
+				}
+				inflater.setDictionary(dict);
+			}
+			inflater.setInput(buf);
+			int len = 0;
+			while (len < size) {
+				int count = inflater.inflate(out, len, size - len);
+				if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+					throw new JadxRuntimeException("Unexpected end of compressed code data");
+				}
+				len += count;
+			}
+		} catch (DataFormatException e) {
+			throw new JadxRuntimeException("Failed to decompress code", e);
+		} finally {
+			InflaterPool.release(inflater);
+		}
+		return new String(out, StandardCharsets.UTF_8);
+	}
+
+	public @Nullable byte[] getDictionary() {
+		return dictionary;
+	}
+
+	private @Nullable byte[] addSample(String str) {
+		synchronized (samples) {
+			byte[] dict = dictionary;
+			if (dict != null) {
+				return dict;
+			}
+			samples.add(str);
+			if (samples.size() < trainSamplesCount) {
+				return null;
+			}
+			dict = trainDictionary(samples, MAX_DICT_SIZE);
+			samples.clear();
+			dictionary = dict;
+			return dict;
+		}
+	}
+
+	/**
+	 * Build dictionary from lines repeated in samples.
+	 * Lines with the highest 'count * length' score placed at the end of dictionary
+	 * to have shorter match distances.
+	 */
+	public static byte[] trainDictionary(List<String> samples, int maxSize) {
+		Map<String, Integer> counts = new HashMap<>();
+		for (String sample : samples) {
+			for (String line : sample.split("\n")) {
+				if (line.length() > 2) {
+					counts.merge(line, 1, Integer::sum);
+				}
+			}
+		}
+		List<Map.Entry<String, Integer>> lines = new ArrayList<>(counts.size());
+		for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+			if (entry.getValue() > 1) {
+				lines.add(entry);
+			}
+		}
+		lines.sort((a, b) -> Long.compare(
+				(long) b.getValue() * b.getKey().length(),
+				(long) a.getValue() * a.getKey().length()));
+		List<byte[]> selected = new ArrayList<>();
+		int size = 0;
+		for (Map.Entry<String, Integer> entry : lines) {
+			byte[] bytes = (entry.getKey() + '\n').getBytes(StandardCharsets.UTF_8);
+			if (size + bytes.length > maxSize) {
+				continue;
+			}
+			selected.add(bytes);
+			size += bytes.length;
+		}
+		byte[] dict = new byte[size];
+		int pos = size;
+		for (byte[] bytes : selected) {
+			pos -= bytes.length;
+			System.arraycopy(bytes, 0, dict, pos, bytes.length);
+		}
+		return dict;
+	}
+
+	private static void writeInt(byte[] arr, int pos, int value) {
+		arr[pos] = (byte) (value >>> 24);
+		arr[pos + 1] = (byte) (value >>> 16);
+		arr[pos + 2] = (byte) (value >>> 8);
+		arr[pos + 3] = (byte) value;
+	}
+}
@@ -0,0 +1,129 @@
+package jadx.core.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jadx.api.JavaClass;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+
+/**
+ * Build decompilation batches ordered by estimated cost (largest first).
+ * Batches expected to be executed by work-stealing pool (see {@link jadx.core.utils.tasks.TaskExecutor}),
+ * so expensive classes start early and not delay the end of decompilation.
+ * <br>
+ * Cost estimated from instructions count of class methods (including inner classes).
+ */
+public class CostDecompilerScheduler extends DecompilerScheduler {
+
+	/**
+	 * Max summary cost of classes without dependencies merged into one batch
+	 */
+	private static final long MERGED_BATCH_COST = 5000;
+	private static final int MERGED_BATCH_SIZE = 64;
+
+	private static final long CLASS_BASE_COST = 10;
+	private static final long METHOD_BASE_COST = 5;
+
+	@Override
+	public List<List<JavaClass>> internalBatches(List<JavaClass> classes) {
+		Map<JavaClass, Long> costCache = new IdentityHashMap<>(classes.size());
+		Set<JavaClass> added = new HashSet<>(classes.size());
+		Comparator<JavaClass> cmpDepSize = Comparator.comparingInt(JavaClass::getTotalDepsCount);
+		List<CostBatch> batches = new ArrayList<>();
+		List<JavaClass> noDepsClasses = new ArrayList<>();
+		for (DepInfo depInfo : sumDependencies(classes)) {
+			JavaClass cls = depInfo.getCls();
+			if (!added.add(cls)) {
+				continue;
+			}
+			if (cls.getTotalDepsCount() == 0) {
+				noDepsClasses.add(cls);
+			} else {
+				List<JavaClass> batch = new ArrayList<>();
+				long cost = 0;
+				for (JavaClass dep : cls.getDependencies()) {
+					JavaClass topDep = dep.getTopParentClass();
+					if (added.add(topDep)) {
+						batch.add(topDep);
+						cost += getCost(costCache, topDep);
+					}
+				}
+				batch.sort(cmpDepSize);
+				batch.add(cls);
+				cost += getCost(costCache, cls);
+				batches.add(new CostBatch(Utils.lockList(batch), cost));
+			}
+		}
+		mergeNoDepsClasses(noDepsClasses, costCache, batches);
+		// stable sort, keep dependencies order for batches with same cost
+		batches.sort(Comparator.comparingLong(CostBatch::getCost).reversed());
+		return batches.stream().map(CostBatch::getClasses).collect(Collectors.toList());
+	}
+
+	/**
+	 * Pack classes without dependencies into batches with limited summary cost.
+	 * Expensive classes will be placed into own batch.
+	 */
+	private static void mergeNoDepsClasses(List<JavaClass> classes, Map<JavaClass, Long> costCache, List<CostBatch> batches) {
+		classes.sort(Comparator.comparingLong((JavaClass cls) -> getCost(costCache, cls)).reversed());
+		List<JavaClass> mergedBatch = new ArrayList<>();
+		long mergedCost = 0;
+		for (JavaClass cls : classes) {
+			mergedBatch.add(cls);
+			mergedCost += getCost(costCache, cls);
+			if (mergedCost >= MERGED_BATCH_COST || mergedBatch.size() >= MERGED_BATCH_SIZE) {
+				batches.add(new CostBatch(mergedBatch, mergedCost));
+				mergedBatch = new ArrayList<>();
+				mergedCost = 0;
+			}
+		}
+		if (!mergedBatch.isEmpty()) {
+			batches.add(new CostBatch(mergedBatch, mergedCost));
+		}
+	}
+
+	private static long getCost(Map<JavaClass, Long> costCache, JavaClass cls) {
+		return costCache.computeIfAbsent(cls, c -> estimateCost(c.getClassNode()));
+	}
+
+	public static long estimateCost(ClassNode cls) {
+		long cost = CLASS_BASE_COST;
+		for (MethodNode mth : cls.getMethods()) {
+			cost += METHOD_BASE_COST + mth.getInsnsCount();
+		}
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			cost += estimateCost(innerCls);
+		}
+		return cost;
+	}
+
+	private static final class CostBatch {
+		private final List<JavaClass> classes;
+		private final long cost;
+
+		private CostBatch(List<JavaClass> classes, long cost) {
+			this.classes = classes;
+			this.cost = cost;
+		}
+
+		public List<JavaClass> getClasses() {
+			return classes;
+		}
+
+		public long getCost() {
+			return cost;
+		}
+
+		@Override
+		public String toString() {
+			return "CostBatch{cost=" + cost + ", classes=" + classes.size() + '}';
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package jadx.core.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.DecompilationMode;
+import jadx.api.JadxArgs;
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.attributes.nodes.DecompileModeOverrideAttr;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.exceptions.JadxTimeLimitException;
+
+/**
+ * Wall clock time limits for passes execution per method and per top level class.
+ * <br>
+ * Passes execution time accumulated in method and class nodes.
+ * Deadline for current method visit stored in thread local and checked cooperatively
+ * by long-running passes (see {@link #check()}), also limit checked after each pass.
+ * Methods exceeded the limit marked with {@link MethodNode#isTimeLimitExceeded()},
+ * processed again in simpler decompilation mode (see {@link jadx.core.ProcessClass#processTimedOutMethod})
+ * and skipped by next passes.
+ */
+public class DecompileTimeLimit {
+	private static final Logger LOG = LoggerFactory.getLogger(DecompileTimeLimit.class);
+
+	private static final long NO_DEADLINE = 0;
+
+	/**
+	 * Deadline (in {@link System#nanoTime()} units) for method currently processed in this thread
+	 */
+	private static final ThreadLocal<long[]> DEADLINE = ThreadLocal.withInitial(() -> new long[] { NO_DEADLINE });
+
+	private final long methodLimit;
+	private final long classLimit;
+
+	/**
+	 * @return null if time limits disabled
+	 */
+	public static @Nullable DecompileTimeLimit build(JadxArgs args) {
+		int methodLimitMs = args.getMethodTimeLimit();
+		int classLimitMs = args.getClassTimeLimit();
+		if (methodLimitMs <= 0 && classLimitMs <= 0) {
+			return null;
+		}
+		return new DecompileTimeLimit(toNanos(methodLimitMs), toNanos(classLimitMs));
+	}
+
+	private DecompileTimeLimit(long methodLimit, long classLimit) {
+		this.methodLimit = methodLimit;
+		this.classLimit = classLimit;
+	}
+
+	/**
+	 * Check deadline for method processed in current thread.
+	 * Should be called periodically in passes with possible long execution.
+	 *
+	 * @throws JadxTimeLimitException if time limit exceeded
+	 */
+	public static void check() {
+		long deadline = DEADLINE.get()[0];
+		if (deadline != NO_DEADLINE && System.nanoTime() - deadline > 0) {
+			throw new JadxTimeLimitException("Method processing time limit exceeded");
+		}
+	}
+
+	/**
+	 * Set deadline for current thread
+	 *
+	 * @return previous deadline for restore by {@link #restoreDeadline(long)}
+	 */
+	public long startMethodVisit(MethodNode mth, long startTime) {
+		long[] holder = DEADLINE.get();
+		long prevDeadline = holder[0];
+		long remaining = getRemainingTime(mth);
+		holder[0] = remaining == Long.MAX_VALUE ? NO_DEADLINE : startTime + remaining;
+		return prevDeadline;
+	}
+
+	public void restoreDeadline(long prevDeadline) {
+		DEADLINE.get()[0] = prevDeadline;
+	}
+
+	public void addMethodTime(MethodNode mth, long time) {
+		mth.addProcessTime(time);
+		mth.getTopParentClass().addProcessTime(time);
+	}
+
+	public void addClassTime(ClassNode cls, long time) {
+		cls.getTopParentClass().addProcessTime(time);
+	}
+
+	public boolean isExceeded(MethodNode mth) {
+		return getRemainingTime(mth) <= 0;
+	}
+
+	public void markExceeded(MethodNode mth, IDexTreeVisitor pass) {
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Processing time limit exceeded in pass '{}' for method: {}, method time: {}ms, class time: {}ms",
+					pass.getName(), mth,
+					TimeUnit.NANOSECONDS.toMillis(mth.getProcessTime()),
+					TimeUnit.NANOSECONDS.toMillis(mth.getTopParentClass().getProcessTime()));
+		}
+		mth.setTimeLimitExceeded(true);
+		mth.getTopParentClass().setTimeLimitExceeded(true);
+	}
+
+	/**
+	 * Choose simpler mode for method processing after time limit exceeded
+	 */
+	public DecompilationMode getFallbackMode(MethodNode mth) {
+		if (classLimit != 0 && mth.getTopParentClass().getProcessTime() >= classLimit) {
+			// class time already spent, use fast mode for all remaining methods
+			return DecompilationMode.FALLBACK;
+		}
+		DecompilationMode mode = getMode(mth);
+		if (mode == DecompilationMode.AUTO || mode == DecompilationMode.RESTRUCTURE) {
+			return DecompilationMode.SIMPLE;
+		}
+		return DecompilationMode.FALLBACK;
+	}
+
+	private long getRemainingTime(MethodNode mth) {
+		if (getMode(mth) == DecompilationMode.FALLBACK) {
+			// fallback mode is fast and used as last resort
+			return Long.MAX_VALUE;
+		}
+		long remaining = Long.MAX_VALUE;
+		if (methodLimit != 0) {
+			remaining = methodLimit - mth.getProcessTime();
+		}
+		if (classLimit != 0) {
+			remaining = Math.min(remaining, classLimit - mth.getTopParentClass().getProcessTime());
+		}
+		return remaining;
+	}
+
+	private static DecompilationMode getMode(MethodNode mth) {
+		DecompileModeOverrideAttr mthModeAttr = mth.get(AType.DECOMPILE_MODE_OVERRIDE);
+		if (mthModeAttr != null) {
+			return mthModeAttr.getMode();
+		}
+		DecompileModeOverrideAttr clsModeAttr = mth.getTopParentClass().get(AType.DECOMPILE_MODE_OVERRIDE);
+		if (clsModeAttr != null) {
+			return clsModeAttr.getMode();
+		}
+		return mth.root().getArgs().getDecompilationMode();
+	}
+
+	private static long toNanos(int ms) {
+		return ms <= 0 ? 0 : TimeUnit.MILLISECONDS.toNanos(ms);
+	}
+}
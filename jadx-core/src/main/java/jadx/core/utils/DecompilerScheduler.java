@@ -14,6 +14,7 @@
 
 import jadx.api.IDecompileScheduler;
 import jadx.api.JavaClass;
+import jadx.core.dex.nodes.ClassNode;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
 public class DecompilerScheduler implements IDecompileScheduler {
@@ -89,11 +90,12 @@ public List<List<JavaClass>> internalBatches(List<JavaClass> classes) {
 		return result;
 	}
 
-	private static List<DepInfo> sumDependencies(List<JavaClass> classes) {
+	static List<DepInfo> sumDependencies(List<JavaClass> classes) {
 		List<DepInfo> deps = new ArrayList<>(classes.size());
 		for (JavaClass cls : classes) {
 			int count = 0;
-			for (JavaClass dep : cls.getDependencies()) {
+			// walk class nodes directly to avoid java nodes lists creation
+			for (ClassNode dep : cls.getClassNode().getDependencies()) {
 				count += 1 + dep.getTotalDepsCount();
 			}
 			deps.add(new DepInfo(cls, count));
@@ -102,7 +104,7 @@ private static List<DepInfo> sumDependencies(List<JavaClass> classes) {
 		return deps;
 	}
 
-	private static final class DepInfo implements Comparable<DepInfo> {
+	static final class DepInfo implements Comparable<DepInfo> {
 		private final JavaClass cls;
 		private final int depsCount;
 
@@ -5,6 +5,7 @@
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -14,6 +15,8 @@
 import jadx.core.dex.attributes.AType;
 import jadx.core.dex.attributes.IAttributeNode;
 import jadx.core.dex.attributes.nodes.JadxError;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.ICodeNode;
 import jadx.core.dex.nodes.IDexNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.utils.exceptions.JadxOverflowException;
@@ -23,6 +26,10 @@ public class ErrorsCounter {
 	private static final boolean PRINT_MTH_SIZE = Consts.DEBUG;
 
 	private final Set<IAttributeNode> errorNodes = new HashSet<>();
+	/**
+	 * Top level classes with errors in class itself, its members or inner classes
+	 */
+	private final Set<ClassNode> errorClasses = ConcurrentHashMap.newKeySet();
 	private int errorsCount;
 	private final Set<IAttributeNode> warnNodes = new HashSet<>();
 	private int warnsCount;
@@ -42,6 +49,10 @@ public static String formatMsg(IDexNode node, String msg) {
 	private synchronized <N extends IDexNode & IAttributeNode> String addError(N node, String error, @Nullable Throwable e) {
 		errorNodes.add(node);
 		errorsCount++;
+		ClassNode errorCls = getTopClass(node);
+		if (errorCls != null) {
+			errorClasses.add(errorCls);
+		}
 
 		String msg = formatMsg(node, error);
 		if (PRINT_MTH_SIZE && node instanceof MethodNode) {
@@ -93,6 +104,25 @@ public void printReport() {
 		}
 	}
 
+	/**
+	 * Check if errors reported for top level class or any of its members and inner classes
+	 */
+	public boolean hasErrorsInClass(ClassNode topCls) {
+		return errorClasses.contains(topCls);
+	}
+
+	private static @Nullable ClassNode getTopClass(IAttributeNode node) {
+		ClassNode cls;
+		if (node instanceof ClassNode) {
+			cls = (ClassNode) node;
+		} else if (node instanceof ICodeNode) {
+			cls = ((ICodeNode) node).getDeclaringClass();
+		} else {
+			return null;
+		}
+		return cls == null ? null : cls.getTopParentClass();
+	}
+
 	public int getErrorCount() {
 		return errorsCount;
 	}
@@ -0,0 +1,164 @@
+package jadx.core.utils;
+
+import java.util.Objects;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Thread safe map with primitive int keys.
+ * Keys distributed between lock stripes, each stripe is an open addressing hash table,
+ * so threads working with different keys rarely wait for each other and keys are never boxed.
+ * Null values not allowed.
+ */
+public final class StripedIntMap<V> {
+	private static final int DEFAULT_STRIPES_COUNT = 64;
+	private static final int INITIAL_STRIPE_CAPACITY = 16;
+
+	private final Stripe<V>[] stripes;
+	private final int stripeShift;
+
+	public StripedIntMap() {
+		this(DEFAULT_STRIPES_COUNT);
+	}
+
+	@SuppressWarnings("unchecked")
+	public StripedIntMap(int stripesCount) {
+		if (stripesCount < 1 || Integer.bitCount(stripesCount) != 1) {
+			throw new IllegalArgumentException("Stripes count should be a power of 2: " + stripesCount);
+		}
+		this.stripes = new Stripe[stripesCount];
+		for (int i = 0; i < stripesCount; i++) {
+			stripes[i] = new Stripe<>();
+		}
+		this.stripeShift = 32 - Integer.numberOfTrailingZeros(stripesCount);
+	}
+
+	public @Nullable V get(int key) {
+		int hash = mix(key);
+		return stripeFor(hash).get(key, hash);
+	}
+
+	public void put(int key, V value) {
+		Objects.requireNonNull(value);
+		int hash = mix(key);
+		stripeFor(hash).put(key, hash, value, false);
+	}
+
+	/**
+	 * Return previous value if exists, otherwise store new value and return it.
+	 */
+	public V putIfAbsent(int key, V value) {
+		Objects.requireNonNull(value);
+		int hash = mix(key);
+		return stripeFor(hash).put(key, hash, value, true);
+	}
+
+	public int size() {
+		int size = 0;
+		for (Stripe<V> stripe : stripes) {
+			size += stripe.size();
+		}
+		return size;
+	}
+
+	public void clear() {
+		for (Stripe<V> stripe : stripes) {
+			stripe.clear();
+		}
+	}
+
+	private Stripe<V> stripeFor(int hash) {
+		if (stripeShift == 32) {
+			return stripes[0];
+		}
+		// high bits select stripe, low bits used for position inside stripe
+		return stripes[hash >>> stripeShift];
+	}
+
+	private static int mix(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private static final class Stripe<V> {
+		private int[] keys = new int[INITIAL_STRIPE_CAPACITY];
+		private Object[] values = new Object[INITIAL_STRIPE_CAPACITY];
+		private int size;
+
+		@SuppressWarnings("unchecked")
+		synchronized @Nullable V get(int key, int hash) {
+			int[] k = keys;
+			Object[] v = values;
+			int mask = k.length - 1;
+			int pos = hash & mask;
+			while (true) {
+				Object value = v[pos];
+				if (value == null) {
+					return null;
+				}
+				if (k[pos] == key) {
+					return (V) value;
+				}
+				pos = (pos + 1) & mask;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		synchronized V put(int key, int hash, V value, boolean onlyIfAbsent) {
+			int mask = keys.length - 1;
+			int pos = hash & mask;
+			while (true) {
+				Object prev = values[pos];
+				if (prev == null) {
+					keys[pos] = key;
+					values[pos] = value;
+					if (++size * 4 > keys.length * 3) {
+						resize();
+					}
+					return value;
+				}
+				if (keys[pos] == key) {
+					if (onlyIfAbsent) {
+						return (V) prev;
+					}
+					values[pos] = value;
+					return value;
+				}
+				pos = (pos + 1) & mask;
+			}
+		}
+
+		synchronized int size() {
+			return size;
+		}
+
+		synchronized void clear() {
+			keys = new int[INITIAL_STRIPE_CAPACITY];
+			values = new Object[INITIAL_STRIPE_CAPACITY];
+			size = 0;
+		}
+
+		private void resize() {
+			int[] oldKeys = keys;
+			Object[] oldValues = values;
+			int newLen = oldKeys.length * 2;
+			int mask = newLen - 1;
+			int[] newKeys = new int[newLen];
+			Object[] newValues = new Object[newLen];
+			for (int i = 0; i < oldKeys.length; i++) {
+				Object value = oldValues[i];
+				if (value != null) {
+					int key = oldKeys[i];
+					int pos = mix(key) & mask;
+					while (newValues[pos] != null) {
+						pos = (pos + 1) & mask;
+					}
+					newKeys[pos] = key;
+					newValues[pos] = value;
+				}
+			}
+			keys = newKeys;
+			values = newValues;
+		}
+	}
+}
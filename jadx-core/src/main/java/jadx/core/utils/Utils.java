@@ -17,6 +17,8 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -612,6 +614,40 @@ public static ThreadFactory simpleThreadFactory(String name) {
 		return new SimpleThreadFactory(name);
 	}
 
+	/**
+	 * Fork-join pool in async (FIFO) mode.
+	 * Idle workers steal queued tasks, so all threads stay busy until the queue is empty.
+	 */
+	public static ForkJoinPool workStealingPool(int threadsCount, String name) {
+		return new ForkJoinPool(threadsCount, new SimpleForkJoinThreadFactory(name),
+				SimpleThreadFactory.EXC_HANDLER, true);
+	}
+
+	private static final class SimpleForkJoinThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+		private final AtomicInteger number = new AtomicInteger(0);
+		private final String name;
+
+		SimpleForkJoinThreadFactory(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+			// don't use default factory: it replaces context class loader with system one
+			ForkJoinWorkerThread thread = new SimpleForkJoinWorkerThread(pool);
+			thread.setName("jadx-" + name
+					+ '-' + SimpleThreadFactory.POOL.incrementAndGet()
+					+ '-' + number.incrementAndGet());
+			return thread;
+		}
+	}
+
+	private static final class SimpleForkJoinWorkerThread extends ForkJoinWorkerThread {
+		SimpleForkJoinWorkerThread(ForkJoinPool pool) {
+			super(pool);
+		}
+	}
+
 	private static final class SimpleThreadFactory implements ThreadFactory {
 		private static final AtomicInteger POOL = new AtomicInteger(0);
 		private static final Thread.UncaughtExceptionHandler EXC_HANDLER = new SimpleUncaughtExceptionHandler();
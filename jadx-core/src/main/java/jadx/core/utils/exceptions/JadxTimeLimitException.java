@@ -0,0 +1,13 @@
+package jadx.core.utils.exceptions;
+
+/**
+ * Method processing time limit exceeded, see {@link jadx.core.utils.DecompileTimeLimit}
+ */
+public class JadxTimeLimitException extends JadxRuntimeException {
+
+	private static final long serialVersionUID = -3166046541837651463L;
+
+	public JadxTimeLimitException(String message) {
+		super(message);
+	}
+}
@@ -521,4 +521,32 @@ public static String buildInputsHash(List<Path> inputPaths) {
 			throw new JadxRuntimeException("Failed to build hash for inputs", e);
 		}
 	}
+
+	/**
+	 * Hash content of input files, don't depend on file names and timestamps.
+	 * Files order included, because it affects duplicated classes resolving.
+	 */
+	public static String buildInputsContentHash(List<Path> inputPaths) {
+		try {
+			MessageDigest md = MessageDigest.getInstance("MD5");
+			List<Path> inputFiles = FileUtils.expandDirs(inputPaths);
+			List<String> filesHashes = new ArrayList<>(inputFiles.size());
+			byte[] buffer = new byte[READ_BUFFER_SIZE];
+			for (Path inputFile : inputFiles) {
+				try (InputStream in = Files.newInputStream(inputFile)) {
+					while (true) {
+						int len = in.read(buffer);
+						if (len == -1) {
+							break;
+						}
+						md.update(buffer, 0, len);
+					}
+				}
+				filesHashes.add(bytesToHex(md.digest()));
+			}
+			return md5Sum(String.join(":", filesHashes));
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Failed to build content hash for inputs", e);
+		}
+	}
 }
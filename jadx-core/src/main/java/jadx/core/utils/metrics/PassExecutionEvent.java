@@ -0,0 +1,64 @@
+package jadx.core.utils.metrics;
+
+import org.jetbrains.annotations.Nullable;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for every pass execution, committed only if enabled in active recording.
+ * Accessed only through static methods with untyped event object,
+ * so this class not loaded if 'jdk.jfr' module not available.
+ */
+@Name("jadx.PassExecution")
+@Label("Pass Execution")
+@Category("jadx")
+@Description("Execution of decompilation pass for class or method")
+@StackTrace(false)
+final class PassExecutionEvent extends Event {
+
+	@Label("Pass")
+	String pass;
+
+	@Label("Class")
+	String cls;
+
+	@Label("Method")
+	String method;
+
+	@Label("CPU Time")
+	@Timespan
+	long cpuTime;
+
+	@Label("Allocated")
+	@DataAmount
+	long allocated;
+
+	static @Nullable Object start() {
+		PassExecutionEvent event = new PassExecutionEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.begin();
+		return event;
+	}
+
+	static void finish(Object eventObj, String pass, String cls, @Nullable String method, long cpuTime, long allocated) {
+		PassExecutionEvent event = (PassExecutionEvent) eventObj;
+		event.end();
+		if (event.shouldCommit()) {
+			event.pass = pass;
+			event.cls = cls;
+			event.method = method;
+			event.cpuTime = cpuTime;
+			event.allocated = allocated;
+			event.commit();
+		}
+	}
+}
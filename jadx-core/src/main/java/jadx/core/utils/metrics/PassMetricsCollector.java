@@ -0,0 +1,223 @@
+package jadx.core.utils.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.management.ThreadMXBean;
+
+import jadx.api.metrics.MetricsStat;
+import jadx.api.metrics.PassMetrics;
+import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.exceptions.JadxException;
+
+/**
+ * Collect wall time, CPU time and allocated bytes for every pass execution
+ * and aggregate by pass, top level class and method.
+ * CPU time and allocations measured for current thread by {@link java.lang.management.ThreadMXBean}
+ * and not collected if JVM doesn't support it.
+ * Also emit JFR events (see {@link PassExecutionEvent}) for offline analysis.
+ */
+public class PassMetricsCollector {
+	private static final Logger LOG = LoggerFactory.getLogger(PassMetricsCollector.class);
+
+	private final Map<IDexTreeVisitor, Stat> passes = new ConcurrentHashMap<>();
+	private final Map<ClassInfo, Stat> classes = new ConcurrentHashMap<>();
+	private final Map<MethodInfo, Stat> methods = new ConcurrentHashMap<>();
+
+	private final @Nullable ThreadStats threadStats;
+	private final boolean cpuTimeSupported;
+	private final boolean allocationsSupported;
+	private final boolean jfrEvents;
+
+	public PassMetricsCollector() {
+		this.threadStats = isModulePresent("java.management") ? ThreadStats.init() : null;
+		this.cpuTimeSupported = threadStats != null && threadStats.cpuTime;
+		this.allocationsSupported = threadStats != null && threadStats.allocations;
+		this.jfrEvents = isModulePresent("jdk.jfr");
+		if (!cpuTimeSupported || !allocationsSupported) {
+			LOG.info("Pass metrics: CPU time supported: {}, allocations supported: {}", cpuTimeSupported, allocationsSupported);
+		}
+	}
+
+	public boolean visit(IDexTreeVisitor visitor, ClassNode cls) throws JadxException {
+		long wallStart = System.nanoTime();
+		long cpuStart = cpuTime();
+		long allocStart = allocatedBytes();
+		Object event = jfrEvents ? PassExecutionEvent.start() : null;
+		try {
+			return visitor.visit(cls);
+		} finally {
+			long wall = System.nanoTime() - wallStart;
+			long cpu = cpuTime() - cpuStart;
+			long alloc = allocatedBytes() - allocStart;
+			ClassNode topCls = cls.getTopParentClass();
+			getStat(passes, visitor).add(wall, cpu, alloc);
+			getStat(classes, topCls.getClassInfo()).add(wall, cpu, alloc);
+			if (event != null) {
+				PassExecutionEvent.finish(event, visitor.getName(), cls.getFullName(), null, cpu, alloc);
+			}
+		}
+	}
+
+	public void visit(IDexTreeVisitor visitor, MethodNode mth) throws JadxException {
+		long wallStart = System.nanoTime();
+		long cpuStart = cpuTime();
+		long allocStart = allocatedBytes();
+		Object event = jfrEvents ? PassExecutionEvent.start() : null;
+		try {
+			visitor.visit(mth);
+		} finally {
+			long wall = System.nanoTime() - wallStart;
+			long cpu = cpuTime() - cpuStart;
+			long alloc = allocatedBytes() - allocStart;
+			ClassNode topCls = mth.getParentClass().getTopParentClass();
+			getStat(passes, visitor).add(wall, cpu, alloc);
+			getStat(classes, topCls.getClassInfo()).add(wall, cpu, alloc);
+			getStat(methods, mth.getMethodInfo()).add(wall, cpu, alloc);
+			if (event != null) {
+				PassExecutionEvent.finish(event, visitor.getName(), topCls.getFullName(), mth.getMethodInfo().getShortId(), cpu, alloc);
+			}
+		}
+	}
+
+	public PassMetrics getMetrics() {
+		// passes with same name can be added several times (for example, after passes list reset)
+		Map<String, Stat> passesByName = new HashMap<>();
+		passes.forEach((pass, stat) -> passesByName.computeIfAbsent(pass.getName(), n -> new Stat()).add(stat));
+		return new PassMetrics(
+				toList(passesByName, Function.identity()),
+				toList(classes, ClassInfo::getFullName),
+				toList(methods, MethodInfo::getFullId),
+				cpuTimeSupported, allocationsSupported);
+	}
+
+	public void reset() {
+		passes.clear();
+		classes.clear();
+		methods.clear();
+	}
+
+	private <K> List<MetricsStat> toList(Map<K, Stat> map, Function<K, String> nameFunc) {
+		List<MetricsStat> list = new ArrayList<>(map.size());
+		map.forEach((key, stat) -> list.add(new MetricsStat(nameFunc.apply(key),
+				stat.count.sum(),
+				stat.wallTime.sum(),
+				cpuTimeSupported ? stat.cpuTime.sum() : -1,
+				allocationsSupported ? stat.allocated.sum() : -1)));
+		return list;
+	}
+
+	private static <K> Stat getStat(Map<K, Stat> map, K key) {
+		Stat stat = map.get(key);
+		if (stat == null) {
+			stat = map.computeIfAbsent(key, k -> new Stat());
+		}
+		return stat;
+	}
+
+	private long cpuTime() {
+		ThreadStats stats = threadStats;
+		return stats != null && stats.cpuTime ? stats.getCpuTime() : 0;
+	}
+
+	private long allocatedBytes() {
+		ThreadStats stats = threadStats;
+		return stats != null && stats.allocations ? stats.getAllocatedBytes() : 0;
+	}
+
+	private static boolean isModulePresent(String name) {
+		return ModuleLayer.boot().findModule(name).isPresent();
+	}
+
+	private static final class Stat {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder wallTime = new LongAdder();
+		private final LongAdder cpuTime = new LongAdder();
+		private final LongAdder allocated = new LongAdder();
+
+		void add(long wall, long cpu, long alloc) {
+			count.increment();
+			wallTime.add(wall);
+			cpuTime.add(cpu);
+			allocated.add(alloc);
+		}
+
+		void add(Stat other) {
+			count.add(other.count.sum());
+			wallTime.add(other.wallTime.sum());
+			cpuTime.add(other.cpuTime.sum());
+			allocated.add(other.allocated.sum());
+		}
+	}
+
+	/**
+	 * Wrapper for thread MXBean, created only if 'java.management' module available.
+	 * Allocations counter available only in extended bean from 'jdk.management' module.
+	 */
+	private static final class ThreadStats {
+		private final java.lang.management.ThreadMXBean bean;
+		private final @Nullable ThreadMXBean extBean;
+		private final boolean cpuTime;
+		private final boolean allocations;
+
+		static @Nullable ThreadStats init() {
+			try {
+				return new ThreadStats(ManagementFactory.getThreadMXBean());
+			} catch (Exception e) {
+				LOG.warn("Failed to init thread metrics", e);
+				return null;
+			}
+		}
+
+		private ThreadStats(java.lang.management.ThreadMXBean bean) {
+			this.bean = bean;
+			this.cpuTime = bean.isCurrentThreadCpuTimeSupported() && enableCpuTime(bean);
+			this.extBean = isModulePresent("jdk.management") ? getExtBean(bean) : null;
+			this.allocations = extBean != null;
+		}
+
+		long getCpuTime() {
+			return bean.getCurrentThreadCpuTime();
+		}
+
+		long getAllocatedBytes() {
+			ThreadMXBean ext = extBean;
+			return ext != null ? ext.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+		}
+
+		private static boolean enableCpuTime(java.lang.management.ThreadMXBean bean) {
+			if (!bean.isThreadCpuTimeEnabled()) {
+				bean.setThreadCpuTimeEnabled(true);
+			}
+			return bean.isThreadCpuTimeEnabled();
+		}
+
+		private static @Nullable ThreadMXBean getExtBean(java.lang.management.ThreadMXBean bean) {
+			if (!(bean instanceof ThreadMXBean)) {
+				return null;
+			}
+			ThreadMXBean extBean = (ThreadMXBean) bean;
+			if (!extBean.isThreadAllocatedMemorySupported()) {
+				return null;
+			}
+			if (!extBean.isThreadAllocatedMemoryEnabled()) {
+				extBean.setThreadAllocatedMemoryEnabled(true);
+			}
+			return extBean.isThreadAllocatedMemoryEnabled() ? extBean : null;
+		}
+	}
+}
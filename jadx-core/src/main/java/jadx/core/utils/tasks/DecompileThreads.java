@@ -0,0 +1,216 @@
+package jadx.core.utils.tasks;
+
+import java.io.Closeable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.utils.Utils;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Threads budget for decompilation, owned by decompiler instance and shared by all classes.
+ * Helper threads pool also used for parallel processing in loading and prepare stages
+ * (see {@link #runParallel(int, Supplier)}), so decompiler never holds several pools.
+ * <br>
+ * Thread processing a class counted as busy, helper threads for parallel methods processing
+ * started only while busy threads count less than configured threads count.
+ * Classes processing threads already limited by scheduler, so they never wait here
+ * and can't be blocked by helpers waiting for class locks.
+ */
+public class DecompileThreads implements Closeable {
+	private final int threadsCount;
+	private final AtomicInteger busy = new AtomicInteger();
+	/**
+	 * Nesting depth in current thread: nested class processing and helper threads counted only once
+	 */
+	private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+	private @Nullable ExecutorService helpersPool;
+	private boolean closed;
+
+	public DecompileThreads(int threadsCount) {
+		this.threadsCount = threadsCount;
+	}
+
+	public int getThreadsCount() {
+		return threadsCount;
+	}
+
+	/**
+	 * Mark current thread as busy with class processing, must be paired with {@link #exitClass()}
+	 */
+	public void enterClass() {
+		int[] d = depth.get();
+		if (d[0]++ == 0) {
+			busy.incrementAndGet();
+		}
+	}
+
+	public void exitClass() {
+		int[] d = depth.get();
+		if (--d[0] == 0) {
+			busy.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Start up to {@code count} helpers, only for free threads.
+	 *
+	 * @return started helpers count
+	 */
+	public int startHelpers(int count, Runnable task) {
+		int started = 0;
+		while (started < count && tryTakeThread()) {
+			try {
+				getHelpersPool().execute(() -> runHelper(task));
+			} catch (RuntimeException e) {
+				// pool closed
+				busy.decrementAndGet();
+				break;
+			}
+			started++;
+		}
+		return started;
+	}
+
+	private boolean tryTakeThread() {
+		while (true) {
+			int current = busy.get();
+			if (current >= threadsCount) {
+				return false;
+			}
+			if (busy.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	private void runHelper(Runnable task) {
+		int[] d = depth.get();
+		d[0]++;
+		try {
+			task.run();
+		} finally {
+			d[0]--;
+			busy.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Process tasks with indexes from 0 to {@code count} in calling thread and free helper threads.
+	 * Each worker takes next not started task, so calling thread never waits for not started helpers.
+	 * Method returns after all started tasks finished, after first error other tasks skipped
+	 * and error rethrown in calling thread.
+	 *
+	 * @param workerFactory called once in each worker thread before first task,
+	 *                      returned consumer process task by index
+	 */
+	public void runParallel(int count, Supplier<IntConsumer> workerFactory) {
+		if (Math.min(threadsCount, count) <= 1) {
+			IntConsumer processor = workerFactory.get();
+			for (int i = 0; i < count; i++) {
+				processor.accept(i);
+			}
+			return;
+		}
+		AtomicInteger next = new AtomicInteger(0);
+		CountDownLatch done = new CountDownLatch(count);
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Runnable worker = () -> {
+			IntConsumer processor = null;
+			while (true) {
+				int idx = next.getAndIncrement();
+				if (idx >= count) {
+					return;
+				}
+				try {
+					if (error.get() == null) {
+						if (processor == null) {
+							processor = workerFactory.get();
+						}
+						processor.accept(idx);
+					}
+				} catch (Throwable e) {
+					error.compareAndSet(null, e);
+				} finally {
+					done.countDown();
+				}
+			}
+		};
+		enterClass();
+		try {
+			startHelpers(Math.min(threadsCount, count) - 1, worker);
+			worker.run();
+			awaitUninterruptibly(done);
+		} finally {
+			exitClass();
+		}
+		Throwable e = error.get();
+		if (e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		}
+		if (e instanceof Error) {
+			throw (Error) e;
+		}
+		if (e != null) {
+			throw new JadxRuntimeException("Parallel processing failed", e);
+		}
+	}
+
+	/**
+	 * Caller can hold locks used by workers, so wait for all started tasks even on interrupt
+	 */
+	private static void awaitUninterruptibly(CountDownLatch latch) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				latch.await();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Busy threads count, for tests and debug
+	 */
+	public int getBusyCount() {
+		return busy.get();
+	}
+
+	private synchronized ExecutorService getHelpersPool() {
+		ExecutorService pool = helpersPool;
+		if (pool == null) {
+			if (closed) {
+				throw new IllegalStateException("Decompile threads already closed");
+			}
+			pool = Utils.workStealingPool(threadsCount, "helper");
+			helpersPool = pool;
+		}
+		return pool;
+	}
+
+	public synchronized boolean isClosed() {
+		return closed;
+	}
+
+	@Override
+	public synchronized void close() {
+		closed = true;
+		ExecutorService pool = helpersPool;
+		if (pool != null) {
+			pool.shutdownNow();
+			helpersPool = null;
+		}
+	}
+}
@@ -173,8 +173,9 @@ private void runStages() {
 						wrapTask(task);
 					}
 				} else {
-					ExecutorService parallelExecutor = Executors.newFixedThreadPool(
-							threads, Utils.simpleThreadFactory("task-p"));
+					// work-stealing pool keeps all threads busy till the end of the stage,
+					// tasks are executed in submission order, so long tasks should be added first
+					ExecutorService parallelExecutor = Utils.workStealingPool(threads, "task-p");
 					for (Runnable task : stage.getTasks()) {
 						parallelExecutor.execute(() -> wrapTask(task));
 					}
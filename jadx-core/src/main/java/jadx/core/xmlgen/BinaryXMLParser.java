@@ -1,5 +1,6 @@
 package jadx.core.xmlgen;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
@@ -23,6 +24,11 @@
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.xmlgen.entry.ValuesParser;
 
+/**
+ * Binary XML decoder.
+ * Decoding state stored in a new instance created for every {@link #parse(InputStream)} call,
+ * so different files can be decoded concurrently using the same parser object.
+ */
 public class BinaryXMLParser extends CommonBinaryParser {
 	private static final Logger LOG = LoggerFactory.getLogger(BinaryXMLParser.class);
 
@@ -31,10 +37,11 @@ public class BinaryXMLParser extends CommonBinaryParser {
 	private final boolean attrNewLine;
 
 	private final Map<Integer, String> resNames;
+	private final SharedState sharedState;
+
 	private Map<String, String> nsMap;
 	private Set<String> nsMapGenerated;
 	private Set<String> definedNamespaces;
-	private final Map<String, String> tagAttrDeobfNames = new HashMap<>();
 
 	private ICodeWriter writer;
 	private BinaryXMLStrings strings;
@@ -59,10 +66,26 @@ public BinaryXMLParser(RootNode rootNode) {
 		} catch (Exception e) {
 			throw new JadxRuntimeException("BinaryXMLParser init error", e);
 		}
+		this.sharedState = new SharedState();
+	}
+
+	private BinaryXMLParser(BinaryXMLParser base) {
+		this.rootNode = base.rootNode;
+		this.manifestAttributes = base.manifestAttributes;
+		this.attrNewLine = base.attrNewLine;
+		this.resNames = base.resNames;
+		this.sharedState = base.sharedState;
+		this.appPackageName = sharedState.appPackageName;
 	}
 
-	public synchronized ICodeInfo parse(InputStream inputStream) throws IOException {
-		resourceIds = null;
+	/**
+	 * Thread safe, parsing done in a new parser instance
+	 */
+	public ICodeInfo parse(InputStream inputStream) throws IOException {
+		return new BinaryXMLParser(this).parseStream(inputStream);
+	}
+
+	private ICodeInfo parseStream(InputStream inputStream) throws IOException {
 		is = new ParserStream(inputStream);
 		if (!isBinaryXml()) {
 			return ResourcesLoader.loadToCodeWriter(is);
@@ -73,15 +96,19 @@ public synchronized ICodeInfo parse(InputStream inputStream) throws IOException
 		writer = rootNode.makeCodeWriter();
 		writer.add("<?xml version=\"1.0\" encoding=\"utf-8\"?>");
 		firstElement = true;
-		decode();
-		nsMap = null;
-		definedNamespaces = null;
-		ICodeInfo codeInfo = writer.finish();
-		this.classNameCache = null; // reset class name cache
-		return codeInfo;
+		try {
+			decode();
+		} catch (EOFException e) {
+			// keep already decoded content
+			LOG.warn("Binary XML data truncated: {}", e.getMessage());
+		}
+		return writer.finish();
 	}
 
 	private boolean isBinaryXml() throws IOException {
+		if (is.available() < 4) {
+			return false;
+		}
 		is.mark(4);
 		int v = is.readInt16(); // version
 		int h = is.readInt16(); // header size
@@ -94,8 +121,9 @@ private boolean isBinaryXml() throws IOException {
 	}
 
 	void decode() throws IOException {
-		int size = is.readInt32();
-		while (is.getPos() < size) {
+		// ignore declared size bigger than actual data
+		long end = Math.min(is.readUInt32(), is.size());
+		while (is.getPos() < end) {
 			int type = is.readInt16();
 			switch (type) {
 				case RES_NULL_TYPE:
@@ -478,15 +506,18 @@ private String getValidTagAttributeName(String originalName) {
 		if (XMLChar.isValidName(originalName)) {
 			return originalName;
 		}
-		if (tagAttrDeobfNames.containsKey(originalName)) {
-			return tagAttrDeobfNames.get(originalName);
+		Map<String, String> tagAttrDeobfNames = sharedState.tagAttrDeobfNames;
+		synchronized (tagAttrDeobfNames) {
+			if (tagAttrDeobfNames.containsKey(originalName)) {
+				return tagAttrDeobfNames.get(originalName);
+			}
+			String generated;
+			do {
+				generated = generateTagAttrName();
+			} while (tagAttrDeobfNames.containsValue(generated));
+			tagAttrDeobfNames.put(originalName, generated);
+			return generated;
 		}
-		String generated;
-		do {
-			generated = generateTagAttrName();
-		} while (tagAttrDeobfNames.containsValue(generated));
-		tagAttrDeobfNames.put(originalName, generated);
-		return generated;
 	}
 
 	private static String generateTagAttrName() {
@@ -536,6 +567,15 @@ private boolean isDeobfCandidateAttr(String attrFullName) {
 	private void memorizePackageName(String attrFullName, String attrValue) {
 		if ("manifest".equals(currentTag) && "package".equals(attrFullName)) {
 			appPackageName = attrValue;
+			sharedState.appPackageName = attrValue;
 		}
 	}
+
+	/**
+	 * Data shared between parsing of different files
+	 */
+	private static final class SharedState {
+		private final Map<String, String> tagAttrDeobfNames = new HashMap<>();
+		private volatile String appPackageName;
+	}
 }
@@ -3,6 +3,8 @@
 import java.io.IOException;
 import java.io.InputStream;
 
+import org.jetbrains.annotations.Nullable;
+
 public interface IResTableParser {
 
 	void decode(InputStream inputStream) throws IOException;
@@ -16,4 +18,21 @@ public interface IResTableParser {
 	default void setBaseFileName(String fileName) {
 		// optional
 	}
+
+	/**
+	 * Decode only data required for code processing: resource names, attributes and simple values.
+	 * Other values not available in {@link #getResStorage()} and will be loaded on demand
+	 * by {@link #loadValues(String, String)} or {@link #decodeFiles()}.
+	 */
+	default void setLazyMode(boolean lazy) {
+		// optional
+	}
+
+	/**
+	 * Load values not decoded in lazy mode for entries of provided type (like 'style')
+	 * and config qualifiers (empty string for default config, null for all configs).
+	 */
+	default void loadValues(String typeName, @Nullable String config) {
+		// optional
+	}
 }
@@ -2,6 +2,7 @@
 
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -69,7 +70,11 @@ public String toString() {
 	 * and values are their corresponding {@link MAttr} objects.
 	 */
 	private final Map<String, MAttr> attrMap = new HashMap<>();
-	private final Map<String, MAttr> appAttrMap = new HashMap<>();
+	/**
+	 * Attributes defined in application resources.
+	 * Replaced by a new map on update, so reads from concurrent XML decoding don't need a lock.
+	 */
+	private volatile Map<String, MAttr> appAttrMap = Collections.emptyMap();
 
 	public ManifestAttributes(IJadxSecurity security) {
 		this.security = security;
@@ -206,7 +211,7 @@ public String decode(String attrName, long value) {
 	}
 
 	public void updateAttributes(IResTableParser parser) {
-		appAttrMap.clear();
+		Map<String, MAttr> appAttrMap = new HashMap<>();
 
 		ResourceStorage resStorage = parser.getResStorage();
 		ValuesParser vp = new ValuesParser(parser.getStrings(), resStorage.getResourcesNames());
@@ -237,5 +242,6 @@ public void updateAttributes(IResTableParser parser) {
 				appAttrMap.put(ri.getKeyName(), attr);
 			}
 		}
+		this.appAttrMap = appAttrMap;
 	}
 }
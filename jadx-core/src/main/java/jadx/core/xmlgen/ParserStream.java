@@ -1,14 +1,24 @@
 package jadx.core.xmlgen;
 
-import java.io.BufferedInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 import org.jetbrains.annotations.NotNull;
 
+import jadx.zip.io.ByteBufferBackedInputStream;
+
+/**
+ * Little-endian reader for binary resources (ARSC and binary XML).
+ * <br>
+ * Backed by {@link ByteBuffer} with whole resource data, so position can be changed freely
+ * (see {@link #setPos(long)}) without skip/mark on stream.
+ * Buffer can be a view of memory mapped zip entry or wrap a single array.
+ */
 public class ParserStream extends InputStream {
 
 	protected static final Charset STRING_CHARSET_UTF16 = StandardCharsets.UTF_16LE;
@@ -17,38 +27,63 @@ public class ParserStream extends InputStream {
 	private static final int[] EMPTY_INT_ARRAY = new int[0];
 	private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
 
-	private final InputStream input;
-	private long readPos = 0;
-	private long markPos = 0;
+	private final ByteBuffer buf;
+	private int markPos = 0;
+
+	/**
+	 * Read all data from input stream.
+	 * Data from {@link ByteBufferBackedInputStream} used without copy.
+	 */
+	public ParserStream(@NotNull InputStream inputStream) throws IOException {
+		this(inputStream instanceof ByteBufferBackedInputStream
+				? ((ByteBufferBackedInputStream) inputStream).readRemainingBuffer()
+				: ByteBuffer.wrap(inputStream.readAllBytes()));
+	}
 
-	public ParserStream(@NotNull InputStream inputStream) {
-		this.input = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+	public ParserStream(byte[] data) {
+		this(ByteBuffer.wrap(data));
+	}
+
+	/**
+	 * Use data from current position to limit of provided buffer.
+	 * Provided buffer state not changed.
+	 */
+	public ParserStream(ByteBuffer buffer) {
+		this.buf = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
 	}
 
 	public long getPos() {
-		return readPos;
+		return buf.position();
+	}
+
+	/**
+	 * Move to absolute position
+	 */
+	public void setPos(long pos) throws IOException {
+		if (pos < 0 || pos > buf.limit()) {
+			throw new EOFException("Position out of data bounds: 0x" + Long.toHexString(pos)
+					+ ", size: 0x" + Integer.toHexString(buf.limit()));
+		}
+		buf.position((int) pos);
+	}
+
+	public long size() {
+		return buf.limit();
 	}
 
 	public int readInt8() throws IOException {
-		readPos++;
-		return input.read();
+		require(1);
+		return buf.get() & 0xFF;
 	}
 
 	public int readInt16() throws IOException {
-		readPos += 2;
-		int b1 = input.read();
-		int b2 = input.read();
-		return (b2 & 0xFF) << 8 | b1 & 0xFF;
+		require(2);
+		return buf.getShort() & 0xFFFF;
 	}
 
 	public int readInt32() throws IOException {
-		readPos += 4;
-		InputStream in = input;
-		int b1 = in.read();
-		int b2 = in.read();
-		int b3 = in.read();
-		int b4 = in.read();
-		return b4 << 24 | (b3 & 0xFF) << 16 | (b2 & 0xFF) << 8 | b1 & 0xFF;
+		require(4);
+		return buf.getInt();
 	}
 
 	public long readUInt32() throws IOException {
@@ -56,7 +91,18 @@ public long readUInt32() throws IOException {
 	}
 
 	public String readString16Fixed(int len) throws IOException {
-		String str = new String(readInt8Array(len * 2), STRING_CHARSET_UTF16);
+		int bytesLen = len * 2;
+		require(bytesLen);
+		int start = buf.position();
+		String str;
+		if (buf.hasArray()) {
+			str = new String(buf.array(), buf.arrayOffset() + start, bytesLen, STRING_CHARSET_UTF16);
+		} else {
+			ByteBuffer strBuf = buf.duplicate();
+			strBuf.limit(start + bytesLen);
+			str = STRING_CHARSET_UTF16.decode(strBuf).toString();
+		}
+		buf.position(start + bytesLen);
 		return str.trim();
 	}
 
@@ -64,10 +110,10 @@ public int[] readInt32Array(int count) throws IOException {
 		if (count == 0) {
 			return EMPTY_INT_ARRAY;
 		}
+		require(count * 4L);
 		int[] arr = new int[count];
-		for (int i = 0; i < count; i++) {
-			arr[i] = readInt32();
-		}
+		buf.asIntBuffer().get(arr);
+		buf.position(buf.position() + count * 4);
 		return arr;
 	}
 
@@ -75,31 +121,28 @@ public byte[] readInt8Array(int count) throws IOException {
 		if (count == 0) {
 			return EMPTY_BYTE_ARRAY;
 		}
-		readPos += count;
+		require(count);
 		byte[] arr = new byte[count];
-		int pos = input.read(arr, 0, count);
-		while (pos < count) {
-			int read = input.read(arr, pos, count - pos);
-			if (read == -1) {
-				throw new IOException("No data, can't read " + count + " bytes");
-			}
-			pos += read;
-		}
+		buf.get(arr);
 		return arr;
 	}
 
+	/**
+	 * Stream for next {@code len} bytes without data copy, this stream position moved after that data.
+	 * Returned stream positions start from zero.
+	 */
+	public ParserStream readSubStream(int len) throws IOException {
+		require(len);
+		ByteBuffer dup = buf.duplicate();
+		dup.limit(buf.position() + len);
+		buf.position(buf.position() + len);
+		return new ParserStream(dup);
+	}
+
 	@Override
 	public long skip(long count) throws IOException {
-		readPos += count;
-		long pos = input.skip(count);
-		while (pos < count) {
-			long skipped = input.skip(count - pos);
-			if (skipped == 0) {
-				throw new IOException("No data, can't skip " + count + " bytes");
-			}
-			pos += skipped;
-		}
-		return pos;
+		setPos(getPos() + count);
+		return count;
 	}
 
 	public void checkInt8(int expected, String error) throws IOException {
@@ -137,24 +180,23 @@ public void skipToPos(long expectedOffset, String error) throws IOException {
 					+ ", actual: 0x" + Long.toHexString(getPos()));
 		}
 		if (pos < expectedOffset) {
-			skip(expectedOffset - pos);
+			setPos(expectedOffset);
 		}
-		checkPos(expectedOffset, error);
+	}
+
+	@Override
+	public boolean markSupported() {
+		return true;
 	}
 
 	@Override
 	public void mark(int len) {
-		if (!input.markSupported()) {
-			throw new RuntimeException("Mark not supported for input stream " + input.getClass());
-		}
-		input.mark(len);
-		markPos = readPos;
+		markPos = buf.position();
 	}
 
 	@Override
-	public void reset() throws IOException {
-		input.reset();
-		readPos = markPos;
+	public void reset() {
+		buf.position(markPos);
 	}
 
 	public void readFully(byte[] b) throws IOException {
@@ -162,32 +204,48 @@ public void readFully(byte[] b) throws IOException {
 	}
 
 	public void readFully(byte[] b, int off, int len) throws IOException {
-		readPos += len;
 		if (len < 0) {
 			throw new IndexOutOfBoundsException();
 		}
-		int n = 0;
-		while (n < len) {
-			int count = input.read(b, off + n, len - n);
-			if (count < 0) {
-				throw new EOFException();
-			}
-			n += count;
+		require(len);
+		buf.get(b, off, len);
+	}
+
+	@Override
+	public int read() {
+		if (!buf.hasRemaining()) {
+			return -1;
 		}
+		return buf.get() & 0xFF;
 	}
 
 	@Override
-	public int read() throws IOException {
-		return input.read();
+	public int read(@NotNull byte[] b, int off, int len) {
+		if (len == 0) {
+			return 0;
+		}
+		if (!buf.hasRemaining()) {
+			return -1;
+		}
+		int readLen = Math.min(len, buf.remaining());
+		buf.get(b, off, readLen);
+		return readLen;
 	}
 
 	@Override
-	public int read(@NotNull byte[] b, int off, int len) throws IOException {
-		return input.read(b, off, len);
+	public int available() {
+		return buf.remaining();
+	}
+
+	private void require(long count) throws EOFException {
+		if (count > buf.remaining()) {
+			throw new EOFException("No data, can't read " + count + " bytes at offset: 0x"
+					+ Integer.toHexString(buf.position()) + ", size: 0x" + Integer.toHexString(buf.limit()));
+		}
 	}
 
 	@Override
 	public String toString() {
-		return "pos: 0x" + Long.toHexString(readPos);
+		return "pos: 0x" + Long.toHexString(getPos());
 	}
 }
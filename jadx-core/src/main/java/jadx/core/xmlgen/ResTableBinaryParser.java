@@ -1,11 +1,11 @@
 package jadx.core.xmlgen;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -32,6 +32,11 @@
 public class ResTableBinaryParser extends CommonBinaryParser implements IResTableParser {
 	private static final Logger LOG = LoggerFactory.getLogger(ResTableBinaryParser.class);
 
+	/**
+	 * Size of all known fields in ResTable_config (without 'size' field)
+	 */
+	private static final int MIN_CONFIG_DATA_SIZE = 52;
+
 	private static final class PackageChunk {
 		private final int id;
 		private final String name;
@@ -72,6 +77,12 @@ public BinaryXMLStrings getKeyStrings() {
 	private BinaryXMLStrings strings;
 	private String baseFileName = "";
 
+	/**
+	 * Skip complex values not needed for code processing, see {@link #setLazyMode(boolean)}
+	 */
+	private boolean lazyMode;
+	private final List<DeferredEntries> deferredEntries = new ArrayList<>();
+
 	public ResTableBinaryParser(RootNode root) {
 		this(root, false);
 	}
@@ -86,13 +97,19 @@ public void setBaseFileName(String fileName) {
 		this.baseFileName = fileName;
 	}
 
+	@Override
+	public void setLazyMode(boolean lazy) {
+		this.lazyMode = lazy;
+	}
+
 	@Override
 	public void decode(InputStream inputStream) throws IOException {
 		long start = System.currentTimeMillis();
-		is = new ParserStream(new BufferedInputStream(inputStream, 32768));
+		is = new ParserStream(inputStream);
 		resStorage = new ResourceStorage(root.getArgs().getSecurity());
 		decodeTableChunk();
 		resStorage.finish();
+		releaseDataIfLoaded();
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Resource table parsed: size: {}, time: {}ms",
 					resStorage.size(), System.currentTimeMillis() - start);
@@ -100,7 +117,8 @@ public void decode(InputStream inputStream) throws IOException {
 	}
 
 	@Override
-	public ResContainer decodeFiles() {
+	public synchronized ResContainer decodeFiles() {
+		loadDeferredValues(null, null);
 		ValuesParser vp = new ValuesParser(strings, resStorage.getResourcesNames());
 		ResXmlGen resGen = new ResXmlGen(resStorage, vp, root.initManifestAttributes());
 
@@ -112,11 +130,12 @@ public ResContainer decodeFiles() {
 	void decodeTableChunk() throws IOException {
 		is.checkInt16(RES_TABLE_TYPE, "Not a table chunk");
 		is.checkInt16(0x000c, "Unexpected table header size");
-		int size = is.readInt32();
+		// ignore declared size bigger than actual data
+		long end = Math.min(is.readUInt32(), is.size());
 		int pkgCount = is.readInt32();
 
 		int pkgNum = 0;
-		while (is.getPos() < size) {
+		while (is.getPos() < end) {
 			long chuckStart = is.getPos();
 			int type = is.readInt16();
 			int headerSize = is.readInt16();
@@ -136,7 +155,7 @@ void decodeTableChunk() throws IOException {
 					pkgNum++;
 					break;
 			}
-			is.skipToPos(chunkEnd, "Skip to table chunk end");
+			is.skipToPos(Math.min(chunkEnd, is.size()), "Skip to table chunk end");
 		}
 		if (pkgNum != pkgCount) {
 			LOG.warn("Unexpected package chunks, read: {}, expected: {}", pkgNum, pkgCount);
@@ -173,7 +192,8 @@ private void parsePackage(long pkgChunkStart, int headerSize, long pkgChunkEnd)
 		PackageChunk pkg = new PackageChunk(id, name, typeStrings, keyStrings);
 		resStorage.setAppPackage(name);
 
-		while (is.getPos() < pkgChunkEnd) {
+		long pkgEnd = Math.min(pkgChunkEnd, is.size());
+		while (is.getPos() < pkgEnd) {
 			long chunkStart = is.getPos();
 			int type = is.readInt16();
 			LOG.trace("res package chunk start at {} type {}", chunkStart, type);
@@ -254,7 +274,6 @@ private void parseTypeChunk(long start, PackageChunk pkg) throws IOException {
 		/* int size = */
 		long chunkSize = is.readUInt32();
 		long chunkEnd = start + chunkSize;
-		is.mark((int) chunkSize);
 
 		// The type identifier this chunk is holding. Type IDs start at 1 (corresponding
 		// to the value of the type bits in a resource identifier). 0 is invalid.
@@ -275,6 +294,7 @@ private void parseTypeChunk(long start, PackageChunk pkg) throws IOException {
 			LOG.warn("Invalid config flags detected: {}{}", typeName, config.getQualifiers());
 		}
 
+		DeferredEntries deferred = lazyMode ? new DeferredEntries(typeName, config.getQualifiers()) : null;
 		List<EntryOffset> offsets = new ArrayList<>(entryCount);
 		if (isSparse) {
 			for (int i = 0; i < entryCount; i++) {
@@ -316,12 +336,12 @@ private void parseTypeChunk(long start, PackageChunk pkg) throws IOException {
 				// LOG.debug("Pos is after chunk end: {} end {}", entryStartOffset, chunkEnd);
 				continue;
 			}
-			if (entryStartOffset < is.getPos()) {
-				// workaround for issue #2343: if the entryStartOffset is located before our current position
-				is.reset();
-			}
-			is.skipToPos(entryStartOffset, "Expected start of entry " + index);
-			parseEntry(pkg, typeId, index, config.getQualifiers());
+			// entryStartOffset can be located before current position (issue #2343)
+			is.setPos(entryStartOffset);
+			parseEntry(pkg, typeId, index, config.getQualifiers(), deferred);
+		}
+		if (deferred != null && deferred.count != 0) {
+			deferredEntries.add(deferred);
 		}
 		if (ignoredEoc > 0) {
 			// invalid = data offset is after the chunk end
@@ -330,6 +350,38 @@ private void parseTypeChunk(long start, PackageChunk pkg) throws IOException {
 		is.skipToPos(chunkEnd, "End of chunk");
 	}
 
+	/**
+	 * Index of entries with not loaded complex values from one type chunk:
+	 * resource ids and offsets of values data
+	 */
+	private static final class DeferredEntries {
+		private final String typeName;
+		private final String config;
+		private int[] resIds = new int[16];
+		private int[] offsets = new int[16];
+		private int count;
+
+		private DeferredEntries(String typeName, String config) {
+			this.typeName = typeName;
+			this.config = config;
+		}
+
+		private boolean matches(@Nullable String type, @Nullable String cfg) {
+			return (type == null || type.equals(typeName)) && (cfg == null || cfg.equals(config));
+		}
+
+		private void add(int resId, int offset) {
+			if (count == resIds.length) {
+				int newLen = count * 2;
+				resIds = Arrays.copyOf(resIds, newLen);
+				offsets = Arrays.copyOf(offsets, newLen);
+			}
+			resIds[count] = resId;
+			offsets[count] = offset;
+			count++;
+		}
+	}
+
 	private static class EntryOffset {
 		private final int idx;
 		private final int offset;
@@ -388,7 +440,8 @@ private void parseStagedAliasChunk(long chunkStart) throws IOException {
 		is.skipToPos(expectedEndPos, "staged alias chunk end");
 	}
 
-	private void parseEntry(PackageChunk pkg, int typeId, int entryId, String config) throws IOException {
+	private void parseEntry(PackageChunk pkg, int typeId, int entryId, String config,
+			@Nullable DeferredEntries deferred) throws IOException {
 		int size = is.readInt16();
 		int flags = is.readInt16();
 		boolean isComplex = (flags & FLAG_COMPLEX) != 0;
@@ -410,19 +463,91 @@ private void parseEntry(PackageChunk pkg, int typeId, int entryId, String config
 			int data = is.readInt32();
 			newResEntry.setSimpleValue(new RawValue(dataType, data));
 		} else if (isComplex || size == 16) {
-			int parentRef = is.readInt32();
-			int count = is.readInt32();
-			newResEntry.setParentRef(parentRef);
-			List<RawNamedValue> values = new ArrayList<>(count);
-			for (int i = 0; i < count; i++) {
-				values.add(parseValueMap());
+			if (deferred != null && newResEntry != STUB_ENTRY && !typeName.equals("attr")) {
+				// attributes values used in manifest decoding, other complex values loaded on demand
+				deferred.add(resId, (int) is.getPos());
+			} else {
+				parseComplexValues(newResEntry);
 			}
-			newResEntry.setNamedValues(values);
 		} else {
 			newResEntry.setSimpleValue(parseValue());
 		}
 	}
 
+	private void parseComplexValues(ResourceEntry resEntry) throws IOException {
+		int parentRef = is.readInt32();
+		int count = is.readInt32();
+		resEntry.setParentRef(parentRef);
+		List<RawNamedValue> values = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			values.add(parseValueMap());
+		}
+		resEntry.setNamedValues(values);
+	}
+
+	@Override
+	public synchronized void loadValues(String typeName, @Nullable String config) {
+		loadDeferredValues(typeName, config);
+	}
+
+	/**
+	 * Load deferred values only from type chunks with provided type and config, null means any.
+	 */
+	private void loadDeferredValues(@Nullable String typeName, @Nullable String config) {
+		if (deferredEntries.isEmpty()) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		int count = 0;
+		try {
+			Iterator<DeferredEntries> it = deferredEntries.iterator();
+			while (it.hasNext()) {
+				DeferredEntries deferred = it.next();
+				if (!deferred.matches(typeName, config)) {
+					continue;
+				}
+				for (int i = 0; i < deferred.count; i++) {
+					ResourceEntry resEntry = searchEntryWithoutValues(deferred.resIds[i], deferred.config);
+					if (resEntry != null) {
+						is.setPos(deferred.offsets[i]);
+						parseComplexValues(resEntry);
+						count++;
+					}
+				}
+				it.remove();
+			}
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to load resource values", e);
+		}
+		releaseDataIfLoaded();
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Resource table deferred values loaded: type: {}, config: {}, count: {}, time: {}ms",
+					typeName, config, count, System.currentTimeMillis() - start);
+		}
+	}
+
+	/**
+	 * Table data buffer not needed after all values loaded
+	 */
+	private void releaseDataIfLoaded() {
+		if (deferredEntries.isEmpty()) {
+			is = null;
+		}
+	}
+
+	boolean hasDeferredValues() {
+		return !deferredEntries.isEmpty();
+	}
+
+	private @Nullable ResourceEntry searchEntryWithoutValues(int resId, String config) {
+		for (ResourceEntry resEntry : resStorage.getEntriesById(resId)) {
+			if (resEntry.getNamedValues() == null && resEntry.getConfig().equals(config)) {
+				return resEntry;
+			}
+		}
+		return null;
+	}
+
 	private static final ResourceEntry STUB_ENTRY = new ResourceEntry(-1, "stub", "stub", "stub", "");
 
 	private ResourceEntry buildResourceEntry(PackageChunk pkg, String config, int resId, String typeName, String origKeyName) {
@@ -541,10 +666,15 @@ private EntryConfig parseConfig() throws IOException {
 			throw new IOException("Config size < 4");
 		}
 
-		// Android zero fill this structure and only read the data present
-		var configData = new byte[Math.max(52, size - 4)];
-		is.readFully(configData, 0, size - 4);
-		var configIs = new ParserStream(new ByteArrayInputStream(configData));
+		ParserStream configIs;
+		if (size - 4 >= MIN_CONFIG_DATA_SIZE) {
+			configIs = is.readSubStream(size - 4);
+		} else {
+			// Android zero fill this structure and only read the data present
+			byte[] configData = new byte[MIN_CONFIG_DATA_SIZE];
+			is.readFully(configData, 0, size - 4);
+			configIs = new ParserStream(configData);
+		}
 
 		short mcc = (short) configIs.readInt16();
 		short mnc = (short) configIs.readInt16();
@@ -78,6 +78,28 @@ public Iterable<ResourceEntry> getResources() {
 		return list;
 	}
 
+	/**
+	 * Entries with provided id for all configs.
+	 * Available only after {@link #finish()} call.
+	 */
+	public List<ResourceEntry> getEntriesById(int id) {
+		int low = 0;
+		int high = list.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (list.get(mid).getId() < id) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		int end = low;
+		while (end < list.size() && list.get(end).getId() == id) {
+			end++;
+		}
+		return list.subList(low, end);
+	}
+
 	public String getAppPackage() {
 		return appPackage;
 	}
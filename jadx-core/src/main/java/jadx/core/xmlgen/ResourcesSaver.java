@@ -1,10 +1,12 @@
 package jadx.core.xmlgen;
 
 import java.io.File;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +18,11 @@
 import jadx.core.utils.exceptions.JadxException;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
+import jadx.zip.IZipEntry;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 public class ResourcesSaver implements Runnable {
 	private static final Logger LOG = LoggerFactory.getLogger(ResourcesSaver.class);
@@ -23,16 +30,21 @@ public class ResourcesSaver implements Runnable {
 	private final ResourceFile resourceFile;
 	private final File outDir;
 	private final IJadxSecurity security;
+	private final ResourcesLoader resourcesLoader;
 
 	public ResourcesSaver(JadxDecompiler decompiler, File outDir, ResourceFile resourceFile) {
 		this.resourceFile = resourceFile;
 		this.outDir = outDir;
 		this.security = decompiler.getArgs().getSecurity();
+		this.resourcesLoader = decompiler.getResourcesLoader();
 	}
 
 	@Override
 	public void run() {
 		try {
+			if (resourcesLoader.isRawResource(resourceFile) && copyRawResource()) {
+				return;
+			}
 			saveResources(resourceFile.loadContent());
 		} catch (StackOverflowError | Exception e) {
 			LOG.warn("Failed to save resource: {}", resourceFile.getOriginalName(), e);
@@ -49,17 +61,54 @@ private void saveResources(ResContainer rc) {
 				saveResources(subFile);
 			}
 		} else {
-			save(rc, outDir);
+			save(rc);
 		}
 	}
 
-	private void save(ResContainer rc, File outDir) {
+	/**
+	 * Copy zip entry data directly into output file, skipping decoding and intermediate buffers.
+	 *
+	 * @return false if resource should be saved using default way
+	 */
+	private boolean copyRawResource() {
+		IZipEntry zipEntry = resourceFile.getZipEntry();
+		if (zipEntry == null) {
+			return false;
+		}
+		File outFile = getOutFile(ResContainer.resourceFileLink(resourceFile));
+		if (outFile == null) {
+			return true;
+		}
+		FileUtils.makeDirsForFile(outFile);
+		Path target = outFile.toPath();
+		try (FileChannel out = FileChannel.open(target, WRITE, CREATE, TRUNCATE_EXISTING)) {
+			zipEntry.transferTo(out);
+			return true;
+		} catch (Exception e) {
+			LOG.debug("Direct copy failed for resource: {}, retry with default decoder", resourceFile.getOriginalName(), e);
+		}
+		try {
+			Files.deleteIfExists(target); // delete partially written file
+		} catch (Exception e) {
+			LOG.warn("Failed to delete file: {}", target, e);
+		}
+		return false;
+	}
+
+	private void save(ResContainer rc) {
+		File outFile = getOutFile(rc);
+		if (outFile != null) {
+			saveToFile(rc, outFile);
+		}
+	}
+
+	private @Nullable File getOutFile(ResContainer rc) {
 		File outFile = new File(outDir, rc.getFileName());
 		if (!security.isInSubDirectory(outDir, outFile)) {
 			LOG.error("Invalid resource name or path traversal attack detected: {}", outFile.getPath());
-			return;
+			return null;
 		}
-		saveToFile(rc, outFile);
+		return outFile;
 	}
 
 	private void saveToFile(ResContainer rc, File outFile) {
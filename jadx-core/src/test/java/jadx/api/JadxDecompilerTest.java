@@ -5,15 +5,29 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import jadx.api.metrics.MetricsStat;
+import jadx.api.metrics.PassMetrics;
+import jadx.api.plugins.pass.JadxPassInfo;
+import jadx.api.plugins.pass.impl.OrderedJadxPassInfo;
+import jadx.api.plugins.pass.types.JadxDecompilePass;
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.nodes.PackageNode;
 import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.DecompileTimeLimit;
+import jadx.core.utils.files.FileUtils;
 import jadx.core.xmlgen.ResContainer;
 import jadx.plugins.input.dex.DexInputPlugin;
+import jadx.tests.api.compiler.CompilerOptions;
+import jadx.tests.api.compiler.TestCompiler;
 
 import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
 
@@ -85,6 +99,166 @@ public void testResourcesLoad() {
 		}
 	}
 
+	@Test
+	public void testPassMetrics() {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getFileFromSampleDir("hello.dex"));
+		args.setCollectPassMetrics(true);
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			for (JavaClass cls : jadx.getClasses()) {
+				assertThat(cls.getCode()).isNotEmpty();
+			}
+			PassMetrics metrics = jadx.getPassMetrics();
+			assertThat(metrics).isNotNull();
+			assertThat(metrics.getPasses()).extracting(MetricsStat::getName)
+					.contains("BlockSplitter", "SSATransform", "TypeInferenceVisitor", "RegionMakerVisitor");
+			assertThat(metrics.getClasses()).hasSize(1);
+			assertThat(metrics.getMethods()).isNotEmpty();
+			assertThat(metrics.getPasses()).allMatch(stat -> stat.getCount() > 0 && stat.getWallTime() >= 0);
+			assertThat(metrics.buildReport(5)).contains("slowest passes", "slowest methods");
+		}
+	}
+
+	@Test
+	public void testPassMetricsDisabled() {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getFileFromSampleDir("hello.dex"));
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			assertThat(jadx.getPassMetrics()).isNull();
+		}
+	}
+
+	@Test
+	public void testMethodTimeLimit() {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getFileFromSampleDir("hello.dex"));
+		args.setMethodTimeLimit(50);
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.addCustomPass(new SlowPass(mth -> mth.getName().equals("main"), 200));
+			jadx.load();
+			JavaClass cls = jadx.getClasses().get(0);
+			assertThat(cls.getCode())
+					.contains("Processing time limit exceeded, method decompiled in simple mode")
+					.contains("System.out.println(\"Hello, World!\");")
+					.doesNotContain("JADX ERROR");
+			assertThat(jadx.getErrorsCount()).isEqualTo(0);
+		}
+	}
+
+	/**
+	 * Class passes (enum restore, fields init extraction, anonymous classes inline, etc.)
+	 * should skip methods degraded to simple mode
+	 */
+	@Test
+	public void testMethodTimeLimitInClassPasses() throws IOException {
+		String code = decompileWithSlowInitMethods(0);
+		assertThat(code)
+				.contains("Processing time limit exceeded, method decompiled in simple mode")
+				.contains("class Inner")
+				.contains("Kind")
+				.contains("implements Runnable")
+				.doesNotContain("new Runnable(")
+				.doesNotContain("JADX ERROR");
+	}
+
+	/**
+	 * Same as {@link #testMethodTimeLimitInClassPasses()}, but class time limit force fallback mode (no blocks)
+	 */
+	@Test
+	public void testClassTimeLimitInClassPasses() throws IOException {
+		String code = decompileWithSlowInitMethods(120);
+		assertThat(code)
+				.contains("Processing time limit exceeded")
+				.contains("implements Runnable")
+				.doesNotContain("new Runnable(")
+				.doesNotContain("JADX ERROR");
+	}
+
+	private String decompileWithSlowInitMethods(int classTimeLimit) throws IOException {
+		String code = "package test;\n"
+				+ "import java.util.ArrayList;\n"
+				+ "import java.util.List;\n"
+				+ "public class TestCls {\n"
+				+ "  private static final List<String> LIST = new ArrayList<>();\n"
+				+ "  private final int field = 7;\n"
+				+ "  static { LIST.add(\"a\"); }\n"
+				+ "  public enum Kind {\n"
+				+ "    FIRST, SECOND(\"second\");\n"
+				+ "    private final String title;\n"
+				+ "    Kind() { this(\"none\"); }\n"
+				+ "    Kind(String title) { this.title = title; }\n"
+				+ "    public String getTitle() { return title; }\n"
+				+ "  }\n"
+				+ "  public class Inner {\n"
+				+ "    public int get() { return field; }\n"
+				+ "  }\n"
+				+ "  public Runnable make(int v) {\n"
+				+ "    return new Runnable() {\n"
+				+ "      @Override\n"
+				+ "      public void run() { System.out.println(v + field + Kind.values().length); }\n"
+				+ "    };\n"
+				+ "  }\n"
+				+ "}\n";
+		File srcFile = new File(testDir, "src/test/TestCls.java");
+		FileUtils.writeFile(srcFile.toPath(), code);
+		List<File> clsFiles;
+		try (TestCompiler compiler = new TestCompiler(new CompilerOptions())) {
+			clsFiles = compiler.compileFiles(Collections.singletonList(srcFile), testDir.toPath().resolve("classes"));
+		}
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().addAll(clsFiles);
+		args.setMethodTimeLimit(50);
+		args.setClassTimeLimit(classTimeLimit);
+		args.setRunDebugChecks(true);
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			Predicate<MethodNode> initMethods = mth -> mth.getMethodInfo().isConstructor() || mth.getMethodInfo().isClassInit();
+			jadx.addCustomPass(new SlowPass(initMethods, 100));
+			jadx.load();
+			assertThat(jadx.getClasses()).hasSize(1);
+			String clsCode = jadx.getClasses().get(0).getCode();
+			assertThat(jadx.getErrorsCount()).isEqualTo(0);
+			return clsCode;
+		}
+	}
+
+	private static final class SlowPass implements JadxDecompilePass {
+		private final Predicate<MethodNode> filter;
+		private final long sleepTime;
+
+		private SlowPass(Predicate<MethodNode> filter, long sleepTime) {
+			this.filter = filter;
+			this.sleepTime = sleepTime;
+		}
+
+		@Override
+		public JadxPassInfo getInfo() {
+			return new OrderedJadxPassInfo("SlowPass", "Slow pass for time limit test").after("BlockSplitter");
+		}
+
+		@Override
+		public void init(RootNode root) {
+		}
+
+		@Override
+		public boolean visit(ClassNode cls) {
+			return true;
+		}
+
+		@Override
+		public void visit(MethodNode mth) {
+			if (filter.test(mth) && !mth.contains(AType.DECOMPILE_MODE_OVERRIDE)) {
+				try {
+					Thread.sleep(sleepTime);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				DecompileTimeLimit.check();
+			}
+		}
+	}
+
 	private static final String TEST_SAMPLES_DIR = "test-samples/";
 
 	public static File getFileFromSampleDir(String fileName) {
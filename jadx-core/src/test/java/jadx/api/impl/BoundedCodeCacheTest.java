@@ -0,0 +1,77 @@
+package jadx.api.impl;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.ICodeInfo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCodeCacheTest {
+
+	private static final int CODE_LEN = 1000;
+
+	@Test
+	void testMaxWeight() {
+		BoundedCodeCache cache = new BoundedCodeCache(weightOf(10));
+		for (int i = 0; i < 100; i++) {
+			cache.add("cls" + i, code(i));
+		}
+		assertThat(cache.getSize()).isEqualTo(10);
+		assertThat(cache.getWeight()).isEqualTo(weightOf(10));
+		assertThat(cache.getEvictionCount()).isEqualTo(90L);
+		// last added entries kept
+		assertThat(cache.contains("cls99")).isTrue();
+		assertThat(cache.contains("cls89")).isFalse();
+	}
+
+	@Test
+	void testScanResistance() {
+		BoundedCodeCache cache = new BoundedCodeCache(weightOf(10));
+		for (int i = 0; i < 5; i++) {
+			cache.add("hot" + i, code(i));
+		}
+		for (int k = 0; k < 40; k++) {
+			for (int i = 0; i < 5; i++) {
+				assertThat(cache.getCode("hot" + i)).isNotEmpty();
+			}
+		}
+		for (int i = 0; i < 100; i++) {
+			cache.add("scan" + i, code(i));
+		}
+		for (int i = 0; i < 5; i++) {
+			assertThat(cache.contains("hot" + i)).isTrue();
+		}
+		assertThat(cache.getWeight()).isEqualTo(weightOf(10));
+	}
+
+	@Test
+	void testStatsAndRemove() {
+		BoundedCodeCache cache = new BoundedCodeCache(weightOf(10));
+		cache.add("a", code(1));
+		assertThat(cache.get("a").getCodeStr()).isEqualTo(code(1).getCodeStr());
+		assertThat(cache.get("b")).isEqualTo(ICodeInfo.EMPTY);
+		assertThat(cache.getCode("b")).isNull();
+		assertThat(cache.getHitCount()).isEqualTo(1L);
+		assertThat(cache.getMissCount()).isEqualTo(2L);
+
+		cache.add("a", code(2));
+		assertThat(cache.getSize()).isEqualTo(1);
+		assertThat(cache.getWeight()).isEqualTo(weightOf(1));
+		cache.remove("a");
+		assertThat(cache.getSize()).isZero();
+		assertThat(cache.getWeight()).isZero();
+
+		// bigger than whole cache
+		cache.add("big", new SimpleCodeInfo("x".repeat(CODE_LEN * 20)));
+		assertThat(cache.contains("big")).isFalse();
+	}
+
+	private static ICodeInfo code(int i) {
+		String str = String.valueOf(i % 10);
+		return new SimpleCodeInfo(str.repeat(CODE_LEN));
+	}
+
+	private static long weightOf(int count) {
+		return new BoundedCodeCache(1).weigh(code(0)) * count;
+	}
+}
@@ -0,0 +1,117 @@
+package jadx.api.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.ICodeInfo;
+import jadx.api.metadata.ICodeAnnotation;
+import jadx.api.metadata.ICodeMetadata;
+import jadx.api.metadata.annotations.InsnCodeOffset;
+import jadx.api.metadata.annotations.NodeEnd;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedCodeCacheTest {
+
+	private static final int CLASSES_COUNT = 10;
+
+	@Test
+	void testWithoutDictionary() {
+		CompressedCodeCache cache = new CompressedCodeCache(0);
+		checkRoundTrip(cache);
+	}
+
+	@Test
+	void testTrainedDictionary() {
+		// first classes used for dictionary training, rest compressed with trained dictionary
+		CompressedCodeCache cache = new CompressedCodeCache(3);
+		checkRoundTrip(cache);
+	}
+
+	@Test
+	void testReplaceAndRemove() {
+		CompressedCodeCache cache = new CompressedCodeCache(3);
+		for (int i = 0; i < CLASSES_COUNT; i++) {
+			cache.add("cls" + i, code(i));
+		}
+		cache.add("cls1", new SimpleCodeInfo(buildClass(100)));
+		ICodeInfo replaced = cache.get("cls1");
+		assertThat(replaced.getCodeStr()).isEqualTo(buildClass(100));
+		assertThat(replaced.hasMetadata()).isFalse();
+
+		cache.remove("cls2");
+		assertThat(cache.contains("cls2")).isFalse();
+		assertThat(cache.get("cls2")).isEqualTo(ICodeInfo.EMPTY);
+		assertThat(cache.getCode("cls2")).isNull();
+		// other entries not affected
+		assertThat(cache.get("cls3").getCodeStr()).isEqualTo(buildClass(3));
+		assertThat(getOffset(cache.get("cls3").getCodeMetadata())).isEqualTo(3);
+	}
+
+	private static void checkRoundTrip(CompressedCodeCache cache) {
+		long codeSize = 0;
+		for (int i = 0; i < CLASSES_COUNT; i++) {
+			ICodeInfo codeInfo = code(i);
+			cache.add("cls" + i, codeInfo);
+			codeSize += codeInfo.getCodeStr().length();
+		}
+		cache.add("simple", new SimpleCodeInfo(buildClass(CLASSES_COUNT)));
+		assertThat(cache.getCompressedSize()).isLessThan(codeSize);
+
+		for (int i = 0; i < CLASSES_COUNT; i++) {
+			String clsName = "cls" + i;
+			assertThat(cache.contains(clsName)).isTrue();
+			assertThat(cache.getCode(clsName)).isEqualTo(buildClass(i));
+
+			ICodeInfo loaded = cache.get(clsName);
+			assertThat(loaded.getCodeStr()).isEqualTo(buildClass(i));
+			assertThat(loaded.hasMetadata()).isTrue();
+			ICodeMetadata metadata = loaded.getCodeMetadata();
+			assertThat(getOffset(metadata)).isEqualTo(i);
+			assertThat(metadata.getAt(50)).isSameAs(NodeEnd.VALUE);
+			assertThat(metadata.getLineMapping()).isEqualTo(lines(i));
+		}
+		ICodeInfo simple = cache.get("simple");
+		assertThat(simple.getCodeStr()).isEqualTo(buildClass(CLASSES_COUNT));
+		assertThat(simple.hasMetadata()).isFalse();
+
+		assertThat(cache.contains("unknown")).isFalse();
+		assertThat(cache.get("unknown")).isEqualTo(ICodeInfo.EMPTY);
+		assertThat(cache.getCode("unknown")).isNull();
+	}
+
+	private static int getOffset(ICodeMetadata metadata) {
+		ICodeAnnotation ann = metadata.getAt(10);
+		assertThat(ann).isInstanceOf(InsnCodeOffset.class);
+		return ((InsnCodeOffset) ann).getOffset();
+	}
+
+	private static ICodeInfo code(int n) {
+		Map<Integer, ICodeAnnotation> annotations = new HashMap<>();
+		annotations.put(10, new InsnCodeOffset(n));
+		annotations.put(50, NodeEnd.VALUE);
+		return new AnnotatedCodeInfo(buildClass(n), lines(n), annotations);
+	}
+
+	private static Map<Integer, Integer> lines(int n) {
+		Map<Integer, Integer> lines = new HashMap<>();
+		lines.put(2, 10 + n);
+		lines.put(5, 20 + n);
+		return lines;
+	}
+
+	private static String buildClass(int n) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("package jadx.test;\n\nimport java.util.List;\n\n");
+		sb.append("public class Cls").append(n).append(" {\n");
+		for (int i = 0; i < 20; i++) {
+			sb.append("    public int method").append(i).append("(List<String> list) {\n");
+			sb.append("        return list.size() + ").append(i * n).append(";\n");
+			sb.append("    }\n\n");
+		}
+		sb.append("    /* renamed: \u00e9 */\n}\n");
+		return sb.toString();
+	}
+}
@@ -0,0 +1,74 @@
+package jadx.api.metadata.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.metadata.ICodeAnnotation;
+import jadx.api.metadata.ICodeAnnotation.AnnType;
+import jadx.api.metadata.ICodeMetadata;
+import jadx.api.metadata.annotations.InsnCodeOffset;
+import jadx.api.metadata.annotations.NodeEnd;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodeMetadataStorageTest {
+
+	@Test
+	void testBuildUnsorted() {
+		InsnCodeOffset first = new InsnCodeOffset(1);
+		InsnCodeOffset second = new InsnCodeOffset(2);
+		InsnCodeOffset replaced = new InsnCodeOffset(3);
+
+		CodeMetadataBuilder builder = new CodeMetadataBuilder();
+		builder.addAnnotation(20, second);
+		builder.addAnnotation(10, replaced);
+		builder.addAnnotation(30, NodeEnd.VALUE);
+		builder.addAnnotation(10, first);
+		builder.addSourceLine(5, 50);
+		builder.addSourceLine(2, 20);
+		builder.addSourceLine(5, 55);
+		ICodeMetadata metadata = builder.build();
+
+		assertThat(metadata.getAt(10)).isSameAs(first);
+		assertThat(metadata.getAt(15)).isNull();
+		assertThat(metadata.getAsMap()).hasSize(3);
+		assertThat(metadata.getLineMapping()).hasSize(2);
+		assertThat(metadata.getLineMapping().get(5)).isEqualTo(55);
+		assertThat(metadata.getLineMapping().toString()).isEqualTo("{2=20, 5=55}");
+	}
+
+	@Test
+	void testSearch() {
+		InsnCodeOffset first = new InsnCodeOffset(1);
+		InsnCodeOffset second = new InsnCodeOffset(2);
+
+		CodeMetadataBuilder builder = new CodeMetadataBuilder();
+		builder.addAnnotation(10, first);
+		builder.addAnnotation(20, second);
+		builder.addAnnotation(30, NodeEnd.VALUE);
+		ICodeMetadata metadata = builder.build();
+
+		assertThat(metadata.getClosestUp(20)).isSameAs(first);
+		assertThat(metadata.getClosestUp(25)).isSameAs(second);
+		assertThat(metadata.getClosestUp(10)).isNull();
+		assertThat(metadata.searchUp(29, AnnType.OFFSET)).isSameAs(second);
+		assertThat(metadata.searchUp(30, AnnType.END)).isSameAs(NodeEnd.VALUE);
+		assertThat(metadata.searchUp(19, 15, AnnType.OFFSET)).isNull();
+
+		List<Integer> downPositions = new ArrayList<>();
+		metadata.searchDown(15, (pos, ann) -> {
+			downPositions.add(pos);
+			return null;
+		});
+		assertThat(downPositions).containsExactly(20, 30);
+
+		List<ICodeAnnotation> upAnnotations = new ArrayList<>();
+		metadata.searchUp(20, (pos, ann) -> {
+			upAnnotations.add(ann);
+			return null;
+		});
+		assertThat(upAnnotations).containsExactly(second, first);
+	}
+}
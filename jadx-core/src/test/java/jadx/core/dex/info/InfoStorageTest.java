@@ -0,0 +1,73 @@
+package jadx.core.dex.info;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxArgs;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.RootNode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InfoStorageTest {
+	private static final int THREADS_COUNT = 4;
+	private static final int CLASSES_COUNT = 100;
+	private static final int METHODS_PER_CLASS = 5;
+
+	@SuppressWarnings("deprecation")
+	@Test
+	public void concurrentInterning() throws Exception {
+		RootNode root = new RootNode(new JadxArgs());
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS_COUNT);
+		try {
+			CountDownLatch startLatch = new CountDownLatch(1);
+			List<Future<List<Object>>> futures = new ArrayList<>(THREADS_COUNT);
+			for (int t = 0; t < THREADS_COUNT; t++) {
+				int shift = t;
+				futures.add(executor.submit(() -> {
+					startLatch.await();
+					return internAll(root, shift);
+				}));
+			}
+			startLatch.countDown();
+			List<Object> expected = futures.get(0).get();
+			assertThat(expected).hasSize(CLASSES_COUNT * (1 + METHODS_PER_CLASS * 2));
+			for (Future<List<Object>> future : futures) {
+				List<Object> result = future.get();
+				// same instances should be returned to all threads
+				assertThat(result).hasSameSizeAs(expected);
+				for (int i = 0; i < result.size(); i++) {
+					assertThat(result.get(i)).isSameAs(expected.get(i));
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static List<Object> internAll(RootNode root, int shift) {
+		List<ArgType> args = Collections.singletonList(ArgType.INT);
+		Object[] result = new Object[CLASSES_COUNT * (1 + METHODS_PER_CLASS * 2)];
+		for (int i = 0; i < CLASSES_COUNT; i++) {
+			// start from different classes to mix first insertion and lookup
+			int clsNum = (i + shift * 31) % CLASSES_COUNT;
+			int pos = clsNum * (1 + METHODS_PER_CLASS * 2);
+			ClassInfo cls = ClassInfo.fromName(root, "pkg" + clsNum % 10 + ".Cls" + clsNum);
+			result[pos++] = cls;
+			for (int m = 0; m < METHODS_PER_CLASS; m++) {
+				result[pos++] = MethodInfo.fromDetails(root, cls, "m" + m, args, ArgType.VOID);
+				result[pos++] = FieldInfo.from(root, cls, "f" + m, ArgType.INT);
+			}
+		}
+		List<Object> list = new ArrayList<>(result.length);
+		Collections.addAll(list, result);
+		return list;
+	}
+}
@@ -0,0 +1,113 @@
+package jadx.core.dex.nodes;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.core.utils.files.FileUtils;
+import jadx.tests.api.compiler.CompilerOptions;
+import jadx.tests.api.compiler.TestCompiler;
+import jadx.tests.api.utils.TestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Classes list and selected duplicates should not depend on threads count used for classes loading
+ */
+class ParallelClassesLoadTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void multiDexWithDuplicates() throws IOException {
+		Path dexFile = TestUtils.getFileForSample("test-samples/hello.dex").toPath();
+		List<File> inputs = new ArrayList<>();
+		for (String name : new String[] { "classes2.dex", "other.dex", "classes.dex", "classes3.dex" }) {
+			Path file = tempDir.resolve(name);
+			Files.copy(dexFile, file);
+			inputs.add(file.toFile());
+		}
+		String sequential = loadAndDump(inputs, 1);
+		assertThat(sequential).startsWith("HelloWorld <- ").hasLineCount(1);
+		assertThat(loadAndDump(inputs, 4)).isEqualTo(sequential);
+	}
+
+	/**
+	 * Inputs split into several parts (more than 1000 classes in one jar),
+	 * for java classes first loaded duplicate is selected, so loading order must be preserved
+	 */
+	@Test
+	void javaInputsWithDuplicates() throws IOException {
+		File firstJar = buildJar("first.jar", 0, 1100, "first");
+		File secondJar = buildJar("second.jar", 1000, 1200, "second");
+		List<File> inputs = List.of(firstJar, secondJar);
+		String sequential = loadAndDump(inputs, 1);
+		assertThat(sequential)
+				.contains("test.C0 <- first.jar:test/C0.class, [first()]\n")
+				.contains("test.C1050 <- first.jar:test/C1050.class, [first()]\n")
+				.contains("test.C1150 <- second.jar:test/C1150.class, [second()]\n");
+		for (int threads : new int[] { 2, 8 }) {
+			assertThat(loadAndDump(inputs, threads)).as("threads: %d", threads).isEqualTo(sequential);
+		}
+	}
+
+	private File buildJar(String name, int start, int end, String mthName) throws IOException {
+		Path srcDir = tempDir.resolve("src-" + mthName);
+		List<File> srcFiles = new ArrayList<>();
+		for (int i = start; i < end; i++) {
+			Path srcFile = srcDir.resolve("test/C" + i + ".java");
+			FileUtils.writeFile(srcFile, "package test;\npublic class C" + i + " {\n"
+					+ "  public int " + mthName + "() { return " + i + "; }\n"
+					+ "}\n");
+			srcFiles.add(srcFile.toFile());
+		}
+		Path clsDir = tempDir.resolve("classes-" + mthName);
+		List<File> clsFiles;
+		try (TestCompiler compiler = new TestCompiler(new CompilerOptions())) {
+			clsFiles = compiler.compileFiles(srcFiles, clsDir);
+		}
+		clsFiles.sort(null);
+		Path jar = tempDir.resolve(name);
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+			for (File clsFile : clsFiles) {
+				out.putNextEntry(new ZipEntry(clsDir.relativize(clsFile.toPath()).toString().replace('\\', '/')));
+				out.write(Files.readAllBytes(clsFile.toPath()));
+				out.closeEntry();
+			}
+		}
+		return jar.toFile();
+	}
+
+	private static String loadAndDump(List<File> inputs, int threads) {
+		JadxArgs args = new JadxArgs();
+		args.setInputFiles(new ArrayList<>(inputs));
+		args.setThreadsCount(threads);
+		args.setSkipResources(true);
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			StringBuilder sb = new StringBuilder();
+			for (ClassNode cls : jadx.getRoot().getClasses()) {
+				List<String> methods = new ArrayList<>();
+				for (MethodNode mth : cls.getMethods()) {
+					if (!mth.isConstructor()) {
+						methods.add(mth.getName() + "()");
+					}
+				}
+				sb.append(cls.getRawName()).append(" <- ").append(cls.getInputFileName())
+						.append(", ").append(methods).append('\n');
+			}
+			return sb.toString();
+		}
+	}
+}
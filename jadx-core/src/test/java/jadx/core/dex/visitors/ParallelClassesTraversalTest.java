@@ -0,0 +1,199 @@
+package jadx.core.dex.visitors;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.core.dex.info.ConstStorage;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.IFieldInfoRef;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.visitors.prepare.CollectConstValues;
+import jadx.core.utils.files.FileUtils;
+import jadx.core.utils.tasks.DecompileThreads;
+import jadx.tests.api.compiler.CompilerOptions;
+import jadx.tests.api.compiler.TestCompiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Results of class-local passes should be same for parallel and sequential classes processing
+ */
+class ParallelClassesTraversalTest {
+	private static final int CLASSES_COUNT = 150;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void visitSameAsSequential() throws IOException {
+		List<File> inputs = compileInputs();
+		try (JadxDecompiler jadx = new JadxDecompiler(buildArgs(inputs, 1))) {
+			jadx.load();
+			List<ClassNode> classes = jadx.getRoot().getClassesWithoutInner();
+			assertThat(classes).hasSizeGreaterThan(CLASSES_COUNT);
+
+			RecordVisitor sequential = new RecordVisitor();
+			for (ClassNode cls : classes) {
+				DepthTraversal.visit(sequential, cls);
+			}
+			RecordVisitor parallel = new RecordVisitor();
+			try (DecompileThreads threads = new DecompileThreads(4)) {
+				ParallelClassesTraversal.visit(parallel, classes, threads);
+			}
+			assertThat(parallel.dump()).isEqualTo(sequential.dump());
+		}
+	}
+
+	@Test
+	void preDecompileStageSameAsSequential() throws IOException {
+		assertThat(ParallelClassesTraversal.isClassLocal(new SignatureProcessor())).isTrue();
+		assertThat(ParallelClassesTraversal.isClassLocal(new CollectConstValues())).isTrue();
+
+		List<File> inputs = compileInputs();
+		String sequential = loadAndDump(inputs, 1);
+		assertThat(sequential)
+				.contains("class test.G7<T extends java.lang.Comparable<T>>, super: test.Base<T>")
+				.contains("  field map: java.util.Map<java.lang.String, T extends java.lang.Comparable<T>>, attrs: ");
+		for (int threads : new int[] { 2, 8 }) {
+			assertThat(loadAndDump(inputs, threads)).as("threads: %d", threads).isEqualTo(sequential);
+		}
+	}
+
+	private List<File> compileInputs() throws IOException {
+		Path srcDir = tempDir.resolve("src");
+		List<File> srcFiles = new ArrayList<>();
+		srcFiles.add(writeSource(srcDir, "Base", "package test;\npublic class Base<B> {\n}\n"));
+		for (int i = 0; i < CLASSES_COUNT; i++) {
+			String name = "G" + i;
+			srcFiles.add(writeSource(srcDir, name, "package test;\n"
+					+ "import java.util.List;\n"
+					+ "import java.util.Map;\n"
+					+ "import java.util.function.Supplier;\n"
+					+ "public class " + name + "<T extends Comparable<T>> extends Base<T> implements Supplier<List<T>> {\n"
+					+ "  public static final int VALUE = " + (i % 40) + ";\n"
+					+ "  public static final String NAME = \"name" + i + "\";\n"
+					+ "  public Map<String, T> map;\n"
+					+ "  public <R extends T> List<R> convert(List<? super R> list, T value) { return null; }\n"
+					+ "  @Override public List<T> get() { return null; }\n"
+					+ "  public class Inner<V> {\n"
+					+ "    public Map<T, V> pairs;\n"
+					+ "    public T outer(V v) { return null; }\n"
+					+ "  }\n"
+					+ "}\n"));
+		}
+		Path clsDir = tempDir.resolve("classes");
+		try (TestCompiler compiler = new TestCompiler(new CompilerOptions())) {
+			return compiler.compileFiles(srcFiles, clsDir);
+		}
+	}
+
+	private static File writeSource(Path srcDir, String name, String code) throws IOException {
+		Path srcFile = srcDir.resolve("test/" + name + ".java");
+		FileUtils.writeFile(srcFile, code);
+		return srcFile.toFile();
+	}
+
+	private static JadxArgs buildArgs(List<File> inputs, int threads) {
+		JadxArgs args = new JadxArgs();
+		args.setInputFiles(new ArrayList<>(inputs));
+		args.setThreadsCount(threads);
+		args.setSkipResources(true);
+		return args;
+	}
+
+	private static String loadAndDump(List<File> inputs, int threads) {
+		try (JadxDecompiler jadx = new JadxDecompiler(buildArgs(inputs, threads))) {
+			jadx.load();
+			RootNode root = jadx.getRoot();
+			StringBuilder sb = new StringBuilder();
+			for (ClassNode cls : root.getClasses()) {
+				dumpClass(sb, root.getConstValues(), cls);
+			}
+			return sb.toString();
+		}
+	}
+
+	private static void dumpClass(StringBuilder sb, ConstStorage constStorage, ClassNode cls) {
+		sb.append("class ").append(cls.getFullName()).append(typesStr(cls.getGenericTypeParameters()))
+				.append(", super: ").append(cls.getSuperClass())
+				.append(", interfaces: ").append(cls.getInterfaces())
+				.append(", parent: ").append(cls.getParentClass().getFullName())
+				.append(", attrs: ").append(cls.getAttributesString())
+				.append(", use in: ").append(cls.getUseIn())
+				.append('\n');
+		for (FieldNode fld : cls.getFields()) {
+			sb.append("  field ").append(fld.getName()).append(": ").append(fld.getType());
+			Object constValue = CollectConstValues.getFieldConstValue(fld);
+			if (constValue != null) {
+				IFieldInfoRef constFld = constStorage.getConstField(cls, constValue, true);
+				sb.append(", const: ").append(constFld == null ? null : constFld.getFieldInfo());
+			}
+			sb.append(", attrs: ").append(fld.getAttributesString()).append('\n');
+		}
+		for (MethodNode mth : cls.getMethods()) {
+			sb.append("  method ").append(typesStr(mth.getTypeParameters())).append(mth.getName())
+					.append(mth.getArgTypes()).append(": ").append(mth.getReturnType())
+					.append(", attrs: ").append(mth.getAttributesString())
+					.append(", use in: ").append(mth.getUseIn())
+					.append('\n');
+		}
+	}
+
+	private static String typesStr(List<?> types) {
+		if (types.isEmpty()) {
+			return "";
+		}
+		StringBuilder sb = new StringBuilder("<");
+		for (Object type : types) {
+			if (sb.length() > 1) {
+				sb.append(", ");
+			}
+			sb.append(type);
+		}
+		return sb.append('>').toString();
+	}
+
+	private static final class RecordVisitor extends AbstractVisitor {
+		private final Map<ClassNode, List<String>> visits = new ConcurrentHashMap<>();
+
+		@Override
+		public boolean visit(ClassNode cls) {
+			record(cls, "class " + cls.getFullName());
+			return true;
+		}
+
+		@Override
+		public void visit(MethodNode mth) {
+			record(mth.getParentClass(), "method " + mth);
+		}
+
+		private void record(ClassNode cls, String str) {
+			ClassNode topCls = cls.getTopParentClass();
+			visits.computeIfAbsent(topCls, c -> new ArrayList<>()).add(str);
+		}
+
+		String dump() {
+			Map<ClassNode, List<String>> sorted = new TreeMap<>(visits);
+			StringBuilder sb = new StringBuilder();
+			sorted.forEach((cls, list) -> {
+				for (String str : list) {
+					sb.append(str).append('\n');
+				}
+			});
+			return sb.toString();
+		}
+	}
+}
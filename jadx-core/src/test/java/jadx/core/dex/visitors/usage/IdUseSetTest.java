@@ -0,0 +1,87 @@
+package jadx.core.dex.visitors.usage;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdUseSetTest {
+
+	@Test
+	public void sortedAndUnique() {
+		IdPairs first = new IdPairs();
+		first.add(2, 5);
+		first.add(2, 1);
+		first.add(0, 3);
+		first.add(-1, 3); // not indexed, ignored
+		IdPairs second = new IdPairs();
+		second.add(2, 5);
+		second.add(2, 0);
+		second.add(4, Integer.MAX_VALUE);
+
+		IdUseSet useSet = IdUseSet.build(5, Arrays.asList(first, second));
+		assertThat(useSet.getKeysCount()).isEqualTo(5);
+		assertThat(useSet.getList(0, Integer::valueOf)).containsExactly(3);
+		assertThat(useSet.isEmpty(1)).isTrue();
+		assertThat(useSet.getList(2, Integer::valueOf)).containsExactly(0, 1, 5);
+		assertThat(useSet.isEmpty(3)).isTrue();
+		assertThat(useSet.getList(4, Integer::valueOf)).containsExactly(Integer.MAX_VALUE);
+		assertThat(useSet.getList(-1, Integer::valueOf)).isEmpty();
+	}
+
+	@Test
+	public void sameResultForAnyPairsDistribution() {
+		int keys = 100;
+		Random random = new Random(42);
+		IdPairs all = new IdPairs();
+		IdPairs[] shards = new IdPairs[] { new IdPairs(), new IdPairs(), new IdPairs() };
+		for (int i = 0; i < 10_000; i++) {
+			int key = random.nextInt(keys);
+			int value = random.nextInt(50);
+			all.add(key, value);
+			shards[random.nextInt(shards.length)].add(key, value);
+		}
+		IdUseSet expected = IdUseSet.build(keys, Collections.singletonList(all));
+		IdUseSet merged = IdUseSet.build(keys, Arrays.asList(shards));
+		for (int key = 0; key < keys; key++) {
+			List<Integer> list = merged.getList(key, Integer::valueOf);
+			assertThat(list).isEqualTo(expected.getList(key, Integer::valueOf));
+			assertThat(list).isSorted().doesNotHaveDuplicates();
+		}
+	}
+
+	@Test
+	public void reverse() {
+		IdPairs pairs = new IdPairs();
+		pairs.add(0, 2);
+		pairs.add(0, 1);
+		pairs.add(3, 1);
+		pairs.add(1, 0);
+		IdUseSet useSet = IdUseSet.build(4, Collections.singletonList(pairs));
+
+		IdUseSet reversed = useSet.reverse(3);
+		assertThat(reversed.getKeysCount()).isEqualTo(3);
+		assertThat(reversed.getList(0, Integer::valueOf)).containsExactly(1);
+		assertThat(reversed.getList(1, Integer::valueOf)).containsExactly(0, 3);
+		assertThat(reversed.getList(2, Integer::valueOf)).containsExactly(0);
+		assertThat(reversed.reverse(4).getList(0, Integer::valueOf)).containsExactly(1, 2);
+	}
+
+	@Test
+	public void view() {
+		IdPairs pairs = new IdPairs();
+		pairs.add(1, 7);
+		pairs.add(1, 3);
+		IdUseSet useSet = IdUseSet.build(2, Collections.singletonList(pairs));
+
+		List<String> view = useSet.getView(1, id -> "n" + id);
+		assertThat(view).containsExactly("n3", "n7");
+		assertThat(useSet.size(1)).isEqualTo(2);
+		assertThat(useSet.getView(0, id -> "n" + id)).isEmpty();
+		assertThat(useSet.size(-1)).isZero();
+	}
+}
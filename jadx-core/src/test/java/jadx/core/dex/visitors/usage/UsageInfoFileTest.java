@@ -0,0 +1,202 @@
+package jadx.core.dex.visitors.usage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.usage.IUsageInfoData;
+import jadx.api.usage.impl.FileUsageInfoCache;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.tests.api.utils.TestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UsageInfoFileTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void loadSaved() throws IOException {
+		try (JadxDecompiler jadx = loadWithCache(tempDir.resolve("cache"))) {
+			RootNode root = jadx.getRoot();
+			Path file = saveUsage(root);
+			UsageInfo loaded = UsageInfoFile.load(root, file);
+			assertThat(loaded).isNotNull();
+			assertThat(dump(loaded)).isEqualTo(dump(collect(root)));
+		}
+	}
+
+	@Test
+	void truncatedFile() throws IOException {
+		try (JadxDecompiler jadx = loadWithCache(tempDir.resolve("cache"))) {
+			RootNode root = jadx.getRoot();
+			byte[] data = Files.readAllBytes(saveUsage(root));
+			Path file = tempDir.resolve("truncated.usage");
+			for (int len : new int[] { 0, 3, 16, 28, data.length / 2, data.length - 9, data.length - 1 }) {
+				Files.write(file, Arrays.copyOf(data, len));
+				assertThat(UsageInfoFile.load(root, file)).as("length: %d", len).isNull();
+			}
+		}
+	}
+
+	@Test
+	void idsOutOfRange() throws IOException {
+		try (JadxDecompiler jadx = loadWithCache(tempDir.resolve("cache"))) {
+			RootNode root = jadx.getRoot();
+			UsageInfo usageInfo = collect(root);
+			UsageNodesIndex index = usageInfo.getIndex();
+			int clsCount = index.getClassesCount();
+			int mthCount = index.getMethodsCount();
+			// first not valid id for values of each use set
+			int[] valuesBounds = { clsCount, clsCount, mthCount, mthCount, mthCount, mthCount, usageInfo.getUnresolvedMethods().length };
+			byte[] data = Files.readAllBytes(saveUsage(root));
+			// use sets saved at the end of file, before self calls bit set
+			int pos = data.length - Integer.BYTES - usageInfo.getSelfCalls().toLongArray().length * Long.BYTES;
+			IdUseSet[] useSets = usageInfo.getUseSets();
+			for (IdUseSet useSet : useSets) {
+				pos -= useSetSize(useSet);
+			}
+			Path file = tempDir.resolve("corrupted.usage");
+			for (int i = 0; i < useSets.length; i++) {
+				IdUseSet useSet = useSets[i];
+				int keysCount = useSet.getKeysCount();
+				int valuesCount = useSet.start(keysCount);
+				if (valuesCount != 0) {
+					int valuesPos = pos + (3 + keysCount) * Integer.BYTES;
+					write(file, data, valuesPos + (valuesCount - 1) * Integer.BYTES, valuesBounds[i]);
+					assertThat(UsageInfoFile.load(root, file)).as("use set: %d", i).isNull();
+					write(file, data, valuesPos, -1);
+					assertThat(UsageInfoFile.load(root, file)).as("use set: %d", i).isNull();
+				}
+				write(file, data, pos, keysCount + 1);
+				assertThat(UsageInfoFile.load(root, file)).as("use set: %d", i).isNull();
+				pos += useSetSize(useSet);
+			}
+			// not changed data still loaded
+			Files.write(file, data);
+			assertThat(UsageInfoFile.load(root, file)).isNotNull();
+		}
+	}
+
+	@Test
+	void corruptedCacheFileIsCacheMiss() throws IOException {
+		Path cacheDir = tempDir.resolve("cache");
+		String expected;
+		try (JadxDecompiler jadx = loadWithCache(cacheDir)) {
+			expected = dump(jadx.getRoot());
+		}
+		Path usageFile = getUsageFile(cacheDir);
+		byte[] data = Files.readAllBytes(usageFile);
+		Files.write(usageFile, Arrays.copyOf(data, data.length / 2));
+		try (JadxDecompiler jadx = loadWithCache(cacheDir)) {
+			assertThat(dump(jadx.getRoot())).isEqualTo(expected);
+		}
+		// usage data collected again and saved
+		assertThat(Files.readAllBytes(getUsageFile(cacheDir))).isEqualTo(data);
+	}
+
+	@Test
+	void cacheKeyedByContent() throws IOException {
+		Path cacheDir = tempDir.resolve("cache");
+		Path input = tempDir.resolve("hello.dex");
+		Files.copy(TestUtils.getFileForSample("test-samples/hello.dex").toPath(), input);
+		String expected;
+		try (JadxDecompiler jadx = loadWithCache(cacheDir, input)) {
+			expected = dump(jadx.getRoot());
+		}
+		Path usageFile = getUsageFile(cacheDir);
+		byte[] data = Files.readAllBytes(usageFile);
+
+		// moved and touched file with same content use saved data
+		Path movedInput = tempDir.resolve("moved.dex");
+		Files.move(input, movedInput);
+		Files.setLastModifiedTime(movedInput, FileTime.fromMillis(1_000_000_000L));
+		try (JadxDecompiler jadx = loadWithCache(cacheDir, movedInput)) {
+			assertThat(dump(jadx.getRoot())).isEqualTo(expected);
+		}
+		assertThat(getUsageFile(cacheDir)).isEqualTo(usageFile);
+		assertThat(Files.readAllBytes(usageFile)).isEqualTo(data);
+	}
+
+	private JadxDecompiler loadWithCache(Path cacheDir) {
+		return loadWithCache(cacheDir, TestUtils.getFileForSample("test-samples/hello.dex").toPath());
+	}
+
+	private static JadxDecompiler loadWithCache(Path cacheDir, Path input) {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(input.toFile());
+		args.setSkipResources(true);
+		args.setUsageInfoCache(new FileUsageInfoCache(cacheDir));
+		JadxDecompiler jadx = new JadxDecompiler(args);
+		jadx.load();
+		return jadx;
+	}
+
+	private static Path getUsageFile(Path cacheDir) throws IOException {
+		try (Stream<Path> files = Files.list(cacheDir)) {
+			List<Path> usageFiles = files.filter(p -> p.getFileName().toString().endsWith(".usage"))
+					.collect(Collectors.toList());
+			assertThat(usageFiles).hasSize(1);
+			return usageFiles.get(0);
+		}
+	}
+
+	private Path saveUsage(RootNode root) throws IOException {
+		Path file = tempDir.resolve("saved.usage");
+		UsageInfoFile.save(root, collect(root), file);
+		return file;
+	}
+
+	private static UsageInfo collect(RootNode root) {
+		IUsageInfoData data = root.getArgs().getUsageInfoCache().get(root);
+		assertThat(data).isInstanceOf(UsageInfo.class);
+		return (UsageInfo) data;
+	}
+
+	private static void write(Path file, byte[] data, int pos, int value) throws IOException {
+		byte[] copy = data.clone();
+		ByteBuffer.wrap(copy).putInt(pos, value);
+		Files.write(file, copy);
+	}
+
+	private static int useSetSize(IdUseSet useSet) {
+		int keysCount = useSet.getKeysCount();
+		return 2 * Integer.BYTES + (keysCount + 1 + useSet.start(keysCount)) * Integer.BYTES;
+	}
+
+	private static String dump(UsageInfo usageInfo) {
+		StringBuilder sb = new StringBuilder();
+		for (IdUseSet useSet : usageInfo.getUseSets()) {
+			for (int key = 0; key < useSet.getKeysCount(); key++) {
+				sb.append(key).append(": ").append(useSet.getList(key, Integer::valueOf)).append('\n');
+			}
+		}
+		return sb.append(usageInfo.getSelfCalls()).toString();
+	}
+
+	private static String dump(RootNode root) {
+		StringBuilder sb = new StringBuilder();
+		for (ClassNode cls : root.getClasses()) {
+			sb.append(cls).append(": ").append(cls.getUseIn()).append(cls.getDependencies()).append('\n');
+			for (MethodNode mth : cls.getMethods()) {
+				sb.append("  ").append(mth).append(": ").append(mth.getUseIn())
+						.append(mth.getUnresolvedUsed()).append('\n');
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,55 @@
+package jadx.core.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodeCompressorTest {
+
+	@Test
+	void testWithoutDictionary() {
+		CodeCompressor compressor = new CodeCompressor(0);
+		String code = buildClass(1);
+		byte[] data = compressor.compress(code);
+		assertThat(data.length < code.length()).isTrue();
+		assertThat(compressor.decompress(data)).isEqualTo(code);
+		assertThat(compressor.decompress(compressor.compress(""))).isEqualTo("");
+		assertThat(compressor.getDictionary()).isNull();
+	}
+
+	@Test
+	void testTrainedDictionary() {
+		CodeCompressor compressor = new CodeCompressor(3);
+		List<byte[]> compressed = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			compressed.add(compressor.compress(buildClass(i)));
+		}
+		byte[] dict = compressor.getDictionary();
+		assertThat(dict).isNotNull();
+		assertThat(dict.length <= CodeCompressor.MAX_DICT_SIZE).isTrue();
+		for (int i = 0; i < 10; i++) {
+			assertThat(compressor.decompress(compressed.get(i))).isEqualTo(buildClass(i));
+		}
+		// data compressed before and after training can be read using saved dictionary
+		CodeCompressor loaded = new CodeCompressor(dict);
+		for (int i = 0; i < 10; i++) {
+			assertThat(loaded.decompress(compressed.get(i))).isEqualTo(buildClass(i));
+		}
+	}
+
+	private static String buildClass(int n) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("package jadx.test;\n\nimport java.util.List;\n\n");
+		sb.append("public class Cls").append(n).append(" {\n");
+		for (int i = 0; i < 20; i++) {
+			sb.append("    public int method").append(i).append("(List<String> list) {\n");
+			sb.append("        return list.size() + ").append(i * n).append(";\n");
+			sb.append("    }\n\n");
+		}
+		sb.append("    /* renamed: \u00e9 */\n}\n");
+		return sb.toString();
+	}
+}
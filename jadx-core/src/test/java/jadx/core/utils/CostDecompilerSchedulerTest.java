@@ -0,0 +1,143 @@
+package jadx.core.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.JavaClass;
+import jadx.core.utils.files.FileUtils;
+import jadx.tests.api.compiler.CompilerOptions;
+import jadx.tests.api.compiler.TestCompiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CostDecompilerSchedulerTest {
+	private static final int SMALL_CLASSES_COUNT = 150;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void batchesOrderedByCost() throws IOException {
+		try (JadxDecompiler jadx = load()) {
+			List<JavaClass> classes = jadx.getClasses();
+			List<List<JavaClass>> batches = new CostDecompilerScheduler().internalBatches(classes);
+			assertThat(batches).hasSizeGreaterThan(2);
+
+			long prevCost = Long.MAX_VALUE;
+			for (List<JavaClass> batch : batches) {
+				long cost = batchCost(batch);
+				assertThat(cost).as("batch: %s", batch).isLessThanOrEqualTo(prevCost);
+				prevCost = cost;
+			}
+			// expensive class placed into own batch and decompiled first
+			assertThat(batches.get(0)).extracting(JavaClass::getName).containsExactly("Big");
+
+			// not yet scheduled dependencies placed into same batch with dependent class
+			assertThat(findBatch(batches, "Dep1"))
+					.extracting(JavaClass::getName)
+					.containsExactlyInAnyOrder("Dep1", "Dep2");
+			assertThat(findBatch(batches, "User")).extracting(JavaClass::getName).containsExactly("User");
+
+			// classes without dependencies merged
+			List<JavaClass> smallBatch = findBatch(batches, "Small0");
+			assertThat(smallBatch).hasSizeGreaterThan(1).hasSizeLessThanOrEqualTo(64);
+		}
+	}
+
+	@Test
+	void allClassesScheduledOnce() throws IOException {
+		try (JadxDecompiler jadx = load()) {
+			List<JavaClass> classes = jadx.getClasses();
+			List<List<JavaClass>> batches = new CostDecompilerScheduler().internalBatches(classes);
+
+			List<JavaClass> scheduled = new ArrayList<>();
+			batches.forEach(scheduled::addAll);
+			assertThat(scheduled).doesNotHaveDuplicates();
+			assertThat(scheduled).containsExactlyInAnyOrderElementsOf(classes);
+			// same result from public method
+			assertThat(new CostDecompilerScheduler().buildBatches(classes)).isEqualTo(batches);
+		}
+	}
+
+	private static long batchCost(List<JavaClass> batch) {
+		long cost = 0;
+		for (JavaClass cls : batch) {
+			cost += CostDecompilerScheduler.estimateCost(cls.getClassNode());
+		}
+		return cost;
+	}
+
+	private static List<JavaClass> findBatch(List<List<JavaClass>> batches, String clsName) {
+		for (List<JavaClass> batch : batches) {
+			for (JavaClass cls : batch) {
+				if (cls.getName().equals(clsName)) {
+					return batch;
+				}
+			}
+		}
+		throw new AssertionError("Class not found in batches: " + clsName);
+	}
+
+	private JadxDecompiler load() throws IOException {
+		JadxArgs args = new JadxArgs();
+		args.setInputFiles(new ArrayList<>(compileInputs()));
+		args.setSkipResources(true);
+		JadxDecompiler jadx = new JadxDecompiler(args);
+		jadx.load();
+		return jadx;
+	}
+
+	private List<File> compileInputs() throws IOException {
+		Path srcDir = tempDir.resolve("src");
+		List<File> srcFiles = new ArrayList<>();
+		StringBuilder big = new StringBuilder();
+		big.append("package test;\npublic class Big {\n");
+		for (int m = 0; m < 10; m++) {
+			big.append("  public int calc").append(m).append("(int a) {\n    int sum = 0;\n");
+			for (int i = 0; i < 200; i++) {
+				big.append("    sum += a * ").append(i).append(" + sum / ").append(i + 1).append(";\n");
+			}
+			big.append("    return sum;\n  }\n");
+		}
+		big.append("}\n");
+		srcFiles.add(writeSource(srcDir, "Big", big.toString()));
+		srcFiles.add(writeSource(srcDir, "Dep1", "package test;\n"
+				+ "public class Dep1 {\n"
+				+ "  public Dep2 dep;\n"
+				+ "  public int value(int a) { return dep.value(a) + a * 2; }\n"
+				+ "}\n"));
+		srcFiles.add(writeSource(srcDir, "Dep2", "package test;\n"
+				+ "public class Dep2 {\n"
+				+ "  public Dep1 dep;\n"
+				+ "  public int value(int a) { return a > 0 ? dep.value(a - 1) : 1; }\n"
+				+ "}\n"));
+		srcFiles.add(writeSource(srcDir, "User", "package test;\n"
+				+ "public class User {\n"
+				+ "  public int use(Dep1 d1, Dep2 d2) { return d1.value(1) + d2.value(2); }\n"
+				+ "}\n"));
+		for (int i = 0; i < SMALL_CLASSES_COUNT; i++) {
+			String name = "Small" + i;
+			srcFiles.add(writeSource(srcDir, name, "package test;\n"
+					+ "public class " + name + " {\n"
+					+ "  public int get() { return " + i + "; }\n"
+					+ "}\n"));
+		}
+		try (TestCompiler compiler = new TestCompiler(new CompilerOptions())) {
+			return compiler.compileFiles(srcFiles, tempDir.resolve("classes"));
+		}
+	}
+
+	private static File writeSource(Path srcDir, String name, String code) throws IOException {
+		Path srcFile = srcDir.resolve("test/" + name + ".java");
+		FileUtils.writeFile(srcFile, code);
+		return srcFile.toFile();
+	}
+}
@@ -0,0 +1,81 @@
+package jadx.core.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StripedIntMapTest {
+
+	@Test
+	public void putAndGet() {
+		StripedIntMap<String> map = new StripedIntMap<>(4);
+		int count = 10_000;
+		for (int i = 0; i < count; i++) {
+			map.put(i * 31, "v" + i);
+		}
+		assertThat(map.size()).isEqualTo(count);
+		for (int i = 0; i < count; i++) {
+			assertThat(map.get(i * 31)).isEqualTo("v" + i);
+		}
+		assertThat(map.get(-1)).isNull();
+		assertThat(map.get(1)).isNull();
+	}
+
+	@Test
+	public void specialKeys() {
+		StripedIntMap<String> map = new StripedIntMap<>(1);
+		map.put(0, "zero");
+		map.put(Integer.MIN_VALUE, "min");
+		map.put(Integer.MAX_VALUE, "max");
+		assertThat(map.get(0)).isEqualTo("zero");
+		assertThat(map.get(Integer.MIN_VALUE)).isEqualTo("min");
+		assertThat(map.get(Integer.MAX_VALUE)).isEqualTo("max");
+
+		map.put(0, "zero2");
+		assertThat(map.get(0)).isEqualTo("zero2");
+		assertThat(map.putIfAbsent(0, "zero3")).isEqualTo("zero2");
+		assertThat(map.size()).isEqualTo(3);
+
+		map.clear();
+		assertThat(map.size()).isZero();
+		assertThat(map.get(0)).isNull();
+	}
+
+	@Test
+	public void concurrentPutIfAbsent() throws Exception {
+		int threads = 16;
+		int count = 20_000;
+		StripedIntMap<Object> map = new StripedIntMap<>();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<Object[]>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					Object[] stored = new Object[count];
+					for (int i = 0; i < count; i++) {
+						stored[i] = map.putIfAbsent(i << 16, new Object());
+					}
+					return stored;
+				}));
+			}
+			start.countDown();
+			Object[] first = futures.get(0).get();
+			for (Future<Object[]> future : futures) {
+				// all threads should receive same instance for each key
+				assertThat(future.get()).containsExactly(first);
+			}
+			assertThat(map.size()).isEqualTo(count);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package jadx.core.utils.tasks;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class DecompileThreadsTest {
+
+	@Test
+	public void helpersLimitedByBudget() throws Exception {
+		try (DecompileThreads threads = new DecompileThreads(3)) {
+			threads.enterClass();
+			threads.enterClass(); // nested class processing counted once
+			assertThat(threads.getBusyCount()).isEqualTo(1);
+
+			CountDownLatch release = new CountDownLatch(1);
+			CountDownLatch started = new CountDownLatch(2);
+			AtomicInteger finished = new AtomicInteger();
+			int helpers = threads.startHelpers(5, () -> {
+				started.countDown();
+				awaitLatch(release);
+				finished.incrementAndGet();
+			});
+			assertThat(helpers).isEqualTo(2);
+			assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+			assertThat(threads.getBusyCount()).isEqualTo(3);
+			// no free threads for other class
+			assertThat(threads.startHelpers(1, () -> {
+			})).isZero();
+
+			release.countDown();
+			waitForBusyCount(threads, 1);
+			assertThat(finished.get()).isEqualTo(2);
+
+			threads.exitClass();
+			assertThat(threads.getBusyCount()).isEqualTo(1);
+			threads.exitClass();
+			assertThat(threads.getBusyCount()).isZero();
+		}
+	}
+
+	@Test
+	public void noHelpersAfterClose() {
+		DecompileThreads threads = new DecompileThreads(4);
+		threads.close();
+		assertThat(threads.isClosed()).isTrue();
+		assertThat(threads.startHelpers(2, () -> {
+		})).isZero();
+		assertThat(threads.getBusyCount()).isZero();
+	}
+
+	@Test
+	public void runParallelProcessAllTasksOnce() throws Exception {
+		try (DecompileThreads threads = new DecompileThreads(4)) {
+			int count = 1000;
+			AtomicInteger[] calls = new AtomicInteger[count];
+			for (int i = 0; i < count; i++) {
+				calls[i] = new AtomicInteger();
+			}
+			Set<Thread> workers = ConcurrentHashMap.newKeySet();
+			AtomicInteger factoryCalls = new AtomicInteger();
+			threads.runParallel(count, () -> {
+				factoryCalls.incrementAndGet();
+				assertThat(workers.add(Thread.currentThread())).isTrue();
+				return idx -> calls[idx].incrementAndGet();
+			});
+			for (AtomicInteger call : calls) {
+				assertThat(call.get()).isEqualTo(1);
+			}
+			assertThat(factoryCalls.get()).isEqualTo(workers.size());
+			// helpers released after last task
+			waitForBusyCount(threads, 0);
+		}
+	}
+
+	@Test
+	public void runParallelRethrowError() throws Exception {
+		try (DecompileThreads threads = new DecompileThreads(4)) {
+			assertThatExceptionOfType(IllegalStateException.class)
+					.isThrownBy(() -> threads.runParallel(100, () -> idx -> {
+						if (idx == 10) {
+							throw new IllegalStateException("task " + idx);
+						}
+					}))
+					.withMessage("task 10");
+			// helpers released after last task
+			waitForBusyCount(threads, 0);
+		}
+	}
+
+	private static void awaitLatch(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void waitForBusyCount(DecompileThreads threads, int count) throws InterruptedException {
+		long end = System.currentTimeMillis() + 10_000;
+		while (threads.getBusyCount() != count && System.currentTimeMillis() < end) {
+			Thread.sleep(5);
+		}
+		assertThat(threads.getBusyCount()).isEqualTo(count);
+	}
+}
@@ -0,0 +1,78 @@
+package jadx.core.xmlgen;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+
+import static jadx.api.JadxDecompilerTest.getFileFromSampleDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryXMLParserTest {
+	private JadxDecompiler jadx;
+	private BinaryXMLParser parser;
+	private byte[] manifest;
+
+	@BeforeEach
+	void init() throws IOException {
+		File apk = getFileFromSampleDir("app-with-fake-dex.apk");
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(apk);
+		args.setCodeNewLineStr("\n");
+		jadx = new JadxDecompiler(args);
+		jadx.load();
+		parser = new BinaryXMLParser(jadx.getRoot());
+		try (ZipFile zip = new ZipFile(apk)) {
+			ZipEntry entry = zip.getEntry("AndroidManifest.xml");
+			try (InputStream in = zip.getInputStream(entry)) {
+				manifest = in.readAllBytes();
+			}
+		}
+	}
+
+	@AfterEach
+	void close() {
+		jadx.close();
+	}
+
+	@Test
+	void testShortInput() throws IOException {
+		assertThat(parse(new byte[0]).trim()).isEmpty();
+		assertThat(parse(new byte[] { 'a', 'b', 'c' })).isEqualTo("abc");
+	}
+
+	@Test
+	void testOversizedHeader() throws IOException {
+		String expected = parse(manifest);
+		assertThat(expected).contains("<manifest").contains("</manifest>");
+
+		byte[] data = manifest.clone();
+		ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN).putInt(4, manifest.length + 0x100);
+		assertThat(parse(data)).isEqualTo(expected);
+	}
+
+	@Test
+	void testTruncated() throws IOException {
+		String full = parse(manifest);
+		byte[] data = Arrays.copyOf(manifest, manifest.length - 30);
+		String code = parse(data);
+		assertThat(code).startsWith("<?xml").contains("<manifest");
+		assertThat(full).startsWith(code.substring(0, code.indexOf("<manifest")));
+	}
+
+	private String parse(byte[] data) throws IOException {
+		return parser.parse(new ByteArrayInputStream(data)).getCodeStr();
+	}
+}
@@ -0,0 +1,101 @@
+package jadx.core.xmlgen;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.ResourceFile;
+import jadx.api.ResourceType;
+import jadx.api.ResourcesLoader;
+import jadx.core.utils.exceptions.JadxException;
+import jadx.core.xmlgen.entry.ResourceEntry;
+
+import static jadx.api.JadxDecompilerTest.getFileFromSampleDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResTableLazyDecodeTest {
+
+	@Test
+	void lazyTableSameAsFullDecode() throws Exception {
+		try (JadxDecompiler jadx = loadSample()) {
+			ResourceFile arsc = getTableFile(jadx);
+			String fullContent = dump(decode(jadx, arsc, false).decodeFiles());
+
+			ResTableBinaryParser lazyParser = (ResTableBinaryParser) decode(jadx, arsc, true);
+			assertThat(lazyParser.hasDeferredValues()).isTrue();
+			String lazyContent = dump(lazyParser.decodeFiles());
+			assertThat(lazyContent)
+					.contains("res/values/styles.xml")
+					.contains("<style name=\"AppTheme\"")
+					.isEqualTo(fullContent);
+			// data buffer released after all values loaded
+			assertThat(lazyParser.hasDeferredValues()).isFalse();
+			assertThat(lazyParser.is).isNull();
+			// repeated decoding return same result
+			assertThat(dump(lazyParser.decodeFiles())).isEqualTo(lazyContent);
+			assertThat(dump(arsc.loadContent())).isEqualTo(fullContent);
+		}
+	}
+
+	@Test
+	void loadValuesByType() throws Exception {
+		try (JadxDecompiler jadx = loadSample()) {
+			ResTableBinaryParser parser = (ResTableBinaryParser) decode(jadx, getTableFile(jadx), true);
+			ResourceStorage resStorage = parser.getResStorage();
+			assertThat(countNotLoaded(resStorage, "style", "")).isGreaterThan(0);
+
+			parser.loadValues("style", "");
+			assertThat(countNotLoaded(resStorage, "style", "")).isZero();
+
+			parser.loadValues("style", null);
+			assertThat(countNotLoaded(resStorage, "style", null)).isZero();
+			assertThat(parser.is == null).isEqualTo(!parser.hasDeferredValues());
+		}
+	}
+
+	private static JadxDecompiler loadSample() {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getFileFromSampleDir("app-with-fake-dex.apk"));
+		args.setCodeNewLineStr("\n");
+		JadxDecompiler jadx = new JadxDecompiler(args);
+		jadx.load();
+		return jadx;
+	}
+
+	private static ResourceFile getTableFile(JadxDecompiler jadx) {
+		return jadx.getResources().stream()
+				.filter(rf -> rf.getType() == ResourceType.ARSC)
+				.findFirst()
+				.orElseThrow();
+	}
+
+	private static IResTableParser decode(JadxDecompiler jadx, ResourceFile arsc, boolean lazy) throws JadxException {
+		ResourcesLoader resLoader = jadx.getResourcesLoader();
+		return ResourcesLoader.decodeStream(arsc, (size, is) -> resLoader.decodeTable(arsc, is, lazy));
+	}
+
+	private static int countNotLoaded(ResourceStorage resStorage, String typeName, String config) {
+		int count = 0;
+		for (ResourceEntry resEntry : resStorage.getResources()) {
+			if (resEntry.getTypeName().equals(typeName)
+					&& (config == null || resEntry.getConfig().equals(config))
+					&& resEntry.getNamedValues() == null
+					&& resEntry.getSimpleValue() == null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static String dump(ResContainer container) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("file: ").append(container.getName()).append('\n');
+		if (container.getDataType() == ResContainer.DataType.TEXT || container.getDataType() == ResContainer.DataType.RES_TABLE) {
+			sb.append(container.getText().getCodeStr()).append('\n');
+		}
+		for (ResContainer subFile : container.getSubFiles()) {
+			sb.append(dump(subFile));
+		}
+		return sb.toString();
+	}
+}
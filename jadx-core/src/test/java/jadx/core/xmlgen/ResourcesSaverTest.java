@@ -0,0 +1,143 @@
+package jadx.core.xmlgen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.ResourceFile;
+import jadx.api.ResourcesLoader;
+import jadx.api.impl.SimpleCodeInfo;
+import jadx.api.plugins.resources.IResContainerFactory;
+
+import static jadx.api.JadxDecompilerTest.getFileFromSampleDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourcesSaverTest {
+	private static final String CUSTOM_FILE = "res/raw/custom.txt";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void rawResourcesCopiedWithCustomFactory() throws IOException {
+		Random rnd = new Random(3);
+		Map<String, byte[]> rawFiles = new LinkedHashMap<>();
+		rawFiles.put("assets/data.bin", randomBytes(rnd, 10_000));
+		rawFiles.put("lib/x86/libfoo.so", randomBytes(rnd, 3000));
+		rawFiles.put("res/drawable/icon.png", randomBytes(rnd, 500));
+		Path apk = buildApk(rawFiles);
+
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(apk.toFile());
+		Path outDir = tempDir.resolve("out");
+		args.setOutDirRes(outDir.toFile());
+		args.setCodeNewLineStr("\n");
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.getResourcesLoader().addResContainerFactory(new CustomFileFactory());
+			jadx.load();
+			ResourcesLoader resLoader = jadx.getResourcesLoader();
+			Map<String, Boolean> rawMap = new LinkedHashMap<>();
+			for (ResourceFile resFile : jadx.getResources()) {
+				rawMap.put(resFile.getOriginalName(), resLoader.isRawResource(resFile));
+			}
+			assertThat(rawMap)
+					.containsEntry("AndroidManifest.xml", false)
+					.containsEntry("res/layout/activity_main.xml", false)
+					.containsEntry("resources.arsc", false)
+					.containsEntry("res/drawable/btn.9.png", false)
+					.containsEntry(CUSTOM_FILE, false)
+					.containsEntry("assets/data.bin", true)
+					.containsEntry("lib/x86/libfoo.so", true)
+					.containsEntry("res/drawable/icon.png", true);
+
+			jadx.saveResources();
+		}
+		for (Map.Entry<String, byte[]> entry : rawFiles.entrySet()) {
+			assertThat(Files.readAllBytes(outDir.resolve(entry.getKey())))
+					.as("raw file %s", entry.getKey())
+					.isEqualTo(entry.getValue());
+		}
+		assertThat(readText(outDir.resolve("AndroidManifest.xml"))).startsWith("<?xml").contains("<manifest");
+		assertThat(readText(outDir.resolve("res/layout/activity_main.xml"))).startsWith("<?xml");
+		assertThat(readText(outDir.resolve("res/values/styles.xml"))).contains("<style name=\"AppTheme\"");
+		assertThat(outDir.resolve("resources.arsc")).doesNotExist();
+		assertThat(readText(outDir.resolve(CUSTOM_FILE))).startsWith("decoded by factory");
+	}
+
+	private Path buildApk(Map<String, byte[]> rawFiles) throws IOException {
+		Path apk = tempDir.resolve("app.apk");
+		try (ZipFile sample = new ZipFile(getFileFromSampleDir("app-with-fake-dex.apk"));
+				ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(apk))) {
+			for (String name : new String[] { "AndroidManifest.xml", "classes.dex", "res/layout/activity_main.xml", "resources.arsc" }) {
+				try (InputStream in = sample.getInputStream(sample.getEntry(name))) {
+					out.putNextEntry(new ZipEntry(name));
+					in.transferTo(out);
+				}
+			}
+			boolean stored = false;
+			for (Map.Entry<String, byte[]> entry : rawFiles.entrySet()) {
+				// mix stored and deflated entries
+				putEntry(out, entry.getKey(), entry.getValue(), stored);
+				stored = !stored;
+			}
+			putEntry(out, "res/drawable/btn.9.png", new byte[] { (byte) 0x89, 'P', 'N', 'G' }, false);
+			putEntry(out, CUSTOM_FILE, "raw text".getBytes(StandardCharsets.UTF_8), false);
+		}
+		return apk;
+	}
+
+	private static void putEntry(ZipOutputStream out, String name, byte[] data, boolean stored) throws IOException {
+		ZipEntry entry = new ZipEntry(name);
+		if (stored) {
+			CRC32 crc = new CRC32();
+			crc.update(data);
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(data.length);
+			entry.setCompressedSize(data.length);
+			entry.setCrc(crc.getValue());
+		}
+		out.putNextEntry(entry);
+		out.write(data);
+		out.closeEntry();
+	}
+
+	private static String readText(Path file) throws IOException {
+		return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+	}
+
+	private static byte[] randomBytes(Random rnd, int len) {
+		byte[] data = new byte[len];
+		rnd.nextBytes(data);
+		return data;
+	}
+
+	private static final class CustomFileFactory implements IResContainerFactory {
+		@Override
+		public boolean canHandle(ResourceFile resFile) {
+			return resFile.getOriginalName().equals(CUSTOM_FILE);
+		}
+
+		@Override
+		public @Nullable ResContainer create(ResourceFile resFile, InputStream inputStream) {
+			if (!canHandle(resFile)) {
+				return null;
+			}
+			return ResContainer.textResource(resFile.getDeobfName(), new SimpleCodeInfo("decoded by factory"));
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package jadx.tests.functional;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -11,6 +12,8 @@
 
 import jadx.api.JadxArgs;
 import jadx.core.Jadx;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.visitors.AbstractVisitor;
 import jadx.core.dex.visitors.IDexTreeVisitor;
 import jadx.core.dex.visitors.JadxVisitor;
 
@@ -56,6 +59,9 @@ private static List<String> check(List<IDexTreeVisitor> passes) {
 			if (firstOccurrence && !names.add(passName)) {
 				errors.add("Visitor name conflict: " + passName + ", class: " + passClass.getName());
 			}
+			if (info.methodLocal() && overrideClassVisit(passClass)) {
+				errors.add("Method-local pass " + passName + " can't override class visit method");
+			}
 			for (Class<? extends IDexTreeVisitor> cls : info.runBefore()) {
 				int beforeIndex = classList.indexOf(cls);
 				if (beforeIndex != -1 && beforeIndex < i) {
@@ -70,4 +76,13 @@ private static List<String> check(List<IDexTreeVisitor> passes) {
 		}
 		return errors;
 	}
+
+	private static boolean overrideClassVisit(Class<?> passClass) {
+		try {
+			Method visitMth = passClass.getMethod("visit", ClassNode.class);
+			return visitMth.getDeclaringClass() != AbstractVisitor.class;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
 }
@@ -0,0 +1,123 @@
+package jadx.tests.integration.others;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.tests.api.IntegrationTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+
+public class TestParallelMethods extends IntegrationTest {
+
+	@SuppressWarnings("unused")
+	public static class TestCls {
+		private int field;
+
+		public int loop(int[] arr) {
+			int sum = 0;
+			for (int a : arr) {
+				if (a > 0) {
+					sum += a;
+				}
+			}
+			return sum;
+		}
+
+		public String sw(int i) {
+			switch (i) {
+				case 1:
+					return "one";
+				case 2:
+					return "two";
+				default:
+					return "other";
+			}
+		}
+
+		public void tryCatch(String str) {
+			try {
+				field = Integer.parseInt(str);
+			} catch (NumberFormatException e) {
+				field = -1;
+			}
+		}
+
+		public void check() {
+			assertThat(loop(new int[] { 1, -2, 3 })).isEqualTo(4);
+			assertThat(sw(2)).isEqualTo("two");
+			tryCatch("x");
+			assertThat(field).isEqualTo(-1);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	public static class TestConstructors {
+		private final int a;
+		private final String str;
+
+		public TestConstructors() {
+			this(1);
+		}
+
+		public TestConstructors(int a) {
+			this(a, "str");
+		}
+
+		public TestConstructors(int a, String str) {
+			this.a = a;
+			this.str = str;
+		}
+
+		public Inner inner() {
+			return new Inner(a);
+		}
+
+		public Runnable anonymous() {
+			return new Runnable() {
+				@Override
+				public void run() {
+					System.out.println(str);
+				}
+			};
+		}
+
+		private class Inner {
+			private final int b;
+
+			private Inner(int b) {
+				this.b = b;
+			}
+		}
+
+		public void check() {
+			assertThat(new TestConstructors().a).isEqualTo(1);
+			assertThat(new TestConstructors(2).str).isEqualTo("str");
+			assertThat(inner().b).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void test() {
+		getArgs().setParallelMethodsProcessing(true);
+		getArgs().setThreadsCount(4);
+		assertThat(getClassNode(TestCls.class))
+				.code()
+				.containsOne("for (int a : arr) {")
+				.containsOne("case 2:")
+				.containsOne("} catch (NumberFormatException e) {");
+	}
+
+	@Test
+	public void testConstructors() {
+		getArgs().setParallelMethodsProcessing(true);
+		getArgs().setThreadsCount(4);
+		assertThat(getClassNode(TestConstructors.class))
+				.code()
+				.containsOne("this(1);")
+				.containsOne("this(a, \"str\");")
+				.containsOne("return new Inner(this.a);")
+				.containsOne("return new Runnable() {")
+				.containsOne("private Inner(int b) {")
+				.doesNotContain("AnonymousClass")
+				.doesNotContain("Inner(TestConstructors");
+	}
+}
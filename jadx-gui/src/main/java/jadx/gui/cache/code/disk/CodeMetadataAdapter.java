@@ -2,19 +2,21 @@
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import jadx.api.ICodeInfo;
 import jadx.api.impl.AnnotatedCodeInfo;
@@ -22,13 +24,9 @@
 import jadx.api.metadata.ICodeAnnotation;
 import jadx.api.metadata.ICodeMetadata;
 import jadx.core.dex.nodes.RootNode;
-import jadx.core.utils.files.FileUtils;
 import jadx.gui.cache.code.disk.adapters.CodeAnnotationAdapter;
 import jadx.gui.cache.code.disk.adapters.DataAdapterHelper;
-
-import static java.nio.file.StandardOpenOption.CREATE;
-import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
-import static java.nio.file.StandardOpenOption.WRITE;
+import jadx.zip.io.ByteBufferBackedInputStream;
 
 public class CodeMetadataAdapter {
 	private static final byte[] JADX_METADATA_HEADER = "jadxmd".getBytes(StandardCharsets.US_ASCII);
@@ -39,24 +37,30 @@ public CodeMetadataAdapter(RootNode root) {
 		codeAnnotationAdapter = new CodeAnnotationAdapter(root);
 	}
 
-	public void write(Path metadataFile, ICodeMetadata metadata) {
-		FileUtils.makeDirsForFile(metadataFile);
-		try (OutputStream fileOutput = Files.newOutputStream(metadataFile, WRITE, CREATE, TRUNCATE_EXISTING);
-				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOutput))) {
+	/**
+	 * Serialize and compress metadata
+	 */
+	public byte[] write(ICodeMetadata metadata) {
+		ByteArrayOutputStream byteOutput = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(byteOutput)))) {
 			out.write(JADX_METADATA_HEADER);
 			writeLines(out, metadata.getLineMapping());
-			writeAnnotations(out, metadata.getAsMap());
+			writeAnnotations(out, metadata);
 		} catch (Exception e) {
-			throw new RuntimeException("Failed to write metadata file", e);
+			throw new RuntimeException("Failed to write metadata", e);
 		}
+		return byteOutput.toByteArray();
 	}
 
-	public ICodeInfo readAndBuild(Path metadataFile, String code) {
-		if (!Files.exists(metadataFile)) {
+	/**
+	 * Read metadata from data created by {@link #write(ICodeMetadata)}
+	 */
+	public ICodeInfo readAndBuild(ByteBuffer data, String code) {
+		if (!data.hasRemaining()) {
 			return new SimpleCodeInfo(code);
 		}
-		try (InputStream fileInput = Files.newInputStream(metadataFile);
-				DataInputStream in = new DataInputStream(new BufferedInputStream(fileInput))) {
+		try (InputStream dataInput = new ByteBufferBackedInputStream(data);
+				DataInputStream in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(dataInput)))) {
 			in.skipBytes(JADX_METADATA_HEADER.length);
 			Map<Integer, Integer> lines = readLines(in);
 			Map<Integer, ICodeAnnotation> annotations = readAnnotations(in);
@@ -88,12 +92,25 @@ private Map<Integer, Integer> readLines(DataInput in) throws IOException {
 		return lines;
 	}
 
-	private void writeAnnotations(DataOutputStream out, Map<Integer, ICodeAnnotation> annotations) throws IOException {
-		out.writeInt(annotations.size());
-		for (Map.Entry<Integer, ICodeAnnotation> entry : annotations.entrySet()) {
-			DataAdapterHelper.writeUVInt(out, entry.getKey());
-			codeAnnotationAdapter.write(out, entry.getValue());
-		}
+	/**
+	 * Iterate by search method to avoid copy of annotations into map
+	 */
+	private void writeAnnotations(DataOutputStream out, ICodeMetadata metadata) throws IOException {
+		int[] count = new int[1];
+		metadata.searchDown(0, (pos, ann) -> {
+			count[0]++;
+			return null;
+		});
+		out.writeInt(count[0]);
+		metadata.searchDown(0, (pos, ann) -> {
+			try {
+				DataAdapterHelper.writeUVInt(out, pos);
+				codeAnnotationAdapter.write(out, ann);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return null;
+		});
 	}
 
 	private Map<Integer, ICodeAnnotation> readAnnotations(DataInputStream in) throws IOException {
@@ -0,0 +1,358 @@
+package jadx.gui.cache.code.disk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only file with code and metadata records for classes.
+ * <br>
+ * File header: 8 bytes magic, 8 bytes pack id (changed on every rewrite).
+ * <br>
+ * Record: class id, code length (-1 for removed class), metadata length,
+ * CRC32 of previous fields and data, then code and metadata bytes.
+ * <br>
+ * Records read from memory mapped file without copy.
+ * File mapped by fixed size chunks, so on file grow only last chunk is mapped again,
+ * records split between chunks are copied into heap buffer.
+ * Appends and reads are thread safe.
+ * <br>
+ * File is never replaced in place: compaction writes records into pack with new file name
+ * (see {@link #copyRecord(CodePackFile, long)}), because mapped file can't be removed or replaced on Windows.
+ */
+public class CodePackFile implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(CodePackFile.class);
+
+	private static final byte[] MAGIC = "jadxpack".getBytes(StandardCharsets.US_ASCII);
+	public static final int HEADER_SIZE = 16;
+	public static final int RECORD_HEADER_SIZE = 16;
+	private static final int REMOVED = -1;
+
+	/**
+	 * Mapping chunk size: 64 MB
+	 */
+	private static final int DEFAULT_CHUNK_SHIFT = 26;
+
+	private static final MappedByteBuffer[] NO_CHUNKS = new MappedByteBuffer[0];
+
+	private final Path file;
+	private final int chunkShift;
+	private final FileChannel channel;
+	private long packId;
+	private volatile long size;
+	/**
+	 * Mapped chunks, replaced as a whole (copy on write), last chunk can be mapped partially
+	 */
+	private volatile MappedByteBuffer[] chunks = NO_CHUNKS;
+
+	public CodePackFile(Path file) throws IOException {
+		this(file, DEFAULT_CHUNK_SHIFT);
+	}
+
+	CodePackFile(Path file, int chunkShift) throws IOException {
+		this.file = file;
+		this.chunkShift = chunkShift;
+		this.channel = FileChannel.open(file, READ, WRITE, CREATE);
+		try {
+			open();
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private void open() throws IOException {
+		long fileSize = channel.size();
+		if (fileSize < HEADER_SIZE || !checkHeader()) {
+			if (fileSize != 0) {
+				LOG.warn("Incorrect code pack file header, resetting: {}", file);
+			}
+			writeHeader(channel, newPackId());
+			fileSize = HEADER_SIZE;
+		}
+		size = fileSize;
+	}
+
+	private boolean checkHeader() throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		readFully(channel, header, 0);
+		header.flip();
+		byte[] magic = new byte[MAGIC.length];
+		header.get(magic);
+		if (!Arrays.equals(magic, MAGIC)) {
+			return false;
+		}
+		packId = header.getLong();
+		return true;
+	}
+
+	private void writeHeader(FileChannel ch, long id) throws IOException {
+		ch.truncate(0);
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.put(MAGIC);
+		header.putLong(id);
+		header.flip();
+		writeFully(ch, header, 0);
+		packId = id;
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	public long getPackId() {
+		return packId;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * @return offset of added record
+	 */
+	public long append(int clsId, byte[] code, byte[] metadata) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(RECORD_HEADER_SIZE + code.length + metadata.length);
+		buf.putInt(clsId);
+		buf.putInt(code.length);
+		buf.putInt(metadata.length);
+		buf.putInt(0); // crc placeholder
+		buf.put(code);
+		buf.put(metadata);
+		buf.putInt(12, calcCrc(buf.array(), 0, buf.capacity()));
+		buf.flip();
+		return appendRecord(buf);
+	}
+
+	/**
+	 * Add record to mark class code as removed
+	 */
+	public long appendRemove(int clsId) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+		buf.putInt(clsId);
+		buf.putInt(REMOVED);
+		buf.putInt(0);
+		buf.putInt(0);
+		buf.putInt(12, calcCrc(buf.array(), 0, RECORD_HEADER_SIZE));
+		buf.flip();
+		return appendRecord(buf);
+	}
+
+	/**
+	 * Copy record from other pack without changes
+	 *
+	 * @return offset of added record
+	 */
+	public long copyRecord(CodePackFile src, long srcOffset) throws IOException {
+		return appendRecord(src.getBuffer(srcOffset, src.getRecordSize(srcOffset)));
+	}
+
+	private synchronized long appendRecord(ByteBuffer buf) throws IOException {
+		long offset = size;
+		size = offset + writeFully(channel, buf, offset);
+		return offset;
+	}
+
+	/**
+	 * Read record at offset, returned buffers are slices of mapped file.
+	 */
+	public Record read(long offset, int expectedClsId) throws IOException {
+		ByteBuffer header = getBuffer(offset, RECORD_HEADER_SIZE);
+		int clsId = header.getInt();
+		int codeLen = header.getInt();
+		int metaLen = header.getInt();
+		if (clsId != expectedClsId || codeLen < 0 || metaLen < 0) {
+			throw new JadxRuntimeException("Unexpected code pack record at offset " + offset
+					+ ", class id: " + clsId + ", expected: " + expectedClsId);
+		}
+		ByteBuffer data = getBuffer(offset + RECORD_HEADER_SIZE, codeLen + metaLen);
+		ByteBuffer code = data.duplicate();
+		code.limit(codeLen);
+		data.position(codeLen);
+		return new Record(code.slice(), data.slice());
+	}
+
+	public int getRecordSize(long offset) throws IOException {
+		ByteBuffer header = getBuffer(offset, RECORD_HEADER_SIZE);
+		header.getInt();
+		int codeLen = header.getInt();
+		int metaLen = header.getInt();
+		return RECORD_HEADER_SIZE + Math.max(codeLen, 0) + metaLen;
+	}
+
+	/**
+	 * Check and visit records starting from provided offset.
+	 * Records after first broken one (not completely written) are removed.
+	 */
+	public void scan(long startOffset, IRecordVisitor visitor) throws IOException {
+		long offset = Math.max(startOffset, HEADER_SIZE);
+		long end = size;
+		while (offset < end) {
+			if (offset + RECORD_HEADER_SIZE > end) {
+				truncate(offset);
+				return;
+			}
+			ByteBuffer header = getBuffer(offset, RECORD_HEADER_SIZE);
+			int clsId = header.getInt();
+			int codeLen = header.getInt();
+			int metaLen = header.getInt();
+			int crc = header.getInt();
+			long dataLen = codeLen == REMOVED ? 0 : (long) codeLen + metaLen;
+			if (codeLen < REMOVED || metaLen < 0 || offset + RECORD_HEADER_SIZE + dataLen > end
+					|| crc != calcRecordCrc(offset, (int) dataLen)) {
+				truncate(offset);
+				return;
+			}
+			visitor.visit(offset, clsId, codeLen == REMOVED);
+			offset += RECORD_HEADER_SIZE + dataLen;
+		}
+	}
+
+	private int calcRecordCrc(long offset, int dataLen) throws IOException {
+		ByteBuffer record = getBuffer(offset, RECORD_HEADER_SIZE + dataLen);
+		CRC32 crc = new CRC32();
+		ByteBuffer start = record.duplicate();
+		start.limit(12);
+		crc.update(start);
+		crc.update(new byte[4]);
+		record.position(RECORD_HEADER_SIZE);
+		crc.update(record);
+		return (int) crc.getValue();
+	}
+
+	private static int calcCrc(byte[] data, int off, int len) {
+		CRC32 crc = new CRC32();
+		crc.update(data, off, len);
+		return (int) crc.getValue();
+	}
+
+	private synchronized void truncate(long offset) throws IOException {
+		LOG.warn("Removing broken records from code pack, offset: {}, size: {}", offset, size);
+		channel.truncate(offset);
+		size = offset;
+		chunks = NO_CHUNKS;
+	}
+
+	public void force() throws IOException {
+		channel.force(false);
+	}
+
+	private ByteBuffer getBuffer(long offset, int len) throws IOException {
+		long end = offset + len;
+		if (offset < 0 || len < 0 || end > size) {
+			throw new JadxRuntimeException("Code pack read out of bounds, offset: " + offset + ", len: " + len);
+		}
+		int chunkIdx = (int) (offset >>> chunkShift);
+		if (len == 0 || (end - 1) >>> chunkShift != chunkIdx) {
+			// record split between chunks, use plain read
+			ByteBuffer buf = ByteBuffer.allocate(len);
+			readFully(channel, buf, offset);
+			buf.flip();
+			return buf;
+		}
+		int chunkStart = (int) (offset - ((long) chunkIdx << chunkShift));
+		ByteBuffer buf = getChunk(chunkIdx, chunkStart + len).duplicate();
+		buf.position(chunkStart);
+		buf.limit(chunkStart + len);
+		return buf.slice();
+	}
+
+	private MappedByteBuffer getChunk(int idx, int minSize) throws IOException {
+		MappedByteBuffer[] curChunks = chunks;
+		if (idx < curChunks.length) {
+			MappedByteBuffer chunk = curChunks[idx];
+			if (chunk != null && chunk.capacity() >= minSize) {
+				return chunk;
+			}
+		}
+		return mapChunk(idx, minSize);
+	}
+
+	/**
+	 * Map chunk up to current file size, previous chunks are complete and never mapped again
+	 */
+	private synchronized MappedByteBuffer mapChunk(int idx, int minSize) throws IOException {
+		MappedByteBuffer[] curChunks = chunks;
+		if (idx < curChunks.length) {
+			MappedByteBuffer chunk = curChunks[idx];
+			if (chunk != null && chunk.capacity() >= minSize) {
+				return chunk;
+			}
+		}
+		long chunkOffset = (long) idx << chunkShift;
+		long chunkSize = Math.min(1L << chunkShift, size - chunkOffset);
+		MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, chunkOffset, chunkSize);
+		MappedByteBuffer[] newChunks = Arrays.copyOf(curChunks, Math.max(curChunks.length, idx + 1));
+		newChunks[idx] = chunk;
+		chunks = newChunks;
+		return chunk;
+	}
+
+	private static long newPackId() {
+		return ThreadLocalRandom.current().nextLong();
+	}
+
+	private static void readFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+		long p = pos;
+		while (buf.hasRemaining()) {
+			int read = ch.read(buf, p);
+			if (read < 0) {
+				throw new IOException("Unexpected end of code pack file");
+			}
+			p += read;
+		}
+	}
+
+	private static int writeFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+		int len = buf.remaining();
+		long p = pos;
+		while (buf.hasRemaining()) {
+			p += ch.write(buf, p);
+		}
+		return len;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		chunks = NO_CHUNKS;
+		channel.close();
+	}
+
+	public interface IRecordVisitor {
+		void visit(long offset, int clsId, boolean removed);
+	}
+
+	public static final class Record {
+		private final ByteBuffer code;
+		private final ByteBuffer metadata;
+
+		private Record(ByteBuffer code, ByteBuffer metadata) {
+			this.code = code;
+			this.metadata = metadata;
+		}
+
+		public ByteBuffer getCode() {
+			return code;
+		}
+
+		public ByteBuffer getMetadata() {
+			return metadata;
+		}
+	}
+}
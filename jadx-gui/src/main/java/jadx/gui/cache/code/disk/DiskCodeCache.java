@@ -1,19 +1,29 @@
 package jadx.gui.cache.code.disk;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -27,40 +37,106 @@
 import jadx.core.Jadx;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.RootNode;
-import jadx.core.utils.StringUtils;
+import jadx.core.dex.nodes.utils.ClassHashes;
+import jadx.core.utils.CodeCompressor;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
+import jadx.gui.cache.code.disk.adapters.DataAdapterHelper;
 
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Code and metadata for all classes stored in single append-only pack file (see {@link CodePackFile}).
+ * <br>
+ * Classes index contains pack offset for every class and pack size at save time,
+ * records added after that (if index not saved on close) restored by pack scan.
+ * Pack compacted in background if more than half of it is occupied by outdated records:
+ * live records copied into pack file of next generation without lock,
+ * then records added during copy moved and packs swapped under write lock.
+ */
 public class DiskCodeCache implements ICodeCache {
 	private static final Logger LOG = LoggerFactory.getLogger(DiskCodeCache.class);
 
-	private static final int DATA_FORMAT_VERSION = 15;
+	private static final int DATA_FORMAT_VERSION = 19;
+
+	/**
+	 * Classes count used for compression dictionary training
+	 */
+	private static final int DICT_TRAIN_SAMPLES = 64;
+
+	/**
+	 * Minimal size of outdated records to start pack compaction
+	 */
+	private static final long COMPACT_MIN_GARBAGE_SIZE = 8 * 1024 * 1024;
+
+	private static final long NO_OFFSET = -1;
 
+	private static final String PACK_FILE_PREFIX = "code-";
+	private static final String PACK_FILE_EXT = ".pack";
+	private static final String TMP_FILE_EXT = ".tmp";
+
+	private final RootNode root;
 	private final Path baseDir;
-	private final Path srcDir;
-	private final Path metaDir;
 	private final Path codeVersionFile;
+	private final Path inputsHashFile;
+	private final Path classesIndexFile;
+	private final Path dictFile;
 	private final String codeVersion;
+	private final String inputsHash;
 	private final CodeMetadataAdapter codeMetadataAdapter;
+	private final ClassHashes classHashes;
 	private final ExecutorService writePool;
-	private final Map<String, CacheData> clsDataMap;
+	private final Map<String, CacheData> clsDataMap = new HashMap<>();
+	private final CodeCompressor compressor;
+	/**
+	 * Write lock used only for pack swap at compaction end
+	 */
+	private final ReadWriteLock packLock = new ReentrantReadWriteLock();
+	private final AtomicLong garbageSize = new AtomicLong();
+	private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+	private volatile boolean dictSaved;
+	private volatile CodePackFile pack;
+	private int packGen;
+
+	private long indexPackId;
+	private long indexPackSize;
 
 	public DiskCodeCache(RootNode root, Path projectCacheDir) {
+		this.root = root;
 		baseDir = projectCacheDir.resolve("code");
-		srcDir = baseDir.resolve("sources");
-		metaDir = baseDir.resolve("metadata");
 		codeVersionFile = baseDir.resolve("code-version");
+		inputsHashFile = baseDir.resolve("inputs-hash");
+		classesIndexFile = baseDir.resolve("classes-index");
+		dictFile = baseDir.resolve("code-dict");
 		JadxArgs args = root.getArgs();
 		codeVersion = buildCodeVersion(args, root.getDecompiler());
+		inputsHash = buildInputsHash(args);
 		writePool = Executors.newFixedThreadPool(args.getThreadsCount());
 		codeMetadataAdapter = new CodeMetadataAdapter(root);
-		clsDataMap = buildClassDataMap(root.getClasses());
-		if (checkCodeVersion()) {
+		classHashes = new ClassHashes(root);
+		classHashes.saveNames();
+		Map<String, IndexEntry> prevIndex = checkCodeVersion() ? loadClassesIndex() : null;
+		byte[] dict = prevIndex != null ? loadDictionary() : null;
+		if (prevIndex == null) {
+			reset();
+			buildClassDataMap(Collections.emptyMap());
+			pack = openPack();
+		} else {
+			buildClassDataMap(prevIndex);
+			pack = openPack();
 			loadCachedSet();
+		}
+		if (dict != null) {
+			compressor = new CodeCompressor(dict);
+			dictSaved = true;
 		} else {
-			reset();
+			compressor = new CodeCompressor(DICT_TRAIN_SAMPLES);
 		}
+		saveState();
+		scheduleCompaction();
 	}
 
 	private boolean checkCodeVersion() {
@@ -85,16 +161,66 @@ private void reset() {
 				// remove old version cache files
 				FileUtils.deleteDirIfExists(baseDir.getParent());
 			}
-			FileUtils.makeDirs(srcDir);
-			FileUtils.makeDirs(metaDir);
+			FileUtils.makeDirs(baseDir);
 			FileUtils.writeFile(codeVersionFile, codeVersion);
 			if (LOG.isDebugEnabled()) {
 				LOG.info("Reset done in: {}ms", System.currentTimeMillis() - start);
 			}
 		} catch (Exception e) {
 			throw new JadxRuntimeException("Failed to reset code cache", e);
-		} finally {
-			clsDataMap.values().forEach(d -> d.setCached(false));
+		}
+	}
+
+	private CodePackFile openPack() {
+		try {
+			packGen = findPackGeneration();
+			return new CodePackFile(getPackFile(packGen));
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Failed to open code pack file in " + baseDir, e);
+		}
+	}
+
+	/**
+	 * Find latest pack generation and remove files left from previous generations or not finished compaction
+	 * (can't be removed while mapped, so can be still in use by previous run on Windows).
+	 */
+	private int findPackGeneration() throws IOException {
+		int lastGen = 0;
+		List<Path> packFiles = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(baseDir, PACK_FILE_PREFIX + '*' + PACK_FILE_EXT + '*')) {
+			for (Path file : stream) {
+				String name = file.getFileName().toString();
+				if (name.endsWith(PACK_FILE_EXT)) {
+					String genStr = name.substring(PACK_FILE_PREFIX.length(), name.length() - PACK_FILE_EXT.length());
+					try {
+						lastGen = Math.max(lastGen, Integer.parseInt(genStr));
+						packFiles.add(file);
+						continue;
+					} catch (NumberFormatException e) {
+						// unknown file, remove
+					}
+				}
+				deletePackFile(file);
+			}
+		}
+		Path lastPackFile = getPackFile(lastGen);
+		for (Path file : packFiles) {
+			if (!file.equals(lastPackFile)) {
+				deletePackFile(file);
+			}
+		}
+		return lastGen;
+	}
+
+	private Path getPackFile(int gen) {
+		return baseDir.resolve(PACK_FILE_PREFIX + gen + PACK_FILE_EXT);
+	}
+
+	private static void deletePackFile(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (Exception e) {
+			LOG.debug("Failed to remove old code pack file: {}", file, e);
 		}
 	}
 
@@ -107,18 +233,28 @@ public void add(String clsFullName, ICodeInfo codeInfo) {
 		clsData.setTmpCodeInfo(codeInfo);
 		clsData.setCached(true);
 		writePool.execute(() -> {
+			ICodeInfo code = clsData.getTmpCodeInfo();
 			try {
-				int clsId = clsData.getClsId();
-				ICodeInfo code = clsData.getTmpCodeInfo();
 				if (code != null) {
-					FileUtils.writeFile(getJavaFile(clsId), code.getCodeStr());
-					codeMetadataAdapter.write(getMetadataFile(clsId), code.getCodeMetadata());
+					byte[] compressedCode = compressor.compress(code.getCodeStr());
+					byte[] metadata = code.hasMetadata() ? codeMetadataAdapter.write(code.getCodeMetadata()) : new byte[0];
+					saveDictionary();
+					packLock.readLock().lock();
+					try {
+						long offset = pack.append(clsData.getClsId(), compressedCode, metadata);
+						replaceRecord(clsData, offset);
+					} finally {
+						packLock.readLock().unlock();
+					}
+					clsData.setCodeKey(calcCodeKey(clsFullName));
+					scheduleCompaction();
 				}
 			} catch (Exception e) {
 				LOG.error("Failed to write code cache for " + clsFullName, e);
 				remove(clsFullName);
 			} finally {
-				clsData.setTmpCodeInfo(null);
+				// code can be replaced by next 'add' call while writing
+				clsData.clearTmpCodeInfo(code);
 			}
 		});
 	}
@@ -134,11 +270,17 @@ public void add(String clsFullName, ICodeInfo codeInfo) {
 			if (tmpCodeInfo != null) {
 				return tmpCodeInfo.getCodeStr();
 			}
-			Path javaFile = getJavaFile(clsData.getClsId());
-			if (!Files.exists(javaFile)) {
-				return null;
+			packLock.readLock().lock();
+			try {
+				long offset = clsData.getOffset();
+				if (offset == NO_OFFSET) {
+					return null;
+				}
+				CodePackFile.Record record = pack.read(offset, clsData.getClsId());
+				return compressor.decompress(record.getCode());
+			} finally {
+				packLock.readLock().unlock();
 			}
-			return FileUtils.readFile(javaFile);
 		} catch (Exception e) {
 			LOG.error("Failed to read class code for {}", clsFullName, e);
 			return null;
@@ -156,13 +298,18 @@ public void add(String clsFullName, ICodeInfo codeInfo) {
 			if (tmpCodeInfo != null) {
 				return tmpCodeInfo;
 			}
-			int clsId = clsData.getClsId();
-			Path javaFile = getJavaFile(clsId);
-			if (!Files.exists(javaFile)) {
-				return ICodeInfo.EMPTY;
+			packLock.readLock().lock();
+			try {
+				long offset = clsData.getOffset();
+				if (offset == NO_OFFSET) {
+					return ICodeInfo.EMPTY;
+				}
+				CodePackFile.Record record = pack.read(offset, clsData.getClsId());
+				String code = compressor.decompress(record.getCode());
+				return codeMetadataAdapter.readAndBuild(record.getMetadata(), code);
+			} finally {
+				packLock.readLock().unlock();
 			}
-			String code = FileUtils.readFile(javaFile);
-			return codeMetadataAdapter.readAndBuild(getMetadataFile(clsId), code);
 		} catch (Exception e) {
 			LOG.error("Failed to read code cache for {}", clsFullName, e);
 			return ICodeInfo.EMPTY;
@@ -180,11 +327,19 @@ public void remove(String clsFullName) {
 			CacheData clsData = getClsData(clsFullName);
 			if (clsData.isCached()) {
 				clsData.setCached(false);
+				clsData.setCodeKey(null);
 				if (clsData.getTmpCodeInfo() == null) {
 					LOG.debug("Removing class info from disk: {}", clsFullName);
-					int clsId = clsData.getClsId();
-					Files.deleteIfExists(getJavaFile(clsId));
-					Files.deleteIfExists(getMetadataFile(clsId));
+					packLock.readLock().lock();
+					try {
+						if (clsData.getOffset() != NO_OFFSET) {
+							pack.appendRemove(clsData.getClsId());
+							garbageSize.addAndGet(CodePackFile.RECORD_HEADER_SIZE);
+							replaceRecord(clsData, NO_OFFSET);
+						}
+					} finally {
+						packLock.readLock().unlock();
+					}
 				} else {
 					// class info not yet written to disk
 					clsData.setTmpCodeInfo(null);
@@ -195,17 +350,149 @@ public void remove(String clsFullName) {
 		}
 	}
 
+	private void replaceRecord(CacheData clsData, long offset) throws IOException {
+		long prevOffset;
+		synchronized (clsData) {
+			prevOffset = clsData.getOffset();
+			clsData.setOffset(offset);
+		}
+		if (prevOffset != NO_OFFSET) {
+			garbageSize.addAndGet(pack.getRecordSize(prevOffset));
+		}
+	}
+
+	private void scheduleCompaction() {
+		long garbage = garbageSize.get();
+		if (garbage > COMPACT_MIN_GARBAGE_SIZE && garbage > pack.getSize() / 2
+				&& compactionScheduled.compareAndSet(false, true)) {
+			try {
+				writePool.execute(this::compact);
+			} catch (RejectedExecutionException e) {
+				// cache closing
+				compactionScheduled.set(false);
+			}
+		}
+	}
+
+	/**
+	 * Live records copied into new pack without lock, so reads and writes are not blocked.
+	 * Records changed during copy processed under write lock before pack swap.
+	 * New pack is not mapped until swap and old pack closed before removal
+	 * to allow file rename and remove on Windows.
+	 */
+	void compact() {
+		try {
+			long start = System.currentTimeMillis();
+			CodePackFile oldPack = pack;
+			long copySize = oldPack.getSize();
+			List<CacheData> liveList = new ArrayList<>();
+			for (CacheData data : clsDataMap.values()) {
+				long offset = data.getOffset();
+				if (offset != NO_OFFSET && offset < copySize) {
+					liveList.add(data);
+				}
+			}
+			int count = liveList.size();
+			long[] offsets = new long[count];
+			for (int i = 0; i < count; i++) {
+				// offset can be changed concurrently, save copied one
+				offsets[i] = liveList.get(i).getOffset();
+			}
+			Path newPackFile = getPackFile(packGen + 1);
+			Path tmpPackFile = newPackFile.resolveSibling(newPackFile.getFileName() + TMP_FILE_EXT);
+			Files.deleteIfExists(tmpPackFile);
+			Map<CacheData, Long> newOffsets = new HashMap<>(count);
+			long garbage = 0;
+			try (CodePackFile newPack = new CodePackFile(tmpPackFile)) {
+				long[] copiedOffsets = new long[count];
+				for (int i = 0; i < count; i++) {
+					copiedOffsets[i] = newPack.copyRecord(oldPack, offsets[i]);
+				}
+				packLock.writeLock().lock();
+				try {
+					for (int i = 0; i < count; i++) {
+						CacheData data = liveList.get(i);
+						long offset = data.getOffset();
+						if (offset == offsets[i]) {
+							newOffsets.put(data, copiedOffsets[i]);
+						} else {
+							// code updated or removed during copy
+							garbage += oldPack.getRecordSize(offsets[i]);
+							if (offset == NO_OFFSET) {
+								newPack.appendRemove(data.getClsId());
+								garbage += CodePackFile.RECORD_HEADER_SIZE;
+							}
+						}
+					}
+					for (CacheData data : clsDataMap.values()) {
+						long offset = data.getOffset();
+						if (offset != NO_OFFSET && !newOffsets.containsKey(data)) {
+							// added during copy or after offsets snapshot
+							newOffsets.put(data, newPack.copyRecord(oldPack, offset));
+						}
+					}
+					newPack.force();
+					newPack.close();
+					Files.move(tmpPackFile, newPackFile, StandardCopyOption.ATOMIC_MOVE);
+					try {
+						pack = new CodePackFile(newPackFile);
+					} catch (Exception e) {
+						deletePackFile(newPackFile);
+						throw e;
+					}
+					packGen++;
+					for (Map.Entry<CacheData, Long> entry : newOffsets.entrySet()) {
+						entry.getKey().setOffset(entry.getValue());
+					}
+					garbageSize.set(garbage);
+					saveState();
+				} finally {
+					packLock.writeLock().unlock();
+				}
+			} finally {
+				deletePackFile(tmpPackFile);
+			}
+			oldPack.close();
+			deletePackFile(oldPack.getFile());
+			LOG.info("Code pack compacted, size: {} -> {}, time: {}ms",
+					copySize, pack.getSize(), System.currentTimeMillis() - start);
+		} catch (Exception e) {
+			LOG.warn("Failed to compact code pack file", e);
+		} finally {
+			compactionScheduled.set(false);
+		}
+	}
+
+	/**
+	 * Version of cache data and options affecting code.
+	 * Cached code will be discarded completely on version change.
+	 */
 	private String buildCodeVersion(JadxArgs args, @Nullable JadxDecompiler decompiler) {
+		return DATA_FORMAT_VERSION
+				+ ":" + Jadx.getVersion()
+				+ ":" + args.makeCodeArgsHash(decompiler);
+	}
+
+	/**
+	 * Fast check for unchanged inputs, if hash is different,
+	 * cached code for each class will be checked using code key (see {@link ClassHashes#getCodeKey(ClassNode)})
+	 */
+	private String buildInputsHash(JadxArgs args) {
 		List<File> inputFiles = new ArrayList<>(args.getInputFiles());
 		if (args.getGeneratedRenamesMappingFileMode().shouldRead()
 				&& args.getGeneratedRenamesMappingFile() != null
 				&& args.getGeneratedRenamesMappingFile().exists()) {
 			inputFiles.add(args.getGeneratedRenamesMappingFile());
 		}
-		return DATA_FORMAT_VERSION
-				+ ":" + Jadx.getVersion()
-				+ ":" + args.makeCodeArgsHash(decompiler)
-				+ ":" + FileUtils.buildInputsHash(Utils.collectionMap(inputFiles, File::toPath));
+		return FileUtils.buildInputsHash(Utils.collectionMap(inputFiles, File::toPath));
+	}
+
+	private @Nullable String calcCodeKey(String clsFullName) {
+		ClassNode cls = root.resolveRawClass(clsFullName);
+		if (cls == null) {
+			return null;
+		}
+		return classHashes.getCodeKey(cls);
 	}
 
 	private CacheData getClsData(String clsFullName) {
@@ -218,53 +505,193 @@ private CacheData getClsData(String clsFullName) {
 
 	private void loadCachedSet() {
 		long start = System.currentTimeMillis();
-		BitSet cachedSet = new BitSet(clsDataMap.size());
-		try (Stream<Path> stream = Files.walk(metaDir)) {
-			stream.forEach(file -> {
-				String fileName = file.getFileName().toString();
-				if (fileName.endsWith(".jadxmd")) {
-					String idStr = StringUtils.removeSuffix(fileName, ".jadxmd");
-					int clsId = Integer.parseInt(idStr, 16);
-					cachedSet.set(clsId);
+		long scanStart;
+		if (indexPackId == pack.getPackId() && indexPackSize <= pack.getSize()) {
+			// check only records added after last index save
+			scanStart = indexPackSize;
+		} else {
+			LOG.info("Code pack file changed, restoring classes index");
+			scanStart = 0;
+		}
+		Map<Integer, CacheData> clsIdMap = new HashMap<>(clsDataMap.size());
+		for (CacheData data : clsDataMap.values()) {
+			if (data.getOffset() >= scanStart) {
+				data.setOffset(NO_OFFSET);
+			}
+			clsIdMap.put(data.getClsId(), data);
+		}
+		BitSet restoredSet = new BitSet();
+		try {
+			pack.scan(scanStart, (offset, clsId, removed) -> {
+				CacheData data = clsIdMap.get(clsId);
+				if (data != null) {
+					data.setOffset(removed ? NO_OFFSET : offset);
+					restoredSet.set(clsId);
 				}
 			});
 		} catch (Exception e) {
-			throw new JadxRuntimeException("Failed to enumerate cached classes", e);
+			throw new JadxRuntimeException("Failed to check code pack file", e);
 		}
+		boolean inputsChanged = !inputsHash.equals(readInputsHash());
 		int count = 0;
-		for (CacheData data : clsDataMap.values()) {
-			int clsId = data.getClsId();
-			if (cachedSet.get(clsId)) {
-				data.setCached(true);
-				count++;
+		int outdated = 0;
+		long liveSize = 0;
+		for (Map.Entry<String, CacheData> entry : clsDataMap.entrySet()) {
+			CacheData data = entry.getValue();
+			long offset = data.getOffset();
+			if (offset == NO_OFFSET) {
+				data.setCodeKey(null);
+				continue;
+			}
+			if (restoredSet.get(data.getClsId())) {
+				// code key not saved, reuse code only if inputs not changed
+				data.setCodeKey(inputsChanged ? null : calcCodeKey(entry.getKey()));
+			}
+			if (inputsChanged) {
+				// inputs updated, reuse code only for unchanged classes
+				String codeKey = data.getCodeKey();
+				if (codeKey == null || !codeKey.equals(calcCodeKey(entry.getKey()))) {
+					data.setCodeKey(null);
+					data.setOffset(NO_OFFSET);
+					outdated++;
+					continue;
+				}
+			}
+			try {
+				liveSize += pack.getRecordSize(offset);
+			} catch (Exception e) {
+				throw new JadxRuntimeException("Failed to read code pack file", e);
+			}
+			data.setCached(true);
+			count++;
+		}
+		garbageSize.set(pack.getSize() - CodePackFile.HEADER_SIZE - liveSize);
+		if (inputsChanged) {
+			LOG.info("Inputs changed, reuse {} classes from disk cache, outdated: {}, time: {}ms, dir: {}",
+					count, outdated, System.currentTimeMillis() - start, baseDir);
+		} else {
+			LOG.info("Found {} classes in disk cache, time: {}ms, dir: {}",
+					count, System.currentTimeMillis() - start, baseDir);
+		}
+	}
+
+	/**
+	 * Dictionary should be saved before first write of code compressed with it
+	 */
+	private void saveDictionary() throws IOException {
+		if (dictSaved) {
+			return;
+		}
+		byte[] dict = compressor.getDictionary();
+		if (dict == null) {
+			return;
+		}
+		synchronized (dictFile) {
+			if (!dictSaved) {
+				FileUtils.writeFile(dictFile, dict);
+				dictSaved = true;
+			}
+		}
+	}
+
+	private @Nullable byte[] loadDictionary() {
+		try {
+			if (Files.exists(dictFile)) {
+				return Files.readAllBytes(dictFile);
 			}
+		} catch (Exception e) {
+			LOG.warn("Failed to load code compression dictionary", e);
 		}
-		LOG.info("Found {} classes in disk cache, time: {}ms, dir: {}",
-				count, System.currentTimeMillis() - start, metaDir.getParent());
+		return null;
 	}
 
-	private Path getJavaFile(int clsId) {
-		return srcDir.resolve(getPathForClsId(clsId, ".java"));
+	/**
+	 * Class ids used in pack records, so ids of known classes should be preserved between inputs versions
+	 */
+	private void buildClassDataMap(Map<String, IndexEntry> prevIndex) {
+		int nextId = 0;
+		for (IndexEntry entry : prevIndex.values()) {
+			nextId = Math.max(nextId, entry.getClsId() + 1);
+		}
+		for (ClassNode cls : root.getClasses()) {
+			String clsRawName = cls.getRawName();
+			IndexEntry prevEntry = prevIndex.get(clsRawName);
+			CacheData data;
+			if (prevEntry != null) {
+				data = new CacheData(prevEntry.getClsId());
+				data.setCodeKey(prevEntry.getCodeKey());
+				data.setOffset(prevEntry.getOffset());
+			} else {
+				data = new CacheData(nextId++);
+			}
+			clsDataMap.put(clsRawName, data);
+		}
 	}
 
-	private Path getMetadataFile(int clsId) {
-		return metaDir.resolve(getPathForClsId(clsId, ".jadxmd"));
+	private @Nullable Map<String, IndexEntry> loadClassesIndex() {
+		if (!Files.exists(classesIndexFile)) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(classesIndexFile)))) {
+			indexPackId = in.readLong();
+			indexPackSize = in.readLong();
+			int count = in.readInt();
+			Map<String, IndexEntry> map = new HashMap<>(count);
+			for (int i = 0; i < count; i++) {
+				String clsRawName = in.readUTF();
+				int clsId = DataAdapterHelper.readUVInt(in);
+				String codeKey = in.readUTF();
+				long offset = in.readLong();
+				map.put(clsRawName, new IndexEntry(clsId, codeKey.isEmpty() ? null : codeKey, offset));
+			}
+			return map;
+		} catch (Exception e) {
+			LOG.warn("Failed to load classes index file", e);
+			return null;
+		}
 	}
 
-	private Path getPathForClsId(int clsId, String ext) {
-		// all classes divided between 256 top level folders
-		String firstByte = FileUtils.byteToHex(clsId);
-		return Paths.get(firstByte, FileUtils.intToHex(clsId) + ext);
+	/**
+	 * Pack data synced before index write.
+	 * Index written into temp file and moved to not lose previous version on failure.
+	 */
+	private void saveState() {
+		try {
+			long packSize = pack.getSize();
+			pack.force();
+			Path tmpIndexFile = classesIndexFile.resolveSibling(classesIndexFile.getFileName() + ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+					Files.newOutputStream(tmpIndexFile, WRITE, CREATE, TRUNCATE_EXISTING)))) {
+				out.writeLong(pack.getPackId());
+				out.writeLong(packSize);
+				out.writeInt(clsDataMap.size());
+				for (Map.Entry<String, CacheData> entry : clsDataMap.entrySet()) {
+					CacheData data = entry.getValue();
+					String codeKey = data.isCached() ? data.getCodeKey() : null;
+					long offset = data.getOffset();
+					out.writeUTF(entry.getKey());
+					DataAdapterHelper.writeUVInt(out, data.getClsId());
+					out.writeUTF(codeKey == null ? "" : codeKey);
+					// records after saved pack size will be restored by scan
+					out.writeLong(offset < packSize ? offset : NO_OFFSET);
+				}
+			}
+			Files.move(tmpIndexFile, classesIndexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			FileUtils.writeFile(inputsHashFile, inputsHash);
+		} catch (Exception e) {
+			LOG.error("Failed to save disk code cache state", e);
+		}
 	}
 
-	private Map<String, CacheData> buildClassDataMap(List<ClassNode> classes) {
-		int clsCount = classes.size();
-		Map<String, CacheData> map = new HashMap<>(clsCount);
-		for (int i = 0; i < clsCount; i++) {
-			ClassNode cls = classes.get(i);
-			map.put(cls.getRawName(), new CacheData(i));
+	private @Nullable String readInputsHash() {
+		try {
+			if (Files.exists(inputsHashFile)) {
+				return FileUtils.readFile(inputsHashFile);
+			}
+		} catch (Exception e) {
+			LOG.warn("Failed to read inputs hash file", e);
 		}
-		return map;
+		return null;
 	}
 
 	@Override
@@ -279,13 +706,17 @@ public void close() throws IOException {
 			} catch (InterruptedException e) {
 				LOG.error("Failed to close disk code cache", e);
 			}
+			saveState();
+			pack.close();
 		}
 	}
 
 	private static final class CacheData {
 		private final int clsId;
-		private boolean cached;
-		private @Nullable ICodeInfo tmpCodeInfo;
+		private volatile boolean cached;
+		private volatile @Nullable ICodeInfo tmpCodeInfo;
+		private volatile @Nullable String codeKey;
+		private volatile long offset = NO_OFFSET;
 
 		public CacheData(int clsId) {
 			this.clsId = clsId;
@@ -307,8 +738,54 @@ public void setCached(boolean cached) {
 			return tmpCodeInfo;
 		}
 
-		public void setTmpCodeInfo(@Nullable ICodeInfo tmpCodeInfo) {
+		public synchronized void setTmpCodeInfo(@Nullable ICodeInfo tmpCodeInfo) {
 			this.tmpCodeInfo = tmpCodeInfo;
 		}
+
+		public synchronized void clearTmpCodeInfo(@Nullable ICodeInfo writtenCodeInfo) {
+			if (tmpCodeInfo == writtenCodeInfo) {
+				tmpCodeInfo = null;
+			}
+		}
+
+		public @Nullable String getCodeKey() {
+			return codeKey;
+		}
+
+		public void setCodeKey(@Nullable String codeKey) {
+			this.codeKey = codeKey;
+		}
+
+		public long getOffset() {
+			return offset;
+		}
+
+		public void setOffset(long offset) {
+			this.offset = offset;
+		}
+	}
+
+	private static final class IndexEntry {
+		private final int clsId;
+		private final @Nullable String codeKey;
+		private final long offset;
+
+		public IndexEntry(int clsId, @Nullable String codeKey, long offset) {
+			this.clsId = clsId;
+			this.codeKey = codeKey;
+			this.offset = offset;
+		}
+
+		public int getClsId() {
+			return clsId;
+		}
+
+		public @Nullable String getCodeKey() {
+			return codeKey;
+		}
+
+		public long getOffset() {
+			return offset;
+		}
 	}
 }
@@ -16,6 +16,27 @@ class RawUsageData {
 
 	private final Map<String, ClsUsageData> clsMap = new HashMap<>();
 	private List<String> classesWithoutData = Collections.emptyList();
+	private String inputsHash = "";
+	private Map<String, String> clsHashes = Collections.emptyMap();
+
+	public String getInputsHash() {
+		return inputsHash;
+	}
+
+	public void setInputsHash(String inputsHash) {
+		this.inputsHash = inputsHash;
+	}
+
+	/**
+	 * Content hashes of top level classes, used to find changed classes in new version of inputs
+	 */
+	public Map<String, String> getClsHashes() {
+		return clsHashes;
+	}
+
+	public void setClsHashes(Map<String, String> clsHashes) {
+		this.clsHashes = clsHashes;
+	}
 
 	public Map<String, ClsUsageData> getClsMap() {
 		return clsMap;
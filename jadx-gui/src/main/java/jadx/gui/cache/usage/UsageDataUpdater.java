@@ -0,0 +1,174 @@
+package jadx.gui.cache.usage;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.plugins.input.data.IMethodRef;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.nodes.utils.ClassHashes;
+import jadx.core.dex.visitors.usage.UsageCollector;
+import jadx.core.dex.visitors.usage.UsageInfo;
+import jadx.core.dex.visitors.usage.UsageInfoVisitor;
+import jadx.core.dex.visitors.usage.UsageNodesIndex;
+import jadx.core.utils.Utils;
+
+/**
+ * Build usage info for new version of inputs using data collected for previous version.
+ * Classes with changed content or with changed dependencies scanned again,
+ * usage from other classes restored from saved data.
+ */
+final class UsageDataUpdater {
+	private static final Logger LOG = LoggerFactory.getLogger(UsageDataUpdater.class);
+
+	private final RootNode root;
+	private final RawUsageData prevData;
+	private final Set<String> rescanClasses = new HashSet<>();
+
+	static UsageInfo update(RootNode root, RawUsageData prevData, ClassHashes classHashes) {
+		long start = System.currentTimeMillis();
+		UsageDataUpdater updater = new UsageDataUpdater(root, prevData);
+		updater.collectRescanClasses(classHashes);
+		UsageInfo usageInfo = updater.build();
+		LOG.info("Usage data updated for new inputs, changed or dependent classes: {}, time: {}ms",
+				updater.rescanClasses.size(), System.currentTimeMillis() - start);
+		return usageInfo;
+	}
+
+	private UsageDataUpdater(RootNode root, RawUsageData prevData) {
+		this.root = root;
+		this.prevData = prevData;
+	}
+
+	private void collectRescanClasses(ClassHashes classHashes) {
+		Map<String, String> prevHashes = prevData.getClsHashes();
+		Set<String> changed = new HashSet<>();
+		Set<String> current = new HashSet<>();
+		for (ClassNode cls : root.getClasses()) {
+			if (cls.getTopParentClass() != cls) {
+				continue;
+			}
+			String clsRawName = cls.getRawName();
+			current.add(clsRawName);
+			String hash = classHashes.getContentHash(cls);
+			if (hash == null || !hash.equals(prevHashes.get(clsRawName))) {
+				changed.add(clsRawName);
+			}
+		}
+		for (String prevCls : prevHashes.keySet()) {
+			if (!current.contains(prevCls)) {
+				// removed class
+				changed.add(prevCls);
+			}
+		}
+		rescanClasses.addAll(changed);
+		// saved references into changed classes can be outdated, so dependent classes also need scan
+		Map<String, ClsUsageData> clsMap = prevData.getClsMap();
+		for (String clsRawName : current) {
+			if (changed.contains(clsRawName)) {
+				continue;
+			}
+			ClsUsageData clsData = clsMap.get(clsRawName);
+			if (clsData != null && anyInSet(clsData.getClsDeps(), changed)) {
+				rescanClasses.add(clsRawName);
+			}
+		}
+	}
+
+	private UsageInfo build() {
+		UsageNodesIndex index = new UsageNodesIndex(root);
+		UsageCollector collector = new UsageCollector(root, index);
+		for (ClassNode cls : root.getClasses()) {
+			if (!isReused(cls)) {
+				UsageInfoVisitor.processClass(cls, collector);
+			}
+		}
+		for (ClsUsageData clsData : prevData.getClsMap().values()) {
+			ClassNode cls = root.resolveRawClass(clsData.getRawName());
+			if (cls != null) {
+				restoreUsage(collector, cls, clsData);
+			}
+		}
+		return UsageInfo.build(root, index, Collections.singletonList(collector));
+	}
+
+	/**
+	 * Restore usage from reused classes, usage from scanned classes already added
+	 */
+	private void restoreUsage(UsageCollector collector, ClassNode cls, ClsUsageData clsData) {
+		for (ClassNode useCls : resolveClasses(clsData.getClsUsage())) {
+			if (isReused(useCls)) {
+				collector.clsUse(useCls, cls);
+			}
+		}
+		for (MethodNode useMth : resolveMethods(clsData.getClsUseInMth())) {
+			if (isReused(useMth.getParentClass())) {
+				collector.clsUse(useMth, cls);
+			}
+		}
+		for (FldUsageData fldData : clsData.getFldUsage().values()) {
+			FieldNode fld = cls.searchFieldByShortId(fldData.getFldRef().getShortId());
+			if (fld != null) {
+				for (MethodNode useMth : resolveMethods(fldData.getUsage())) {
+					if (isReused(useMth.getParentClass())) {
+						collector.fieldUse(useMth, fld);
+					}
+				}
+			}
+		}
+		if (!isReused(cls)) {
+			return;
+		}
+		for (MthUsageData mthData : clsData.getMthUsage().values()) {
+			MethodNode mth = cls.searchMethodByShortId(mthData.getMthRef().getShortId());
+			if (mth == null) {
+				continue;
+			}
+			for (MethodNode usedMth : resolveMethods(mthData.getUses())) {
+				collector.methodUse(mth, usedMth);
+			}
+			List<IMethodRef> unresolvedUsage = mthData.getUnresolvedUsage();
+			if (Utils.notEmpty(unresolvedUsage)) {
+				for (IMethodRef mthRef : unresolvedUsage) {
+					collector.unresolvedMethodUse(mth, MethodInfo.fromRef(root, mthRef));
+				}
+			}
+		}
+	}
+
+	private boolean isReused(ClassNode cls) {
+		return !rescanClasses.contains(cls.getTopParentClass().getRawName());
+	}
+
+	private List<ClassNode> resolveClasses(@Nullable List<String> clsList) {
+		return Utils.collectionMapNoNull(clsList, root::resolveRawClass);
+	}
+
+	private List<MethodNode> resolveMethods(@Nullable List<MthRef> mthList) {
+		return Utils.collectionMapNoNull(mthList, mthRef -> {
+			ClassNode cls = root.resolveRawClass(mthRef.getCls());
+			return cls == null ? null : cls.searchMethodByShortId(mthRef.getShortId());
+		});
+	}
+
+	private static boolean anyInSet(@Nullable List<String> list, Set<String> set) {
+		if (list != null) {
+			for (String str : list) {
+				if (set.contains(str)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
@@ -26,7 +26,6 @@
 
 import jadx.api.plugins.input.data.IMethodRef;
 import jadx.api.usage.IUsageInfoData;
-import jadx.core.dex.nodes.RootNode;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
@@ -39,10 +38,14 @@
 public class UsageFileAdapter extends DataAdapterHelper {
 	private static final Logger LOG = LoggerFactory.getLogger(UsageFileAdapter.class);
 
-	private static final int USAGE_DATA_VERSION = 3;
+	private static final int USAGE_DATA_VERSION = 4;
 	private static final byte[] JADX_USAGE_HEADER = "jadx.usage".getBytes(StandardCharsets.US_ASCII);
 
-	public static synchronized @Nullable RawUsageData load(RootNode root, Path usageFile, List<File> inputs) {
+	/**
+	 * Load usage data saved for any version of inputs, use {@link RawUsageData#getInputsHash()}
+	 * and {@link #buildInputsHash(List)} to check if inputs changed.
+	 */
+	public static synchronized @Nullable RawUsageData load(Path usageFile) {
 		if (!Files.isRegularFile(usageFile)) {
 			return null;
 		}
@@ -55,14 +58,11 @@ public class UsageFileAdapter extends DataAdapterHelper {
 				FileUtils.deleteFileIfExists(usageFile);
 				return null;
 			}
-			String inputsHash = buildInputsHash(inputs);
 			String fileInputsHash = in.readUTF();
-			if (!inputsHash.equals(fileInputsHash)) {
-				LOG.debug("Found usage data with different inputs hash");
-				FileUtils.deleteFileIfExists(usageFile);
-				return null;
-			}
-			RawUsageData data = readData(root, in);
+			Map<String, String> clsHashes = readClsHashes(in);
+			RawUsageData data = readData(in);
+			data.setInputsHash(fileInputsHash);
+			data.setClsHashes(clsHashes);
 			if (LOG.isDebugEnabled()) {
 				LOG.debug("Loaded usage data from disk cache, classes count: {}, time: {}ms, file: {}",
 						data.getClsMap().size(), System.currentTimeMillis() - start, usageFile);
@@ -79,7 +79,7 @@ public class UsageFileAdapter extends DataAdapterHelper {
 		}
 	}
 
-	public static synchronized void save(IUsageInfoData data, Path usageFile, List<File> inputs) {
+	public static synchronized void save(IUsageInfoData data, Map<String, String> clsHashes, Path usageFile, List<File> inputs) {
 		long start = System.currentTimeMillis();
 		FileUtils.makeDirsForFile(usageFile);
 		String inputsHash = buildInputsHash(inputs);
@@ -90,6 +90,7 @@ public static synchronized void save(IUsageInfoData data, Path usageFile, List<F
 			out.write(JADX_USAGE_HEADER);
 			out.writeInt(USAGE_DATA_VERSION);
 			out.writeUTF(inputsHash);
+			writeClsHashes(out, clsHashes);
 			writeData(out, usageData);
 		} catch (Exception e) {
 			LOG.error("Failed to save usage data file", e);
@@ -104,7 +105,25 @@ public static synchronized void save(IUsageInfoData data, Path usageFile, List<F
 		}
 	}
 
-	private static RawUsageData readData(RootNode root, DataInputStream in) throws IOException {
+	private static Map<String, String> readClsHashes(DataInputStream in) throws IOException {
+		int count = readUVInt(in);
+		Map<String, String> map = new HashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			String clsRawName = in.readUTF();
+			map.put(clsRawName, in.readUTF());
+		}
+		return map;
+	}
+
+	private static void writeClsHashes(DataOutputStream out, Map<String, String> clsHashes) throws IOException {
+		writeUVInt(out, clsHashes.size());
+		for (Map.Entry<String, String> entry : clsHashes.entrySet()) {
+			out.writeUTF(entry.getKey());
+			out.writeUTF(entry.getValue());
+		}
+	}
+
+	private static RawUsageData readData(DataInputStream in) throws IOException {
 		RawUsageData data = new RawUsageData();
 		int clsCount = readUVInt(in);
 		int clsWithoutDataCount = readUVInt(in);
@@ -355,7 +374,7 @@ private static void writeUnresolvedMthList(DataOutputStream out, Map<IMethodRef,
 		}
 	}
 
-	private static String buildInputsHash(List<File> inputs) {
+	public static String buildInputsHash(List<File> inputs) {
 		List<Path> paths = inputs.stream()
 				.filter(f -> !f.getName().endsWith(".jadx.kts"))
 				.map(File::toPath)
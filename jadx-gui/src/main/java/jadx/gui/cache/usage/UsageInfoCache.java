@@ -2,14 +2,18 @@
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jetbrains.annotations.Nullable;
 
 import jadx.api.usage.IUsageInfoCache;
 import jadx.api.usage.IUsageInfoData;
 import jadx.api.usage.impl.InMemoryUsageInfoCache;
+import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.nodes.utils.ClassHashes;
 
 public class UsageInfoCache implements IUsageInfoCache {
 
@@ -33,11 +37,19 @@ public UsageInfoCache(Path cacheDir, List<File> inputFiles) {
 		}
 		synchronized (LOAD_DATA_SYNC) {
 			if (rawUsageData == null) {
-				rawUsageData = UsageFileAdapter.load(root, usageFile, inputs);
+				rawUsageData = UsageFileAdapter.load(usageFile);
 			}
 			if (rawUsageData != null) {
-				UsageData data = new UsageData(root, rawUsageData);
-				memCache.set(root, data);
+				if (rawUsageData.getInputsHash().equals(UsageFileAdapter.buildInputsHash(inputs))) {
+					UsageData data = new UsageData(root, rawUsageData);
+					memCache.set(root, data);
+					return data;
+				}
+				// inputs changed, reuse data for unchanged classes
+				ClassHashes classHashes = new ClassHashes(root);
+				IUsageInfoData data = UsageDataUpdater.update(root, rawUsageData, classHashes);
+				rawUsageData = null;
+				save(root, data, classHashes);
 				return data;
 			}
 		}
@@ -46,8 +58,25 @@ public UsageInfoCache(Path cacheDir, List<File> inputFiles) {
 
 	@Override
 	public void set(RootNode root, IUsageInfoData data) {
+		save(root, data, new ClassHashes(root));
+	}
+
+	private void save(RootNode root, IUsageInfoData data, ClassHashes classHashes) {
 		memCache.set(root, data);
-		UsageFileAdapter.save(data, usageFile, inputs);
+		UsageFileAdapter.save(data, collectClassHashes(root, classHashes), usageFile, inputs);
+	}
+
+	private static Map<String, String> collectClassHashes(RootNode root, ClassHashes classHashes) {
+		Map<String, String> map = new HashMap<>();
+		for (ClassNode cls : root.getClasses()) {
+			if (cls.getTopParentClass() == cls) {
+				String hash = classHashes.getContentHash(cls);
+				if (hash != null) {
+					map.put(cls.getRawName(), hash);
+				}
+			}
+		}
+		return map;
 	}
 
 	@Override
@@ -1,10 +1,9 @@
 package jadx.gui.ui.codearea.sync;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableMap;
 
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -54,28 +53,27 @@ public boolean syncTo(CodeArea to) {
 		LOG.debug("lineInfo key {}, lineInfo value {}, caretLineNumber {}", lineInfo.getKey(), lineInfo.getValue(),
 				from.getCaretLineNumber());
 		ICodeMetadata toMetadata = to.getCodeMetadata();
-		NavigableMap<Integer, ICodeAnnotation> codeAreaAnnotationMap =
-				(NavigableMap<Integer, ICodeAnnotation>) toMetadata.getAsMap();
-		Iterator<NavigableMap.Entry<Integer, ICodeAnnotation>> methodDecl =
-				findMethodDeclAnnotation(codeAreaAnnotationMap, lineInfo.getKey());
-		if (methodDecl == null) {
+		Integer methodDeclPos = findMethodDeclAnnotation(toMetadata, lineInfo.getKey());
+		if (methodDeclPos == null) {
 			LOG.warn("{} - No NodeDeclareRef exists for {}", LOG.getName(), lineInfo.getKey());
 			return false;
 		}
 		// Looking through the annotations in order from the Method declaration to its end
 		// compare every adjacent pair of instruction offsets where the second is greater than the first.
 		// Highlight if the smali offset falls between the second and the first.
-		Iterator<NavigableMap.Entry<Integer, ICodeAnnotation>> it = methodDecl;
-		NavigableMap.Entry<Integer, ICodeAnnotation> prev = null;
-		List<CodeMetadataRange> offsetBoundariesToHighlight = new ArrayList<>();
-		while (it.hasNext()) {
-			NavigableMap.Entry<Integer, ICodeAnnotation> entry = it.next();
-			if (entry.getValue().getAnnType() == ICodeAnnotation.AnnType.END) {
-				break;
+		List<Map.Entry<Integer, ICodeAnnotation>> mthOffsets = new ArrayList<>();
+		toMetadata.searchDown(methodDeclPos + 1, (pos, ann) -> {
+			if (ann.getAnnType() == ICodeAnnotation.AnnType.END) {
+				return Boolean.TRUE;
 			}
-			if (entry.getValue().getAnnType() != ICodeAnnotation.AnnType.OFFSET) {
-				continue;
+			if (ann.getAnnType() == ICodeAnnotation.AnnType.OFFSET) {
+				mthOffsets.add(new AbstractMap.SimpleImmutableEntry<>(pos, ann));
 			}
+			return null;
+		});
+		Map.Entry<Integer, ICodeAnnotation> prev = null;
+		List<CodeMetadataRange> offsetBoundariesToHighlight = new ArrayList<>();
+		for (Map.Entry<Integer, ICodeAnnotation> entry : mthOffsets) {
 			if (prev != null) {
 				InsnCodeOffset currentInsnOffset = (InsnCodeOffset) entry.getValue();
 				InsnCodeOffset prevInsnOffset = (InsnCodeOffset) prev.getValue();
@@ -108,28 +106,23 @@ public boolean syncTo(CodeArea to) {
 	/**
 	 * Find the NodeDeclareRef annotation of the method identified by smaliLineMthFullID
 	 *
-	 * @param map                the annotation map from the CodeArea
+	 * @param metadata           the code metadata from the CodeArea
 	 * @param smaliLineMthFullID the raw full method ID to look for
-	 * @return iterator to the entry in the annotation map
+	 * @return position of the method declaration annotation
 	 */
 	@Nullable
-	private static Iterator<NavigableMap.Entry<Integer, ICodeAnnotation>> findMethodDeclAnnotation(
-			NavigableMap<Integer, ICodeAnnotation> map,
-			String smaliLineMthFullID) {
-		// Ensure we use NavigableMap here to get ordering guarantee from iterator call
-		Iterator<NavigableMap.Entry<Integer, ICodeAnnotation>> it = map.descendingMap().entrySet().iterator();
-		while (it.hasNext()) {
-			NavigableMap.Entry<Integer, ICodeAnnotation> entry = it.next();
-			if (entry.getValue() instanceof NodeDeclareRef) {
-				NodeDeclareRef nodeDeclareRef = (NodeDeclareRef) entry.getValue();
+	private static Integer findMethodDeclAnnotation(ICodeMetadata metadata, String smaliLineMthFullID) {
+		return metadata.searchDown(0, (pos, ann) -> {
+			if (ann instanceof NodeDeclareRef) {
+				NodeDeclareRef nodeDeclareRef = (NodeDeclareRef) ann;
 				if (nodeDeclareRef.getNode() instanceof MethodNode) {
 					MethodNode mth = (MethodNode) nodeDeclareRef.getNode();
 					if (mth.getMethodInfo().getRawFullId().equals(smaliLineMthFullID)) {
-						return it;
+						return pos;
 					}
 				}
 			}
-		}
-		return null;
+			return null;
+		});
 	}
 }
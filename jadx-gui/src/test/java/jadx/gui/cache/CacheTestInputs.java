@@ -0,0 +1,72 @@
+package jadx.gui.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import jadx.api.JadxArgs;
+import jadx.api.args.GeneratedRenamesMappingFileMode;
+import jadx.core.utils.files.FileUtils;
+import jadx.tests.api.compiler.CompilerOptions;
+import jadx.tests.api.compiler.TestCompiler;
+
+/**
+ * Compile versions of test inputs into the same directory to check caches reuse after inputs update
+ */
+public class CacheTestInputs {
+	/**
+	 * Fixed timestamps, so inputs versions never have the same modification time
+	 */
+	private static final long BASE_MODIFIED_TIME = 1_600_000_000_000L;
+
+	private final Path baseDir;
+	private final Path inputsDir;
+	private int version;
+
+	public CacheTestInputs(Path baseDir) {
+		this.baseDir = baseDir;
+		this.inputsDir = baseDir.resolve("inputs");
+	}
+
+	/**
+	 * Compile new version of inputs
+	 *
+	 * @param sources map of full class name to class source
+	 */
+	public List<File> compile(Map<String, String> sources) throws IOException {
+		version++;
+		Path srcDir = baseDir.resolve("src-" + version);
+		List<File> srcFiles = new ArrayList<>();
+		for (Map.Entry<String, String> entry : sources.entrySet()) {
+			Path srcFile = srcDir.resolve(entry.getKey().replace('.', '/') + ".java");
+			FileUtils.writeFile(srcFile, entry.getValue());
+			srcFiles.add(srcFile.toFile());
+		}
+		FileUtils.deleteDirIfExists(inputsDir);
+		List<File> files;
+		try (TestCompiler compiler = new TestCompiler(new CompilerOptions())) {
+			files = compiler.compileFiles(srcFiles, inputsDir);
+		}
+		FileTime modifiedTime = FileTime.fromMillis(BASE_MODIFIED_TIME + version * 1000L);
+		for (File file : files) {
+			Files.setLastModifiedTime(file.toPath(), modifiedTime);
+		}
+		files.sort(null);
+		return files;
+	}
+
+	public static JadxArgs buildArgs(List<File> inputs) {
+		JadxArgs args = new JadxArgs();
+		args.setInputFiles(new ArrayList<>(inputs));
+		args.setThreadsCount(1);
+		args.setSkipResources(true);
+		args.setGeneratedRenamesMappingFileMode(GeneratedRenamesMappingFileMode.IGNORE);
+		args.setCodeNewLineStr("\n");
+		return args;
+	}
+}
@@ -0,0 +1,91 @@
+package jadx.gui.cache.code.disk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodePackFileTest {
+	/**
+	 * Small mapping chunks (64 bytes), so most records are split between chunks
+	 */
+	private static final int CHUNK_SHIFT = 6;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void readsAcrossChunksWhileGrowing() throws IOException {
+		Random rnd = new Random(7);
+		List<byte[][]> records = new ArrayList<>();
+		List<Long> offsets = new ArrayList<>();
+		try (CodePackFile pack = new CodePackFile(tempDir.resolve("code-0.pack"), CHUNK_SHIFT)) {
+			for (int i = 0; i < 50; i++) {
+				byte[] code = randomBytes(rnd, rnd.nextInt(100));
+				byte[] metadata = randomBytes(rnd, rnd.nextInt(20));
+				records.add(new byte[][] { code, metadata });
+				offsets.add(pack.append(i, code, metadata));
+				// read all records after every append to check mapping of growing last chunk
+				checkRecords(pack, records, offsets);
+			}
+			List<Long> scanned = new ArrayList<>();
+			pack.scan(0, (offset, clsId, removed) -> {
+				assertThat(clsId).isEqualTo(scanned.size());
+				assertThat(removed).isFalse();
+				scanned.add(offset);
+			});
+			assertThat(scanned).isEqualTo(offsets);
+		}
+		// reopen
+		try (CodePackFile pack = new CodePackFile(tempDir.resolve("code-0.pack"), CHUNK_SHIFT)) {
+			checkRecords(pack, records, offsets);
+		}
+	}
+
+	@Test
+	void copyRecords() throws IOException {
+		Random rnd = new Random(11);
+		try (CodePackFile src = new CodePackFile(tempDir.resolve("code-0.pack"), CHUNK_SHIFT);
+				CodePackFile dst = new CodePackFile(tempDir.resolve("code-1.pack"), CHUNK_SHIFT)) {
+			assertThat(dst.getPackId()).isNotEqualTo(src.getPackId());
+			List<byte[][]> records = new ArrayList<>();
+			List<Long> srcOffsets = new ArrayList<>();
+			for (int i = 0; i < 10; i++) {
+				byte[] code = randomBytes(rnd, 10 + i * 7);
+				byte[] metadata = randomBytes(rnd, i);
+				records.add(new byte[][] { code, metadata });
+				srcOffsets.add(src.append(i, code, metadata));
+			}
+			src.appendRemove(3);
+			List<Long> dstOffsets = new ArrayList<>();
+			for (long srcOffset : srcOffsets) {
+				dstOffsets.add(dst.copyRecord(src, srcOffset));
+			}
+			checkRecords(dst, records, dstOffsets);
+			List<Long> scanned = new ArrayList<>();
+			dst.scan(0, (offset, clsId, removed) -> scanned.add(offset));
+			assertThat(scanned).isEqualTo(dstOffsets);
+		}
+	}
+
+	private static void checkRecords(CodePackFile pack, List<byte[][]> records, List<Long> offsets) throws IOException {
+		for (int i = 0; i < offsets.size(); i++) {
+			CodePackFile.Record record = pack.read(offsets.get(i), i);
+			assertThat(record.getCode()).isEqualTo(ByteBuffer.wrap(records.get(i)[0]));
+			assertThat(record.getMetadata()).isEqualTo(ByteBuffer.wrap(records.get(i)[1]));
+		}
+	}
+
+	private static byte[] randomBytes(Random rnd, int len) {
+		byte[] data = new byte[len];
+		rnd.nextBytes(data);
+		return data;
+	}
+}
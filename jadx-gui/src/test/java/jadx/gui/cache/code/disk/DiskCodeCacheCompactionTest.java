@@ -0,0 +1,82 @@
+package jadx.gui.cache.code.disk;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.JadxDecompiler;
+import jadx.api.impl.SimpleCodeInfo;
+import jadx.gui.cache.CacheTestInputs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiskCodeCacheCompactionTest {
+	private static final List<String> CLASSES = List.of("test.A", "test.B", "test.C");
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void compactWithConcurrentWrites() throws Exception {
+		Path cacheDir = tempDir.resolve("cache");
+		Map<String, String> sources = new HashMap<>();
+		for (String cls : CLASSES) {
+			String name = cls.substring(cls.lastIndexOf('.') + 1);
+			sources.put(cls, "package test;\npublic class " + name + " {\n}\n");
+		}
+		List<File> inputs = new CacheTestInputs(tempDir).compile(sources);
+		try (JadxDecompiler jadx = new JadxDecompiler(CacheTestInputs.buildArgs(inputs))) {
+			jadx.load();
+			DiskCodeCache cache = new DiskCodeCache(jadx.getRoot(), cacheDir);
+			Thread writer = new Thread(() -> {
+				for (int i = 0; i < 300; i++) {
+					for (String cls : CLASSES) {
+						cache.add(cls, new SimpleCodeInfo(buildCode(cls, i)));
+					}
+					if (i % 50 == 0) {
+						cache.remove("test.C");
+					}
+				}
+			});
+			writer.start();
+			for (int i = 0; i < 10; i++) {
+				cache.compact();
+			}
+			writer.join();
+			cache.close();
+			assertThat(listPackFiles(cacheDir)).hasSize(1).doesNotContain("code-0.pack");
+
+			DiskCodeCache reopened = new DiskCodeCache(jadx.getRoot(), cacheDir);
+			for (String cls : CLASSES) {
+				assertThat(reopened.contains(cls)).isTrue();
+				assertThat(reopened.getCode(cls)).isEqualTo(buildCode(cls, 299));
+			}
+			reopened.compact();
+			for (String cls : CLASSES) {
+				assertThat(reopened.get(cls).getCodeStr()).isEqualTo(buildCode(cls, 299));
+			}
+			reopened.close();
+			assertThat(listPackFiles(cacheDir)).hasSize(1);
+		}
+	}
+
+	private static String buildCode(String cls, int version) {
+		return "// version " + version + "\nclass " + cls + " {\n}\n";
+	}
+
+	private static List<String> listPackFiles(Path cacheDir) throws Exception {
+		try (Stream<Path> stream = Files.list(cacheDir.resolve("code"))) {
+			return stream.map(p -> p.getFileName().toString())
+					.filter(n -> n.contains(".pack"))
+					.collect(Collectors.toList());
+		}
+	}
+}
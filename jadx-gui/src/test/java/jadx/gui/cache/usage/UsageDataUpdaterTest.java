@@ -0,0 +1,121 @@
+package jadx.gui.cache.usage;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.usage.IUsageInfoData;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.nodes.utils.ClassHashes;
+import jadx.gui.cache.CacheTestInputs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UsageDataUpdaterTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void updatedUsageSameAsFullRebuild() throws Exception {
+		Path cacheDir = tempDir.resolve("cache");
+		CacheTestInputs inputs = new CacheTestInputs(tempDir);
+		Map<String, String> sources = new HashMap<>();
+		sources.put("test.A", "package test;\n"
+				+ "public class A {\n"
+				+ "  public int field = 1;\n"
+				+ "  public int run(int x) { return x * 2 + field; }\n"
+				+ "}\n");
+		sources.put("test.B", "package test;\n"
+				+ "public class B {\n"
+				+ "  public static int value() { return 1; }\n"
+				+ "  public static int other() { return 2; }\n"
+				+ "}\n");
+		sources.put("test.C", "package test;\n"
+				+ "public class C {\n"
+				+ "  public int call() { return B.value() + B.other(); }\n"
+				+ "}\n");
+		sources.put("test.D", "package test;\n"
+				+ "public class D {\n"
+				+ "  public int get() { return new A().run(3) + new A().field; }\n"
+				+ "}\n");
+		List<File> firstVersion = inputs.compile(sources);
+		JadxArgs firstArgs = CacheTestInputs.buildArgs(firstVersion);
+		firstArgs.setUsageInfoCache(new UsageInfoCache(cacheDir, firstVersion));
+		try (JadxDecompiler jadx = new JadxDecompiler(firstArgs)) {
+			jadx.load();
+		}
+		RawUsageData prevData = UsageFileAdapter.load(cacheDir.resolve("usage"));
+		assertThat(prevData).isNotNull();
+
+		// change only class B: remove used method, add usage of A
+		sources.put("test.B", "package test;\n"
+				+ "public class B {\n"
+				+ "  public static int value() { return new A().run(2); }\n"
+				+ "}\n");
+		sources.put("test.C", "package test;\n"
+				+ "public class C {\n"
+				+ "  public int call() { return B.value(); }\n"
+				+ "}\n");
+		List<File> secondVersion = inputs.compile(sources);
+		try (JadxDecompiler jadx = new JadxDecompiler(CacheTestInputs.buildArgs(secondVersion))) {
+			jadx.load();
+			RootNode root = jadx.getRoot();
+			String fullUsage = dumpUsage(root);
+
+			IUsageInfoData updatedData = UsageDataUpdater.update(root, prevData, new ClassHashes(root));
+			resetUsage(root);
+			updatedData.apply();
+			assertThat(dumpUsage(root)).isEqualTo(fullUsage);
+		}
+	}
+
+	private static void resetUsage(RootNode root) {
+		root.setUsageGraph(null);
+		for (ClassNode cls : root.getClasses()) {
+			for (FieldNode fld : cls.getFields()) {
+				fld.setUseIn(Collections.emptyList());
+			}
+			for (MethodNode mth : cls.getMethods()) {
+				mth.setUnresolvedUsed(Collections.emptyList());
+				mth.setCallsSelf(false);
+			}
+		}
+	}
+
+	private static String dumpUsage(RootNode root) {
+		StringBuilder sb = new StringBuilder();
+		for (ClassNode cls : root.getClasses()) {
+			sb.append(cls).append('\n');
+			sb.append("  deps: ").append(sorted(cls.getDependencies())).append('\n');
+			sb.append("  use in: ").append(sorted(cls.getUseIn())).append('\n');
+			sb.append("  use in methods: ").append(sorted(cls.getUseInMth())).append('\n');
+			for (FieldNode fld : cls.getFields()) {
+				sb.append("  ").append(fld).append(": ").append(sorted(fld.getUseIn())).append('\n');
+			}
+			for (MethodNode mth : cls.getMethods()) {
+				sb.append("  ").append(mth).append(": ").append(sorted(mth.getUseIn()))
+						.append(", unresolved: ").append(sorted(mth.getUnresolvedUsed()))
+						.append(", self call: ").append(mth.callsSelf())
+						.append('\n');
+			}
+		}
+		return sb.toString();
+	}
+
+	private static List<String> sorted(List<?> list) {
+		return list.stream().map(Object::toString).sorted().collect(Collectors.toList());
+	}
+}
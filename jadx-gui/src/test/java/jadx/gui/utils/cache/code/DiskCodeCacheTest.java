@@ -1,7 +1,11 @@
 package jadx.gui.utils.cache.code;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -9,8 +13,11 @@
 import org.slf4j.LoggerFactory;
 
 import jadx.api.ICodeInfo;
+import jadx.api.JadxDecompiler;
+import jadx.api.JavaClass;
 import jadx.api.impl.NoOpCodeCache;
 import jadx.core.dex.nodes.ClassNode;
+import jadx.gui.cache.CacheTestInputs;
 import jadx.gui.cache.code.disk.DiskCodeCache;
 import jadx.tests.api.IntegrationTest;
 
@@ -44,4 +51,62 @@ public void test() throws IOException {
 
 		cache.close();
 	}
+
+	@Test
+	public void reuseUnchangedClassesAfterInputsUpdate() throws IOException {
+		Path cacheDir = tempDir.resolve("cache");
+		CacheTestInputs inputs = new CacheTestInputs(tempDir);
+		Map<String, String> sources = new HashMap<>();
+		sources.put("test.A", "package test;\n"
+				+ "public class A {\n"
+				+ "  public int run(int x) { return x * 2 + 1; }\n"
+				+ "}\n");
+		sources.put("test.B", "package test;\n"
+				+ "public class B {\n"
+				+ "  public static int value() { return 1; }\n"
+				+ "}\n");
+		sources.put("test.C", "package test;\n"
+				+ "public class C {\n"
+				+ "  public int call() { return B.value() + 1; }\n"
+				+ "}\n");
+		List<File> firstVersion = inputs.compile(sources);
+		try (JadxDecompiler jadx = loadWithDiskCache(firstVersion, cacheDir)) {
+			decompileAll(jadx);
+		}
+
+		// change only class B
+		sources.put("test.B", "package test;\n"
+				+ "public class B {\n"
+				+ "  public static int value() { return new A().run(2); }\n"
+				+ "}\n");
+		List<File> secondVersion = inputs.compile(sources);
+		Map<String, String> expectedCode;
+		try (JadxDecompiler jadx = new JadxDecompiler(CacheTestInputs.buildArgs(secondVersion))) {
+			jadx.load();
+			expectedCode = decompileAll(jadx);
+		}
+		try (JadxDecompiler jadx = loadWithDiskCache(secondVersion, cacheDir)) {
+			DiskCodeCache cache = (DiskCodeCache) jadx.getArgs().getCodeCache();
+			assertThat(cache.contains("test.A")).isTrue();
+			assertThat(cache.contains("test.B")).as("changed class").isFalse();
+			assertThat(cache.contains("test.C")).as("depends on changed class").isFalse();
+
+			assertThat(decompileAll(jadx)).isEqualTo(expectedCode);
+		}
+	}
+
+	private static JadxDecompiler loadWithDiskCache(List<File> inputFiles, Path cacheDir) {
+		JadxDecompiler jadx = new JadxDecompiler(CacheTestInputs.buildArgs(inputFiles));
+		jadx.load();
+		jadx.getArgs().setCodeCache(new DiskCodeCache(jadx.getRoot(), cacheDir));
+		return jadx;
+	}
+
+	private static Map<String, String> decompileAll(JadxDecompiler jadx) {
+		Map<String, String> map = new HashMap<>();
+		for (JavaClass cls : jadx.getClasses()) {
+			map.put(cls.getFullName(), cls.getCode());
+		}
+		return map;
+	}
 }
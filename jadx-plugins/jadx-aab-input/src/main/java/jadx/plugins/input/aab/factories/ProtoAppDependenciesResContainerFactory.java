@@ -15,9 +15,14 @@
 
 public class ProtoAppDependenciesResContainerFactory implements IResContainerFactory {
 
+	@Override
+	public boolean canHandle(ResourceFile resFile) {
+		return resFile.getOriginalName().endsWith("BUNDLE-METADATA/com.android.tools.build.libraries/dependencies.pb");
+	}
+
 	@Override
 	public @Nullable ResContainer create(ResourceFile resFile, InputStream inputStream) throws IOException {
-		if (!resFile.getOriginalName().endsWith("BUNDLE-METADATA/com.android.tools.build.libraries/dependencies.pb")) {
+		if (!canHandle(resFile)) {
 			return null;
 		}
 
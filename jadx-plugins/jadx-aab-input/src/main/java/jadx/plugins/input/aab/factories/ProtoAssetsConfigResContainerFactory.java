@@ -15,9 +15,14 @@
 
 public class ProtoAssetsConfigResContainerFactory implements IResContainerFactory {
 
+	@Override
+	public boolean canHandle(ResourceFile resFile) {
+		return resFile.getOriginalName().endsWith("assets.pb");
+	}
+
 	@Override
 	public @Nullable ResContainer create(ResourceFile resFile, InputStream inputStream) throws IOException {
-		if (!resFile.getOriginalName().endsWith("assets.pb")) {
+		if (!canHandle(resFile)) {
 			return null;
 		}
 
@@ -15,9 +15,14 @@
 
 public class ProtoBundleConfigResContainerFactory implements IResContainerFactory {
 
+	@Override
+	public boolean canHandle(ResourceFile resFile) {
+		return resFile.getOriginalName().endsWith("BundleConfig.pb");
+	}
+
 	@Override
 	public @Nullable ResContainer create(ResourceFile resFile, InputStream inputStream) throws IOException {
-		if (!resFile.getOriginalName().endsWith("BundleConfig.pb")) {
+		if (!canHandle(resFile)) {
 			return null;
 		}
 		BundleConfig bundleConfig = BundleConfig.parseFrom(inputStream);
@@ -15,9 +15,14 @@
 
 public class ProtoNativeConfigResContainerFactory implements IResContainerFactory {
 
+	@Override
+	public boolean canHandle(ResourceFile resFile) {
+		return resFile.getOriginalName().endsWith("native.pb");
+	}
+
 	@Override
 	public @Nullable ResContainer create(ResourceFile resFile, InputStream inputStream) throws IOException {
-		if (!resFile.getOriginalName().endsWith("native.pb")) {
+		if (!canHandle(resFile)) {
 			return null;
 		}
 
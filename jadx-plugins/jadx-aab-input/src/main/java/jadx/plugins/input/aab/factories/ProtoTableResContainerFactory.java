@@ -19,9 +19,14 @@ public ProtoTableResContainerFactory(IResTableParserProvider provider) {
 		this.provider = provider;
 	}
 
+	@Override
+	public boolean canHandle(ResourceFile resFile) {
+		return resFile.getType() == ResourceType.ARSC && resFile.getOriginalName().endsWith(".pb");
+	}
+
 	@Override
 	public @Nullable ResContainer create(ResourceFile resFile, InputStream inputStream) throws IOException {
-		if (!resFile.getOriginalName().endsWith(".pb") || resFile.getType() != ResourceType.ARSC) {
+		if (!canHandle(resFile)) {
 			return null;
 		}
 		IResTableParser parser = provider.getParser(resFile);
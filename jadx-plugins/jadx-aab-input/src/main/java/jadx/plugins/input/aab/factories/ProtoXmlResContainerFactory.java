@@ -23,17 +23,21 @@ public void init(RootNode root) {
 	}
 
 	@Override
-	public @Nullable ResContainer create(ResourceFile resFile, InputStream inputStream) throws IOException {
+	public boolean canHandle(ResourceFile resFile) {
 		ResourceType type = resFile.getType();
 		if (type != ResourceType.XML && type != ResourceType.MANIFEST) {
-			return null;
+			return false;
 		}
 		IZipEntry zipEntry = resFile.getZipEntry();
 		if (zipEntry == null) {
-			return null;
+			return false;
 		}
-		boolean isFromAab = zipEntry.getZipFile().getPath().toLowerCase().endsWith(".aab");
-		if (!isFromAab) {
+		return zipEntry.getZipFile().getPath().toLowerCase().endsWith(".aab");
+	}
+
+	@Override
+	public @Nullable ResContainer create(ResourceFile resFile, InputStream inputStream) throws IOException {
+		if (!canHandle(resFile)) {
 			return null;
 		}
 		ICodeInfo content = xmlParser.parse(inputStream);
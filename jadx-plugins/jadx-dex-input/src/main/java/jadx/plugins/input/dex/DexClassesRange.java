@@ -0,0 +1,41 @@
+package jadx.plugins.input.dex;
+
+import java.util.function.Consumer;
+
+import jadx.api.plugins.input.ICodeLoader;
+import jadx.api.plugins.input.data.IClassData;
+
+/**
+ * Part of classes from one dex file, used for parallel loading
+ */
+public class DexClassesRange implements ICodeLoader {
+	private final DexReader dexReader;
+	private final int start;
+	private final int end;
+
+	public DexClassesRange(DexReader dexReader, int start, int end) {
+		this.dexReader = dexReader;
+		this.start = start;
+		this.end = end;
+	}
+
+	@Override
+	public void visitClasses(Consumer<IClassData> consumer) {
+		dexReader.visitClasses(consumer, start, end);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return start >= end;
+	}
+
+	@Override
+	public void close() {
+		// data owned by parent loader
+	}
+
+	@Override
+	public String toString() {
+		return dexReader + " classes: [" + start + ", " + end + ')';
+	}
+}
@@ -6,8 +6,11 @@
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -56,6 +59,17 @@ public List<DexReader> collectDexFiles(List<Path> pathsList) {
 	}
 
 	private List<DexReader> loadDexFromFile(File file) {
+		if (options.isUseMmap()) {
+			try {
+				ByteBuffer buf = mapFile(file);
+				if (buf != null) {
+					return loadDexReaders(file.getAbsolutePath(), buf);
+				}
+			} catch (Exception e) {
+				LOG.error("File map error: {}", file.getAbsolutePath(), e);
+				return Collections.emptyList();
+			}
+		}
 		try (InputStream inputStream = new FileInputStream(file)) {
 			return load(file, inputStream, file.getAbsolutePath());
 		} catch (Exception e) {
@@ -92,6 +106,31 @@ private List<DexReader> load(@Nullable File file, InputStream inputStream, Strin
 		}
 	}
 
+	/**
+	 * Map file into memory if it is a dex file.
+	 * Mapping stays valid after channel close and released by GC together with all buffer views.
+	 */
+	private static @Nullable ByteBuffer mapFile(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < DexConsts.MAX_MAGIC_SIZE || size >= Integer.MAX_VALUE) {
+				return null;
+			}
+			ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (!isStartWithBytes(buf, DexConsts.DEX_FILE_MAGIC)) {
+				return null;
+			}
+			return buf;
+		}
+	}
+
+	private List<DexReader> loadFromZipEntry(ByteBuffer content, String fileName) {
+		if (isStartWithBytes(content, DexConsts.DEX_FILE_MAGIC) || fileName.endsWith(".dex")) {
+			return loadDexReaders(fileName, content);
+		}
+		return Collections.emptyList();
+	}
+
 	private List<DexReader> loadFromZipEntry(byte[] content, String fileName) {
 		if (isStartWithBytes(content, DexConsts.DEX_FILE_MAGIC) || fileName.endsWith(".dex")) {
 			return loadDexReaders(fileName, content);
@@ -111,6 +150,21 @@ public List<DexReader> loadDexReaders(String fileName, byte[] content) {
 		return Collections.singletonList(dexReader);
 	}
 
+	/**
+	 * Load dex readers directly from buffer without copying into heap.
+	 */
+	public List<DexReader> loadDexReaders(String fileName, ByteBuffer content) {
+		DexHeaderV41 dexHeaderV41 = DexHeaderV41.readIfPresent(content);
+		if (dexHeaderV41 != null) {
+			return DexHeaderV41.readSubDexOffsets(content, dexHeaderV41)
+					.stream()
+					.map(offset -> loadSingleDex(fileName, content, offset))
+					.collect(Collectors.toList());
+		}
+		DexReader dexReader = loadSingleDex(fileName, content, 0);
+		return Collections.singletonList(dexReader);
+	}
+
 	private DexReader loadSingleDex(String fileName, byte[] content, int offset) {
 		if (options.isVerifyChecksum()) {
 			DexCheckSum.verify(fileName, content, offset);
@@ -118,6 +172,13 @@ private DexReader loadSingleDex(String fileName, byte[] content, int offset) {
 		return new DexReader(getNextUniqId(), fileName, content, offset);
 	}
 
+	private DexReader loadSingleDex(String fileName, ByteBuffer content, int offset) {
+		if (options.isVerifyChecksum()) {
+			DexCheckSum.verify(fileName, content, offset);
+		}
+		return new DexReader(getNextUniqId(), fileName, content, offset);
+	}
+
 	/**
 	 * Since DEX v41, several sub DEX structures can be stored inside container of a single DEX file
 	 * Use {@link DexFileLoader#loadDexReaders(String, byte[])} instead.
@@ -136,7 +197,10 @@ private List<DexReader> collectDexFromZip(File file) {
 				}
 				try {
 					List<DexReader> readers;
-					if (entry.preferBytes()) {
+					ByteBuffer entryBuf = options.isUseMmap() ? entry.getByteBuffer() : null;
+					if (entryBuf != null) {
+						readers = loadFromZipEntry(entryBuf, entry.getName());
+					} else if (entry.preferBytes()) {
 						readers = loadFromZipEntry(entry.getBytes(), entry.getName());
 					} else {
 						readers = load(null, entry.getInputStream(), entry.getName());
@@ -167,6 +231,19 @@ private static boolean isStartWithBytes(byte[] fileMagic, byte[] expectedBytes)
 		return true;
 	}
 
+	private static boolean isStartWithBytes(ByteBuffer buf, byte[] expectedBytes) {
+		int len = expectedBytes.length;
+		if (buf.limit() < len) {
+			return false;
+		}
+		for (int i = 0; i < len; i++) {
+			if (buf.get(i) != expectedBytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private static byte[] readAllBytes(InputStream in) throws IOException {
 		ByteArrayOutputStream buf = new ByteArrayOutputStream();
 		byte[] data = new byte[8192];
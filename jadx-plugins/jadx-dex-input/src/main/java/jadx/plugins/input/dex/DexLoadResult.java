@@ -2,6 +2,7 @@
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -27,6 +28,18 @@ public void visitClasses(Consumer<IClassData> consumer) {
 		}
 	}
 
+	@Override
+	public List<ICodeLoader> split(int partSize) {
+		List<ICodeLoader> parts = new ArrayList<>();
+		for (DexReader dexReader : dexReaders) {
+			int count = dexReader.getClassesCount();
+			for (int start = 0; start < count; start += partSize) {
+				parts.add(new DexClassesRange(dexReader, start, Math.min(start + partSize, count)));
+			}
+		}
+		return parts;
+	}
+
 	@Override
 	public void close() throws IOException {
 		if (closeable != null) {
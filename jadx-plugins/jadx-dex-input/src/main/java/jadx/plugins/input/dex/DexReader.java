@@ -1,6 +1,7 @@
 package jadx.plugins.input.dex;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 
 import jadx.api.plugins.input.data.IClassData;
@@ -15,36 +16,99 @@ public class DexReader {
 	private final ByteBuffer buf;
 	private final DexHeader header;
 
+	/**
+	 * Decoded strings and types, filled on first access and shared by all section readers
+	 */
+	private final AtomicReferenceArray<String> strings;
+	private final AtomicReferenceArray<String> types;
+
+	private volatile byte[] contentBytes;
+
 	public DexReader(int uniqId, String inputFileName, byte[] content, int offset) {
+		this(uniqId, inputFileName, ByteBuffer.wrap(content), offset);
+		this.contentBytes = content;
+	}
+
+	/**
+	 * Read dex directly from provided buffer (can be memory mapped file or slice of zip archive).
+	 * Buffer content should start from dex container start.
+	 */
+	public DexReader(int uniqId, String inputFileName, ByteBuffer content, int offset) {
 		this.uniqId = uniqId;
 		this.inputFileName = inputFileName;
-		this.buf = ByteBuffer.wrap(content);
+		this.buf = content.duplicate();
+		this.buf.position(0);
 		this.header = new DexHeader(new SectionReader(this, offset));
+		this.strings = new AtomicReferenceArray<>(cacheSize(header.getStringIdsSize()));
+		this.types = new AtomicReferenceArray<>(cacheSize(header.getTypeIdsSize()));
+	}
+
+	/**
+	 * Ids sizes from header not trusted: each id takes 4 bytes, so table can't be bigger than buffer.
+	 * Ids out of cache range decoded without caching.
+	 */
+	private int cacheSize(int idsSize) {
+		return Math.max(0, Math.min(idsSize, buf.limit() / 4));
 	}
 
 	public void visitClasses(Consumer<IClassData> consumer) {
-		int count = header.getClassDefsSize();
-		if (count == 0) {
+		visitClasses(consumer, 0, getClassesCount());
+	}
+
+	/**
+	 * Visit class defs in range [start, end).
+	 * Can be called concurrently for different ranges.
+	 */
+	public void visitClasses(Consumer<IClassData> consumer, int start, int end) {
+		if (start >= end) {
 			return;
 		}
-		int classDefsOff = header.getClassDefsOff();
+		int classDefsOff = header.getClassDefsOff() + start * DexClassData.SIZE;
 		SectionReader in = new SectionReader(this, classDefsOff);
 		AnnotationsParser annotationsParser = new AnnotationsParser(in.copy(), in.copy());
 		DexClassData classData = new DexClassData(in, annotationsParser);
-		for (int i = 0; i < count; i++) {
+		for (int i = start; i < end; i++) {
 			consumer.accept(classData);
 			in.shiftOffset(DexClassData.SIZE);
 		}
 	}
 
+	public int getClassesCount() {
+		return Math.max(header.getClassDefsSize(), 0);
+	}
+
 	public ByteBuffer getBuf() {
 		return buf;
 	}
 
+	/**
+	 * Whole dex content as byte array.
+	 * Copied from buffer on first call if reader not created from array.
+	 */
+	public byte[] getContentBytes() {
+		byte[] bytes = contentBytes;
+		if (bytes == null) {
+			ByteBuffer data = buf.duplicate();
+			data.position(0);
+			bytes = new byte[data.limit()];
+			data.get(bytes);
+			contentBytes = bytes;
+		}
+		return bytes;
+	}
+
 	public DexHeader getHeader() {
 		return header;
 	}
 
+	public AtomicReferenceArray<String> getStringsCache() {
+		return strings;
+	}
+
+	public AtomicReferenceArray<String> getTypesCache() {
+		return types;
+	}
+
 	public String getInputFileName() {
 		return inputFileName;
 	}
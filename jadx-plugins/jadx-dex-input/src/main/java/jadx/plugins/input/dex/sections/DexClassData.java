@@ -19,6 +19,7 @@
 import jadx.api.plugins.input.data.attributes.IJadxAttribute;
 import jadx.api.plugins.input.data.attributes.types.SourceFileAttr;
 import jadx.plugins.input.dex.sections.annotations.AnnotationsParser;
+import jadx.plugins.input.dex.utils.DexClassHasher;
 import jadx.plugins.input.dex.utils.SmaliUtils;
 
 public class DexClassData implements IClassData {
@@ -214,10 +215,24 @@ public int getClassDefOffset() {
 
 	@Override
 	public String getDisassembledCode() {
-		byte[] dexBuf = in.getDexReader().getBuf().array();
+		byte[] dexBuf = in.getDexReader().getContentBytes();
 		return SmaliUtils.getSmaliCode(dexBuf, getClassDefOffset());
 	}
 
+	/**
+	 * Hash calculated from parsed class data with resolved references (see {@link DexClassHasher}).
+	 * Use copy to not interfere with other readers of this class.
+	 */
+	@Override
+	public @Nullable String getContentHash() {
+		try {
+			return DexClassHasher.hash(copy());
+		} catch (Exception e) {
+			LOG.debug("Failed to calculate content hash for class: {}", getType(), e);
+			return null;
+		}
+	}
+
 	@Override
 	public String toString() {
 		return getType();
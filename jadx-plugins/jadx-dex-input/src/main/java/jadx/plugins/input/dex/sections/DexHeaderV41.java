@@ -1,5 +1,6 @@
 package jadx.plugins.input.dex.sections;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,6 +11,10 @@
 public class DexHeaderV41 {
 
 	public static @Nullable DexHeaderV41 readIfPresent(byte[] content) {
+		return readIfPresent(ByteBuffer.wrap(content));
+	}
+
+	public static @Nullable DexHeaderV41 readIfPresent(ByteBuffer content) {
 		int headerSize = readU4(content, 36);
 		if (headerSize < 120) {
 			return null;
@@ -21,9 +26,13 @@ public class DexHeaderV41 {
 	}
 
 	public static List<Integer> readSubDexOffsets(byte[] content, DexHeaderV41 header) {
+		return readSubDexOffsets(ByteBuffer.wrap(content), header);
+	}
+
+	public static List<Integer> readSubDexOffsets(ByteBuffer content, DexHeaderV41 header) {
 		int start = 0;
 		int end = header.getFileSize();
-		int limit = Math.min(header.getContainerSize(), content.length);
+		int limit = Math.min(header.getContainerSize(), content.limit());
 		List<Integer> list = new ArrayList<>();
 		while (true) {
 			list.add(start);
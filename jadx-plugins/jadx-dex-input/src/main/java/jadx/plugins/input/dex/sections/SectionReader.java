@@ -6,6 +6,7 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -159,6 +160,21 @@ public String getType(int idx) {
 		if (idx == NO_INDEX) {
 			return null;
 		}
+		AtomicReferenceArray<String> typesCache = dexReader.getTypesCache();
+		if (idx < 0 || idx >= typesCache.length()) {
+			return decodeType(idx);
+		}
+		String type = typesCache.get(idx);
+		if (type == null) {
+			// concurrent decode of same entry is harmless: result is the same
+			type = decodeType(idx);
+			typesCache.set(idx, type);
+		}
+		return type;
+	}
+
+	@Nullable
+	private String decodeType(int idx) {
 		int typeIdsOff = dexReader.getHeader().getTypeIdsOff();
 		absPos(typeIdsOff + idx * 4);
 		int strIdx = readInt();
@@ -170,7 +186,19 @@ public String getString(int idx) {
 		if (idx == NO_INDEX) {
 			return null;
 		}
-		// TODO: make string pool cache?
+		AtomicReferenceArray<String> stringsCache = dexReader.getStringsCache();
+		if (idx < 0 || idx >= stringsCache.length()) {
+			return decodeString(idx);
+		}
+		String str = stringsCache.get(idx);
+		if (str == null) {
+			str = decodeString(idx);
+			stringsCache.set(idx, str);
+		}
+		return str;
+	}
+
+	private String decodeString(int idx) {
 		int stringIdsOff = dexReader.getHeader().getStringIdsOff();
 		absPos(stringIdsOff + idx * 4);
 		int strOff = readInt();
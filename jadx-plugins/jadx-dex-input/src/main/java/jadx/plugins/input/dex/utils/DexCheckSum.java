@@ -1,5 +1,6 @@
 package jadx.plugins.input.dex.utils;
 
+import java.nio.ByteBuffer;
 import java.util.zip.Adler32;
 
 import jadx.plugins.input.dex.DexException;
@@ -7,16 +8,23 @@
 public class DexCheckSum {
 
 	public static void verify(String fileName, byte[] content, int offset) {
-		if (offset + 32 + 4 > content.length) {
+		verify(fileName, ByteBuffer.wrap(content), offset);
+	}
+
+	public static void verify(String fileName, ByteBuffer content, int offset) {
+		if (offset + 32 + 4 > content.limit()) {
 			throw new DexException("Dex file truncated, can't read file length, file: " + fileName);
 		}
 		int len = DataReader.readU4(content, offset + 32);
-		if (offset + len > content.length) {
+		if (offset + len > content.limit()) {
 			throw new DexException("Dex file truncated, length in header: " + len + ", file: " + fileName);
 		}
 		int checksum = DataReader.readU4(content, offset + 8);
 		Adler32 adler32 = new Adler32();
-		adler32.update(content, offset + 12, len - 12);
+		ByteBuffer data = content.duplicate();
+		data.limit(offset + len);
+		data.position(offset + 12);
+		adler32.update(data);
 		int fileChecksum = (int) adler32.getValue();
 		if (checksum != fileChecksum) {
 			throw new DexException(String.format("Bad dex file checksum: 0x%08x, expected: 0x%08x, file: %s",
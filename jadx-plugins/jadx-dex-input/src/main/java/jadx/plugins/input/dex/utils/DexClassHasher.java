@@ -0,0 +1,337 @@
+package jadx.plugins.input.dex.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.plugins.input.data.ICallSite;
+import jadx.api.plugins.input.data.ICatch;
+import jadx.api.plugins.input.data.IClassData;
+import jadx.api.plugins.input.data.ICodeReader;
+import jadx.api.plugins.input.data.IDebugInfo;
+import jadx.api.plugins.input.data.IFieldData;
+import jadx.api.plugins.input.data.IFieldRef;
+import jadx.api.plugins.input.data.ILocalVar;
+import jadx.api.plugins.input.data.IMethodData;
+import jadx.api.plugins.input.data.IMethodHandle;
+import jadx.api.plugins.input.data.IMethodProto;
+import jadx.api.plugins.input.data.IMethodRef;
+import jadx.api.plugins.input.data.ITry;
+import jadx.api.plugins.input.data.annotations.EncodedValue;
+import jadx.api.plugins.input.data.annotations.IAnnotation;
+import jadx.api.plugins.input.data.attributes.IJadxAttribute;
+import jadx.api.plugins.input.data.attributes.types.AnnotationDefaultAttr;
+import jadx.api.plugins.input.data.attributes.types.AnnotationDefaultClassAttr;
+import jadx.api.plugins.input.data.attributes.types.AnnotationMethodParamsAttr;
+import jadx.api.plugins.input.data.attributes.types.AnnotationsAttr;
+import jadx.api.plugins.input.insns.InsnData;
+import jadx.api.plugins.input.insns.Opcode;
+import jadx.api.plugins.input.insns.custom.IArrayPayload;
+import jadx.api.plugins.input.insns.custom.ICustomPayload;
+import jadx.api.plugins.input.insns.custom.ISwitchPayload;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Hash of class content read directly from dex buffer (no dex copy or disassembly).
+ * Indexes into dex tables replaced by referenced strings, types, fields and methods,
+ * so hash not depend on class position and other content of dex file.
+ */
+public class DexClassHasher {
+	private final MessageDigest md;
+	private final byte[] intBuf = new byte[8];
+
+	public static String hash(IClassData cls) throws Exception {
+		DexClassHasher hasher = new DexClassHasher(MessageDigest.getInstance("MD5"));
+		hasher.addClass(cls);
+		return FileUtils.bytesToHex(hasher.md.digest());
+	}
+
+	private DexClassHasher(MessageDigest md) {
+		this.md = md;
+	}
+
+	private void addClass(IClassData cls) {
+		addStr(cls.getType());
+		addInt(cls.getAccessFlags());
+		addStr(cls.getSuperType());
+		addInt(cls.getInterfacesTypes().size());
+		for (String intf : cls.getInterfacesTypes()) {
+			addStr(intf);
+		}
+		addAttributes(cls.getAttributes());
+		cls.visitFieldsAndMethods(this::addField, this::addMethod);
+	}
+
+	private void addField(IFieldData fld) {
+		addStr("F");
+		addStr(fld.getName());
+		addStr(fld.getType());
+		addInt(fld.getAccessFlags());
+		addAttributes(fld.getAttributes());
+	}
+
+	private void addMethod(IMethodData mth) {
+		addStr("M");
+		IMethodRef mthRef = mth.getMethodRef();
+		mthRef.load();
+		addStr(mthRef.getName());
+		addProto(mthRef);
+		addInt(mth.getAccessFlags());
+		addAttributes(mth.getAttributes());
+		ICodeReader codeReader = mth.getCodeReader();
+		if (codeReader == null) {
+			addInt(-1);
+			return;
+		}
+		addInt(codeReader.getRegistersCount());
+		addInt(codeReader.getArgsStartReg());
+		addInt(codeReader.getUnitsCount());
+		codeReader.visitInstructions(this::addInsn);
+		for (ITry tryData : codeReader.getTries()) {
+			addInt(tryData.getStartOffset());
+			addInt(tryData.getEndOffset());
+			ICatch catchData = tryData.getCatch();
+			for (String type : catchData.getTypes()) {
+				addStr(type);
+			}
+			for (int handler : catchData.getHandlers()) {
+				addInt(handler);
+			}
+			addInt(catchData.getCatchAllHandler());
+		}
+		IDebugInfo debugInfo = codeReader.getDebugInfo();
+		if (debugInfo != null) {
+			for (Map.Entry<Integer, Integer> entry : debugInfo.getSourceLineMapping().entrySet()) {
+				addInt(entry.getKey());
+				addInt(entry.getValue());
+			}
+			for (ILocalVar var : debugInfo.getLocalVars()) {
+				addStr(var.getName());
+				addInt(var.getRegNum());
+				addStr(var.getType());
+				addStr(var.getSignature());
+				addInt(var.getStartOffset());
+				addInt(var.getEndOffset());
+				addInt(var.isMarkedAsParameter() ? 1 : 0);
+			}
+		}
+	}
+
+	private void addInsn(InsnData insn) {
+		insn.decode();
+		Opcode opcode = insn.getOpcode();
+		addInt(insn.getRawOpcodeUnit());
+		addInt(insn.getOffset());
+		int regsCount = insn.getRegsCount();
+		addInt(regsCount);
+		for (int i = 0; i < regsCount; i++) {
+			addInt(insn.getReg(i));
+		}
+		addLong(insn.getLiteral());
+		if (opcode == Opcode.INVOKE_POLYMORPHIC || opcode == Opcode.INVOKE_POLYMORPHIC_RANGE) {
+			// proto index stored in target
+			addProto(insn.getIndexAsProto(insn.getTarget()));
+		} else {
+			addInt(insn.getTarget());
+		}
+		switch (insn.getIndexType()) {
+			case STRING_REF:
+				addStr(insn.getIndexAsString());
+				break;
+			case TYPE_REF:
+				addStr(insn.getIndexAsType());
+				break;
+			case FIELD_REF:
+				addFieldRef(insn.getIndexAsField());
+				break;
+			case METHOD_REF:
+				addMethodRef(insn.getIndexAsMethod());
+				break;
+			case CALL_SITE:
+				ICallSite callSite = insn.getIndexAsCallSite();
+				callSite.load();
+				addValues(callSite.getValues());
+				break;
+			default:
+				if (opcode == Opcode.CONST_METHOD_HANDLE) {
+					addMethodHandle(insn.getIndexAsMethodHandle());
+				} else if (opcode == Opcode.CONST_METHOD_TYPE) {
+					addProto(insn.getIndexAsProto(insn.getIndex()));
+				}
+				break;
+		}
+		ICustomPayload payload = insn.getPayload();
+		if (payload instanceof ISwitchPayload) {
+			ISwitchPayload switchPayload = (ISwitchPayload) payload;
+			for (int key : switchPayload.getKeys()) {
+				addInt(key);
+			}
+			for (int target : switchPayload.getTargets()) {
+				addInt(target);
+			}
+		} else if (payload instanceof IArrayPayload) {
+			IArrayPayload arrayPayload = (IArrayPayload) payload;
+			addInt(arrayPayload.getElementSize());
+			addInt(arrayPayload.getSize());
+			addArray(arrayPayload.getData());
+		}
+	}
+
+	private void addAttributes(List<IJadxAttribute> attributes) {
+		for (IJadxAttribute attr : attributes) {
+			addStr(attr.getAttrType().toString());
+			if (attr instanceof AnnotationsAttr) {
+				addAnnotations((AnnotationsAttr) attr);
+			} else if (attr instanceof AnnotationMethodParamsAttr) {
+				for (AnnotationsAttr paramAnnotations : ((AnnotationMethodParamsAttr) attr).getParamList()) {
+					addAnnotations(paramAnnotations);
+				}
+			} else if (attr instanceof AnnotationDefaultAttr) {
+				addValue(((AnnotationDefaultAttr) attr).getValue());
+			} else if (attr instanceof AnnotationDefaultClassAttr) {
+				addValuesMap(((AnnotationDefaultClassAttr) attr).getValues());
+			} else if (attr instanceof EncodedValue) {
+				addValue((EncodedValue) attr);
+			} else {
+				// other attributes contain only strings and numbers
+				addStr(attr.toString());
+			}
+		}
+	}
+
+	private void addAnnotations(@Nullable AnnotationsAttr annotations) {
+		if (annotations == null) {
+			addInt(-1);
+			return;
+		}
+		for (IAnnotation annotation : annotations.getList()) {
+			addAnnotation(annotation);
+		}
+	}
+
+	private void addAnnotation(IAnnotation annotation) {
+		addStr(annotation.getAnnotationClass());
+		addStr(String.valueOf(annotation.getVisibility()));
+		addValuesMap(annotation.getValues());
+	}
+
+	private void addValuesMap(Map<String, EncodedValue> values) {
+		addInt(values.size());
+		for (Map.Entry<String, EncodedValue> entry : values.entrySet()) {
+			addStr(entry.getKey());
+			addValue(entry.getValue());
+		}
+	}
+
+	private void addValues(List<EncodedValue> values) {
+		addInt(values.size());
+		for (EncodedValue value : values) {
+			addValue(value);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void addValue(EncodedValue encodedValue) {
+		addStr(encodedValue.getType().name());
+		Object value = encodedValue.getValue();
+		if (value instanceof EncodedValue) {
+			addValue((EncodedValue) value);
+		} else if (value instanceof List) {
+			addValues((List<EncodedValue>) value);
+		} else if (value instanceof IAnnotation) {
+			addAnnotation((IAnnotation) value);
+		} else if (value instanceof IMethodRef) {
+			addMethodRef((IMethodRef) value);
+		} else if (value instanceof IFieldRef) {
+			addFieldRef((IFieldRef) value);
+		} else if (value instanceof IMethodHandle) {
+			addMethodHandle((IMethodHandle) value);
+		} else if (value instanceof IMethodProto) {
+			addProto((IMethodProto) value);
+		} else {
+			addStr(String.valueOf(value));
+		}
+	}
+
+	private void addMethodHandle(IMethodHandle handle) {
+		handle.load();
+		addStr(handle.getType().name());
+		IFieldRef fieldRef = handle.getFieldRef();
+		if (fieldRef != null) {
+			addFieldRef(fieldRef);
+		}
+		IMethodRef methodRef = handle.getMethodRef();
+		if (methodRef != null) {
+			addMethodRef(methodRef);
+		}
+	}
+
+	private void addFieldRef(IFieldRef fieldRef) {
+		addStr(fieldRef.getParentClassType());
+		addStr(fieldRef.getName());
+		addStr(fieldRef.getType());
+	}
+
+	private void addMethodRef(IMethodRef mthRef) {
+		mthRef.load();
+		addStr(mthRef.getParentClassType());
+		addStr(mthRef.getName());
+		addProto(mthRef);
+	}
+
+	private void addProto(IMethodProto proto) {
+		List<String> argTypes = proto.getArgTypes();
+		addInt(argTypes.size());
+		for (String argType : argTypes) {
+			addStr(argType);
+		}
+		addStr(proto.getReturnType());
+	}
+
+	private void addArray(Object data) {
+		if (data instanceof byte[]) {
+			md.update((byte[]) data);
+		} else if (data instanceof short[]) {
+			for (short v : (short[]) data) {
+				addInt(v);
+			}
+		} else if (data instanceof int[]) {
+			for (int v : (int[]) data) {
+				addInt(v);
+			}
+		} else if (data instanceof long[]) {
+			for (long v : (long[]) data) {
+				addLong(v);
+			}
+		} else {
+			addStr(String.valueOf(data));
+		}
+	}
+
+	private void addStr(@Nullable String str) {
+		if (str == null) {
+			addInt(-1);
+			return;
+		}
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		addInt(bytes.length);
+		md.update(bytes);
+	}
+
+	private void addInt(int value) {
+		byte[] buf = intBuf;
+		buf[0] = (byte) (value >>> 24);
+		buf[1] = (byte) (value >>> 16);
+		buf[2] = (byte) (value >>> 8);
+		buf[3] = (byte) value;
+		md.update(buf, 0, 4);
+	}
+
+	private void addLong(long value) {
+		addInt((int) (value >>> 32));
+		addInt((int) value);
+	}
+}
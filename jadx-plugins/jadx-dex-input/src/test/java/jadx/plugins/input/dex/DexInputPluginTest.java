@@ -1,10 +1,15 @@
 package jadx.plugins.input.dex;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
@@ -29,6 +34,47 @@ public void loadHelloWorld() throws Exception {
 		processFile(Paths.get(ClassLoader.getSystemResource("samples/hello.dex").toURI()));
 	}
 
+	@Test
+	public void loadHelloWorldMapped() throws Exception {
+		Path sample = Paths.get(ClassLoader.getSystemResource("samples/hello.dex").toURI());
+		List<Path> files = Collections.singletonList(sample);
+		List<String> expected = disassembleAll(new DexFileLoader(buildOptions(false)).collectDexFiles(files));
+		List<String> mapped = disassembleAll(new DexFileLoader(buildOptions(true)).collectDexFiles(files));
+		assertThat(mapped).isNotEmpty().isEqualTo(expected);
+	}
+
+	@Test
+	public void hugeIdsSizesInHeader() throws Exception {
+		Path sample = Paths.get(ClassLoader.getSystemResource("samples/hello.dex").toURI());
+		byte[] content = Files.readAllBytes(sample);
+		List<String> expected = disassembleAll(Collections.singletonList(new DexReader(0, "hello.dex", content, 0)));
+
+		ByteBuffer patched = ByteBuffer.wrap(content.clone()).order(ByteOrder.LITTLE_ENDIAN);
+		int stringIdsSize = patched.getInt(0x38);
+		int typeIdsSize = patched.getInt(0x40);
+		patched.putInt(0x38, Integer.MAX_VALUE);
+		patched.putInt(0x40, Integer.MAX_VALUE);
+		DexReader reader = new DexReader(0, "hello.dex", patched.array(), 0);
+		assertThat(reader.getStringsCache().length()).isBetween(stringIdsSize, content.length / 4);
+		assertThat(reader.getTypesCache().length()).isBetween(typeIdsSize, content.length / 4);
+		assertThat(disassembleAll(Collections.singletonList(reader))).isEqualTo(expected);
+	}
+
+	private static DexInputOptions buildOptions(boolean useMmap) {
+		DexInputOptions options = new DexInputOptions();
+		options.setOptions(Map.of(DexInputPlugin.PLUGIN_ID + ".mmap", String.valueOf(useMmap)));
+		assertThat(options.isUseMmap()).isEqualTo(useMmap);
+		return options;
+	}
+
+	private static List<String> disassembleAll(List<DexReader> readers) {
+		List<String> list = new ArrayList<>();
+		for (DexReader reader : readers) {
+			reader.visitClasses(cls -> list.add(cls.getDisassembledCode()));
+		}
+		return list;
+	}
+
 	@Test
 	public void loadTestSmali() throws Exception {
 		processFile(SmaliTestUtils.compileSmaliFromResource("samples/test.smali"));
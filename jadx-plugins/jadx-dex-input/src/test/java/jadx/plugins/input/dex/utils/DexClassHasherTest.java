@@ -0,0 +1,92 @@
+package jadx.plugins.input.dex.utils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.plugins.input.dex.DexFileLoader;
+import jadx.plugins.input.dex.DexInputOptions;
+import jadx.plugins.input.dex.DexReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DexClassHasherTest {
+
+	private static final String TEST_CLASS = ""
+			+ ".class public LTest;\n"
+			+ ".super Ljava/lang/Object;\n"
+			+ ".source \"Test.java\"\n"
+			+ "\n"
+			+ ".field private static final NAME:Ljava/lang/String; = \"test\"\n"
+			+ "\n"
+			+ ".method public static run(I)Ljava/lang/String;\n"
+			+ "    .registers 3\n"
+			+ "    .line 5\n"
+			+ "    const-string v0, \"%CONST%\"\n"
+			+ "    invoke-static {p0}, Ljava/lang/String;->valueOf(I)Ljava/lang/String;\n"
+			+ "    move-result-object v1\n"
+			+ "    invoke-virtual {v0, v1}, Ljava/lang/String;->concat(Ljava/lang/String;)Ljava/lang/String;\n"
+			+ "    move-result-object v0\n"
+			+ "    return-object v0\n"
+			+ ".end method\n";
+
+	private static final String OTHER_CLASS = ""
+			+ ".class public LAOther;\n"
+			+ ".super Ljava/lang/Object;\n"
+			+ "\n"
+			+ ".field public aField:Ljava/lang/Integer;\n"
+			+ "\n"
+			+ ".method public a()V\n"
+			+ "    .registers 2\n"
+			+ "    const-string v0, \"a string\"\n"
+			+ "    return-void\n"
+			+ ".end method\n";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void sameHashInDifferentDex() throws Exception {
+		String single = hashes(dex("str")).get("LTest;");
+		// other class shift indexes of strings, types and methods used in test class
+		String withOther = hashes(dex("str", OTHER_CLASS)).get("LTest;");
+		assertThat(single).isNotNull().isEqualTo(withOther);
+	}
+
+	@Test
+	public void hashChangedWithContent() throws Exception {
+		String first = hashes(dex("str")).get("LTest;");
+		String second = hashes(dex("str2")).get("LTest;");
+		assertThat(first).isNotNull();
+		assertThat(second).isNotNull().isNotEqualTo(first);
+	}
+
+	private Path dex(String constStr, String... otherClasses) throws Exception {
+		Path dir = Files.createTempDirectory(tempDir, "smali");
+		Path testCls = dir.resolve("Test.smali");
+		Files.writeString(testCls, TEST_CLASS.replace("%CONST%", constStr));
+		List<Path> files = new ArrayList<>(Collections.singletonList(testCls));
+		for (int i = 0; i < otherClasses.length; i++) {
+			Path other = dir.resolve("Other" + i + ".smali");
+			Files.writeString(other, otherClasses[i]);
+			files.add(other);
+		}
+		return SmaliTestUtils.compileSmali(files);
+	}
+
+	private static Map<String, String> hashes(Path dexFile) {
+		Map<String, String> map = new HashMap<>();
+		List<DexReader> readers = new DexFileLoader(new DexInputOptions()).collectDexFiles(Collections.singletonList(dexFile));
+		for (DexReader reader : readers) {
+			reader.visitClasses(cls -> map.put(cls.getType(), cls.getContentHash()));
+		}
+		return map;
+	}
+}
@@ -22,9 +22,13 @@ public static Path compileSmaliFromResource(String res) {
 	}
 
 	public static Path compileSmali(Path input) {
+		return compileSmali(Collections.singletonList(input));
+	}
+
+	public static Path compileSmali(List<Path> inputFiles) {
 		try {
 			Path tempFile = Files.createTempFile("jadx", "smali.dex");
-			compileSmali(tempFile, Collections.singletonList(input));
+			compileSmali(tempFile, inputFiles);
 			return tempFile;
 		} catch (Exception e) {
 			throw new AssertionError("Smali assemble error", e);
@@ -1,6 +1,8 @@
 package jadx.api.plugins.input;
 
 import java.io.Closeable;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 
 import jadx.api.plugins.input.data.IClassData;
@@ -10,4 +12,16 @@ public interface ICodeLoader extends Closeable {
 	void visitClasses(Consumer<IClassData> consumer);
 
 	boolean isEmpty();
+
+	/**
+	 * Split classes into independent parts, which can be visited concurrently.
+	 * Visiting parts in list order should produce the same classes sequence as {@link #visitClasses(Consumer)}.
+	 * Parts share data with this loader and should not be closed.
+	 *
+	 * @param partSize preferred max classes count in one part
+	 */
+	default List<ICodeLoader> split(int partSize) {
+		// optional
+		return Collections.singletonList(this);
+	}
 }
@@ -27,4 +27,15 @@ public interface IClassData {
 	List<IJadxAttribute> getAttributes();
 
 	String getDisassembledCode();
+
+	/**
+	 * Hash of class content, should change on any change in class data
+	 * and not depend on class position in input file.
+	 * Used as a key for persistent caches.
+	 *
+	 * @return null if not supported
+	 */
+	default @Nullable String getContentHash() {
+		return null;
+	}
 }
@@ -2,6 +2,7 @@
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -31,6 +32,15 @@ public void visitClasses(Consumer<IClassData> consumer) {
 		}
 	}
 
+	@Override
+	public List<ICodeLoader> split(int partSize) {
+		List<ICodeLoader> parts = new ArrayList<>();
+		for (ICodeLoader codeLoader : codeLoaders) {
+			parts.addAll(codeLoader.split(partSize));
+		}
+		return parts;
+	}
+
 	@Override
 	public boolean isEmpty() {
 		for (ICodeLoader codeLoader : codeLoaders) {
@@ -2,6 +2,7 @@
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -39,6 +40,16 @@ public void visitClasses(Consumer<IClassData> consumer) {
 		}
 	}
 
+	@Override
+	public List<ICodeLoader> split(int partSize) {
+		int count = readers.size();
+		List<ICodeLoader> parts = new ArrayList<>();
+		for (int start = 0; start < count; start += partSize) {
+			parts.add(new JavaLoadResult(readers.subList(start, Math.min(start + partSize, count))));
+		}
+		return parts;
+	}
+
 	@Override
 	public boolean isEmpty() {
 		return readers.isEmpty();
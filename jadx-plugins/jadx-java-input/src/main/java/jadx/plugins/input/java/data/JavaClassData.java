@@ -13,6 +13,7 @@
 import jadx.api.plugins.input.data.ISeqConsumer;
 import jadx.api.plugins.input.data.attributes.IJadxAttribute;
 import jadx.api.plugins.utils.Utils;
+import jadx.core.utils.files.FileUtils;
 import jadx.plugins.input.java.JavaClassReader;
 import jadx.plugins.input.java.data.attributes.AttributesReader;
 import jadx.plugins.input.java.data.attributes.IJavaAttribute;
@@ -168,6 +169,11 @@ public String getDisassembledCode() {
 		return DisasmUtils.get(data.getBytes());
 	}
 
+	@Override
+	public String getContentHash() {
+		return FileUtils.md5Sum(clsReader.getData());
+	}
+
 	public JavaClassReader getClsReader() {
 		return clsReader;
 	}